@@ -0,0 +1,77 @@
+package com.library.numj.benchmarks;
+
+import com.library.numj.NDArray;
+import com.library.numj.NumJ;
+import com.library.numj.enums.DType;
+import com.library.numj.exceptions.ShapeException;
+import com.library.numj.storage.DataBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks array creation: {@code array} from a flat primitive array, {@code zeros}, {@code ones},
+ * {@code arange} and {@code eye}, for every numeric {@link DType} and sizes from 1K to 100M elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class CreationBenchmark {
+
+    @Param({"INT8", "INT16", "INT32", "INT64", "FLOAT32", "FLOAT64"})
+    public DType dType;
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    private NumJ numJ;
+    private Object source;
+    private int[] shape;
+    private int side;
+
+    @Setup
+    public void setup() {
+        numJ = new NumJ();
+        source = DataBuffer.allocate(dType, size).array();
+        shape = new int[]{size / 1000, 1000};
+        side = (int) Math.sqrt(size);
+    }
+
+    @Benchmark
+    public NDArray<Object> array() throws ShapeException {
+        return numJ.array(source);
+    }
+
+    @Benchmark
+    public NDArray<Object> zeros() {
+        return numJ.zeros(shape, dType);
+    }
+
+    @Benchmark
+    public NDArray<Object> ones() {
+        return numJ.ones(shape, dType);
+    }
+
+    @Benchmark
+    public NDArray<Object> arange() throws ShapeException {
+        return numJ.arange(0, size, dType);
+    }
+
+    @Benchmark
+    public NDArray<Object> eye() throws ShapeException {
+        return numJ.eye(side, side, dType);
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.numj.benchmarks;
+
+import com.library.numj.NDArray;
+import com.library.numj.NumJ;
+import com.library.numj.enums.DType;
+import com.library.numj.exceptions.ShapeException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@code flatten}, {@code reshape} and {@code transpose} of a {@code [size / 1000, 1000]}
+ * matrix, both on the contiguous matrix (views) and on its transpose (copies), for every numeric
+ * {@link DType} and sizes from 1K to 100M elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class ShapeBenchmark {
+
+    @Param({"INT8", "INT16", "INT32", "INT64", "FLOAT32", "FLOAT64"})
+    public DType dType;
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    private NumJ numJ;
+    private NDArray<Object> matrix;
+    private NDArray<Object> transposed;
+
+    @Setup
+    public void setup() {
+        numJ = new NumJ();
+        matrix = numJ.ones(new int[]{size / 1000, 1000}, dType);
+        transposed = matrix.transpose();
+    }
+
+    @Benchmark
+    public NDArray<Object> flatten() throws ShapeException {
+        return matrix.flatten();
+    }
+
+    @Benchmark
+    public NDArray<Object> flattenTransposed() throws ShapeException {
+        return transposed.flatten();
+    }
+
+    @Benchmark
+    public NDArray<Object> reshape() throws ShapeException {
+        return matrix.reshape(1000, size / 1000);
+    }
+
+    @Benchmark
+    public NDArray<Object> transpose() throws ShapeException {
+        return numJ.transpose(matrix);
+    }
+
+    @Benchmark
+    public NDArray<Object> copyTransposed() {
+        return transposed.copy();
+    }
+}
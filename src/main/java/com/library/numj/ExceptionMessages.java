@@ -79,7 +79,7 @@ public final class ExceptionMessages {
 	 * @param shape The provided shape of the array.
 	 * @return A formatted message indicating the shape mismatch.
 	 */
-	public static String shapeMismatchException(int size, int... shape) {
+	public static String shapeMismatchException(long size, int... shape) {
 		return "ShapeMismatchException: The provided shape: " + Arrays.toString(shape) +
 				" is not matching with the provided size: " + size;
 	}
@@ -116,5 +116,294 @@ public final class ExceptionMessages {
 		return "Invalid Shape Exception: Shape could not be empty "+Arrays.toString(shape);
 	}
 
+	/**
+	 * Generates an exception message for an axis outside the dimensions of an array.
+	 *
+	 * @param axis The requested axis.
+	 * @param ndim The number of dimensions of the array.
+	 * @return A formatted exception message indicating the invalid axis.
+	 */
+	public static String axisOutOfBoundsException(int axis, int ndim) {
+		return "IllegalArgumentException : axis " + axis + " is out of bounds for array of dimension " + ndim;
+	}
+
+	/**
+	 * Generates an exception message for axes that are not a permutation of an array's dimensions.
+	 *
+	 * @param ndim The number of dimensions of the array.
+	 * @param axes The requested axes.
+	 * @return A formatted exception message indicating the invalid axes.
+	 */
+	public static String invalidAxesException(int ndim, int... axes) {
+		return "IllegalArgumentException : axes " + Arrays.toString(axes) + " are not a permutation of " + ndim + " dimensions";
+	}
+
+	/**
+	 * Generates an exception message for a slice step of zero.
+	 *
+	 * @return A formatted exception message indicating the illegal step.
+	 */
+	public static String zeroStepException() {
+		return "IllegalArgumentException : slice step cannot be zero.";
+	}
+
+	/**
+	 * Generates an exception message for an axis that is listed more than once.
+	 *
+	 * @param axis The repeated axis.
+	 * @return A formatted exception message indicating the duplicate axis.
+	 */
+	public static String duplicateAxisException(int axis) {
+		return "IllegalArgumentException : axis " + axis + " is repeated";
+	}
+
+	/**
+	 * Generates an exception message for a reduction without identity applied to an empty array.
+	 *
+	 * @param operation The name of the reduction.
+	 * @return A formatted exception message indicating the empty reduction.
+	 */
+	public static String emptyReductionException(String operation) {
+		return "IllegalArgumentException : zero-size array to reduction operation " + operation + " which has no identity";
+	}
+
+	/**
+	 * Generates an exception message for matrix operands whose inner dimensions differ.
+	 *
+	 * @param shape1 The shape of the first operand.
+	 * @param shape2 The shape of the second operand.
+	 * @return A formatted exception message indicating the mismatched core dimensions.
+	 */
+	public static String matmulShapeException(int[] shape1, int[] shape2) {
+		return "ShapeException : matmul: shapes " + Arrays.toString(shape1) + " and " + Arrays.toString(shape2)
+				+ " are not aligned in their core dimensions";
+	}
+
+	/**
+	 * Generates an exception message for a matrix product with a zero-dimensional operand.
+	 *
+	 * @return A formatted exception message indicating the scalar operand.
+	 */
+	public static String scalarMatmulException() {
+		return "IllegalArgumentException : matmul: input operand does not have enough dimensions";
+	}
 
+	/**
+	 * Generates an exception message for a file region that cannot be mapped.
+	 *
+	 * @param file   The mapped file.
+	 * @param offset The byte offset of the region.
+	 * @param bytes  The size of the region in bytes.
+	 * @return A formatted exception message indicating the invalid region.
+	 */
+	public static String mappedRegionException(String file, long offset, long bytes) {
+		return "IllegalArgumentException : cannot map " + bytes + " bytes at offset " + offset + " of " + file;
+	}
+
+	/**
+	 * Generates an exception message for a file mapped without a shape whose elements do not fit
+	 * along one dimension.
+	 *
+	 * @param file     The mapped file.
+	 * @param elements The number of elements after the offset.
+	 * @return A formatted exception message asking for a shape.
+	 */
+	public static String memmapDimensionException(String file, long elements) {
+		return "IllegalArgumentException : the " + elements + " elements of " + file + " exceed the largest dimension of "
+				+ Integer.MAX_VALUE + "; pass a shape to map them";
+	}
+
+	/**
+	 * Generates an exception message for a file that must be created without a shape.
+	 *
+	 * @return A formatted exception message indicating the missing shape.
+	 */
+	public static String memmapShapeRequiredException() {
+		return "IllegalArgumentException : a shape is required to create a memory-mapped file";
+	}
+
+	/**
+	 * Generates an exception message for data that is not in the NumPy {@code .npy} format.
+	 *
+	 * @param detail A description of the problem.
+	 * @return A formatted exception message indicating the invalid data.
+	 */
+	public static String npyFormatException(String detail) {
+		return "IOException : invalid .npy data, " + detail;
+	}
+
+	/**
+	 * Generates an exception message for a NumPy type descriptor without a matching data type.
+	 *
+	 * @param descr The NumPy type descriptor, e.g. {@code <u4}.
+	 * @return A formatted exception message indicating the unsupported type.
+	 */
+	public static String unsupportedNpyTypeException(String descr) {
+		return "UnsupportedDataTypeException : .npy type '" + descr + "' is not supported";
+	}
+
+	/**
+	 * Generates an exception message for access to storage that has already been released.
+	 *
+	 * @return A formatted exception message indicating the closed buffer.
+	 */
+	public static String closedBufferException() {
+		return "IllegalStateException : the array's memory has been released by close()";
+	}
+
+	/**
+	 * Generates an exception message for an output array whose shape does not match the result.
+	 *
+	 * @param outShape The shape of the output array.
+	 * @param shape    The shape of the result.
+	 * @return A formatted exception message indicating the mismatched output.
+	 */
+	public static String outputShapeException(int[] outShape, int[] shape) {
+		return "ShapeException : output array of shape " + Arrays.toString(outShape)
+				+ " does not match the result shape " + Arrays.toString(shape);
+	}
+
+	/**
+	 * Generates an exception message for a type promotion without any input types.
+	 *
+	 * @return A formatted exception message indicating the missing types.
+	 */
+	public static String emptyResultTypeException() {
+		return "IllegalArgumentException : at least one data type is required to compute a result type";
+	}
+
+	/**
+	 * Generates an exception message for an array with more elements than a buffer can address.
+	 *
+	 * @param shape The shape of the array.
+	 * @param limit The largest supported number of elements.
+	 * @return A formatted exception message indicating the oversized array.
+	 */
+	public static String arrayTooLargeException(int[] shape, long limit) {
+		return "IllegalArgumentException : an array of shape " + Arrays.toString(shape)
+				+ " has more than the supported " + limit + " elements";
+	}
+
+	/**
+	 * Generates an exception message for an array with too many elements to be laid out along one dimension.
+	 *
+	 * @param size The number of elements.
+	 * @return A formatted exception message indicating the oversized dimension.
+	 */
+	public static String dimensionTooLargeException(long size) {
+		return "ShapeException : " + size + " elements exceed the largest dimension of " + Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Generates an exception message for a buffer that only fits in a Java array but exceeds its limit.
+	 *
+	 * @param dType  The data type of the buffer.
+	 * @param length The requested number of elements.
+	 * @param limit  The largest number of elements of a Java array.
+	 * @return A formatted exception message indicating the oversized buffer.
+	 */
+	public static String bufferTooLargeException(DType dType, long length, long limit) {
+		return "IllegalArgumentException : " + dType + " buffers are backed by Java arrays and cannot hold "
+				+ length + " elements; the limit is " + limit;
+	}
+
+	/**
+	 * Generates an exception message for a boolean mask whose shape does not lead the indexed array's shape.
+	 *
+	 * @param maskShape The shape of the mask.
+	 * @param shape     The shape of the indexed array.
+	 * @return A formatted exception message indicating the mismatched mask.
+	 */
+	public static String maskShapeException(int[] maskShape, int[] shape) {
+		return "ShapeException : boolean mask of shape " + Arrays.toString(maskShape)
+				+ " does not match the leading dimensions of an array of shape " + Arrays.toString(shape);
+	}
+
+	/**
+	 * Generates an exception message for a masked assignment given the wrong number of values.
+	 *
+	 * @param values  The number of values supplied.
+	 * @param targets The number of elements selected by the mask.
+	 * @return A formatted exception message indicating the mismatched values.
+	 */
+	public static String maskValuesException(long values, long targets) {
+		return "IllegalArgumentException : cannot assign " + values + " values to the " + targets
+				+ " elements selected by the mask";
+	}
+
+	/**
+	 * Generates an exception message for an index outside the dimension it addresses.
+	 *
+	 * @param index The offending index.
+	 * @param axis  The indexed axis.
+	 * @param size  The length of the axis.
+	 * @return A formatted exception message indicating the invalid index.
+	 */
+	public static String indexOutOfBoundsException(long index, int axis, long size) {
+		return "IndexOutOfBoundsException : index " + index + " is out of bounds for axis " + axis + " with size " + size;
+	}
+
+	/**
+	 * Generates an exception message for an index array whose rank differs from the indexed array's.
+	 *
+	 * @param indexNdim The number of dimensions of the index array.
+	 * @param ndim      The number of dimensions of the indexed array.
+	 * @return A formatted exception message indicating the mismatched ranks.
+	 */
+	public static String indexDimensionException(int indexNdim, int ndim) {
+		return "ShapeException : index array with " + indexNdim + " dimensions does not match an array with "
+				+ ndim + " dimensions";
+	}
+
+	/**
+	 * Generates an exception message for a lexicographic sort without any keys.
+	 *
+	 * @return A formatted exception message indicating the missing keys.
+	 */
+	public static String emptyKeysException() {
+		return "IllegalArgumentException : at least one key is required to sort lexicographically";
+	}
+
+	/**
+	 * Generates an exception message for sort keys of different shapes.
+	 *
+	 * @param shape    The shape of the offending key.
+	 * @param expected The shape of the first key.
+	 * @return A formatted exception message indicating the mismatched key.
+	 */
+	public static String keyShapeException(int[] shape, int[] expected) {
+		return "ShapeException : key of shape " + Arrays.toString(shape)
+				+ " does not match the first key's shape " + Arrays.toString(expected);
+	}
+
+	/**
+	 * Generates an exception message for a partition position outside the partitioned axis.
+	 *
+	 * @param kth  The requested position.
+	 * @param size The length of the axis.
+	 * @return A formatted exception message indicating the invalid position.
+	 */
+	public static String kthOutOfBoundsException(int kth, int size) {
+		return "IllegalArgumentException : kth (" + kth + ") is out of bounds for an axis of size " + size;
+	}
+
+	/**
+	 * Generates an exception message for a quantile outside {@code [0, 1]}.
+	 *
+	 * @param q The requested quantile.
+	 * @return A formatted exception message indicating the invalid quantile.
+	 */
+	public static String quantileException(double q) {
+		return "IllegalArgumentException : quantile (" + q + ") must be between 0 and 1";
+	}
+
+	/**
+	 * Generates an exception message for a percentile outside {@code [0, 100]}.
+	 *
+	 * @param q The requested percentile.
+	 * @return A formatted exception message indicating the invalid percentile.
+	 */
+	public static String percentileException(double q) {
+		return "IllegalArgumentException : percentile (" + q + ") must be between 0 and 100";
+	}
 }
@@ -1,249 +1,555 @@
 package com.library.numj;
 
 import com.library.numj.enums.DType;
+import com.library.numj.enums.Order;
+import com.library.numj.enums.Storage;
+import com.library.numj.exceptions.InvalidShapeException;
 import com.library.numj.exceptions.ShapeException;
+import com.library.numj.exceptions.ShapeMismatchException;
+import com.library.numj.operations.BroadcastIterator;
+import com.library.numj.storage.DataBuffer;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.EmptyStackException;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.IntStream;
+
+import static com.library.numj.ExceptionMessages.shapeMismatchException;
 
 /**
  * Represents an N-dimensional array in the NumJ library.
+ * The elements live in a single flat {@link DataBuffer} of the array's {@link DType} and are
+ * addressed through its shape and strides; nested Java arrays are only produced on request.
  * Provides methods for array manipulation such as reshaping, flattening, and transposing.
+ * <p>
+ * An NDArray is immutable: all fields are final and every method works on local state only, so a
+ * single instance may be read, flattened, reshaped or materialized by many threads at once without
+ * locking. Views returned by reshape, transpose and slice share the buffer, so writes through
+ * {@link #buffer()} are visible to every view of it.
+ * <p>
+ * Arrays created with {@link Storage#OFF_HEAP} keep their elements in native memory, which
+ * {@link #close()} releases without waiting for the garbage collector.
  *
  * @param <T> The type of elements stored in the array.
  */
 @SuppressWarnings("unchecked")
-public final class NDArray<T> {
-	/** The underlying array data. */
-	private T array;
+public final class NDArray<T> implements AutoCloseable {
+	/**
+	 * The largest number of elements an array backed by a Java array can hold, slightly less than
+	 * 2^31. Larger numeric arrays are stored in native memory segments and addressed with
+	 * {@code long} offsets and strides, so only OBJECT and BOOL arrays and nested Java arrays are
+	 * bound by it.
+	 */
+	public static final int MAX_SIZE = DataBuffer.MAX_HEAP_LENGTH;
+	/** The flat storage holding the array elements. */
+	private final DataBuffer buffer;
 	/** The number of dimensions of the array. */
-	private int ndim;
+	private final int ndim;
+	/** The shape of the array. */
+	private final int[] shape;
 	/** The shape of the array, represented as a list of integers. */
-	private List<Integer> shape = new ArrayList<>();
+	private final List<Integer> shapeList;
+	/** Number of buffer elements to skip to advance one position along each dimension. */
+	private final long[] strides;
+	/** Buffer index of the first element; non-zero for views into a larger buffer. */
+	private final long offset;
 	/** The total number of elements in the array. */
-	private long size = 0;
-	/** The total size of the array elements. */
-	private long itemSize = 0;
+	private final long size;
 	/** The total number of bytes of array elements*/
-	private long nBytes = 0;
-	private int index = 0;
-	/** Utility class instance for helper methods. */
-	Utils utils;
+	private final long nBytes;
+	/** Stateless helper shared by all arrays. */
+	static final Utils utils = new Utils();
 	/** Data Type of current array */
-	DType dType = DType.INT8;
-	int elementSize = 1;
+	final DType dType;
+	/** Component type of the nested Java arrays produced by {@link #getArray()}. */
+	private final Class<?> elementClass;
+
 	/**
 	 * Constructs an NDArray from the given data array.
+	 * The nested input is validated and copied once into a flat buffer of the inferred data type.
 	 *
 	 * @param data The array data to initialize the NDArray with.
 	 * @throws ShapeException If the array has an inhomogeneous shape.
 	 */
 	NDArray(T data) throws ShapeException {
-		utils = new Utils();
-
 
 		if(utils.isValue(data))
 		{
-			this.array = data;
-			this.size = 1;
-			return;
+			this.dType = DType.fromClass(data.getClass()) == null ? DType.OBJECT : DType.fromClass(data.getClass());
+			this.elementClass = data.getClass();
+			this.shape = new int[0];
+			this.buffer = DataBuffer.allocate(dType, 1);
+			this.buffer.set(0, data);
+		}
+		else {
+			this.shape = inferShape(data);
+			Class<?> leafClass = utils.getComponentType(data);
+			DType leafType = DType.fromClass(leafClass);
+			this.dType = leafType != null ? leafType : inferType(data, 0);
+			this.elementClass = leafType != null || dType == DType.OBJECT ? leafClass : dType.is();
+			this.buffer = DataBuffer.allocate(dType, checkedSize(shape));
+			copyNested(data, 0, new int[1]);
 		}
-		calculateDimensions(data, 0);
-		calculateSize();
-		int[] arrayShape = shape.stream().mapToInt(Integer::intValue).toArray();
-		this.array = (T) Array.newInstance(dType.is(), arrayShape);
-		this.array = createDeepCopy(data);
+		this.ndim = shape.length;
+		this.shapeList = toList(shape);
+		this.strides = contiguousStrides(shape);
+		this.offset = 0;
+		this.size = sizeOf(shape);
+		this.nBytes = size * dType.itemSize();
 	}
+
 	/**
 	 * Constructs an NDArray with the given data, shape, and number of dimensions.
+	 * A scalar is repeated over the whole shape, an array is copied in row-major order
+	 * and a {@link DataBuffer} is used as-is.
 	 *
 	 * @param data  The data to be stored in the NDArray.
 	 * @param shape The shape of the NDArray as an array of integers.
 	 * @param ndim  The number of dimensions of the NDArray.
+	 * @param dType The data type of the NDArray.
 	 */
 	NDArray(T data, int[] shape, int ndim, DType dType) {
-		this.array = data;
 		this.dType = dType;
-		utils = new Utils();
-		Arrays.stream(shape).sequential().forEach(value -> {
-			this.shape.add(value);
-			this.size *= value;
-			if(this.size == 0)
-			{
-				this.size = value;
-			}
-			else{
-				this.size *= value;
-			}
-		});
-		this.itemSize = this.size + ndim;
+		this.elementClass = dType.is();
+		this.shape = shape.clone();
 		this.ndim = ndim;
-		this.nBytes = this.itemSize * utils.getElementSize(dType.is());
+		this.shapeList = toList(this.shape);
+		this.strides = contiguousStrides(this.shape);
+		this.offset = 0;
+		this.size = sizeOf(this.shape);
+		this.nBytes = size * dType.itemSize();
+
+		if (data instanceof DataBuffer) {
+			this.buffer = (DataBuffer) data;
+		} else if (data != null && data.getClass().isArray()) {
+			this.buffer = DataBuffer.allocate(dType, checkedSize(this.shape));
+			int[] position = new int[1];
+			copyValues(data, position);
+			if (position[0] != size)
+				throw new ShapeMismatchException(shapeMismatchException(position[0], shape));
+		} else {
+			this.buffer = DataBuffer.allocate(dType, size);
+			if (data instanceof Number) {
+				buffer.fill(0, size, (Number) data);
+			} else if (data != null) {
+				// Other scalars, such as strings, only fit OBJECT buffers and are stored one by one
+				for (long i = 0; i < size; i++) {
+					buffer.set(i, data);
+				}
+			}
+		}
+		if (buffer.length() != size)
+			throw new ShapeMismatchException(shapeMismatchException(buffer.length(), shape));
+	}
 
+	/**
+	 * Constructs a C-contiguous NDArray over an existing buffer without copying it.
+	 *
+	 * @param buffer       The buffer holding the elements in row-major order.
+	 * @param shape        The shape of the NDArray.
+	 * @param elementClass The component type used when materializing nested Java arrays.
+	 */
+	public NDArray(DataBuffer buffer, int[] shape, Class<?> elementClass) {
+		this(buffer, shape, contiguousStrides(shape), 0, elementClass);
+		if (buffer.length() != size)
+			throw new ShapeMismatchException(shapeMismatchException(buffer.length(), shape));
 	}
 
 	/**
-	 * Creates a deep copy of the given array, including nested arrays, using recursion.
+	 * Constructs a view over an existing buffer without copying it. Views share their buffer,
+	 * so several NDArrays with different shapes, strides and offsets can address the same elements.
 	 *
-	 * @param array The array to be copied.
-	 * @return A deep copy of the array.
+	 * @param buffer       The buffer holding the elements.
+	 * @param shape        The shape of the NDArray.
+	 * @param strides      The number of buffer elements to skip along each dimension.
+	 * @param offset       The buffer index of the first element.
+	 * @param elementClass The component type used when materializing nested Java arrays.
+	 * @throws IndexOutOfBoundsException If the view addresses elements outside the buffer.
 	 */
-	@SuppressWarnings("unchecked")
-	private T createDeepCopy(T array) {
-		if (!array.getClass().isArray()) {
-			return array;
+	public NDArray(DataBuffer buffer, int[] shape, long[] strides, long offset, Class<?> elementClass) {
+		this.buffer = buffer;
+		this.dType = buffer.dType();
+		this.elementClass = elementClass;
+		this.shape = shape.clone();
+		this.ndim = shape.length;
+		this.shapeList = toList(this.shape);
+		this.strides = strides.clone();
+		this.offset = offset;
+		this.size = sizeOf(this.shape);
+		this.nBytes = size * dType.itemSize();
+
+		if (size > 0) {
+			long first = offset;
+			long last = offset;
+			for (int i = 0; i < ndim; i++) {
+				long extent = (shape[i] - 1) * strides[i];
+				if (extent < 0) first += extent; else last += extent;
+			}
+			if (first < 0 || last >= buffer.length())
+				throw new IndexOutOfBoundsException("View of shape " + Arrays.toString(shape) + " with strides "
+						+ Arrays.toString(strides) + " and offset " + offset + " exceeds buffer of length " + buffer.length());
 		}
+	}
 
-		int length = Array.getLength(array);
-		T newArray = (T) Array.newInstance(array.getClass().getComponentType(), length);
-
-		// Parallel stream to copy array elements concurrently
-		IntStream.range(0, length).parallel().forEach(i -> {
-			T element = (T) Array.get(array, i);
-			if (element != null && element.getClass().isArray()) {
-				Array.set(newArray, i, createDeepCopy(element));
-			} else {
-				if(!(element instanceof  String))
-				{
-					Class<?> tempClass = array.getClass().getComponentType();
-					this.dType = dType.fromSize(utils.getElementSize(tempClass == null ? Object.class : tempClass), utils.isFloatingPoint(element));
-				}
-				else{
-					this.dType = DType.OBJECT;
-				}
-				Array.set(newArray, i, element);
-			}
-		});
-		return newArray;
+	/**
+	 * Computes the number of elements described by a shape, failing instead of overflowing.
+	 *
+	 * @param shape The shape of an array; dimensions must not be negative.
+	 * @return The product of all dimensions.
+	 * @throws IllegalArgumentException If the product does not fit in a {@code long}.
+	 */
+	public static long sizeOf(int[] shape) {
+		return sizeOf(shape, Long.MAX_VALUE);
 	}
 
+	/**
+	 * Computes the number of elements of an array that is about to be copied into a Java array, such
+	 * as the backing array of a heap buffer, failing instead of overflowing when the shape holds more
+	 * elements than a Java array can.
+	 *
+	 * @param shape The shape of the array; dimensions must not be negative.
+	 * @return The product of all dimensions.
+	 * @throws IllegalArgumentException If the product exceeds {@link #MAX_SIZE}.
+	 */
+	public static int checkedSize(int[] shape) {
+		return (int) sizeOf(shape, MAX_SIZE);
+	}
 
 	/**
-	 * Calculates the total size and item size of the array based on its shape.
+	 * Computes the product of the dimensions of a shape, failing when it exceeds a limit.
+	 *
+	 * @param shape The shape; dimensions must not be negative.
+	 * @param limit The largest accepted product.
+	 * @return The product of all dimensions.
+	 * @throws IllegalArgumentException If the product exceeds {@code limit}.
 	 */
-	private void calculateSize() {
+	private static long sizeOf(int[] shape, long limit) {
 		long size = 1;
-		for (int i : shape) {
-			size *= i;
+		boolean tooLarge = false;
+		for (int dim : shape) {
+			if (dim == 0) return 0;
+			// Stop multiplying once past the limit so that the product cannot wrap around
+			tooLarge |= dim > 0 && size > limit / dim;
+			if (!tooLarge) size *= dim;
+		}
+		if (tooLarge) {
+			throw new IllegalArgumentException(ExceptionMessages.arrayTooLargeException(shape, limit));
 		}
-		this.size = size;
-		this.itemSize = size + ndim;
+		return size;
 	}
 
 	/**
-	 * Recursively calculates the dimensions of the array.
+	 * Calculates row-major (C order) element strides for the given shape.
 	 *
-	 * @param arr   The array to calculate dimensions for.
-	 * @param level The current level of recursion (dimension depth).
-	 * @return The number of dimensions.
-	 * @throws ShapeException If the array has an inhomogeneous shape.
+	 * @param shape The shape of the array.
+	 * @return The number of elements to skip along each dimension.
 	 */
-	public int calculateDimensions(T arr, int level) throws ShapeException {
-		if (!arr.getClass().isArray()) {
-			return ndim;
+	public static long[] contiguousStrides(int[] shape) {
+		return contiguousStrides(shape, Order.C);
+	}
+
+	/**
+	 * Calculates contiguous element strides for the given shape in row-major (C) or column-major (F) order.
+	 *
+	 * @param shape The shape of the array.
+	 * @param order The memory layout order.
+	 * @return The number of elements to skip along each dimension.
+	 */
+	public static long[] contiguousStrides(int[] shape, Order order) {
+		long[] strides = new long[shape.length];
+		long stride = 1;
+		for (int k = 0; k < shape.length; k++) {
+			int i = order == Order.F ? k : shape.length - 1 - k;
+			strides[i] = stride;
+			stride *= shape[i];
 		}
-		if(utils.isPrimitive(arr))
-		{
-			for(int i = 0; i<Array.getLength(arr);i++)
-			{
-				T value = (T)Array.get(arr, i);
-				if(value == null)
-				{
-					elementSize = 16;
-					this.dType = DType.OBJECT;
-				}
-				else{
-					elementSize = Math.max(elementSize, utils.getElementSize(value.getClass()));
-					this.dType = dType.fromSize(elementSize, (value instanceof Double || value instanceof Float));
-				}
+		return strides;
+	}
 
-			}
-//			Class<?> classType = Array.get(arr, 0).getClass();
-//			if(utils.isValue(classType))
-//			{
-//				Arrays.stream((T[])arr).parallel().forEach(value->{
-//					if(value instanceof Number || value instanceof String)
-//					{
-//						elementSize = Math.max(elementSize, utils.getElementSize(value.getClass()));
-//						this.dType = dType.fromSize(elementSize, (value instanceof Double || value instanceof Float));
-//					}
-//				});
-//			}
-//			else{
-//				for(int i = 0; i<Array.getLength(arr);i++)
-//				{
-//					T value = (T)Array.get(arr, i);
-//					elementSize = Math.max(elementSize, utils.getElementSize(value.getClass()));
-//					this.dType = dType.fromSize(elementSize, (value instanceof Double || value instanceof Float));
-//				}
-//			}
+	private static List<Integer> toList(int[] shape) {
+		List<Integer> list = new ArrayList<>(shape.length);
+		for (int dim : shape) {
+			list.add(dim);
+		}
+		return Collections.unmodifiableList(list);
+	}
 
+	/**
+	 * Determines the shape of a nested array by following its first elements.
+	 *
+	 * @param data The nested array.
+	 * @return The detected shape.
+	 */
+	private int[] inferShape(Object data) {
+		List<Integer> dims = new ArrayList<>();
+		Object level = data;
+		while (level != null && level.getClass().isArray()) {
+			int length = Array.getLength(level);
+			dims.add(length);
+			level = length > 0 ? Array.get(level, 0) : null;
 		}
-		int length = Array.getLength(arr);
+		return dims.stream().mapToInt(Integer::intValue).toArray();
+	}
 
-		synchronized (this) {  // Synchronize access to shared state (shape, ndim)
-			if (shape.size() > level) {
-				if (length != shape.get(level)) {
-					throw new ShapeException(ExceptionMessages.getShapeException(ndim, shape));
-				}
+	/**
+	 * Infers the data type of a nested array whose component type does not determine it
+	 * (for example {@code Object[]} or {@code Number[]}) by inspecting its values.
+	 *
+	 * @param arr   The (sub-)array to inspect.
+	 * @param level The current dimension depth.
+	 * @return The narrowest DType able to hold every value.
+	 */
+	private DType inferType(Object arr, int level) {
+		int length = Array.getLength(arr);
+		DType result = null;
+		for (int i = 0; i < length; i++) {
+			Object value = Array.get(arr, i);
+			DType type;
+			if (level < shape.length - 1) {
+				if (value == null || !value.getClass().isArray()) return DType.OBJECT;
+				type = inferType(value, level + 1);
 			} else {
-				shape.add(length);
-				ndim++;
+				type = value == null ? null : DType.fromClass(value.getClass());
 			}
+			if (type == null || type == DType.OBJECT) return DType.OBJECT;
+			result = result == null ? type : DType.resultType(result, type);
 		}
+		return result == null ? DType.OBJECT : result;
+	}
 
-		// Check the first element's class type
-		Class<?> previousClass = (length > 0 && Array.get(arr, 0) != null)
-				? Array.get(arr, 0).getClass()
-				: null;
-
-		AtomicInteger previousDim = new AtomicInteger();
-
-		// Parallel stream to process the array
-		IntStream.range(0, length).sequential().forEach(i -> {
-			T element = (T) Array.get(arr, i);
-			try{
-				if (element != null && element.getClass().isArray()) {
-					if (previousClass != null && previousClass.isArray()) {
-						int dim = calculateDimensions(element, level + 1);
-						synchronized (this) {
-							if (i == 0) {
-								previousDim.set(dim);
-							} else if (dim != previousDim.get()) {
-								throw new ShapeException(ExceptionMessages.getShapeException(ndim, shape));
-							}
-						}
-					} else {
-						throw new ShapeException(ExceptionMessages.getShapeException(ndim, shape));
-					}
-				} else {
-					if (previousClass != null && previousClass.isArray()) {
-						throw new ShapeException(ExceptionMessages.getShapeException(ndim, shape));
-					}
+	/**
+	 * Validates the nested array against the inferred shape and copies its values into the buffer.
+	 *
+	 * @param arr      The (sub-)array to copy.
+	 * @param level    The current dimension depth.
+	 * @param position Single-element holder for the next buffer index to write.
+	 */
+	private void copyNested(Object arr, int level, int[] position) {
+		if (arr == null || !arr.getClass().isArray() || Array.getLength(arr) != shape[level]) {
+			throw new InvalidShapeException(ExceptionMessages.getShapeException(level + 1,
+					new ArrayList<>(shapeList(level + 1))));
+		}
+		int length = shape[level];
+		if (level < shape.length - 1) {
+			for (int i = 0; i < length; i++) {
+				copyNested(Array.get(arr, i), level + 1, position);
+			}
+		} else if (arr.getClass().getComponentType() == dType.primitive()) {
+			System.arraycopy(arr, 0, buffer.array(), position[0], length);
+			position[0] += length;
+		} else {
+			for (int i = 0; i < length; i++) {
+				Object value = Array.get(arr, i);
+				if (value != null && value.getClass().isArray()) {
+					throw new InvalidShapeException(ExceptionMessages.getShapeException(level + 2,
+							new ArrayList<>(shapeList(level + 1))));
 				}
-			}catch (ShapeException e)
-			{
-				throw new RuntimeException(e);
+				if (value != null || dType == DType.OBJECT) buffer.set(position[0], value);
+				position[0]++;
 			}
-			
-		});
+		}
+	}
 
-		return ndim;
+	private List<Integer> shapeList(int dims) {
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < dims; i++) {
+			list.add(shape[i]);
+		}
+		list.add(-1);
+		return list;
 	}
 
+	/**
+	 * Copies every non-null leaf value of a nested array into the buffer in row-major order.
+	 *
+	 * @param arr      The (sub-)array to copy.
+	 * @param position Single-element holder for the next buffer index to write.
+	 */
+	private void copyValues(Object arr, int[] position) {
+		int length = Array.getLength(arr);
+		for (int i = 0; i < length; i++) {
+			Object value = Array.get(arr, i);
+			if (value != null && value.getClass().isArray()) {
+				copyValues(value, position);
+			} else if (value != null) {
+				if (position[0] < size) buffer.set(position[0], value);
+				position[0]++;
+			}
+		}
+	}
 
 	/**
-	 * Returns the underlying array data.
+	 * Returns the array data as nested Java arrays.
+	 * The nested arrays are materialized from the flat buffer on every call; a zero-dimensional
+	 * array returns its single value.
 	 *
 	 * @return The array data.
 	 */
 	public T getArray() {
-		return this.array;
+		if (ndim == 0) {
+			return (T) buffer.get(offset);
+		}
+		Object target = Array.newInstance(elementClass, shape);
+		fillNested(target, 0, offset);
+		return (T) target;
+	}
+
+	/**
+	 * Recursively copies buffer elements into a freshly allocated nested array.
+	 *
+	 * @param target   The (sub-)array to fill.
+	 * @param level    The current dimension depth.
+	 * @param position The buffer index of the first element of {@code target}.
+	 */
+	private void fillNested(Object target, int level, long position) {
+		int length = shape[level];
+		long stride = strides[level];
+		if (level < ndim - 1) {
+			for (int i = 0; i < length; i++) {
+				fillNested(Array.get(target, i), level + 1, position + i * stride);
+			}
+		} else if (elementClass == dType.primitive() && stride == 1 && buffer.hasArray()) {
+			System.arraycopy(buffer.array(), (int) position, target, 0, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				Array.set(target, i, buffer.get(position + i * stride));
+			}
+		}
+	}
+
+	/**
+	 * Returns the flat buffer holding the array elements.
+	 *
+	 * @return The storage buffer.
+	 */
+	public DataBuffer buffer() {
+		return buffer;
+	}
+
+	/**
+	 * Returns the buffer index of the first element of this array.
+	 *
+	 * @return The offset into {@link #buffer()}.
+	 */
+	public long offset() {
+		return offset;
+	}
+
+	/**
+	 * Checks whether the elements are laid out in row-major order without gaps, starting at {@link #offset()}.
+	 *
+	 * @return {@code true} if the array is C-contiguous.
+	 */
+	public boolean isContiguous() {
+		return isContiguous(Order.C);
+	}
+
+	/**
+	 * Checks whether the elements are laid out without gaps in the given order, starting at {@link #offset()}.
+	 * One-dimensional contiguous arrays are contiguous in both orders.
+	 *
+	 * @param order The memory layout order to check.
+	 * @return {@code true} if the array is contiguous in that order.
+	 */
+	public boolean isContiguous(Order order) {
+		long expected = 1;
+		for (int k = 0; k < ndim; k++) {
+			int i = order == Order.F ? k : ndim - 1 - k;
+			if (shape[i] != 1 && strides[i] != expected) return false;
+			expected *= shape[i];
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the layout of the elements: {@link Order#F} for arrays that are column-major contiguous
+	 * but not row-major contiguous, {@link Order#C} otherwise. Operations allocate their results in
+	 * this order and traverse them accordingly, so column-major arrays stay column-major.
+	 *
+	 * @return The memory layout order of the array.
+	 */
+	public Order order() {
+		return !isContiguous(Order.C) && isContiguous(Order.F) ? Order.F : Order.C;
+	}
+
+	/**
+	 * Returns a C-contiguous copy of this array that no longer shares its buffer.
+	 *
+	 * @return A new NDArray holding a copy of the elements.
+	 */
+	public NDArray<T> copy() {
+		return copy(dType, Storage.HEAP, Order.C);
+	}
+
+	/**
+	 * Returns a copy of this array laid out contiguously in the given order, e.g. {@code Order.F}
+	 * for the equivalent of NumPy's {@code asfortranarray}.
+	 *
+	 * @param order The memory layout order of the copy.
+	 * @return A new NDArray holding a copy of the elements.
+	 */
+	public NDArray<T> copy(Order order) {
+		return copy(dType, Storage.HEAP, order);
+	}
+
+	/**
+	 * Returns a C-contiguous copy of this array whose elements live in the requested kind of memory.
+	 *
+	 * @param storage Whether the copy lives on the Java heap or in native memory.
+	 * @return A new NDArray holding a copy of the elements.
+	 */
+	public NDArray<T> copy(Storage storage) {
+		return copy(dType, storage, Order.C);
+	}
+
+	/**
+	 * Tells where the elements of this array live.
+	 *
+	 * @return The storage of the underlying buffer.
+	 */
+	public Storage storage() {
+		return buffer.storage();
+	}
+
+	/**
+	 * Releases the native memory of an off-heap or memory-mapped array; does nothing for heap arrays.
+	 * Views share the buffer, so closing any of them invalidates all, and any later access throws
+	 * {@link IllegalStateException}. Must not be called while other threads still use the array.
+	 */
+	@Override
+	public void close() {
+		buffer.close();
+	}
+
+	/**
+	 * Copies the elements into a new C-contiguous buffer of the given type.
+	 *
+	 * @param dType   The data type of the copy.
+	 * @param storage The memory the copy lives in.
+	 * @param order   The memory layout order of the copy.
+	 * @return A new NDArray holding a converted copy of the elements.
+	 */
+	private <R> NDArray<R> copy(DType dType, Storage storage, Order order) {
+		DataBuffer copy = DataBuffer.allocate(dType, size, storage);
+		long[] copyStrides = contiguousStrides(shape, order);
+		// Walk a column-major copy with the axes reversed so that it is written sequentially
+		int[] axes = BroadcastIterator.traversalAxes(ndim, order);
+		BroadcastIterator iterator = new BroadcastIterator(BroadcastIterator.permute(shape, axes), new long[]{0, offset},
+				BroadcastIterator.permute(copyStrides, axes), BroadcastIterator.permute(strides, axes));
+		iterator.forEach((offsets, runStrides, length) -> copy.copyFrom(offsets[0], buffer, offsets[1], runStrides[1], length));
+		Class<?> copyClass = dType == this.dType ? elementClass
+				: elementClass.isPrimitive() ? dType.primitive() : dType.is();
+		return new NDArray<>(copy, shape, copyStrides, 0, copyClass);
+	}
+
+	/**
+	 * Returns the component type of the nested Java arrays produced by {@link #getArray()}.
+	 *
+	 * @return The element class.
+	 */
+	public Class<?> elementClass() {
+		return elementClass;
 	}
 
 	/**
@@ -261,17 +567,17 @@ public final class NDArray<T> {
 	 * @return The item size in bytes.
 	 */
 	public long itemSize() {
-		return this.itemSize;
+		return this.nBytes;
 	}
 
 	/**
 	 * Prints the array in a multi-dimensional format.
 	 */
 	public void printArray() {
-		printRecurssive(array, 1, false);
+		printRecurssive(getArray(), 1, false);
 	}
 	public void printArray(boolean isFullArray) {
-		printRecurssive(array, 1, isFullArray);
+		printRecurssive(getArray(), 1, isFullArray);
 	}
 
 	private void printRecurssive(T array, int depth, boolean isFull) {
@@ -354,50 +660,68 @@ public final class NDArray<T> {
 	 * @return A list representing the size in each dimension.
 	 */
 	public List<Integer> shape() {
-		return shape;
+		return shapeList;
 	}
 
 	/**
-	 * Recursively flattens the array into a one-dimensional list.
+	 * Returns the shape of the array as a new int array.
 	 *
-	 * @param currentArray The current sub-array being processed.
-	 * @param flatArray     The list to accumulate the flattened elements.
+	 * @return The size in each dimension.
 	 */
-	private synchronized  <R> void flattenRecursive(T currentArray, R flatArray, int level) {
+	public int[] shapeArray() {
+		return shape.clone();
+	}
 
-		final int finalLevel = level+1;
-		if(utils.isPrimitive(currentArray))
-		{
-			for(int i = 0;i<Array.getLength(currentArray);i++)
-			{
-				Array.set(flatArray, index++, Array.get(currentArray, i));
-			}
-		}else if(utils.isValue(currentArray))
-		{
-			Array.set(flatArray, index++, currentArray);
-		}
-		else{
-			Arrays.stream(((T[])currentArray)).sequential()
-					.forEach(element -> flattenRecursive(element, flatArray, finalLevel));
-		}
+	/**
+	 * Returns the strides of the array measured in elements rather than bytes.
+	 *
+	 * @return The number of buffer elements to skip along each dimension.
+	 */
+	public long[] elementStrides() {
+		return strides.clone();
 	}
 
 	/**
 	 * Flattens the array into a one-dimensional NDArray.
+	 * A contiguous array is flattened in O(1) as a view sharing this array's buffer; other arrays
+	 * are copied in row-major order. Use {@link #copy()} on the result to detach it.
 	 *
 	 * @return A new NDArray that is a flattened version of the original array.
-	 * @throws ShapeException If an error occurs during flattening.
+	 * @throws ShapeException If the array has more elements than a single dimension can hold.
 	 */
 	public <R> NDArray<R> flatten() throws ShapeException {
-		R flatArray = (R) Array.newInstance(dType.is(), (int)this.size);
-		Arrays.fill((R[])flatArray, dType.getDefaultValue());
-		flattenRecursive(this.array, flatArray, 0);
-		this.index = 0;
-		return new NDArray<>(flatArray);
+		return reshape(flatLength());
+	}
+
+	/**
+	 * Flattens the array into a one-dimensional NDArray, reading the elements in row-major (C) or
+	 * column-major (F) order. The result is a view when the array is contiguous in that order.
+	 *
+	 * @param order The order to read the elements in.
+	 * @return A one-dimensional NDArray holding the elements in the requested order.
+	 * @throws ShapeException If the array has more elements than a single dimension can hold.
+	 */
+	public <R> NDArray<R> flatten(Order order) throws ShapeException {
+		return reshape(new int[]{flatLength()}, order);
+	}
+
+	/**
+	 * Returns the length of the single dimension of a flattened copy of this array.
+	 *
+	 * @return The number of elements.
+	 * @throws ShapeException If the number of elements exceeds the largest dimension, {@link Integer#MAX_VALUE}.
+	 */
+	private int flatLength() throws ShapeException {
+		if (size > Integer.MAX_VALUE) {
+			throw new ShapeException(ExceptionMessages.dimensionTooLargeException(size));
+		}
+		return (int) size;
 	}
 
 	/**
 	 * Reshapes the array to the specified new shape.
+	 * A contiguous array is reshaped in O(1) as a view sharing this array's buffer; other arrays
+	 * are copied in row-major order first.
 	 *
 	 * @param newShape The desired shape dimensions.
 	 * @return A new NDArray with the specified shape.
@@ -408,43 +732,116 @@ public final class NDArray<T> {
 				.asLongStream()
 				.reduce(1, (a, b) -> a * b);
 
-
-
-
-		if (this.size != newSize) {
+		if (this.size != newSize || Arrays.stream(newShape).anyMatch(dim -> dim < 0)) {
 			throw new ShapeException(ExceptionMessages.shapeMismatchedException(size, Arrays.toString(newShape)));
 		}
-		Class<?> arrayOutType = this.array.getClass().getComponentType();
-		while (arrayOutType.isArray()) {
-			arrayOutType = arrayOutType.getComponentType();
-		}
-		R flatList = (R) Array.newInstance(arrayOutType, (int) newSize);
-		flattenRecursive(this.array, flatList, 0);
-		R newArray = (R) Array.newInstance(arrayOutType, newShape);
-		this.index = 0;
-		buildArrayFromFlatList(flatList, newArray);
-
-		return new NDArray<>(newArray);
+		NDArray<T> source = isContiguous() ? this : copy();
+		return new NDArray<>(source.buffer, newShape, contiguousStrides(newShape), source.offset, elementClass);
+	}
 
+	/**
+	 * Reshapes the array, reading and placing the elements in row-major (C) or column-major (F)
+	 * index order as NumPy's {@code reshape(shape, order)} does. The result is a view when the array
+	 * is contiguous in that order.
+	 *
+	 * @param newShape The desired shape dimensions.
+	 * @param order    The index order to read and place the elements in.
+	 * @return A new NDArray with the specified shape.
+	 * @throws ShapeException If the total size does not match the original array.
+	 */
+	public <R> NDArray<R> reshape(int[] newShape, Order order) throws ShapeException {
+		if (order == Order.C) {
+			return reshape(newShape);
+		}
+		// A column-major reshape is a row-major reshape of the reversed axes
+		int[] reversed = BroadcastIterator.permute(newShape, BroadcastIterator.traversalAxes(newShape.length, Order.F));
+		return this.<T>transpose().<T>reshape(reversed).transpose();
 	}
 
+	/**
+	 * Returns a view of the array with its axes reversed.
+	 *
+	 * @return A transposed view sharing this array's buffer.
+	 */
+	public <R> NDArray<R> transpose() {
+		int[] axes = new int[ndim];
+		for (int i = 0; i < ndim; i++) {
+			axes[i] = ndim - 1 - i;
+		}
+		return transpose(axes);
+	}
 
 	/**
-	 * Builds a multi-dimensional array from a flat list based on the given shape.
+	 * Returns a view of the array with its axes permuted; axis {@code i} of the result is axis
+	 * {@code axes[i]} of this array. No elements are copied.
 	 *
-	 * @param flatList The flat list of array elements.
-	 * @param newArray The desired new array to fill the values.
+	 * @param axes A permutation of {@code 0 .. ndim-1}.
+	 * @return A permuted view sharing this array's buffer.
+	 * @throws IllegalArgumentException If axes is not a permutation of the array's dimensions.
 	 */
-	private <R> void buildArrayFromFlatList(R flatList, R newArray) {
-		if (Array.get(newArray, 0) != null && Array.get(newArray, 0).getClass().isArray()) {
-			IntStream.range(0, Array.getLength(newArray))
-					.forEach(i -> buildArrayFromFlatList(flatList, Array.get(newArray, i)));
-		} else {
-			IntStream.range(0, Array.getLength(newArray))
-					.forEach(i -> Array.set(newArray, i, Array.get(flatList, index++)));
+	public <R> NDArray<R> transpose(int... axes) {
+		if (axes.length != ndim)
+			throw new IllegalArgumentException(ExceptionMessages.invalidAxesException(ndim, axes));
+		boolean[] isUsed = new boolean[ndim];
+		int[] permutedShape = new int[ndim];
+		long[] permutedStrides = new long[ndim];
+		for (int i = 0; i < ndim; i++) {
+			int axis = axes[i] < 0 ? axes[i] + ndim : axes[i];
+			if (axis < 0 || axis >= ndim || isUsed[axis])
+				throw new IllegalArgumentException(ExceptionMessages.invalidAxesException(ndim, axes));
+			isUsed[axis] = true;
+			permutedShape[i] = shape[axis];
+			permutedStrides[i] = strides[axis];
 		}
+		return new NDArray<>(buffer, permutedShape, permutedStrides, offset, elementClass);
+	}
+
+	/**
+	 * Returns a view of the elements {@code start, start + step, ...} up to (but not including)
+	 * {@code stop} along one axis, following Python slice semantics: negative start and stop count
+	 * from the end of the axis, out-of-range values are clipped and a negative step walks backwards.
+	 * No elements are copied.
+	 *
+	 * @param axis  The axis to slice.
+	 * @param start The first index (inclusive).
+	 * @param stop  The last index (exclusive).
+	 * @param step  The distance between selected indices; must not be 0.
+	 * @return A sliced view sharing this array's buffer.
+	 * @throws IllegalArgumentException If the axis is out of range or step is 0.
+	 */
+	public <R> NDArray<R> slice(int axis, int start, int stop, int step) {
+		if (axis < 0) axis += ndim;
+		if (axis < 0 || axis >= ndim)
+			throw new IllegalArgumentException(ExceptionMessages.axisOutOfBoundsException(axis, ndim));
+		if (step == 0)
+			throw new IllegalArgumentException(ExceptionMessages.zeroStepException());
+		int length = shape[axis];
+		int lower = step > 0 ? 0 : -1;
+		int upper = step > 0 ? length : length - 1;
+		start = Math.max(lower, Math.min(upper, start < 0 ? start + length : start));
+		stop = Math.max(lower, Math.min(upper, stop < 0 ? stop + length : stop));
+		int count = step > 0 ? Math.max(0, (stop - start + step - 1) / step)
+				: Math.max(0, (start - stop - step - 1) / -step);
+
+		int[] slicedShape = shape.clone();
+		long[] slicedStrides = strides.clone();
+		slicedShape[axis] = count;
+		slicedStrides[axis] = strides[axis] * step;
+		long slicedOffset = count == 0 ? offset : offset + start * strides[axis];
+		return new NDArray<>(buffer, slicedShape, slicedStrides, slicedOffset, elementClass);
 	}
 
+	/**
+	 * Returns a view of the elements from {@code start} up to (but not including) {@code stop} along one axis.
+	 *
+	 * @param axis  The axis to slice.
+	 * @param start The first index (inclusive).
+	 * @param stop  The last index (exclusive).
+	 * @return A sliced view sharing this array's buffer.
+	 */
+	public <R> NDArray<R> slice(int axis, int start, int stop) {
+		return slice(axis, start, stop, 1);
+	}
 
 	/**
 	 * Calculates the strides of the array based on the given shape.
@@ -452,12 +849,23 @@ public final class NDArray<T> {
 	 * @param shape The shape of the array.
 	 * @return An array of strides corresponding to each dimension.
 	 */
-	public int[] strides(int[] shape) {
-		int[] strides = new int[shape.length];
-		int stride = utils.getElementSize(Double.class);
-		for (int i = shape.length - 1; i >= 0; i--) {
-			strides[i] = stride;
-			stride *= shape[i];
+	public long[] strides(int[] shape) {
+		return strides(shape, Order.C);
+	}
+
+	/**
+	 * Calculates the byte strides of a contiguous array of this array's element type with the given
+	 * shape and memory order.
+	 *
+	 * @param shape The shape of the array.
+	 * @param order The memory layout order.
+	 * @return An array of byte strides corresponding to each dimension.
+	 */
+	public long[] strides(int[] shape, Order order) {
+		long[] strides = contiguousStrides(shape, order);
+		int elementSize = utils.getElementSize(dType.is());
+		for (int i = 0; i < strides.length; i++) {
+			strides[i] *= elementSize;
 		}
 		return strides;
 	}
@@ -467,13 +875,12 @@ public final class NDArray<T> {
 	 *
 	 * @return An array of strides corresponding to each dimension.
 	 */
-	public int[] strides() {
-		int[] strides = new int[shape.size()];
-		int stride = utils.getElementSize(dType.is());//shape.get(0).getClass()
+	public long[] strides() {
+		long[] strides = new long[ndim];
+		int elementSize = utils.getElementSize(dType.is());
 
-		for (int i = shape.size() - 1; i >= 0; i--) {
-			strides[i] = stride;
-			stride *= shape.get(i);
+		for (int i = 0; i < ndim; i++) {
+			strides[i] = this.strides[i] * elementSize;
 		}
 		return strides;
 	}
@@ -482,4 +889,17 @@ public final class NDArray<T> {
 	{
 		return this.dType;
 	}
+
+	/**
+	 * Returns a copy of the array with its elements converted to the given data type.
+	 *
+	 * @param dType The requested data type.
+	 * @return This array if it already has the requested type, otherwise a converted copy.
+	 */
+	public <R> NDArray<R> astype(DType dType) {
+		if (dType == this.dType) {
+			return (NDArray<R>) this;
+		}
+		return copy(dType, Storage.HEAP, order());
+	}
 }
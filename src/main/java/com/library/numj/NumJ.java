@@ -1,16 +1,32 @@
 package com.library.numj;
 
 import com.library.numj.enums.DType;
+import com.library.numj.enums.MemmapMode;
 import com.library.numj.enums.OperationType;
 import com.library.numj.enums.Order;
+import com.library.numj.enums.ReductionType;
+import com.library.numj.enums.Storage;
+import com.library.numj.exceptions.InvalidShapeException;
 import com.library.numj.exceptions.ShapeException;
 import com.library.numj.exceptions.ShapeMismatchException;
+import com.library.numj.io.NpyIO;
 import com.library.numj.operations.ArithmaticOperations;
 import com.library.numj.operations.ArrayCreation;
 import com.library.numj.operations.ArrayModification;
+import com.library.numj.operations.Expression;
+import com.library.numj.operations.IndexingOperations;
+import com.library.numj.operations.LinearAlgebraOperations;
+import com.library.numj.operations.ParallelExecutor;
+import com.library.numj.operations.ReductionOperations;
+import com.library.numj.operations.ScanOperations;
+import com.library.numj.operations.SortOperations;
+import com.library.numj.storage.DataBuffer;
 
-import java.lang.reflect.Array;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.library.numj.ExceptionMessages.shapeMismatchException;
 
@@ -22,17 +38,66 @@ import static com.library.numj.ExceptionMessages.shapeMismatchException;
 @SuppressWarnings("unchecked")
 public class NumJ {
 	/** Instance of ArithmaticOperations for performing arithmetic operations on NDArrays. */
-	ArithmaticOperations arithmaticOperations;
-	ArrayModification arrayModification;
-	ArrayCreation arrayCreation;
+	final ArithmaticOperations arithmaticOperations;
+	final ArrayModification arrayModification;
+	final ArrayCreation arrayCreation;
+	final ReductionOperations reductionOperations;
+	final ScanOperations scanOperations;
+	final LinearAlgebraOperations linearAlgebraOperations;
+	final IndexingOperations indexingOperations;
+	final SortOperations sortOperations;
+	/** Executor running large operations of this instance in parallel. */
+	final ParallelExecutor executor;
+	final NpyIO npyIO;
 
 	/**
-	 * Default constructor initializes the arithmetic operations.
+	 * Default constructor initializes the operations on the JVM-wide common ForkJoinPool.
 	 */
 	public NumJ(){
-		arithmaticOperations = new ArithmaticOperations();
+		this(ParallelExecutor.shared());
+	}
+
+	/**
+	 * Initializes the operations to use the given number of threads.
+	 * Instances requesting the same parallelism share one pool, which lives for the lifetime of the process;
+	 * 1 keeps every operation on the calling thread.
+	 *
+	 * @param parallelism The number of threads large operations are split across.
+	 * @throws IllegalArgumentException If parallelism is smaller than 1.
+	 */
+	public NumJ(int parallelism){
+		this(ParallelExecutor.withParallelism(parallelism));
+	}
+
+	/**
+	 * Initializes the operations to run on the given pool.
+	 *
+	 * @param pool The ForkJoinPool large operations are submitted to.
+	 */
+	public NumJ(ForkJoinPool pool){
+		this(new ParallelExecutor(pool));
+	}
+
+	private NumJ(ParallelExecutor executor){
+		this.executor = executor;
+		arithmaticOperations = new ArithmaticOperations(executor);
 		arrayModification = new ArrayModification();
-		arrayCreation = new ArrayCreation();
+		arrayCreation = new ArrayCreation(executor);
+		reductionOperations = new ReductionOperations(executor);
+		scanOperations = new ScanOperations(executor);
+		linearAlgebraOperations = new LinearAlgebraOperations(executor);
+		indexingOperations = new IndexingOperations(executor);
+		sortOperations = new SortOperations(executor);
+		npyIO = new NpyIO();
+	}
+
+	/**
+	 * Returns the number of threads large operations of this instance are split across.
+	 *
+	 * @return The parallelism of this instance.
+	 */
+	public int parallelism() {
+		return executor.parallelism();
 	}
 
 	/**
@@ -50,6 +115,276 @@ public class NumJ {
 		return (NDArray<R>) new NDArray<>(data, shape, ndim, dType);
 	}
 
+	/**
+	 * Creates a one-dimensional NDArray from a {@code byte[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#INT8} NDArray.
+	 */
+	public NDArray<byte[]> array(byte[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+	/**
+	 * Creates an NDArray of the given shape over a flat row-major {@code byte[]}.
+	 * With {@code copy == false} the array is wrapped without copying and later writes to it
+	 * are visible through the NDArray; only trusted callers that hand over ownership should do this.
+	 *
+	 * @param data  The elements of the NDArray in row-major order.
+	 * @param shape The shape of the NDArray.
+	 * @param copy  Whether to copy {@code data} before wrapping it.
+	 * @return A {@link DType#INT8} NDArray backed by {@code data} or by a copy of it.
+	 * @throws ShapeMismatchException If the shape does not match the array length.
+	 */
+	public <R> NDArray<R> array(byte[] data, int[] shape, boolean copy) {
+		return arrayCreation.fromFlat(data, shape, copy);
+	}
+
+	/**
+	 * Creates a two-dimensional NDArray from a {@code byte[][]}, validating the row lengths
+	 * and copying each row in a single pass.
+	 *
+	 * @param data The rows of the matrix.
+	 * @return A new {@link DType#INT8} NDArray.
+	 * @throws InvalidShapeException If the rows have different lengths.
+	 */
+	public NDArray<byte[][]> array(byte[][] data) {
+		return arrayCreation.fromRows(data, DType.INT8);
+	}
+
+	/**
+	 * Creates a one-dimensional NDArray from a {@code short[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#INT16} NDArray.
+	 */
+	public NDArray<short[]> array(short[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+	/**
+	 * Creates an NDArray of the given shape over a flat row-major {@code short[]}.
+	 * With {@code copy == false} the array is wrapped without copying and later writes to it
+	 * are visible through the NDArray; only trusted callers that hand over ownership should do this.
+	 *
+	 * @param data  The elements of the NDArray in row-major order.
+	 * @param shape The shape of the NDArray.
+	 * @param copy  Whether to copy {@code data} before wrapping it.
+	 * @return A {@link DType#INT16} NDArray backed by {@code data} or by a copy of it.
+	 * @throws ShapeMismatchException If the shape does not match the array length.
+	 */
+	public <R> NDArray<R> array(short[] data, int[] shape, boolean copy) {
+		return arrayCreation.fromFlat(data, shape, copy);
+	}
+
+	/**
+	 * Creates a two-dimensional NDArray from a {@code short[][]}, validating the row lengths
+	 * and copying each row in a single pass.
+	 *
+	 * @param data The rows of the matrix.
+	 * @return A new {@link DType#INT16} NDArray.
+	 * @throws InvalidShapeException If the rows have different lengths.
+	 */
+	public NDArray<short[][]> array(short[][] data) {
+		return arrayCreation.fromRows(data, DType.INT16);
+	}
+
+	/**
+	 * Creates a one-dimensional NDArray from a {@code int[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#INT32} NDArray.
+	 */
+	public NDArray<int[]> array(int[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+	/**
+	 * Creates an NDArray of the given shape over a flat row-major {@code int[]}.
+	 * With {@code copy == false} the array is wrapped without copying and later writes to it
+	 * are visible through the NDArray; only trusted callers that hand over ownership should do this.
+	 *
+	 * @param data  The elements of the NDArray in row-major order.
+	 * @param shape The shape of the NDArray.
+	 * @param copy  Whether to copy {@code data} before wrapping it.
+	 * @return A {@link DType#INT32} NDArray backed by {@code data} or by a copy of it.
+	 * @throws ShapeMismatchException If the shape does not match the array length.
+	 */
+	public <R> NDArray<R> array(int[] data, int[] shape, boolean copy) {
+		return arrayCreation.fromFlat(data, shape, copy);
+	}
+
+	/**
+	 * Creates a two-dimensional NDArray from a {@code int[][]}, validating the row lengths
+	 * and copying each row in a single pass.
+	 *
+	 * @param data The rows of the matrix.
+	 * @return A new {@link DType#INT32} NDArray.
+	 * @throws InvalidShapeException If the rows have different lengths.
+	 */
+	public NDArray<int[][]> array(int[][] data) {
+		return arrayCreation.fromRows(data, DType.INT32);
+	}
+
+	/**
+	 * Creates a one-dimensional NDArray from a {@code long[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#INT64} NDArray.
+	 */
+	public NDArray<long[]> array(long[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+	/**
+	 * Creates an NDArray of the given shape over a flat row-major {@code long[]}.
+	 * With {@code copy == false} the array is wrapped without copying and later writes to it
+	 * are visible through the NDArray; only trusted callers that hand over ownership should do this.
+	 *
+	 * @param data  The elements of the NDArray in row-major order.
+	 * @param shape The shape of the NDArray.
+	 * @param copy  Whether to copy {@code data} before wrapping it.
+	 * @return A {@link DType#INT64} NDArray backed by {@code data} or by a copy of it.
+	 * @throws ShapeMismatchException If the shape does not match the array length.
+	 */
+	public <R> NDArray<R> array(long[] data, int[] shape, boolean copy) {
+		return arrayCreation.fromFlat(data, shape, copy);
+	}
+
+	/**
+	 * Creates a two-dimensional NDArray from a {@code long[][]}, validating the row lengths
+	 * and copying each row in a single pass.
+	 *
+	 * @param data The rows of the matrix.
+	 * @return A new {@link DType#INT64} NDArray.
+	 * @throws InvalidShapeException If the rows have different lengths.
+	 */
+	public NDArray<long[][]> array(long[][] data) {
+		return arrayCreation.fromRows(data, DType.INT64);
+	}
+
+	/**
+	 * Creates a one-dimensional NDArray from a {@code float[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#FLOAT32} NDArray.
+	 */
+	public NDArray<float[]> array(float[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+	/**
+	 * Creates an NDArray of the given shape over a flat row-major {@code float[]}.
+	 * With {@code copy == false} the array is wrapped without copying and later writes to it
+	 * are visible through the NDArray; only trusted callers that hand over ownership should do this.
+	 *
+	 * @param data  The elements of the NDArray in row-major order.
+	 * @param shape The shape of the NDArray.
+	 * @param copy  Whether to copy {@code data} before wrapping it.
+	 * @return A {@link DType#FLOAT32} NDArray backed by {@code data} or by a copy of it.
+	 * @throws ShapeMismatchException If the shape does not match the array length.
+	 */
+	public <R> NDArray<R> array(float[] data, int[] shape, boolean copy) {
+		return arrayCreation.fromFlat(data, shape, copy);
+	}
+
+	/**
+	 * Creates a two-dimensional NDArray from a {@code float[][]}, validating the row lengths
+	 * and copying each row in a single pass.
+	 *
+	 * @param data The rows of the matrix.
+	 * @return A new {@link DType#FLOAT32} NDArray.
+	 * @throws InvalidShapeException If the rows have different lengths.
+	 */
+	public NDArray<float[][]> array(float[][] data) {
+		return arrayCreation.fromRows(data, DType.FLOAT32);
+	}
+
+	/**
+	 * Creates a one-dimensional NDArray from a {@code double[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#FLOAT64} NDArray.
+	 */
+	public NDArray<double[]> array(double[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+	/**
+	 * Creates an NDArray of the given shape over a flat row-major {@code double[]}.
+	 * With {@code copy == false} the array is wrapped without copying and later writes to it
+	 * are visible through the NDArray; only trusted callers that hand over ownership should do this.
+	 *
+	 * @param data  The elements of the NDArray in row-major order.
+	 * @param shape The shape of the NDArray.
+	 * @param copy  Whether to copy {@code data} before wrapping it.
+	 * @return A {@link DType#FLOAT64} NDArray backed by {@code data} or by a copy of it.
+	 * @throws ShapeMismatchException If the shape does not match the array length.
+	 */
+	public <R> NDArray<R> array(double[] data, int[] shape, boolean copy) {
+		return arrayCreation.fromFlat(data, shape, copy);
+	}
+
+	/**
+	 * Creates a two-dimensional NDArray from a {@code double[][]}, validating the row lengths
+	 * and copying each row in a single pass.
+	 *
+	 * @param data The rows of the matrix.
+	 * @return A new {@link DType#FLOAT64} NDArray.
+	 * @throws InvalidShapeException If the rows have different lengths.
+	 */
+	public NDArray<double[][]> array(double[][] data) {
+		return arrayCreation.fromRows(data, DType.FLOAT64);
+	}
+
+	/**
+	 * Creates a one-dimensional NDArray from a {@code boolean[]}, copying it once.
+	 *
+	 * @param data The elements of the NDArray.
+	 * @return A new {@link DType#BOOL} NDArray.
+	 */
+	public NDArray<boolean[]> array(boolean[] data) {
+		return arrayCreation.fromFlat(data, new int[]{data.length}, true);
+	}
+
+
+	/**
+	 * Creates an NDArray backed by a memory-mapped file, the counterpart of {@code numpy.memmap}.
+	 * Elements are stored little-endian without a header and are paged in by the operating system on
+	 * first access, so arrays larger than the heap can be processed by every NumJ operation. Writes to
+	 * READ_WRITE and CREATE mappings reach the file; call {@link com.library.numj.storage.MappedBuffer#flush()}
+	 * on the array's buffer to force them to disk. A mapping may hold more than 2^31 elements as long
+	 * as its shape spreads them over several dimensions.
+	 *
+	 * @param file  The file to map.
+	 * @param dType The numeric data type of the elements.
+	 * @param mode  The access mode.
+	 * @param shape The shape of the NDArray; empty to map the whole file as a one-dimensional array.
+	 * @return An NDArray whose elements live in the file.
+	 * @throws IOException              If the file cannot be opened or mapped.
+	 * @throws IllegalArgumentException If no shape is given and the file holds more elements than one
+	 *                                  dimension can.
+	 */
+	public <R> NDArray<R> memmap(Path file, DType dType, MemmapMode mode, int... shape) throws IOException {
+		return arrayCreation.memmap(file, dType, mode, 0, shape);
+	}
+
+	/**
+	 * Creates an NDArray backed by a memory-mapped file whose elements start after {@code offset} bytes.
+	 *
+	 * @param file   The file to map.
+	 * @param dType  The numeric data type of the elements.
+	 * @param mode   The access mode.
+	 * @param offset The byte position of the first element, e.g. the size of a header.
+	 * @param shape  The shape of the NDArray; empty to map the rest of the file as a one-dimensional array.
+	 * @return An NDArray whose elements live in the file.
+	 * @throws IOException              If the file cannot be opened or mapped.
+	 * @throws IllegalArgumentException If no shape is given and the rest of the file holds more elements
+	 *                                  than one dimension can.
+	 */
+	public <R> NDArray<R> memmap(Path file, DType dType, MemmapMode mode, long offset, int[] shape) throws IOException {
+		return arrayCreation.memmap(file, dType, mode, offset, shape);
+	}
 
 	/**
 	 * Creates an NDArray filled with zeros of the given shape, using the default data type (INT32) and C order.
@@ -82,7 +417,21 @@ public class NumJ {
 	 * @return An NDArray filled with zeros.
 	 */
 	public <T> NDArray<T> zeros(int[] shape, DType dType, Order order) {
-		return arrayCreation.zeros(shape, dType);
+		return zeros(shape, dType, order, Storage.HEAP);
+	}
+
+	/**
+	 * Creates an NDArray filled with zeros whose elements live in the requested kind of memory.
+	 * Off-heap arrays are not touched by the garbage collector; release them with {@link NDArray#close()}.
+	 *
+	 * @param shape   The shape of the NDArray.
+	 * @param dType   The data type of the elements in the NDArray.
+	 * @param order   The memory layout order, either C (row-major) or F (column-major).
+	 * @param storage Whether the elements live on the Java heap or in native memory.
+	 * @return An NDArray filled with zeros.
+	 */
+	public <T> NDArray<T> zeros(int[] shape, DType dType, Order order, Storage storage) {
+		return arrayCreation.zeros(shape, dType, order, storage);
 	}
 
 	/**
@@ -115,7 +464,99 @@ public class NumJ {
 	 * @return An NDArray filled with ones.
 	 */
 	public <T> NDArray<T> ones(int[] shape, DType dType, Order order) {
-		return arrayCreation.ones(shape, dType);
+		return ones(shape, dType, order, Storage.HEAP);
+	}
+
+	/**
+	 * Creates an NDArray filled with ones whose elements live in the requested kind of memory.
+	 * Off-heap arrays are not touched by the garbage collector; release them with {@link NDArray#close()}.
+	 *
+	 * @param shape   The shape of the NDArray.
+	 * @param dType   The data type of the elements in the NDArray.
+	 * @param order   The memory layout order, either C (row-major) or F (column-major).
+	 * @param storage Whether the elements live on the Java heap or in native memory.
+	 * @return An NDArray filled with ones.
+	 */
+	public <T> NDArray<T> ones(int[] shape, DType dType, Order order, Storage storage) {
+		return arrayCreation.ones(shape, dType, order, storage);
+	}
+
+	/**
+	 * Creates an NDArray of the specified shape and data type with every element set to the same value.
+	 *
+	 * @param shape The shape of the NDArray.
+	 * @param value The fill value, converted to {@code dType}.
+	 * @param dType The data type of the array elements.
+	 * @return An NDArray filled with {@code value}.
+	 */
+	public <T> NDArray<T> full(int[] shape, Number value, DType dType) {
+		return arrayCreation.full(shape, value, dType, Order.C, Storage.HEAP);
+	}
+
+	/**
+	 * Creates an NDArray of the specified shape, data type, memory order and storage with every
+	 * element set to the same value.
+	 *
+	 * @param shape   The shape of the NDArray.
+	 * @param value   The fill value, converted to {@code dType}.
+	 * @param dType   The data type of the array elements.
+	 * @param order   The memory layout order, either C (row-major) or F (column-major).
+	 * @param storage Whether the elements live on the Java heap or in native memory.
+	 * @return An NDArray filled with {@code value}.
+	 */
+	public <T> NDArray<T> full(int[] shape, Number value, DType dType, Order order, Storage storage) {
+		return arrayCreation.full(shape, value, dType, order, storage);
+	}
+
+	/**
+	 * Creates an NDArray with the shape, data type and memory order of another array and every
+	 * element set to the same value.
+	 *
+	 * @param array The array whose shape, data type and memory order are used.
+	 * @param value The fill value, converted to the array's data type.
+	 * @return A new NDArray filled with {@code value}.
+	 */
+	public <T> NDArray<T> fullLike(NDArray<?> array, Number value) {
+		return arrayCreation.fullLike(array, value);
+	}
+
+	/**
+	 * Creates an NDArray with the shape, data type and memory order of another array without
+	 * setting its elements; their values should not be relied on.
+	 *
+	 * @param array The array whose shape, data type and memory order are used.
+	 * @return A new NDArray.
+	 */
+	public <T> NDArray<T> emptyLike(NDArray<?> array) {
+		return arrayCreation.emptyLike(array);
+	}
+
+	/**
+	 * Creates a FLOAT64 NDArray of {@code num} evenly spaced values from {@code start} to {@code stop}, both included.
+	 *
+	 * @param start The first value.
+	 * @param stop  The last value.
+	 * @param num   The number of values.
+	 * @return A new one-dimensional NDArray.
+	 * @throws IllegalArgumentException If {@code num} is negative.
+	 */
+	public <T> NDArray<T> linspace(double start, double stop, int num) {
+		return arrayCreation.linspace(start, stop, num, true, DType.FLOAT64);
+	}
+
+	/**
+	 * Creates an NDArray of {@code num} evenly spaced values from {@code start} to {@code stop}.
+	 *
+	 * @param start    The first value.
+	 * @param stop     The last value, or the bound after the last value when {@code endpoint} is false.
+	 * @param num      The number of values.
+	 * @param endpoint Whether {@code stop} is included.
+	 * @param dType    The data type of the elements.
+	 * @return A new one-dimensional NDArray.
+	 * @throws IllegalArgumentException If {@code num} is negative.
+	 */
+	public <T> NDArray<T> linspace(double start, double stop, int num, boolean endpoint, DType dType) {
+		return arrayCreation.linspace(start, stop, num, endpoint, dType);
 	}
 
 
@@ -264,11 +705,11 @@ public class NumJ {
 			throw new ShapeMismatchException(shapeMismatchException(size, shape));
 
 
-		final Class<?> dataType = dType.is();
-		T arr = (T) Array.newInstance(dataType, size);
-		Arrays.parallelSetAll((T[]) arr, i -> i == 0 ? i + start : start + (step == 0 ? i : step*i));
-		return shape.length == 1 ? new NDArray<>(arr)
-				: new NDArray<>(arr).reshape(shape);
+		long increment = step == 0 ? 1 : step;
+		if (shape.length == 0) {
+			return arrayCreation.<T>arange(start, increment, size, dType, new int[]{size}).reshape(shape);
+		}
+		return arrayCreation.arange(start, increment, size, dType, shape);
 	}
 
 	/**
@@ -283,6 +724,20 @@ public class NumJ {
 		return arithmaticOperations.operate(arr1, arr2, OperationType.ADDITION);
 	}
 
+	/**
+	 * Adds two NDArrays element-wise, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code add(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise addition.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> add(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.ADDITION, out);
+	}
+
 	/**
 	 * Subtracts the second NDArray from the first NDArray element-wise.
 	 *
@@ -295,6 +750,20 @@ public class NumJ {
 		return arithmaticOperations.operate(arr1, arr2, OperationType.SUBTRACTION);
 	}
 
+	/**
+	 * Subtracts the second NDArray from the first NDArray element-wise, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code subtract(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise subtraction.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> subtract(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.SUBTRACTION, out);
+	}
+
 	/**
 	 * Multiplies two NDArrays element-wise.
 	 *
@@ -304,7 +773,21 @@ public class NumJ {
 	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
 	 */
 	public <T> NDArray<T> multiply(NDArray<T> arr1, NDArray<T> arr2) throws ShapeException {
-		return arithmaticOperations.operate(arr1, arr2, OperationType.MULTIPLICATION);
+		return arithmaticOperations.operate(arr1, (NDArray<T>) arr2, OperationType.MULTIPLICATION);
+	}
+
+	/**
+	 * Multiplies two NDArrays element-wise, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code multiply(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise multiplication.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> multiply(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.MULTIPLICATION, out);
 	}
 
 	/**
@@ -319,6 +802,20 @@ public class NumJ {
 		return arithmaticOperations.operate(arr1, arr2, OperationType.DIVISION);
 	}
 
+	/**
+	 * Divides the first NDArray by the second NDArray element-wise, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code divide(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise division.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> divide(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.DIVISION, out);
+	}
+
 	/**
 	 * Performs Bitwise-And operation on first NDArray and second NDArray.
 	 *
@@ -331,6 +828,20 @@ public class NumJ {
 		return arithmaticOperations.operate(arr1, arr2, OperationType.BITWISE_AND);
 	}
 
+	/**
+	 * Performs Bitwise-And operation on first NDArray and second NDArray, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code bitwiseAnd(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise Bitwise-And.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> bitwiseAnd(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.BITWISE_AND, out);
+	}
+
 	/**
 	 * Performs Bitwise-Or operation on first NDArray and second NDArray.
 	 *
@@ -343,6 +854,20 @@ public class NumJ {
 		return arithmaticOperations.operate(arr1, arr2, OperationType.BITWISE_OR);
 	}
 
+	/**
+	 * Performs Bitwise-Or operation on first NDArray and second NDArray, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code bitwiseOr(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise Bitwise-Or.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> bitwiseOr(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.BITWISE_OR, out);
+	}
+
 	/**
 	 * Performs Bitwise-Xor operation on first NDArray and second NDArray.
 	 *
@@ -355,6 +880,20 @@ public class NumJ {
 		return arithmaticOperations.operate(arr1, arr2, OperationType.BITWISE_XOR);
 	}
 
+	/**
+	 * Performs Bitwise-Xor operation on first NDArray and second NDArray, writing the result into {@code out} instead of a new array.
+	 * {@code out} may be one of the operands, e.g. {@code bitwiseXor(x, y, x)} updates {@code x} in place.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @param out  The destination, whose shape must be the broadcast shape of the operands.
+	 * @return {@code out}, holding the result of element-wise Bitwise-Xor.
+	 * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+	 */
+	public <T, R> NDArray<R> bitwiseXor(NDArray<T> arr1, NDArray<T> arr2, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, arr2, OperationType.BITWISE_XOR, out);
+	}
+
 	/**
 	 * Performs Inversion operation (NOT) on NDArray.
 	 *
@@ -367,52 +906,897 @@ public class NumJ {
 	}
 
 	/**
-	 * Transposes the given NDArray.
+	 * Performs Inversion operation (NOT) on NDArray, writing the result into {@code out} instead of a new array.
 	 *
-	 * @param array The NDArray to be transposed.
-	 * @param <R>   The type of elements in the transposed NDArray.
-	 * @return A new NDArray that is the transposed version of the input array.
-	 * @throws ShapeException If there is an issue during the transposition.
+	 * @param arr1 The NDArray to invert.
+	 * @param out  The destination, of the same shape as {@code arr1}; it may be {@code arr1} itself.
+	 * @return {@code out}, holding the result of element-wise Inversion (Not).
+	 * @throws ShapeException If {@code out} has another shape than {@code arr1}.
 	 */
-	public <T, R> NDArray<R> transpose(NDArray<T> array) throws ShapeException {
-		return arrayModification.transpose(array);
+	public <T, R> NDArray<R> invert(NDArray<T> arr1, NDArray<R> out) throws ShapeException {
+		return arithmaticOperations.operate(arr1, OperationType.INVERT, out);
 	}
 
 	/**
-	 * Creates an empty NDArray with the specified shape.
+	 * Compares two NDArrays element by element, with broadcasting, and marks where the first is greater than the second.
 	 *
-	 * @param shape The shape of the NDArray.
-	 * @param <R>   The type of elements in the new NDArray.
-	 * @return A new NDArray of the specified shape, filled with null values.
-	 * @throws ShapeException If there is an issue creating the empty NDArray.
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @return A new {@link DType#BOOL} NDArray holding the outcome of each comparison.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
 	 */
-	public <R> NDArray<R> empty(int[] shape) throws ShapeException {
-		R array = (R) Array.newInstance(int.class, shape);
-		return new NDArray<>(array, shape, shape.length, DType.INT32);
+	public <R> NDArray<R> greater(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.compare(arr1, arr2, OperationType.GREATER);
 	}
 
 	/**
-	 * Creates an identity matrix with a specified number of rows and columns,
-	 * using the default data type (INT32) and the main diagonal.
+	 * Compares two NDArrays element by element, with broadcasting, and marks where the first is greater than or equal to the second.
 	 *
-	 * @param rows The number of rows in the identity matrix.
-	 * @param <R>  The type of elements in the NDArray.
-	 * @return A new NDArray representing the identity matrix.
-	 * @throws ShapeException If there is an issue creating the identity matrix.
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @return A new {@link DType#BOOL} NDArray holding the outcome of each comparison.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
 	 */
-	public <R> NDArray<R> eye(int rows) throws ShapeException {
-		return eye(rows, rows, 0, DType.INT32);
+	public <R> NDArray<R> greaterEqual(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.compare(arr1, arr2, OperationType.GREATER_EQUAL);
 	}
 
 	/**
-	 * Creates an identity matrix with a specified number of rows,
-	 * using the specified data type and the main diagonal.
+	 * Compares two NDArrays element by element, with broadcasting, and marks where the first is less than the second.
 	 *
-	 * @param rows  The number of rows in the identity matrix.
-	 * @param dType The data type of the elements in the NDArray.
-	 * @param <R>   The type of elements in the NDArray.
-	 * @return A new NDArray representing the identity matrix.
-	 * @throws ShapeException If there is an issue creating the identity matrix.
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @return A new {@link DType#BOOL} NDArray holding the outcome of each comparison.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> less(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.compare(arr1, arr2, OperationType.LESS);
+	}
+
+	/**
+	 * Compares two NDArrays element by element, with broadcasting, and marks where the first is less than or equal to the second.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @return A new {@link DType#BOOL} NDArray holding the outcome of each comparison.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> lessEqual(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.compare(arr1, arr2, OperationType.LESS_EQUAL);
+	}
+
+	/**
+	 * Compares two NDArrays element by element, with broadcasting, and marks where the first is equal to the second.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @return A new {@link DType#BOOL} NDArray holding the outcome of each comparison.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> equal(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.compare(arr1, arr2, OperationType.EQUAL);
+	}
+
+	/**
+	 * Compares two NDArrays element by element, with broadcasting, and marks where the first is not equal to the second.
+	 *
+	 * @param arr1 The first NDArray.
+	 * @param arr2 The second NDArray.
+	 * @return A new {@link DType#BOOL} NDArray holding the outcome of each comparison.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> notEqual(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.compare(arr1, arr2, OperationType.NOT_EQUAL);
+	}
+
+	/**
+	 * Computes the truth value of two NDArrays element by element, with broadcasting, marking where both are non-zero.
+	 *
+	 * @param arr1 The first NDArray; non-BOOL arrays are true where non-zero.
+	 * @param arr2 The second NDArray; non-BOOL arrays are true where non-zero.
+	 * @return A new {@link DType#BOOL} NDArray.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> logicalAnd(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.operate(arr1.astype(DType.BOOL), arr2.astype(DType.BOOL), OperationType.BITWISE_AND);
+	}
+
+	/**
+	 * Computes the truth value of two NDArrays element by element, with broadcasting, marking where either is non-zero.
+	 *
+	 * @param arr1 The first NDArray; non-BOOL arrays are true where non-zero.
+	 * @param arr2 The second NDArray; non-BOOL arrays are true where non-zero.
+	 * @return A new {@link DType#BOOL} NDArray.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> logicalOr(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.operate(arr1.astype(DType.BOOL), arr2.astype(DType.BOOL), OperationType.BITWISE_OR);
+	}
+
+	/**
+	 * Computes the truth value of two NDArrays element by element, with broadcasting, marking where exactly one is non-zero.
+	 *
+	 * @param arr1 The first NDArray; non-BOOL arrays are true where non-zero.
+	 * @param arr2 The second NDArray; non-BOOL arrays are true where non-zero.
+	 * @return A new {@link DType#BOOL} NDArray.
+	 * @throws ShapeException If the shapes of arr1 and arr2 are not compatible for broadcasting.
+	 */
+	public <R> NDArray<R> logicalXor(NDArray<?> arr1, NDArray<?> arr2) throws ShapeException {
+		return arithmaticOperations.operate(arr1.astype(DType.BOOL), arr2.astype(DType.BOOL), OperationType.BITWISE_XOR);
+	}
+
+	/**
+	 * Negates the truth value of an NDArray element by element.
+	 *
+	 * @param arr1 The NDArray; non-BOOL arrays are true where non-zero.
+	 * @return A new {@link DType#BOOL} NDArray that is true where {@code arr1} is false.
+	 * @throws ShapeException If the shape of arr1 is invalid.
+	 */
+	public <R> NDArray<R> logicalNot(NDArray<?> arr1) throws ShapeException {
+		return arithmaticOperations.operate(arr1.astype(DType.BOOL), OperationType.INVERT);
+	}
+
+	/**
+	 * Selects the elements of an array where a boolean mask is true, the equivalent of NumPy's {@code a[mask]}.
+	 * The mask covers the leading dimensions of the array, e.g. a mask over the rows of a matrix selects whole rows.
+	 *
+	 * @param array The array to select from.
+	 * @param mask  The mask, typically the result of a comparison.
+	 * @return A new NDArray of shape {@code (count, remaining dimensions...)} holding the selected elements.
+	 * @throws ShapeException If the mask's shape is not a prefix of the array's shape.
+	 */
+	public <T, R> NDArray<R> booleanMask(NDArray<T> array, NDArray<?> mask) throws ShapeException {
+		return indexingOperations.booleanMask(array, mask);
+	}
+
+	/**
+	 * Sets the elements of an array where a boolean mask is true to a value, the equivalent of NumPy's {@code a[mask] = value}.
+	 *
+	 * @param array The array to modify in place.
+	 * @param mask  The mask covering the leading dimensions of the array.
+	 * @param value The value to write.
+	 * @return {@code array}.
+	 * @throws ShapeException If the mask's shape is not a prefix of the array's shape.
+	 */
+	public <T> NDArray<T> putMask(NDArray<T> array, NDArray<?> mask, Number value) throws ShapeException {
+		return indexingOperations.putMask(array, mask, value);
+	}
+
+	/**
+	 * Sets the elements of an array where a boolean mask is true to consecutive values, the equivalent of NumPy's {@code a[mask] = values}.
+	 *
+	 * @param array  The array to modify in place.
+	 * @param mask   The mask covering the leading dimensions of the array.
+	 * @param values One value, or one value per selected element in row-major order.
+	 * @return {@code array}.
+	 * @throws ShapeException           If the mask's shape is not a prefix of the array's shape.
+	 * @throws IllegalArgumentException If the number of values matches neither 1 nor the selection.
+	 */
+	public <T> NDArray<T> putMask(NDArray<T> array, NDArray<?> mask, NDArray<?> values) throws ShapeException {
+		return indexingOperations.putMask(array, mask, values);
+	}
+
+	/**
+	 * Gathers elements of the flattened array at integer indices, the equivalent of NumPy's {@code take(a, indices)}.
+	 *
+	 * @param array   The array to gather from, read in row-major order.
+	 * @param indices The integer indices; negative values count from the end.
+	 * @return A new NDArray of the indices' shape.
+	 * @throws IndexOutOfBoundsException If an index is outside the array.
+	 */
+	public <T, R> NDArray<R> take(NDArray<T> array, NDArray<?> indices) {
+		return indexingOperations.take(array, indices);
+	}
+
+	/**
+	 * Gathers slices of an array along an axis, the equivalent of NumPy's {@code take(a, indices, axis)}.
+	 * For example, {@code take(table, ids, 0)} gathers whole rows of an embedding table, one bulk copy per row.
+	 *
+	 * @param array   The array to gather from.
+	 * @param indices The integer indices along the axis; negative values count from the end.
+	 * @param axis    The axis to index; negative values count from the end.
+	 * @return A new NDArray whose axis is replaced by the dimensions of {@code indices}.
+	 * @throws IllegalArgumentException  If the axis is out of bounds.
+	 * @throws IndexOutOfBoundsException If an index is outside the axis.
+	 */
+	public <T, R> NDArray<R> take(NDArray<T> array, NDArray<?> indices, int axis) {
+		return indexingOperations.take(array, indices, axis);
+	}
+
+	/**
+	 * Gathers one element per index along an axis, the equivalent of NumPy's {@code take_along_axis(a, indices, axis)}.
+	 *
+	 * @param array   The array to gather from.
+	 * @param indices Integer indices with as many dimensions as {@code array}, broadcast against it on the other axes.
+	 * @param axis    The axis to index; negative values count from the end.
+	 * @return A new NDArray of the broadcast shape of the array and the indices.
+	 * @throws ShapeException            If the indices have another rank or do not broadcast against the array.
+	 * @throws IndexOutOfBoundsException If an index is outside the axis.
+	 */
+	public <T, R> NDArray<R> takeAlongAxis(NDArray<T> array, NDArray<?> indices, int axis) throws ShapeException {
+		return indexingOperations.takeAlongAxis(array, indices, axis);
+	}
+
+	/**
+	 * Writes values into the flattened array at integer indices, the equivalent of NumPy's {@code put(a, indices, values)}.
+	 * Values are repeated when there are fewer values than indices.
+	 *
+	 * @param array   The array to modify in place, addressed in row-major order.
+	 * @param indices The integer indices; negative values count from the end.
+	 * @param values  The values to write.
+	 * @return {@code array}.
+	 * @throws IndexOutOfBoundsException If an index is outside the array.
+	 */
+	public <T> NDArray<T> put(NDArray<T> array, NDArray<?> indices, NDArray<?> values) {
+		return indexingOperations.put(array, indices, values);
+	}
+
+	/**
+	 * Returns a copy of an array sorted along its last axis.
+	 *
+	 * @param array The array to sort.
+	 * @return A new NDArray with every row in ascending order; NaN values sort last.
+	 */
+	public <T, R> NDArray<R> sort(NDArray<T> array) {
+		return sortOperations.sort(array, -1);
+	}
+
+	/**
+	 * Returns a copy of an array with every line along an axis sorted, the equivalent of NumPy's {@code sort(a, axis)}.
+	 * Independent lines are sorted in parallel, and a single long line is sorted with a parallel sort.
+	 *
+	 * @param array The array to sort.
+	 * @param axis  The axis to sort along; negative values count from the end.
+	 * @return A new NDArray of the same shape and type with every line in ascending order.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> sort(NDArray<T> array, int axis) {
+		return sortOperations.sort(array, axis);
+	}
+
+	/**
+	 * Returns the indices that would sort an array along its last axis.
+	 *
+	 * @param array The array to order.
+	 * @return A new INT64 NDArray of indices; equal elements keep their original order.
+	 */
+	public <T, R> NDArray<R> argsort(NDArray<T> array) {
+		return sortOperations.argsort(array, -1);
+	}
+
+	/**
+	 * Returns the indices that would sort an array along an axis, the equivalent of NumPy's {@code argsort(a, axis, kind='stable')}.
+	 *
+	 * @param array The array to order.
+	 * @param axis  The axis to sort along; negative values count from the end.
+	 * @return A new INT64 NDArray of the same shape holding indices along the axis.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> argsort(NDArray<T> array, int axis) {
+		return sortOperations.argsort(array, axis);
+	}
+
+	/**
+	 * Returns the indices that sort several keys lexicographically along their last axis, the equivalent of NumPy's {@code lexsort(keys)}.
+	 * The last key is the primary sort key, e.g. {@code lexsort(firstNames, surnames)} sorts by surname, then first name.
+	 *
+	 * @param keys The keys, all of the same shape.
+	 * @return A new INT64 NDArray of indices.
+	 * @throws ShapeException           If the keys have different shapes.
+	 * @throws IllegalArgumentException If no key is given.
+	 */
+	public <R> NDArray<R> lexsort(NDArray<?>... keys) throws ShapeException {
+		return sortOperations.lexsort(keys, -1);
+	}
+
+	/**
+	 * Returns the indices that sort several keys lexicographically along an axis, the last key being the primary one.
+	 *
+	 * @param keys The keys, all of the same shape.
+	 * @param axis The axis to sort along; negative values count from the end.
+	 * @return A new INT64 NDArray of indices along the axis.
+	 * @throws ShapeException           If the keys have different shapes.
+	 * @throws IllegalArgumentException If no key is given or the axis is out of bounds.
+	 */
+	public <R> NDArray<R> lexsort(NDArray<?>[] keys, int axis) throws ShapeException {
+		return sortOperations.lexsort(keys, axis);
+	}
+
+	/**
+	 * Returns a copy of an array partitioned along its last axis around the element at {@code kth}.
+	 *
+	 * @param array The array to partition.
+	 * @param kth   The position to select; negative values count from the end.
+	 * @return A new NDArray of the same shape and type.
+	 * @throws IllegalArgumentException If {@code kth} is out of bounds.
+	 */
+	public <T, R> NDArray<R> partition(NDArray<T> array, int kth) {
+		return sortOperations.partition(array, kth, -1);
+	}
+
+	/**
+	 * Returns a copy of an array partitioned along an axis: the element at {@code kth} is the one a
+	 * full sort would put there, with no greater element before it and no smaller one after it.
+	 *
+	 * @param array The array to partition.
+	 * @param kth   The position to select; negative values count from the end.
+	 * @param axis  The axis to partition along; negative values count from the end.
+	 * @return A new NDArray of the same shape and type.
+	 * @throws IllegalArgumentException If the axis or {@code kth} is out of bounds.
+	 */
+	public <T, R> NDArray<R> partition(NDArray<T> array, int kth, int axis) {
+		return sortOperations.partition(array, kth, axis);
+	}
+
+	/**
+	 * Returns the indices that would partition an array along its last axis around position {@code kth}.
+	 *
+	 * @param array The array to order.
+	 * @param kth   The position to select; negative values count from the end.
+	 * @return A new INT64 NDArray of indices along the last axis.
+	 * @throws IllegalArgumentException If {@code kth} is out of bounds.
+	 */
+	public <T, R> NDArray<R> argpartition(NDArray<T> array, int kth) {
+		return sortOperations.argpartition(array, kth, -1);
+	}
+
+	/**
+	 * Returns the indices that would partition an array along an axis around position {@code kth}.
+	 *
+	 * @param array The array to order.
+	 * @param kth   The position to select; negative values count from the end.
+	 * @param axis  The axis to partition along; negative values count from the end.
+	 * @return A new INT64 NDArray of indices along the axis.
+	 * @throws IllegalArgumentException If the axis or {@code kth} is out of bounds.
+	 */
+	public <T, R> NDArray<R> argpartition(NDArray<T> array, int kth, int axis) {
+		return sortOperations.argpartition(array, kth, axis);
+	}
+
+	/**
+	 * Returns the {@code k} largest elements along the last axis of an array, largest first.
+	 *
+	 * @param array The array to select from.
+	 * @param k     The number of elements to keep.
+	 * @return A new NDArray of the array's type whose last axis has length {@code k}.
+	 * @throws IllegalArgumentException If {@code k} exceeds the length of the axis.
+	 */
+	public <T, R> NDArray<R> topk(NDArray<T> array, int k) {
+		return sortOperations.topk(array, k, -1);
+	}
+
+	/**
+	 * Returns the {@code k} largest elements along an axis of an array, largest first, without
+	 * sorting the array.
+	 *
+	 * @param array The array to select from.
+	 * @param k     The number of elements to keep.
+	 * @param axis  The axis to select along; negative values count from the end.
+	 * @return A new NDArray of the array's type whose axis has length {@code k}.
+	 * @throws IllegalArgumentException If the axis is out of bounds or {@code k} exceeds its length.
+	 */
+	public <T, R> NDArray<R> topk(NDArray<T> array, int k, int axis) {
+		return sortOperations.topk(array, k, axis);
+	}
+
+	/**
+	 * Computes the median of an array along the given axes.
+	 *
+	 * @param array The array to reduce.
+	 * @param axes  The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray without the reduced axes, FLOAT64 for integer arrays.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> median(NDArray<T> array, int... axes) {
+		return sortOperations.quantile(array, 0.5, axes);
+	}
+
+	/**
+	 * Computes the {@code q}-th percentile of an array along the given axes, interpolating linearly.
+	 *
+	 * @param array The array to reduce.
+	 * @param q     The percentile, between 0 and 100.
+	 * @param axes  The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray without the reduced axes, FLOAT64 for integer arrays.
+	 * @throws IllegalArgumentException If {@code q} is outside {@code [0, 100]} or an axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> percentile(NDArray<T> array, double q, int... axes) {
+		if (!(q >= 0 && q <= 100))
+			throw new IllegalArgumentException(ExceptionMessages.percentileException(q));
+		return sortOperations.quantile(array, q / 100, axes);
+	}
+
+	/**
+	 * Computes the {@code q}-th quantile of an array along the given axes, interpolating linearly.
+	 *
+	 * @param array The array to reduce.
+	 * @param q     The quantile, between 0 and 1.
+	 * @param axes  The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray without the reduced axes, FLOAT64 for integer arrays.
+	 * @throws IllegalArgumentException If {@code q} is outside {@code [0, 1]} or an axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> quantile(NDArray<T> array, double q, int... axes) {
+		return sortOperations.quantile(array, q, axes);
+	}
+
+	/**
+	 * Starts a lazy element-wise expression. Chained operations such as
+	 * {@code numJ.lazy(a).multiply(b).add(c).evaluate()} are only recorded, then computed in a
+	 * single fused pass without allocating the intermediate arrays.
+	 *
+	 * @param array The first operand of the expression.
+	 * @return An expression standing for the array.
+	 */
+	public Expression lazy(NDArray<?> array) {
+		return arithmaticOperations.lazy(array);
+	}
+
+	/**
+	 * Returns the data type that arithmetic between the given arrays produces, following NumPy's
+	 * promotion rules; for example INT32 with FLOAT32 gives FLOAT64.
+	 *
+	 * @param arrays The arrays; at least one.
+	 * @return The promoted data type.
+	 * @throws IllegalArgumentException If no array is given.
+	 */
+	public DType resultType(NDArray<?>... arrays) {
+		return DType.resultType(Arrays.stream(arrays).map(NDArray::type).toArray(DType[]::new));
+	}
+
+	/**
+	 * Transposes the given NDArray.
+	 *
+	 * @param array The NDArray to be transposed.
+	 * @param <R>   The type of elements in the transposed NDArray.
+	 * @return A transposed view of the input array sharing its data.
+	 * @throws ShapeException If there is an issue during the transposition.
+	 */
+	public <T, R> NDArray<R> transpose(NDArray<T> array) throws ShapeException {
+		return arrayModification.transpose(array);
+	}
+
+	/**
+	 * Permutes the axes of the given NDArray without copying its elements.
+	 *
+	 * @param array The NDArray to be permuted.
+	 * @param axes  A permutation of the array's dimensions; axis i of the result is axis axes[i] of the input.
+	 * @param <R>   The type of elements in the permuted NDArray.
+	 * @return A view of the input with permuted axes.
+	 * @throws IllegalArgumentException If axes is not a permutation of the array's dimensions.
+	 */
+	public <T, R> NDArray<R> transpose(NDArray<T> array, int... axes) {
+		return arrayModification.transpose(array, axes);
+	}
+
+	/**
+	 * Sums the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the sum of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> sum(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.SUM, null, false, axes);
+	}
+
+	/**
+	 * Sums the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the sum of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> sum(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.SUM, null, keepdims, axes);
+	}
+
+	/**
+	 * Sums the elements of an NDArray along the given axes using the given result and accumulator type,
+	 * for example INT64 to sum INT8 data without overflow.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param dType    The data type of the result and accumulator.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray of type {@code dType} with the sum of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> sum(NDArray<T> array, DType dType, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.SUM, dType, keepdims, axes);
+	}
+
+	/**
+	 * Multiplies the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the product of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> prod(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.PROD, null, false, axes);
+	}
+
+	/**
+	 * Multiplies the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the product of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> prod(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.PROD, null, keepdims, axes);
+	}
+
+	/**
+	 * Multiplies the elements of an NDArray along the given axes using the given result and accumulator type,
+	 * e.g. FLOAT64 for products of integers that would wrap around even in INT64.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param dType    The data type of the result and accumulator.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray of type {@code dType} with the product of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> prod(NDArray<T> array, DType dType, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.PROD, dType, keepdims, axes);
+	}
+
+	/**
+	 * Finds the minimum of the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the minimum of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated, or the array is empty.
+	 */
+	public <T, R> NDArray<R> min(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MIN, null, false, axes);
+	}
+
+	/**
+	 * Finds the minimum of the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the minimum of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated, or the array is empty.
+	 */
+	public <T, R> NDArray<R> min(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MIN, null, keepdims, axes);
+	}
+
+	/**
+	 * Finds the maximum of the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the maximum of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated, or the array is empty.
+	 */
+	public <T, R> NDArray<R> max(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MAX, null, false, axes);
+	}
+
+	/**
+	 * Finds the maximum of the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the maximum of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated, or the array is empty.
+	 */
+	public <T, R> NDArray<R> max(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MAX, null, keepdims, axes);
+	}
+
+	/**
+	 * Averages the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the mean of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> mean(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MEAN, null, false, axes);
+	}
+
+	/**
+	 * Averages the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the mean of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> mean(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MEAN, null, keepdims, axes);
+	}
+
+	/**
+	 * Averages the elements of an NDArray along the given axes using the given result and accumulator type,
+	 * e.g. FLOAT64 to average FLOAT32 data at double precision.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param dType    The data type of the result and accumulator.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray of type {@code dType} with the mean of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> mean(NDArray<T> array, DType dType, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.MEAN, dType, keepdims, axes);
+	}
+
+	/**
+	 * Computes the population variance of the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the variance of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> var(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.VAR, null, false, axes);
+	}
+
+	/**
+	 * Computes the population variance of the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the variance of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> var(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.VAR, null, keepdims, axes);
+	}
+
+	/**
+	 * Computes the population variance of the elements of an NDArray along the given axes using the given
+	 * result and accumulator type, e.g. FLOAT64 to compute the variance of FLOAT32 data at double precision.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param dType    The data type of the result and accumulator.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray of type {@code dType} with the variance of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> var(NDArray<T> array, DType dType, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.VAR, dType, keepdims, axes);
+	}
+
+	/**
+	 * Computes the population standard deviation of the elements of an NDArray along the given axes.
+	 *
+	 * @param array The NDArray to reduce.
+	 * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+	 * @return A new NDArray with the standard deviation of each reduced sub-array; zero-dimensional when every axis is reduced.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> std(NDArray<T> array, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.STD, null, false, axes);
+	}
+
+	/**
+	 * Computes the population standard deviation of the elements of an NDArray along the given axes, optionally keeping the reduced axes.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray with the standard deviation of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> std(NDArray<T> array, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.STD, null, keepdims, axes);
+	}
+
+	/**
+	 * Computes the population standard deviation of the elements of an NDArray along the given axes using
+	 * the given result and accumulator type, e.g. FLOAT64 to compute the standard deviation of FLOAT32
+	 * data at double precision.
+	 *
+	 * @param array    The NDArray to reduce.
+	 * @param dType    The data type of the result and accumulator.
+	 * @param keepdims Whether the reduced axes stay in the result with length one.
+	 * @param axes     The axes to reduce; no axes reduces the whole array.
+	 * @return A new NDArray of type {@code dType} with the standard deviation of each reduced sub-array.
+	 * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+	 */
+	public <T, R> NDArray<R> std(NDArray<T> array, DType dType, boolean keepdims, int... axes) {
+		return reductionOperations.reduce(array, ReductionType.STD, dType, keepdims, axes);
+	}
+
+	/**
+	 * Computes the cumulative sum of the flattened NDArray.
+	 *
+	 * @param array The NDArray to scan.
+	 * @return A new one-dimensional NDArray holding the running sum in row-major order; INT64 for integer arrays.
+	 * @throws ShapeException If the array cannot be flattened.
+	 */
+	public <T, R> NDArray<R> cumsum(NDArray<T> array) throws ShapeException {
+		return scanOperations.scan(array.flatten(), ReductionType.SUM, null, 0);
+	}
+
+	/**
+	 * Computes the cumulative sum of an NDArray along an axis.
+	 *
+	 * @param array The NDArray to scan.
+	 * @param axis  The axis to scan; negative values count from the end.
+	 * @return A new NDArray of the same shape holding the running sum; INT64 for integer arrays.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> cumsum(NDArray<T> array, int axis) {
+		return scanOperations.scan(array, ReductionType.SUM, null, axis);
+	}
+
+	/**
+	 * Computes the cumulative sum of an NDArray along an axis in the given data type.
+	 *
+	 * @param array The NDArray to scan.
+	 * @param dType The data type of the result, for example INT32 to keep the running values of INT32 arrays narrow.
+	 * @param axis  The axis to scan; negative values count from the end.
+	 * @return A new NDArray of the same shape holding the running sum.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> cumsum(NDArray<T> array, DType dType, int axis) {
+		return scanOperations.scan(array, ReductionType.SUM, dType, axis);
+	}
+
+	/**
+	 * Computes the cumulative product of the flattened NDArray.
+	 *
+	 * @param array The NDArray to scan.
+	 * @return A new one-dimensional NDArray holding the running product in row-major order; INT64 for integer arrays.
+	 * @throws ShapeException If the array cannot be flattened.
+	 */
+	public <T, R> NDArray<R> cumprod(NDArray<T> array) throws ShapeException {
+		return scanOperations.scan(array.flatten(), ReductionType.PROD, null, 0);
+	}
+
+	/**
+	 * Computes the cumulative product of an NDArray along an axis.
+	 *
+	 * @param array The NDArray to scan.
+	 * @param axis  The axis to scan; negative values count from the end.
+	 * @return A new NDArray of the same shape holding the running product; INT64 for integer arrays.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> cumprod(NDArray<T> array, int axis) {
+		return scanOperations.scan(array, ReductionType.PROD, null, axis);
+	}
+
+	/**
+	 * Computes the cumulative product of an NDArray along an axis in the given data type.
+	 *
+	 * @param array The NDArray to scan.
+	 * @param dType The data type of the result, for example INT32 to keep the running values of INT32 arrays narrow.
+	 * @param axis  The axis to scan; negative values count from the end.
+	 * @return A new NDArray of the same shape holding the running product.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> cumprod(NDArray<T> array, DType dType, int axis) {
+		return scanOperations.scan(array, ReductionType.PROD, dType, axis);
+	}
+
+	/**
+	 * Computes the cumulative maximum of the flattened NDArray.
+	 *
+	 * @param array The NDArray to scan.
+	 * @return A new one-dimensional NDArray holding the running maximum in row-major order.
+	 * @throws ShapeException If the array cannot be flattened.
+	 */
+	public <T, R> NDArray<R> cummax(NDArray<T> array) throws ShapeException {
+		return scanOperations.scan(array.flatten(), ReductionType.MAX, null, 0);
+	}
+
+	/**
+	 * Computes the cumulative maximum of an NDArray along an axis.
+	 *
+	 * @param array The NDArray to scan.
+	 * @param axis  The axis to scan; negative values count from the end.
+	 * @return A new NDArray of the same shape and type holding the running maximum.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> cummax(NDArray<T> array, int axis) {
+		return scanOperations.scan(array, ReductionType.MAX, null, axis);
+	}
+
+	/**
+	 * Computes the cumulative minimum of the flattened NDArray.
+	 *
+	 * @param array The NDArray to scan.
+	 * @return A new one-dimensional NDArray holding the running minimum in row-major order.
+	 * @throws ShapeException If the array cannot be flattened.
+	 */
+	public <T, R> NDArray<R> cummin(NDArray<T> array) throws ShapeException {
+		return scanOperations.scan(array.flatten(), ReductionType.MIN, null, 0);
+	}
+
+	/**
+	 * Computes the cumulative minimum of an NDArray along an axis.
+	 *
+	 * @param array The NDArray to scan.
+	 * @param axis  The axis to scan; negative values count from the end.
+	 * @return A new NDArray of the same shape and type holding the running minimum.
+	 * @throws IllegalArgumentException If the axis is out of bounds.
+	 */
+	public <T, R> NDArray<R> cummin(NDArray<T> array, int axis) {
+		return scanOperations.scan(array, ReductionType.MIN, null, axis);
+	}
+
+	/**
+	 * Computes the matrix product of two NDArrays, broadcasting over leading stack dimensions.
+	 * One-dimensional operands are treated as row (first) or column (second) vectors.
+	 *
+	 * @param arr1 The first operand.
+	 * @param arr2 The second operand.
+	 * @return A new NDArray holding the matrix product.
+	 * @throws ShapeException If the inner dimensions differ or the stack dimensions cannot be broadcast.
+	 */
+	public <T, U, R> NDArray<R> matmul(NDArray<T> arr1, NDArray<U> arr2) throws ShapeException {
+		return linearAlgebraOperations.matmul(arr1, arr2);
+	}
+
+	/**
+	 * Computes the dot product of two NDArrays with NumPy's {@code dot} semantics.
+	 *
+	 * @param arr1 The first operand.
+	 * @param arr2 The second operand.
+	 * @return A new NDArray holding the dot product.
+	 * @throws ShapeException If the summed dimensions differ.
+	 */
+	public <T, U, R> NDArray<R> dot(NDArray<T> arr1, NDArray<U> arr2) throws ShapeException {
+		return linearAlgebraOperations.dot(arr1, arr2);
+	}
+
+	/**
+	 * Creates an empty NDArray with the specified shape.
+	 *
+	 * @param shape The shape of the NDArray.
+	 * @param <R>   The type of elements in the new NDArray.
+	 * @return A new NDArray of the specified shape, filled with null values.
+	 * @throws ShapeException If there is an issue creating the empty NDArray.
+	 */
+	public <R> NDArray<R> empty(int[] shape) throws ShapeException {
+		DataBuffer buffer = DataBuffer.allocate(DType.INT32, NDArray.sizeOf(shape));
+		return new NDArray<>(buffer, shape, int.class);
+	}
+
+	/**
+	 * Creates an identity matrix with a specified number of rows and columns,
+	 * using the default data type (INT32) and the main diagonal.
+	 *
+	 * @param rows The number of rows in the identity matrix.
+	 * @param <R>  The type of elements in the NDArray.
+	 * @return A new NDArray representing the identity matrix.
+	 * @throws ShapeException If there is an issue creating the identity matrix.
+	 */
+	public <R> NDArray<R> eye(int rows) throws ShapeException {
+		return eye(rows, rows, 0, DType.INT32);
+	}
+
+	/**
+	 * Creates an identity matrix with a specified number of rows,
+	 * using the specified data type and the main diagonal.
+	 *
+	 * @param rows  The number of rows in the identity matrix.
+	 * @param dType The data type of the elements in the NDArray.
+	 * @param <R>   The type of elements in the NDArray.
+	 * @return A new NDArray representing the identity matrix.
+	 * @throws ShapeException If there is an issue creating the identity matrix.
 	 */
 	public <R> NDArray<R> eye(int rows, DType dType) throws ShapeException {
 		return eye(rows, rows, 0, dType);
@@ -482,5 +1866,93 @@ public class NumJ {
 		return (NDArray<R>) arrayCreation.eye(rows, cols, identityDiagonal, dType);
 	}
 
+	/**
+	 * Creates a square INT32 identity matrix.
+	 *
+	 * @param n The number of rows and columns.
+	 * @return A new NDArray with ones on the main diagonal.
+	 * @throws ShapeException If there is an issue creating the identity matrix.
+	 */
+	public <R> NDArray<R> identity(int n) throws ShapeException {
+		return identity(n, DType.INT32);
+	}
+
+	/**
+	 * Creates a square identity matrix of the specified data type.
+	 *
+	 * @param n     The number of rows and columns.
+	 * @param dType The data type of the elements.
+	 * @return A new NDArray with ones on the main diagonal.
+	 * @throws ShapeException If there is an issue creating the identity matrix.
+	 */
+	public <R> NDArray<R> identity(int n, DType dType) throws ShapeException {
+		return arrayCreation.eye(n, n, 0, dType);
+	}
 
+	/**
+	 * Saves an array to a NumPy {@code .npy} file, replacing any existing file.
+	 *
+	 * @param file  The file to write.
+	 * @param array The array to save.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void save(Path file, NDArray<?> array) throws IOException {
+		npyIO.save(file, array);
+	}
+
+	/**
+	 * Loads an array from a NumPy {@code .npy} file.
+	 *
+	 * @param file The file to read.
+	 * @return A new NDArray holding the elements of the file.
+	 * @throws IOException If the file cannot be read or is not a valid {@code .npy} file.
+	 */
+	public <R> NDArray<R> load(Path file) throws IOException {
+		return npyIO.load(file);
+	}
+
+	/**
+	 * Loads an array from a NumPy {@code .npy} file by mapping its data instead of reading it.
+	 *
+	 * @param file The file to map.
+	 * @param mode The access mode; CREATE is not supported.
+	 * @return An NDArray whose elements live in the file.
+	 * @throws IOException If the file cannot be read or is not a valid {@code .npy} file.
+	 */
+	public <R> NDArray<R> load(Path file, MemmapMode mode) throws IOException {
+		return npyIO.load(file, mode);
+	}
+
+	/**
+	 * Saves several arrays to an uncompressed NumPy {@code .npz} archive.
+	 *
+	 * @param file   The archive to write.
+	 * @param arrays The arrays to save, keyed by name.
+	 * @throws IOException If the archive cannot be written.
+	 */
+	public void savez(Path file, Map<String, NDArray<?>> arrays) throws IOException {
+		npyIO.savez(file, arrays, false);
+	}
+
+	/**
+	 * Saves several arrays to a deflate-compressed NumPy {@code .npz} archive.
+	 *
+	 * @param file   The archive to write.
+	 * @param arrays The arrays to save, keyed by name.
+	 * @throws IOException If the archive cannot be written.
+	 */
+	public void savezCompressed(Path file, Map<String, NDArray<?>> arrays) throws IOException {
+		npyIO.savez(file, arrays, true);
+	}
+
+	/**
+	 * Loads every array of a NumPy {@code .npz} archive.
+	 *
+	 * @param file The archive to read.
+	 * @return The arrays keyed by name, in archive order.
+	 * @throws IOException If the archive cannot be read or holds an invalid entry.
+	 */
+	public Map<String, NDArray<?>> loadz(Path file) throws IOException {
+		return npyIO.loadz(file);
+	}
 }
@@ -15,7 +15,7 @@ import java.util.Map;
 public final class Utils {
 
     /** Map containing the size in bytes of various numeric classes. */
-    static Map<Class<?>, Integer> classSizeMap = new HashMap<>();
+    static final Map<Class<?>, Integer> classSizeMap = new HashMap<>();
     static {
         classSizeMap.put(String.class, 16);
         classSizeMap.put(Object.class, 16);
@@ -116,12 +116,12 @@ public final class Utils {
      *
      * @param indices the indices in each dimension.
      * @param strides the strides for each dimension.
-     * @return the flat index.
+     * @return the flat index, accumulated in 64 bits so that it cannot wrap around.
      */
-    public int getFlatIndex(int[] indices, int[] strides) {
-        int flatIndex = 0;
+    public long getFlatIndex(int[] indices, int[] strides) {
+        long flatIndex = 0;
         for (int i = 0; i < indices.length; i++) {
-            flatIndex += indices[i] * strides[i];
+            flatIndex += (long) indices[i] * strides[i];
         }
         return flatIndex;
     }
@@ -1,5 +1,6 @@
 package com.library.numj.enums;
 
+import com.library.numj.ExceptionMessages;
 import com.library.numj.exceptions.UnsupportedDataTypeException;
 
 import java.lang.reflect.Array;
@@ -23,12 +24,34 @@ public enum DType {
 	/** 64-bit integer. */
 	INT64,
 	/** String Data Format. */
-	OBJECT;
+	OBJECT,
+	/** Boolean, one byte per element; the type of comparison results and masks. */
+	BOOL;
 
 	/** Mapping between DType and corresponding Java class types. */
-	static Map<DType, Class<?>> typeToClassMap = new HashMap<>();
-	static Map<Integer, DType> sizeToTypeNumericMap = new HashMap<>();
-	static Map<Integer, DType> sizeToTypeFloatingPointMap = new HashMap<>();
+	static final Map<DType, Class<?>> typeToClassMap = new HashMap<>();
+	static final Map<Integer, DType> sizeToTypeNumericMap = new HashMap<>();
+	static final Map<Integer, DType> sizeToTypeFloatingPointMap = new HashMap<>();
+	/** Mapping between DType and the primitive Java type used for its storage. */
+	static final Map<DType, Class<?>> typeToPrimitiveMap = new HashMap<>();
+	/** Mapping from primitive, wrapper and string classes to the DType that stores them. */
+	static final Map<Class<?>, DType> classToTypeMap = new HashMap<>();
+	/**
+	 * NumPy's type promotion rules, indexed by the ordinals of two DTypes. Integers combined with
+	 * a float that cannot hold all their values promote to FLOAT64, BOOL gives way to any other
+	 * type, and anything combined with OBJECT stays OBJECT.
+	 */
+	private static final DType[][] promotionTable = {
+			/*            FLOAT32  FLOAT64  INT8     INT16    INT32    INT64    OBJECT   BOOL */
+			/* FLOAT32 */ {FLOAT32, FLOAT64, FLOAT32, FLOAT32, FLOAT64, FLOAT64, OBJECT,  FLOAT32},
+			/* FLOAT64 */ {FLOAT64, FLOAT64, FLOAT64, FLOAT64, FLOAT64, FLOAT64, OBJECT,  FLOAT64},
+			/* INT8    */ {FLOAT32, FLOAT64, INT8,    INT16,   INT32,   INT64,   OBJECT,  INT8},
+			/* INT16   */ {FLOAT32, FLOAT64, INT16,   INT16,   INT32,   INT64,   OBJECT,  INT16},
+			/* INT32   */ {FLOAT64, FLOAT64, INT32,   INT32,   INT32,   INT64,   OBJECT,  INT32},
+			/* INT64   */ {FLOAT64, FLOAT64, INT64,   INT64,   INT64,   INT64,   OBJECT,  INT64},
+			/* OBJECT  */ {OBJECT,  OBJECT,  OBJECT,  OBJECT,  OBJECT,  OBJECT,  OBJECT,  OBJECT},
+			/* BOOL    */ {FLOAT32, FLOAT64, INT8,    INT16,   INT32,   INT64,   OBJECT,  BOOL},
+	};
 	static {
 		typeToClassMap.put(FLOAT32, Float.class);
 		typeToClassMap.put(FLOAT64, Double.class);
@@ -37,6 +60,7 @@ public enum DType {
 		typeToClassMap.put(INT32, Integer.class);
 		typeToClassMap.put(INT64, Long.class);
 		typeToClassMap.put(OBJECT, Object.class);
+		typeToClassMap.put(BOOL, Boolean.class);
 
 		sizeToTypeNumericMap.put(1, INT8);
 		sizeToTypeNumericMap.put(2, INT16);
@@ -47,6 +71,20 @@ public enum DType {
 		sizeToTypeFloatingPointMap.put(8, FLOAT64);
 		sizeToTypeFloatingPointMap.put(16, OBJECT);
 
+		typeToPrimitiveMap.put(FLOAT32, float.class);
+		typeToPrimitiveMap.put(FLOAT64, double.class);
+		typeToPrimitiveMap.put(INT8, byte.class);
+		typeToPrimitiveMap.put(INT16, short.class);
+		typeToPrimitiveMap.put(INT32, int.class);
+		typeToPrimitiveMap.put(INT64, long.class);
+		typeToPrimitiveMap.put(OBJECT, Object.class);
+		typeToPrimitiveMap.put(BOOL, boolean.class);
+
+		for (Map.Entry<DType, Class<?>> entry : typeToClassMap.entrySet()) {
+			classToTypeMap.put(entry.getValue(), entry.getKey());
+			classToTypeMap.put(typeToPrimitiveMap.get(entry.getKey()), entry.getKey());
+		}
+		classToTypeMap.put(String.class, OBJECT);
 	}
 	@SuppressWarnings("unchecked")
 	public <T> T getDefaultValue() {
@@ -58,6 +96,7 @@ public enum DType {
 			case FLOAT32: return (T) Float.valueOf(0);
 			case FLOAT64: return (T) Double.valueOf((short)0);
 			case OBJECT: return (T)"";
+			case BOOL: return (T) Boolean.FALSE;
 			default: throw new UnsupportedDataTypeException("Unsupported data type: " + this);
 		}
 	}
@@ -82,6 +121,72 @@ public enum DType {
 		return typeToClassMap.get(this);
 	}
 
+	/**
+	 * Returns the primitive Java type used to store elements of this DType.
+	 *
+	 * @return The primitive class, or {@code Object.class} for {@link #OBJECT}.
+	 */
+	public Class<?> primitive() {
+		return typeToPrimitiveMap.get(this);
+	}
+
+	/**
+	 * Returns the size in bytes of a single element of this DType.
+	 *
+	 * @return The element size in bytes.
+	 */
+	public int itemSize() {
+		switch (this) {
+			case INT8:
+			case BOOL: return 1;
+			case INT16: return 2;
+			case INT32:
+			case FLOAT32: return 4;
+			case INT64:
+			case FLOAT64: return 8;
+			case OBJECT: return 16;
+			default: throw new UnsupportedDataTypeException("Unsupported data type: " + this);
+		}
+	}
+
+	/**
+	 * Checks whether this DType holds floating point values.
+	 *
+	 * @return {@code true} for FLOAT32 and FLOAT64.
+	 */
+	public boolean isFloatingPoint() {
+		return this == FLOAT32 || this == FLOAT64;
+	}
+
+	/**
+	 * Returns the DType that stores values of the given class.
+	 *
+	 * @param clazz A primitive, wrapper or {@code String} class.
+	 * @return The matching DType, or {@code null} if the class has no dedicated DType.
+	 */
+	public static DType fromClass(Class<?> clazz) {
+		return classToTypeMap.get(clazz);
+	}
+
+	/**
+	 * Returns the smallest DType that can hold the values of all given types, the counterpart of
+	 * NumPy's {@code result_type}. The result does not depend on the order of the arguments.
+	 *
+	 * @param types The types to combine; at least one.
+	 * @return The promoted DType.
+	 * @throws IllegalArgumentException If no type is given.
+	 */
+	public static DType resultType(DType... types) {
+		if (types.length == 0) {
+			throw new IllegalArgumentException(ExceptionMessages.emptyResultTypeException());
+		}
+		DType result = types[0];
+		for (int i = 1; i < types.length; i++) {
+			result = promotionTable[result.ordinal()][types[i].ordinal()];
+		}
+		return result;
+	}
+
 	/**
 	 * Sets the value at the specified index in an array, casting it according to the DType.
 	 *
@@ -110,6 +215,9 @@ public enum DType {
             case OBJECT:
                 Array.set(array, index, value);
 				break;
+			case BOOL:
+				Array.set(array, index, value != 0);
+				break;
             default:
 				throw new UnsupportedDataTypeException("Unsupported data type: " + this);
 		}
@@ -0,0 +1,15 @@
+package com.library.numj.enums;
+
+/**
+ * Enumeration of the access modes of a memory-mapped NDArray, mirroring the modes of {@code numpy.memmap}.
+ */
+public enum MemmapMode {
+    /** Map an existing file for reading only ({@code "r"}); writes throw. */
+    READ_ONLY,
+    /** Map an existing file for reading and writing ({@code "r+"}); writes reach the file. */
+    READ_WRITE,
+    /** Map an existing file copy-on-write ({@code "c"}); writes stay in memory and never reach the file. */
+    COPY_ON_WRITE,
+    /** Create or overwrite the file, sized for the requested shape, and map it for reading and writing ({@code "w+"}). */
+    CREATE,
+}
@@ -1,7 +1,7 @@
 package com.library.numj.enums;
 
 /**
- * Enumeration of arithmetic operation types used in NumJ.
+ * Enumeration of arithmetic and comparison operation types used in NumJ.
  */
 public enum OperationType {
     /** Addition operation. */
@@ -22,4 +22,25 @@ public enum OperationType {
     BITWISE_XOR,
     /** Bitwise Inversion operation (NOT). */
     INVERT,
+    /** Greater-than comparison. */
+    GREATER,
+    /** Greater-than-or-equal comparison. */
+    GREATER_EQUAL,
+    /** Less-than comparison. */
+    LESS,
+    /** Less-than-or-equal comparison. */
+    LESS_EQUAL,
+    /** Equality comparison. */
+    EQUAL,
+    /** Inequality comparison. */
+    NOT_EQUAL;
+
+    /**
+     * Checks whether the operation compares its operands and produces a {@code BOOL} mask.
+     *
+     * @return {@code true} for the comparison operations.
+     */
+    public boolean isComparison() {
+        return ordinal() >= GREATER.ordinal();
+    }
 }
@@ -0,0 +1,21 @@
+package com.library.numj.enums;
+
+/**
+ * Enumeration of reduction types used in NumJ.
+ */
+public enum ReductionType {
+    /** Sum of the elements. */
+    SUM,
+    /** Product of the elements. */
+    PROD,
+    /** Smallest element. */
+    MIN,
+    /** Largest element. */
+    MAX,
+    /** Arithmetic mean of the elements. */
+    MEAN,
+    /** Population variance of the elements. */
+    VAR,
+    /** Population standard deviation of the elements. */
+    STD,
+}
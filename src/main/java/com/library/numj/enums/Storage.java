@@ -0,0 +1,11 @@
+package com.library.numj.enums;
+
+/**
+ * Enumeration of the places the elements of an NDArray can be kept.
+ */
+public enum Storage {
+    /** A primitive Java array on the heap, managed by the garbage collector. */
+    HEAP,
+    /** Native memory outside the Java heap, released by {@link AutoCloseable#close()} or garbage collection. */
+    OFF_HEAP,
+}
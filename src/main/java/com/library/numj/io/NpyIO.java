@@ -0,0 +1,538 @@
+package com.library.numj.io;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.MemmapMode;
+import com.library.numj.exceptions.UnsupportedDataTypeException;
+import com.library.numj.storage.DataBuffer;
+import com.library.numj.storage.MappedBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The NpyIO class reads and writes NumPy's binary {@code .npy} format and {@code .npz} archives.
+ * <p>
+ * A {@code .npy} file is a short text header describing the data type, memory order and shape,
+ * followed by the raw elements. Elements are streamed between the channel and the array's buffer
+ * through a reusable direct {@link ByteBuffer}, using bulk typed transfers, so no boxed or
+ * intermediate copy of the array is ever created. Files in either byte order and in C or Fortran
+ * order are read; files are written little-endian in the order the array already has in memory.
+ */
+public class NpyIO {
+    /** The magic string every {@code .npy} file starts with. */
+    private static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y'};
+    /** Headers are padded so the data starts at a multiple of this many bytes. */
+    private static final int HEADER_ALIGNMENT = 64;
+    /** Size of the staging buffer used to move elements between channels and buffers. */
+    private static final int CHUNK_BYTES = 1 << 16;
+    /** Suffix of the array entries in a {@code .npz} archive. */
+    private static final String NPY_SUFFIX = ".npy";
+
+    private static final Pattern DESCR = Pattern.compile("['\"]descr['\"]\\s*:\\s*['\"]([^'\"]*)['\"]");
+    private static final Pattern FORTRAN_ORDER = Pattern.compile("['\"]fortran_order['\"]\\s*:\\s*(True|False)");
+    private static final Pattern SHAPE = Pattern.compile("['\"]shape['\"]\\s*:\\s*\\(([^)]*)\\)");
+
+    /**
+     * Writes an array to a {@code .npy} file, replacing any existing file.
+     *
+     * @param file  The file to write.
+     * @param array The array to save.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file, NDArray<?> array) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, array);
+        }
+    }
+
+    /**
+     * Reads an array from a {@code .npy} file into memory.
+     *
+     * @param file The file to read.
+     * @return A new NDArray holding the elements of the file.
+     * @throws IOException                  If the file cannot be read or is not a valid {@code .npy} file.
+     * @throws UnsupportedDataTypeException If the file holds a data type NumJ does not support.
+     */
+    public <R> NDArray<R> load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Maps the data of a {@code .npy} file instead of reading it, the counterpart of NumPy's
+     * {@code load(file, mmap_mode=...)}.
+     *
+     * @param file The file to map.
+     * @param mode The access mode; {@link MemmapMode#CREATE} is not supported.
+     * @return An NDArray whose elements live in the file; boolean files are mapped as INT8 0/1 values.
+     * @throws IOException                   If the file cannot be read or is not a valid {@code .npy} file.
+     * @throws UnsupportedOperationException If the mode is CREATE or the file is big-endian.
+     */
+    public <R> NDArray<R> load(Path file, MemmapMode mode) throws IOException {
+        if (mode == MemmapMode.CREATE) {
+            throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+        }
+        Header header;
+        long dataOffset;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            header = readHeader(channel);
+            dataOffset = channel.position();
+        }
+        if (header.order == ByteOrder.BIG_ENDIAN && header.dType.itemSize() > 1) {
+            throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+        }
+        DType dType = header.dType == DType.BOOL ? DType.INT8 : header.dType;
+        MappedBuffer buffer = MappedBuffer.map(file, dType, mode, dataOffset, NDArray.sizeOf(header.shape));
+        return header.toArray(buffer);
+    }
+
+    /**
+     * Writes several arrays to a {@code .npz} archive, one {@code .npy} entry per array.
+     *
+     * @param file       The archive to write.
+     * @param arrays     The arrays to save, keyed by entry name.
+     * @param compressed Whether entries are deflated, as with NumPy's {@code savez_compressed},
+     *                   or stored as with {@code savez}.
+     * @throws IOException If the archive cannot be written.
+     */
+    public void savez(Path file, Map<String, NDArray<?>> arrays, boolean compressed) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Channels.newOutputStream(FileChannel.open(file,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)))) {
+            WritableByteChannel channel = new UnclosedChannel(zip);
+            for (Map.Entry<String, NDArray<?>> named : arrays.entrySet()) {
+                ZipEntry entry = new ZipEntry(named.getKey() + NPY_SUFFIX);
+                if (compressed) {
+                    entry.setMethod(ZipEntry.DEFLATED);
+                } else {
+                    // Stored entries need their size and checksum before the data is written
+                    ChecksumChannel checksum = new ChecksumChannel();
+                    write(checksum, named.getValue());
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(checksum.size);
+                    entry.setCompressedSize(checksum.size);
+                    entry.setCrc(checksum.crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                write(channel, named.getValue());
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Reads every {@code .npy} entry of a {@code .npz} archive into memory.
+     *
+     * @param file The archive to read.
+     * @return The arrays keyed by entry name without the {@code .npy} suffix, in archive order.
+     * @throws IOException                  If the archive cannot be read or holds an invalid entry.
+     * @throws UnsupportedDataTypeException If an entry holds a data type NumJ does not support.
+     */
+    public Map<String, NDArray<?>> loadz(Path file) throws IOException {
+        Map<String, NDArray<?>> arrays = new LinkedHashMap<>();
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || !name.endsWith(NPY_SUFFIX)) continue;
+                try (ReadableByteChannel channel = Channels.newChannel(zip.getInputStream(entry))) {
+                    arrays.put(name.substring(0, name.length() - NPY_SUFFIX.length()), read(channel));
+                }
+            }
+        }
+        return arrays;
+    }
+
+    /**
+     * Writes an array in {@code .npy} format to a channel.
+     * C-contiguous arrays and transposes of C-contiguous arrays are written straight from their
+     * buffer; other views are copied first. {@link DType#OBJECT} arrays are written as FLOAT64.
+     *
+     * @param channel The channel to write to; it is left open.
+     * @param array   The array to write.
+     * @throws IOException If the channel cannot be written.
+     */
+    public void write(WritableByteChannel channel, NDArray<?> array) throws IOException {
+        NDArray<?> source = array.type() == DType.OBJECT ? array.astype(DType.FLOAT64) : array;
+        boolean fortranOrder = false;
+        if (!source.isContiguous()) {
+            if (source.transpose().isContiguous()) {
+                fortranOrder = true;
+            } else {
+                source = source.copy();
+            }
+        }
+        DType dType = source.type();
+        ByteBuffer header = ByteBuffer.wrap(header(descr(dType), fortranOrder, source.shapeArray()));
+        while (header.hasRemaining()) channel.write(header);
+
+        DataBuffer buffer = source.buffer();
+        long length = source.size();
+        int perChunk = CHUNK_BYTES / dType.itemSize();
+        ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long done = 0; done < length; ) {
+            int count = (int) Math.min(perChunk, length - done);
+            chunk.clear();
+            put(chunk, buffer, source.offset() + done, count);
+            chunk.position(0).limit(count * dType.itemSize());
+            while (chunk.hasRemaining()) channel.write(chunk);
+            done += count;
+        }
+    }
+
+    /**
+     * Reads an array in {@code .npy} format from a channel.
+     *
+     * @param channel The channel positioned at the start of the {@code .npy} data; it is left open.
+     * @return A new NDArray holding the elements.
+     * @throws IOException                  If the channel cannot be read or the data is not valid {@code .npy}.
+     * @throws UnsupportedDataTypeException If the data type is not supported.
+     */
+    public <R> NDArray<R> read(ReadableByteChannel channel) throws IOException {
+        Header header = readHeader(channel);
+        long size = NDArray.sizeOf(header.shape);
+        DType dType = header.dType;
+        DataBuffer buffer = DataBuffer.allocate(dType, size);
+        int perChunk = CHUNK_BYTES / dType.itemSize();
+        ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(header.order);
+        for (long done = 0; done < size; ) {
+            int count = (int) Math.min(perChunk, size - done);
+            chunk.clear().limit(count * dType.itemSize());
+            readFully(channel, chunk);
+            chunk.flip();
+            get(chunk, buffer, done, count);
+            done += count;
+        }
+        return header.toArray(buffer);
+    }
+
+    /**
+     * Parsed form of a {@code .npy} header.
+     */
+    private static final class Header {
+        final DType dType;
+        final ByteOrder order;
+        final boolean fortranOrder;
+        final int[] shape;
+
+        Header(DType dType, ByteOrder order, boolean fortranOrder, int[] shape) {
+            this.dType = dType;
+            this.order = order;
+            this.fortranOrder = fortranOrder;
+            this.shape = shape;
+        }
+
+        /**
+         * Wraps a buffer holding the elements in file order into an NDArray of the described shape.
+         */
+        <R> NDArray<R> toArray(DataBuffer buffer) {
+            if (!fortranOrder) {
+                return new NDArray<>(buffer, shape, buffer.dType().primitive());
+            }
+            long[] strides = new long[shape.length];
+            long stride = 1;
+            for (int axis = 0; axis < shape.length; axis++) {
+                strides[axis] = stride;
+                stride *= shape[axis];
+            }
+            return new NDArray<>(buffer, shape, strides, 0, buffer.dType().primitive());
+        }
+    }
+
+    /**
+     * Reads and parses the header, leaving the channel positioned at the first element.
+     */
+    private static Header readHeader(ReadableByteChannel channel) throws IOException {
+        ByteBuffer preamble = ByteBuffer.allocate(MAGIC.length + 2).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, preamble);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (preamble.get(i) != MAGIC[i]) {
+                throw new IOException(ExceptionMessages.npyFormatException("missing magic string"));
+            }
+        }
+        int major = preamble.get(MAGIC.length);
+        if (major < 1 || major > 3) {
+            throw new IOException(ExceptionMessages.npyFormatException("unsupported version " + major));
+        }
+        ByteBuffer length = ByteBuffer.allocate(major == 1 ? 2 : 4).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, length);
+        long headerLength = major == 1 ? length.getShort(0) & 0xFFFF : length.getInt(0) & 0xFFFFFFFFL;
+        if (headerLength > Integer.MAX_VALUE) {
+            throw new IOException(ExceptionMessages.npyFormatException("header is too large"));
+        }
+        ByteBuffer text = ByteBuffer.allocate((int) headerLength);
+        readFully(channel, text);
+        String dictionary = new String(text.array(), major == 3 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+
+        Matcher descr = DESCR.matcher(dictionary);
+        Matcher fortranOrder = FORTRAN_ORDER.matcher(dictionary);
+        Matcher shape = SHAPE.matcher(dictionary);
+        if (!descr.find() || !fortranOrder.find() || !shape.find()) {
+            throw new IOException(ExceptionMessages.npyFormatException("malformed header " + dictionary.trim()));
+        }
+        String type = descr.group(1);
+        return new Header(dType(type), type.charAt(0) == '>' ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN,
+                fortranOrder.group(1).equals("True"), parseShape(shape.group(1)));
+    }
+
+    /**
+     * Parses the contents of a shape tuple such as {@code "3, 4"} or {@code "5,"}.
+     */
+    private static int[] parseShape(String tuple) throws IOException {
+        String[] parts = tuple.split(",");
+        int[] shape = new int[parts.length];
+        int ndim = 0;
+        try {
+            for (String part : parts) {
+                String dimension = part.trim();
+                if (dimension.isEmpty()) continue;
+                shape[ndim] = Integer.parseInt(dimension.endsWith("L") ? dimension.substring(0, dimension.length() - 1) : dimension);
+                if (shape[ndim++] < 0) throw new NumberFormatException(dimension);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException(ExceptionMessages.npyFormatException("invalid shape (" + tuple + ")"), e);
+        }
+        int[] result = new int[ndim];
+        System.arraycopy(shape, 0, result, 0, ndim);
+        return result;
+    }
+
+    /**
+     * Maps a NumPy type descriptor such as {@code "<f8"} to a data type.
+     */
+    private static DType dType(String descr) {
+        String type = descr.length() == 3 && "<>|=".indexOf(descr.charAt(0)) >= 0 ? descr.substring(1) : descr;
+        switch (type) {
+            case "i1":
+                return DType.INT8;
+            case "b1":
+                return DType.BOOL;
+            case "i2":
+                return DType.INT16;
+            case "i4":
+                return DType.INT32;
+            case "i8":
+                return DType.INT64;
+            case "f4":
+                return DType.FLOAT32;
+            case "f8":
+                return DType.FLOAT64;
+            default:
+                throw new UnsupportedDataTypeException(ExceptionMessages.unsupportedNpyTypeException(descr));
+        }
+    }
+
+    /**
+     * Returns the little-endian NumPy type descriptor of a data type.
+     */
+    private static String descr(DType dType) {
+        switch (dType) {
+            case INT8:
+                return "|i1";
+            case BOOL:
+                return "|b1";
+            case INT16:
+                return "<i2";
+            case INT32:
+                return "<i4";
+            case INT64:
+                return "<i8";
+            case FLOAT32:
+                return "<f4";
+            case FLOAT64:
+                return "<f8";
+            default:
+                throw new UnsupportedDataTypeException(ExceptionMessages.illegalDataType(dType));
+        }
+    }
+
+    /**
+     * Builds the magic string, version, header length and padded header dictionary.
+     */
+    private static byte[] header(String descr, boolean fortranOrder, int[] shape) {
+        StringBuilder dictionary = new StringBuilder("{'descr': '").append(descr)
+                .append("', 'fortran_order': ").append(fortranOrder ? "True" : "False")
+                .append(", 'shape': (");
+        for (int i = 0; i < shape.length; i++) {
+            dictionary.append(i == 0 ? "" : ", ").append(shape[i]);
+        }
+        dictionary.append(shape.length == 1 ? ",), }" : "), }");
+
+        // Version 1.0 stores the header length in two bytes; longer headers need version 2.0
+        int preamble = MAGIC.length + 4;
+        int major = 1;
+        if (preamble + dictionary.length() + 1 > 0xFFFF) {
+            preamble += 2;
+            major = 2;
+        }
+        int total = (preamble + dictionary.length() + 1 + HEADER_ALIGNMENT - 1) / HEADER_ALIGNMENT * HEADER_ALIGNMENT;
+        while (preamble + dictionary.length() + 1 < total) dictionary.append(' ');
+        dictionary.append('\n');
+
+        ByteBuffer header = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).put((byte) major).put((byte) 0);
+        if (major == 1) {
+            header.putShort((short) dictionary.length());
+        } else {
+            header.putInt(dictionary.length());
+        }
+        header.put(dictionary.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return header.array();
+    }
+
+    /**
+     * Fills the remaining space of a buffer from a channel.
+     */
+    private static void readFully(ReadableByteChannel channel, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new EOFException(ExceptionMessages.npyFormatException("unexpected end of data"));
+            }
+        }
+    }
+
+    /**
+     * Copies {@code count} elements of a buffer into the start of the staging buffer.
+     */
+    private static void put(ByteBuffer chunk, DataBuffer buffer, long index, int count) {
+        if (!buffer.hasArray()) {
+            int itemSize = buffer.dType().itemSize();
+            for (int i = 0; i < count; i++) {
+                int position = i * itemSize;
+                switch (buffer.dType()) {
+                    case INT8:
+                    case BOOL: chunk.put(position, (byte) buffer.getLong(index + i)); break;
+                    case INT16: chunk.putShort(position, (short) buffer.getLong(index + i)); break;
+                    case INT32: chunk.putInt(position, (int) buffer.getLong(index + i)); break;
+                    case INT64: chunk.putLong(position, buffer.getLong(index + i)); break;
+                    case FLOAT32: chunk.putFloat(position, (float) buffer.getDouble(index + i)); break;
+                    default: chunk.putDouble(position, buffer.getDouble(index + i)); break;
+                }
+            }
+            return;
+        }
+        Object array = buffer.array();
+        int start = (int) index;
+        switch (buffer.dType()) {
+            case INT8: chunk.put((byte[]) array, start, count); break;
+            case BOOL:
+                boolean[] flags = (boolean[]) array;
+                for (int i = 0; i < count; i++) chunk.put(i, (byte) (flags[start + i] ? 1 : 0));
+                break;
+            case INT16: chunk.asShortBuffer().put((short[]) array, start, count); break;
+            case INT32: chunk.asIntBuffer().put((int[]) array, start, count); break;
+            case INT64: chunk.asLongBuffer().put((long[]) array, start, count); break;
+            case FLOAT32: chunk.asFloatBuffer().put((float[]) array, start, count); break;
+            default: chunk.asDoubleBuffer().put((double[]) array, start, count); break;
+        }
+    }
+
+    /**
+     * Copies {@code count} elements from the staging buffer into a buffer; arrays too large for the
+     * heap arrive in an off-heap buffer and are written element by element.
+     */
+    private static void get(ByteBuffer chunk, DataBuffer buffer, long index, int count) {
+        if (!buffer.hasArray()) {
+            int itemSize = buffer.dType().itemSize();
+            for (int i = 0; i < count; i++) {
+                int position = i * itemSize;
+                switch (buffer.dType()) {
+                    case INT8: buffer.setLong(index + i, chunk.get(position)); break;
+                    case INT16: buffer.setLong(index + i, chunk.getShort(position)); break;
+                    case INT32: buffer.setLong(index + i, chunk.getInt(position)); break;
+                    case INT64: buffer.setLong(index + i, chunk.getLong(position)); break;
+                    case FLOAT32: buffer.setDouble(index + i, chunk.getFloat(position)); break;
+                    default: buffer.setDouble(index + i, chunk.getDouble(position)); break;
+                }
+            }
+            return;
+        }
+        Object array = buffer.array();
+        int start = (int) index;
+        switch (buffer.dType()) {
+            case INT8: chunk.get((byte[]) array, start, count); break;
+            case BOOL:
+                boolean[] flags = (boolean[]) array;
+                for (int i = 0; i < count; i++) flags[start + i] = chunk.get(i) != 0;
+                break;
+            case INT16: chunk.asShortBuffer().get((short[]) array, start, count); break;
+            case INT32: chunk.asIntBuffer().get((int[]) array, start, count); break;
+            case INT64: chunk.asLongBuffer().get((long[]) array, start, count); break;
+            case FLOAT32: chunk.asFloatBuffer().get((float[]) array, start, count); break;
+            default: chunk.asDoubleBuffer().get((double[]) array, start, count); break;
+        }
+    }
+
+    /**
+     * Channel that only counts and checksums the bytes written to it.
+     */
+    private static final class ChecksumChannel implements WritableByteChannel {
+        final CRC32 crc = new CRC32();
+        long size;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            crc.update(source);
+            size += length;
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Channel writing to a stream without ever closing it, so entries can be added to an archive one by one.
+     */
+    private static final class UnclosedChannel implements WritableByteChannel {
+        private final WritableByteChannel channel;
+
+        UnclosedChannel(OutputStream stream) {
+            this.channel = Channels.newChannel(stream);
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            return channel.write(source);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,929 @@
+package com.library.numj.operations;
+
+import com.library.numj.enums.OperationType;
+
+import static com.library.numj.ExceptionMessages.unsupportedOperation;
+
+/**
+ * Type-specialized element-wise loops used by {@link ArithmaticOperations}.
+ * Each method works on one primitive array type so that the inner loops run without boxing,
+ * allocation or per-element type checks; the operation is selected once per call, outside the loop.
+ * Operands are addressed by an offset and a stride, where a stride of 0 repeats a broadcast value.
+ * Unit-stride and scalar operands get dedicated loops the JIT can vectorize, and are first offered to
+ * {@link VectorKernels}, which uses explicit SIMD instructions where the runtime provides them.
+ */
+final class ArithmaticKernels {
+
+    private ArithmaticKernels() {
+    }
+
+    /**
+     * Applies a binary operation to {@code byte} operands.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code byte} values.
+     */
+    static void binary(OperationType operation, byte[] a, int aOffset, int aStride,
+                       byte[] b, int bOffset, int bStride, byte[] out, int outOffset, int length) {
+        if (VectorKernels.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] + b[bOffset + i]);
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] - b[bOffset + i]);
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] * b[bOffset + i]);
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] / b[bOffset + i]);
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] % b[bOffset + i]);
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] & b[bOffset + i]);
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] | b[bOffset + i]);
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] ^ b[bOffset + i]);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            byte scalar = b[bOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] + scalar);
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] - scalar);
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] * scalar);
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] / scalar);
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] % scalar);
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] & scalar);
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] | scalar);
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (a[aOffset + i] ^ scalar);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 0 && bStride == 1) {
+            byte scalar = a[aOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar + b[bOffset + i]);
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar - b[bOffset + i]);
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar * b[bOffset + i]);
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar / b[bOffset + i]);
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar % b[bOffset + i]);
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar & b[bOffset + i]);
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar | b[bOffset + i]);
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (byte) (scalar ^ b[bOffset + i]);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] + b[ib]);
+                return;
+            case SUBTRACTION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] - b[ib]);
+                return;
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] * b[ib]);
+                return;
+            case DIVISION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] / b[ib]);
+                return;
+            case MODULO:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] % b[ib]);
+                return;
+            case BITWISE_AND:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] & b[ib]);
+                return;
+            case BITWISE_OR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] | b[ib]);
+                return;
+            case BITWISE_XOR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (byte) (a[ia] ^ b[ib]);
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a binary operation to {@code short} operands.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code short} values.
+     */
+    static void binary(OperationType operation, short[] a, int aOffset, int aStride,
+                       short[] b, int bOffset, int bStride, short[] out, int outOffset, int length) {
+        if (VectorKernels.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] + b[bOffset + i]);
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] - b[bOffset + i]);
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] * b[bOffset + i]);
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] / b[bOffset + i]);
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] % b[bOffset + i]);
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] & b[bOffset + i]);
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] | b[bOffset + i]);
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] ^ b[bOffset + i]);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            short scalar = b[bOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] + scalar);
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] - scalar);
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] * scalar);
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] / scalar);
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] % scalar);
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] & scalar);
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] | scalar);
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (a[aOffset + i] ^ scalar);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 0 && bStride == 1) {
+            short scalar = a[aOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar + b[bOffset + i]);
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar - b[bOffset + i]);
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar * b[bOffset + i]);
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar / b[bOffset + i]);
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar % b[bOffset + i]);
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar & b[bOffset + i]);
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar | b[bOffset + i]);
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = (short) (scalar ^ b[bOffset + i]);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] + b[ib]);
+                return;
+            case SUBTRACTION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] - b[ib]);
+                return;
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] * b[ib]);
+                return;
+            case DIVISION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] / b[ib]);
+                return;
+            case MODULO:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] % b[ib]);
+                return;
+            case BITWISE_AND:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] & b[ib]);
+                return;
+            case BITWISE_OR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] | b[ib]);
+                return;
+            case BITWISE_XOR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = (short) (a[ia] ^ b[ib]);
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a binary operation to {@code int} operands.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code int} values.
+     */
+    static void binary(OperationType operation, int[] a, int aOffset, int aStride,
+                       int[] b, int bOffset, int bStride, int[] out, int outOffset, int length) {
+        if (VectorKernels.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % b[bOffset + i];
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] & b[bOffset + i];
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] | b[bOffset + i];
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] ^ b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            int scalar = b[bOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + scalar;
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - scalar;
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * scalar;
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / scalar;
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % scalar;
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] & scalar;
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] | scalar;
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] ^ scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 0 && bStride == 1) {
+            int scalar = a[aOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar % b[bOffset + i];
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar & b[bOffset + i];
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar | b[bOffset + i];
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar ^ b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] + b[ib];
+                return;
+            case SUBTRACTION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] - b[ib];
+                return;
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] * b[ib];
+                return;
+            case DIVISION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] / b[ib];
+                return;
+            case MODULO:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] % b[ib];
+                return;
+            case BITWISE_AND:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] & b[ib];
+                return;
+            case BITWISE_OR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] | b[ib];
+                return;
+            case BITWISE_XOR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] ^ b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a binary operation to {@code long} operands.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code long} values.
+     */
+    static void binary(OperationType operation, long[] a, int aOffset, int aStride,
+                       long[] b, int bOffset, int bStride, long[] out, int outOffset, int length) {
+        if (VectorKernels.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % b[bOffset + i];
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] & b[bOffset + i];
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] | b[bOffset + i];
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] ^ b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            long scalar = b[bOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + scalar;
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - scalar;
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * scalar;
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / scalar;
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % scalar;
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] & scalar;
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] | scalar;
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] ^ scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 0 && bStride == 1) {
+            long scalar = a[aOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar % b[bOffset + i];
+                    return;
+                case BITWISE_AND:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar & b[bOffset + i];
+                    return;
+                case BITWISE_OR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar | b[bOffset + i];
+                    return;
+                case BITWISE_XOR:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar ^ b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] + b[ib];
+                return;
+            case SUBTRACTION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] - b[ib];
+                return;
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] * b[ib];
+                return;
+            case DIVISION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] / b[ib];
+                return;
+            case MODULO:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] % b[ib];
+                return;
+            case BITWISE_AND:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] & b[ib];
+                return;
+            case BITWISE_OR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] | b[ib];
+                return;
+            case BITWISE_XOR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] ^ b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a binary operation to {@code float} operands.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code float} values.
+     */
+    static void binary(OperationType operation, float[] a, int aOffset, int aStride,
+                       float[] b, int bOffset, int bStride, float[] out, int outOffset, int length) {
+        if (VectorKernels.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            float scalar = b[bOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + scalar;
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - scalar;
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * scalar;
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / scalar;
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 0 && bStride == 1) {
+            float scalar = a[aOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar % b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] + b[ib];
+                return;
+            case SUBTRACTION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] - b[ib];
+                return;
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] * b[ib];
+                return;
+            case DIVISION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] / b[ib];
+                return;
+            case MODULO:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] % b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a binary operation to {@code double} operands.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code double} values.
+     */
+    static void binary(OperationType operation, double[] a, int aOffset, int aStride,
+                       double[] b, int bOffset, int bStride, double[] out, int outOffset, int length) {
+        if (VectorKernels.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            double scalar = b[bOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] + scalar;
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] - scalar;
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] * scalar;
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] / scalar;
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] % scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 0 && bStride == 1) {
+            double scalar = a[aOffset];
+            switch (operation) {
+                case ADDITION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar + b[bOffset + i];
+                    return;
+                case SUBTRACTION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar - b[bOffset + i];
+                    return;
+                case MULTIPLICATION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar * b[bOffset + i];
+                    return;
+                case DIVISION:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar / b[bOffset + i];
+                    return;
+                case MODULO:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = scalar % b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] + b[ib];
+                return;
+            case SUBTRACTION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] - b[ib];
+                return;
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] * b[ib];
+                return;
+            case DIVISION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] / b[ib];
+                return;
+            case MODULO:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] % b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code byte} values.
+     *
+     * @param a         The operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     */
+    static void invert(byte[] a, int aOffset, int aStride, byte[] out, int outOffset, int length) {
+        if (VectorKernels.invert(a, aOffset, aStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1) {
+            for (int i = 0; i < length; i++) out[outOffset + i] = (byte) ~a[aOffset + i];
+            return;
+        }
+        for (int i = 0, ia = aOffset; i < length; i++, ia += aStride)
+            out[outOffset + i] = (byte) ~a[ia];
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code short} values.
+     *
+     * @param a         The operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     */
+    static void invert(short[] a, int aOffset, int aStride, short[] out, int outOffset, int length) {
+        if (VectorKernels.invert(a, aOffset, aStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1) {
+            for (int i = 0; i < length; i++) out[outOffset + i] = (short) ~a[aOffset + i];
+            return;
+        }
+        for (int i = 0, ia = aOffset; i < length; i++, ia += aStride)
+            out[outOffset + i] = (short) ~a[ia];
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code int} values.
+     *
+     * @param a         The operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     */
+    static void invert(int[] a, int aOffset, int aStride, int[] out, int outOffset, int length) {
+        if (VectorKernels.invert(a, aOffset, aStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1) {
+            for (int i = 0; i < length; i++) out[outOffset + i] = ~a[aOffset + i];
+            return;
+        }
+        for (int i = 0, ia = aOffset; i < length; i++, ia += aStride)
+            out[outOffset + i] = ~a[ia];
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code long} values.
+     *
+     * @param a         The operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param out       The contiguous output array.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     */
+    static void invert(long[] a, int aOffset, int aStride, long[] out, int outOffset, int length) {
+        if (VectorKernels.invert(a, aOffset, aStride, out, outOffset, length)) {
+            return;
+        }
+        if (aStride == 1) {
+            for (int i = 0; i < length; i++) out[outOffset + i] = ~a[aOffset + i];
+            return;
+        }
+        for (int i = 0, ia = aOffset; i < length; i++, ia += aStride)
+            out[outOffset + i] = ~a[ia];
+    }
+}
@@ -1,14 +1,15 @@
 package com.library.numj.operations;
 
+import com.library.numj.ExceptionMessages;
 import com.library.numj.NDArray;
-import com.library.numj.NumJ;
 import com.library.numj.Utils;
+import com.library.numj.enums.DType;
 import com.library.numj.enums.OperationType;
+import com.library.numj.enums.Order;
 import com.library.numj.exceptions.ShapeException;
+import com.library.numj.storage.DataBuffer;
 
-import java.lang.reflect.Array;
 import java.util.Arrays;
-import java.util.stream.IntStream;
 
 import static com.library.numj.ExceptionMessages.unsupportedOperation;
 
@@ -20,18 +21,35 @@ import static com.library.numj.ExceptionMessages.unsupportedOperation;
  */
 @SuppressWarnings("unchecked")
 public class ArithmaticOperations {
+    /** Number of elements of a buffer without a heap array that are staged at a time. */
+    private static final int STAGING_SIZE = 4096;
     /** Utility instance for helper methods like broadcasting and indexing. */
-    Utils utils;
+    final Utils utils;
+    /** Executor splitting large operations across threads. */
+    final ParallelExecutor executor;
 
     /**
-     * Constructs an instance of {@code ArithmaticOperations} and initializes utilities.
+     * Constructs an instance of {@code ArithmaticOperations} running on the shared executor.
      */
     public ArithmaticOperations() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code ArithmaticOperations} running on the given executor.
+     *
+     * @param executor The executor used for large operations.
+     */
+    public ArithmaticOperations(ParallelExecutor executor) {
         utils = new Utils();
+        this.executor = executor;
     }
 
     /**
      * Performs the specified arithmetic operation on two NDArrays with broadcasting support.
+     * Both operands are converted once to the type given by {@link DType#resultType}, then a
+     * {@link BroadcastIterator} feeds runs of elements to the type-specialized loops in {@link ArithmaticKernels}. Large
+     * results are split into chunks that run in parallel on the {@link ParallelExecutor}.
      *
      * @param arr1      The first NDArray operand.
      * @param arr2      The second NDArray operand.
@@ -41,65 +59,80 @@ public class ArithmaticOperations {
      */
     public <T, R> NDArray<R> operate(NDArray<T> arr1, NDArray<T> arr2, OperationType operation) throws ShapeException {
         int[] broadcastedShape = utils.broadcastShapes(arr1.shape(), arr2.shape());
-        long totalElementsLong = Arrays.stream(broadcastedShape).reduce(1, (a, b) -> a*b);
-        int[] arr1Strides = arr1.strides();
-        int[] arr2Strides = arr2.strides();
-
-        int totalElements = (int)totalElementsLong;
+        long totalElements = NDArray.sizeOf(broadcastedShape);
 
-        T[] flatArr1 = (T[]) arr1.flatten().getArray();
-        T[] flatArr2 = (T[]) arr2.flatten().getArray();
-        // Get element sizes for proper indexing
-        int elementSize1 = utils.getElementSize(arr1.type().is());
-        int elementSize2 = utils.getElementSize(arr2.type().is());
+        DType resultType = DType.resultType(arr1.type(), arr2.type());
+        NDArray<T> operand1 = arr1.astype(resultType);
+        NDArray<T> operand2 = arr2.astype(resultType);
 
-        // Initialize the output array
-        R[] outputArray = (R[]) new Object[totalElements];
+        // Initialize the output buffer in the operands' layout and traverse it in memory order
+        DataBuffer output = DataBuffer.allocate(resultType, totalElements);
+        Order order = BroadcastIterator.preferredOrder(broadcastedShape, operand1, operand2);
+        long[] outputStrides = NDArray.contiguousStrides(broadcastedShape, order);
+        binary(operation, operand1, operand2, output, 0, outputStrides, broadcastedShape, order);
 
-        int arr1Offset = broadcastedShape.length - arr1.shape().size();
-        int arr2Offset = broadcastedShape.length - arr2.shape().size();
+        // Construct and return the result NDArray with the broadcasted shape
+        return new NDArray<>(output, broadcastedShape, outputStrides, 0, getElementClass(resultType, arr1, arr2));
+    }
 
-        // Perform the operation element-wise
-            IntStream.range(0, totalElements).forEach(i ->{
-            // Compute multi-dimensional indices for broadcasting
-            int[] multiDimIndices = utils.getMultiDimIndices(i, broadcastedShape);
+    /**
+     * Performs the specified arithmetic operation on two NDArrays and writes the result into an
+     * existing array instead of allocating one, the counterpart of NumPy's {@code out=} argument.
+     * The operation is computed in the type given by {@link DType#resultType}, exactly as without
+     * {@code out}, and each result is converted to the destination's data type as it is stored, as
+     * {@link Expression#evaluate(NDArray)} does. {@code out} may be one of the
+     * operands, as in {@code add(x, y, x)}; an operand that shares memory with {@code out} in any
+     * other way is copied first, so the result is always the same as without {@code out}.
+     *
+     * @param arr1      The first NDArray operand.
+     * @param arr2      The second NDArray operand.
+     * @param operation The type of arithmetic operation to perform.
+     * @param out       The destination; its shape must be the broadcast shape of the operands.
+     * @return {@code out}.
+     * @throws ShapeException If the operands cannot be broadcast or {@code out} has another shape.
+     */
+    public <T, R> NDArray<R> operate(NDArray<T> arr1, NDArray<T> arr2, OperationType operation, NDArray<R> out) throws ShapeException {
+        int[] broadcastedShape = utils.broadcastShapes(arr1.shape(), arr2.shape());
+        if (!Arrays.equals(out.shapeArray(), broadcastedShape)) {
+            throw new ShapeException(ExceptionMessages.outputShapeException(out.shapeArray(), broadcastedShape));
+        }
+        DType resultType = DType.resultType(arr1.type(), arr2.type());
+        NDArray<?> operand1 = unaliased(arr1.astype(resultType), out);
+        NDArray<?> operand2 = unaliased(arr2.astype(resultType), out);
+        Order order = BroadcastIterator.preferredOrder(broadcastedShape, out, operand1, operand2);
+        binary(operation, operand1, operand2, out.buffer(), out.offset(), out.elementStrides(), broadcastedShape, order);
+        return out;
+    }
 
-            // Adjust indices for arr1 based on its shape
-            int[] arr1Indices = new int[arr1.shape().size()];
+    /**
+     * Compares two NDArrays element by element with broadcasting support, producing a
+     * {@link DType#BOOL} mask. Both operands are converted once to the type given by
+     * {@link DType#resultType}, so mixed types compare by value as in NumPy, and the comparison
+     * runs through the type-specialized loops in {@link ComparisonKernels}.
+     *
+     * @param arr1      The first NDArray operand.
+     * @param arr2      The second NDArray operand.
+     * @param operation The comparison to perform.
+     * @return A new BOOL NDArray holding the outcome of the comparison.
+     * @throws ShapeException                If the shapes of arr1 and arr2 are incompatible for broadcasting.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    public <R> NDArray<R> compare(NDArray<?> arr1, NDArray<?> arr2, OperationType operation) throws ShapeException {
+        if (!operation.isComparison()) {
+            throw new UnsupportedOperationException(unsupportedOperation);
+        }
+        int[] broadcastedShape = utils.broadcastShapes(arr1.shape(), arr2.shape());
+        long totalElements = NDArray.sizeOf(broadcastedShape);
 
-            IntStream.range(0, arr1.shape().size()).parallel().forEach(index -> {
-                if (arr1.shape().get(index) == 1) {
-                    arr1Indices[index] = 0;
-                } else {
-                    arr1Indices[index] = multiDimIndices[arr1Offset + index];
-                }
-            });
-
-            int[] arr2Indices = new int[arr2.shape().size()];
-            IntStream.range(0, arr2.shape().size()).parallel().forEach(index -> {
-                if (arr2.shape().get(index) == 1) {
-                    arr2Indices[index] = 0;
-                } else {
-                    arr2Indices[index] = multiDimIndices[arr2Offset + index];
-                }
-            });
-            // Compute flat indices for the operands
-            int arr1FlatIndex = utils.getFlatIndex(arr1Indices, arr1Strides) / elementSize1;
-            int arr2FlatIndex = utils.getFlatIndex(arr2Indices, arr2Strides) / elementSize2;
-
-            // Perform the operation based on the type of elements
-            if (flatArr1[arr1FlatIndex] instanceof Number && flatArr2[arr2FlatIndex] instanceof Number) {
-                Number v1 = (Number) flatArr1[arr1FlatIndex];
-                Number v2 = (Number) flatArr2[arr2FlatIndex];
-                outputArray[i] = (R) getResult(v1, v2, operation);
-            } else {
-                outputArray[i] = (R) stringOperation(flatArr1[arr1FlatIndex].toString(), flatArr2[arr2FlatIndex].toString(), operation);
-            }
-        });
+        DType computeType = DType.resultType(arr1.type(), arr2.type());
+        NDArray<?> operand1 = arr1.astype(computeType);
+        NDArray<?> operand2 = arr2.astype(computeType);
 
-        // Construct and return the result NDArray with the broadcasted shape
-        NDArray array = new NumJ().array((R) outputArray);
-        return  array.reshape(broadcastedShape);
+        DataBuffer output = DataBuffer.allocate(DType.BOOL, totalElements);
+        Order order = BroadcastIterator.preferredOrder(broadcastedShape, operand1, operand2);
+        long[] outputStrides = NDArray.contiguousStrides(broadcastedShape, order);
+        binary(operation, operand1, operand2, output, 0, outputStrides, broadcastedShape, order);
+        return new NDArray<>(output, broadcastedShape, outputStrides, 0, getElementClass(DType.BOOL, arr1, arr2));
     }
 
     /**
@@ -112,70 +145,418 @@ public class ArithmaticOperations {
      */
     public <T, R> NDArray<R> operate(NDArray<T> arr1, OperationType operation) throws ShapeException {
         int[] broadcastedShape = utils.broadcastShapes(arr1.shape());
-        long totalElementsLong = Arrays.stream(broadcastedShape).reduce(1, (a, b) -> a * b);
-        int[] arr1Strides = arr1.strides();
+        long totalElements = NDArray.sizeOf(broadcastedShape);
 
-        int totalElements = (int) totalElementsLong;
+        DataBuffer output = DataBuffer.allocate(arr1.type(), totalElements);
+        Order order = arr1.order();
+        long[] outputStrides = NDArray.contiguousStrides(broadcastedShape, order);
+        unary(operation, arr1, output, 0, outputStrides, broadcastedShape, order);
+
+        // Construct and return the result NDArray with the broadcasted shape
+        return new NDArray<>(output, broadcastedShape, outputStrides, 0, arr1.elementClass());
+    }
 
-        T[] flatArr1 = (T[]) arr1.flatten().getArray();
+    /**
+     * Performs the specified unary operation on an NDArray and writes the result into an existing array.
+     * The operation is computed in the operand's data type and each result is converted to the
+     * destination's data type as it is stored.
+     *
+     * @param arr1      The operand.
+     * @param operation The type of operation to perform.
+     * @param out       The destination; it must have the operand's shape and may be the operand itself.
+     * @return {@code out}.
+     * @throws ShapeException If {@code out} has another shape than the operand.
+     */
+    public <T, R> NDArray<R> operate(NDArray<T> arr1, OperationType operation, NDArray<R> out) throws ShapeException {
+        int[] shape = arr1.shapeArray();
+        if (!Arrays.equals(out.shapeArray(), shape)) {
+            throw new ShapeException(ExceptionMessages.outputShapeException(out.shapeArray(), shape));
+        }
+        NDArray<?> operand = unaliased(arr1, out);
+        Order order = BroadcastIterator.preferredOrder(shape, out, operand);
+        unary(operation, operand, out.buffer(), out.offset(), out.elementStrides(), shape, order);
+        return out;
+    }
 
-        // Get element sizes for proper indexing
-        int elementSize1 = utils.getElementSize(flatArr1[0].getClass());
+    /**
+     * Starts a lazy element-wise expression over an array. Operations chained on the returned
+     * {@link Expression} are fused and computed in a single pass when it is evaluated.
+     *
+     * @param array The first operand of the expression.
+     * @return An expression standing for the array.
+     */
+    public Expression lazy(NDArray<?> array) {
+        return new Expression(this, array);
+    }
 
-        // Initialize the output array
-        R[] outputArray = (R[]) new Object[totalElements];
+    /**
+     * Runs a binary operation over a broadcast shape, traversing it in the given order.
+     *
+     * @param operation     The operation type.
+     * @param operand1      The first operand, already of the computation's data type.
+     * @param operand2      The second operand, already of the computation's data type.
+     * @param output        The buffer receiving the results.
+     * @param outputOffset  The buffer index of the first result.
+     * @param outputStrides The element strides of the results.
+     * @param shape         The broadcast shape.
+     * @param order         The order to traverse the shape in.
+     */
+    private void binary(OperationType operation, NDArray<?> operand1, NDArray<?> operand2, DataBuffer output,
+                        long outputOffset, long[] outputStrides, int[] shape, Order order) {
+        DataBuffer buffer1 = operand1.buffer();
+        DataBuffer buffer2 = operand2.buffer();
+        int[] axes = BroadcastIterator.traversalAxes(shape.length, order);
+        BroadcastIterator iterator = new BroadcastIterator(BroadcastIterator.permute(shape, axes),
+                new long[]{outputOffset, operand1.offset(), operand2.offset()},
+                BroadcastIterator.permute(outputStrides, axes),
+                BroadcastIterator.permute(BroadcastIterator.broadcastStrides(operand1.shapeArray(), operand1.elementStrides(), shape), axes),
+                BroadcastIterator.permute(BroadcastIterator.broadcastStrides(operand2.shapeArray(), operand2.elementStrides(), shape), axes));
+        executor.forRange(iterator.size(), (start, end) -> iterator.forEach(start, end, (offsets, strides, length) ->
+                stageBinary(operation, buffer1, offsets[1], strides[1], buffer2, offsets[2], strides[2],
+                        output, offsets[0], strides[0], length)));
+    }
 
-        int arr1Offset = broadcastedShape.length - arr1.shape().size();
+    /**
+     * Runs a unary operation over a shape, traversing it in the given order.
+     *
+     * @param operation     The operation type.
+     * @param operand       The operand, of the computation's data type.
+     * @param output        The buffer receiving the results.
+     * @param outputOffset  The buffer index of the first result.
+     * @param outputStrides The element strides of the results.
+     * @param shape         The shape of the operand.
+     * @param order         The order to traverse the shape in.
+     */
+    private void unary(OperationType operation, NDArray<?> operand, DataBuffer output,
+                       long outputOffset, long[] outputStrides, int[] shape, Order order) {
+        DataBuffer buffer1 = operand.buffer();
+        int[] axes = BroadcastIterator.traversalAxes(shape.length, order);
+        BroadcastIterator iterator = new BroadcastIterator(BroadcastIterator.permute(shape, axes),
+                new long[]{outputOffset, operand.offset()}, BroadcastIterator.permute(outputStrides, axes),
+                BroadcastIterator.permute(operand.elementStrides(), axes));
+        executor.forRange(iterator.size(), (start, end) -> iterator.forEach(start, end, (offsets, strides, length) ->
+                stageUnary(operation, buffer1, offsets[1], strides[1], output, offsets[0], strides[0], length)));
+    }
 
-        // Perform the operation element-wise
-//        for (int i = 0; i < totalElements; i++){
-        IntStream.range(0, totalElements).forEach(i -> {
-            // Compute multi-dimensional indices for broadcasting
-            int[] multiDimIndices = utils.getMultiDimIndices(i, broadcastedShape);
+    /**
+     * Protects an operand from being overwritten while it is still read. Reading and writing the
+     * same element at the same step is safe, so an operand laid over exactly the destination's
+     * elements is used as is; any other operand sharing memory with the destination, such as a
+     * shifted slice or a transpose of it, is copied.
+     *
+     * @param operand The operand.
+     * @param out     The destination.
+     * @return The operand, or a copy of it.
+     */
+    static NDArray<?> unaliased(NDArray<?> operand, NDArray<?> out) {
+        DataBuffer buffer = operand.buffer();
+        DataBuffer outBuffer = out.buffer();
+        boolean shared = buffer == outBuffer || (buffer.hasArray() && outBuffer.hasArray() && buffer.array() == outBuffer.array());
+        if (!shared) {
+            return operand;
+        }
+        int[] shape = out.shapeArray();
+        long[] strides = BroadcastIterator.broadcastStrides(operand.shapeArray(), operand.elementStrides(), shape);
+        long[] outStrides = out.elementStrides();
+        boolean identical = operand.offset() == out.offset();
+        for (int d = 0; d < shape.length && identical; d++) {
+            identical = shape[d] == 1 || strides[d] == outStrides[d];
+        }
+        return identical ? operand : operand.copy();
+    }
 
-            // Adjust indices for arr1 based on its shape
-            int[] arr1Indices = new int[arr1.shape().size()];
+    /**
+     * Runs one row of a binary operation, first copying operands without a heap array (such as
+     * memory-mapped buffers) into small heap buffers that the kernels can address. Results bound for
+     * a strided run, a buffer without a heap array or a buffer of another data type than the
+     * computation's are staged the same way and scattered afterwards, converting each value.
+     * Rows reaching the kernels thus only address heap arrays, whose indices fit in an {@code int}.
+     *
+     * @param o         The operation type.
+     * @param buffer1   The first operand's buffer.
+     * @param offset1   The index of the first element of the first operand.
+     * @param stride1   The distance between consecutive elements of the first operand.
+     * @param buffer2   The second operand's buffer.
+     * @param offset2   The index of the first element of the second operand.
+     * @param stride2   The distance between consecutive elements of the second operand.
+     * @param output    The output buffer.
+     * @param outOffset The index of the first output element.
+     * @param outStride The distance between consecutive output elements.
+     * @param length    The number of elements in the row.
+     */
+    private void stageBinary(OperationType o, DataBuffer buffer1, long offset1, long stride1,
+                             DataBuffer buffer2, long offset2, long stride2,
+                             DataBuffer output, long outOffset, long outStride, int length) {
+        DType computeType = o.isComparison() ? DType.BOOL : buffer1.dType();
+        boolean direct = output.hasArray() && outStride == 1 && output.dType() == computeType;
+        if (buffer1.hasArray() && buffer2.hasArray() && direct) {
+            applyBinary(o, buffer1, (int) offset1, (int) stride1, buffer2, (int) offset2, (int) stride2, output, (int) outOffset, length);
+            return;
+        }
+        int stageSize = Math.min(length, STAGING_SIZE);
+        DataBuffer staged1 = buffer1.hasArray() ? null : DataBuffer.allocate(buffer1.dType(), stageSize);
+        DataBuffer staged2 = buffer2.hasArray() ? null : DataBuffer.allocate(buffer2.dType(), stageSize);
+        DataBuffer stagedOut = direct ? null : DataBuffer.allocate(computeType, stageSize);
+        for (int done = 0; done < length; done += stageSize) {
+            int count = Math.min(stageSize, length - done);
+            long index1 = offset1 + done * stride1;
+            long index2 = offset2 + done * stride2;
+            if (staged1 != null) staged1.copyFrom(0, buffer1, index1, stride1, count);
+            if (staged2 != null) staged2.copyFrom(0, buffer2, index2, stride2, count);
+            applyBinary(o, staged1 != null ? staged1 : buffer1, staged1 != null ? 0 : (int) index1, staged1 != null ? 1 : (int) stride1,
+                    staged2 != null ? staged2 : buffer2, staged2 != null ? 0 : (int) index2, staged2 != null ? 1 : (int) stride2,
+                    direct ? output : stagedOut, direct ? (int) (outOffset + done) : 0, count);
+            if (stagedOut != null) scatter(stagedOut, output, outOffset + done * outStride, outStride, count);
+        }
+    }
 
-            IntStream.range(0, arr1.shape().size()).parallel().forEach(index -> {
-                if (arr1.shape().get(index) == 1) {
-                    arr1Indices[index] = 0;
-                } else {
-                    arr1Indices[index] = multiDimIndices[arr1Offset + index];
-                }
-            });
+    /**
+     * Runs a unary operation, staging an operand or a result without a heap array, or a result
+     * bound for a strided run or of another data type than the operand's, through small heap buffers.
+     *
+     * @param o         The operation type.
+     * @param buffer1   The operand's buffer.
+     * @param offset1   The index of the first element of the operand.
+     * @param stride1   The distance between consecutive elements of the operand.
+     * @param output    The output buffer.
+     * @param outOffset The index of the first output element.
+     * @param outStride The distance between consecutive output elements.
+     * @param length    The number of elements to compute.
+     */
+    private void stageUnary(OperationType o, DataBuffer buffer1, long offset1, long stride1,
+                            DataBuffer output, long outOffset, long outStride, int length) {
+        boolean direct = output.hasArray() && outStride == 1 && output.dType() == buffer1.dType();
+        if (buffer1.hasArray() && direct) {
+            applyUnary(o, buffer1, (int) offset1, (int) stride1, output, (int) outOffset, length);
+            return;
+        }
+        int stageSize = Math.min(length, STAGING_SIZE);
+        DataBuffer staged = buffer1.hasArray() ? null : DataBuffer.allocate(buffer1.dType(), stageSize);
+        DataBuffer stagedOut = direct ? null : DataBuffer.allocate(buffer1.dType(), stageSize);
+        for (int done = 0; done < length; done += stageSize) {
+            int count = Math.min(stageSize, length - done);
+            long index1 = offset1 + done * stride1;
+            if (staged != null) staged.copyFrom(0, buffer1, index1, stride1, count);
+            applyUnary(o, staged != null ? staged : buffer1, staged != null ? 0 : (int) index1, staged != null ? 1 : (int) stride1,
+                    direct ? output : stagedOut, direct ? (int) (outOffset + done) : 0, count);
+            if (stagedOut != null) scatter(stagedOut, output, outOffset + done * outStride, outStride, count);
+        }
+    }
 
-            // Compute flat indices for the operands
-            int arr1FlatIndex = utils.getFlatIndex(arr1Indices, arr1Strides) / elementSize1;
+    /**
+     * Writes the first {@code count} elements of a staging buffer into a strided run of the output,
+     * converting them to the output's data type.
+     */
+    private static void scatter(DataBuffer staged, DataBuffer output, long index, long stride, int count) {
+        for (int i = 0; i < count; i++) {
+            output.copyElement(index + i * stride, staged, i);
+        }
+    }
 
-            // Perform the operation based on the type of elements
-            if (flatArr1[arr1FlatIndex] instanceof Number) {
-                Number v1 = (Number) flatArr1[arr1FlatIndex];
+    /**
+     * Dispatches one row of a binary operation to the kernel matching the buffers' data type.
+     * All three buffers are heap buffers, so their indices fit in an {@code int}.
+     *
+     * @param o         The operation type.
+     * @param buffer1   The first operand's buffer.
+     * @param offset1   The index of the first element of the first operand.
+     * @param stride1   The distance between consecutive elements of the first operand.
+     * @param buffer2   The second operand's buffer.
+     * @param offset2   The index of the first element of the second operand.
+     * @param stride2   The distance between consecutive elements of the second operand.
+     * @param output    The output buffer.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements in the row.
+     */
+    void applyBinary(OperationType o, DataBuffer buffer1, int offset1, int stride1,
+                     DataBuffer buffer2, int offset2, int stride2,
+                     DataBuffer output, int outOffset, int length) {
+        if (o.isComparison() && buffer1.dType() != DType.BOOL) {
+            compare(o, buffer1, offset1, stride1, buffer2, offset2, stride2, (boolean[]) output.array(), outOffset, length);
+            return;
+        }
+        switch (output.dType()) {
+            case INT8:
+                ArithmaticKernels.binary(o, (byte[]) buffer1.array(), offset1, stride1,
+                        (byte[]) buffer2.array(), offset2, stride2, (byte[]) output.array(), outOffset, length);
+                break;
+            case INT16:
+                ArithmaticKernels.binary(o, (short[]) buffer1.array(), offset1, stride1,
+                        (short[]) buffer2.array(), offset2, stride2, (short[]) output.array(), outOffset, length);
+                break;
+            case INT32:
+                ArithmaticKernels.binary(o, (int[]) buffer1.array(), offset1, stride1,
+                        (int[]) buffer2.array(), offset2, stride2, (int[]) output.array(), outOffset, length);
+                break;
+            case INT64:
+                ArithmaticKernels.binary(o, (long[]) buffer1.array(), offset1, stride1,
+                        (long[]) buffer2.array(), offset2, stride2, (long[]) output.array(), outOffset, length);
+                break;
+            case FLOAT32:
+                ArithmaticKernels.binary(o, (float[]) buffer1.array(), offset1, stride1,
+                        (float[]) buffer2.array(), offset2, stride2, (float[]) output.array(), outOffset, length);
+                break;
+            case FLOAT64:
+                ArithmaticKernels.binary(o, (double[]) buffer1.array(), offset1, stride1,
+                        (double[]) buffer2.array(), offset2, stride2, (double[]) output.array(), outOffset, length);
+                break;
+            case BOOL:
+                ComparisonKernels.binary(o, (boolean[]) buffer1.array(), offset1, stride1,
+                        (boolean[]) buffer2.array(), offset2, stride2, (boolean[]) output.array(), outOffset, length);
+                break;
+            default:
+                for (int i = 0; i < length; i++) {
+                    Object v1 = buffer1.get(offset1 + i * stride1);
+                    Object v2 = buffer2.get(offset2 + i * stride2);
+                    if (v1 instanceof Number && v2 instanceof Number) {
+                        output.set(outOffset + i, getResult((Number) v1, (Number) v2, o));
+                    } else {
+                        output.set(outOffset + i, stringOperation(String.valueOf(v1), String.valueOf(v2), o));
+                    }
+                }
+        }
+    }
 
-                boolean isFloatingPoint = (v1 instanceof Double || v1 instanceof Float);
-                if (!isFloatingPoint) {
-                    outputArray[i] = (R) getResult(v1, operation);
-                } else {
-                    throw new UnsupportedOperationException(unsupportedOperation);
+    /**
+     * Dispatches one row of a comparison to the kernel matching the operands' data type. Boxed
+     * {@link DType#OBJECT} elements compare by value when both are numbers and as strings otherwise.
+     *
+     * @param o         The comparison.
+     * @param buffer1   The first operand's buffer.
+     * @param offset1   The index of the first element of the first operand.
+     * @param stride1   The distance between consecutive elements of the first operand.
+     * @param buffer2   The second operand's buffer, of the first operand's data type.
+     * @param offset2   The index of the first element of the second operand.
+     * @param stride2   The distance between consecutive elements of the second operand.
+     * @param out       The output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements in the row.
+     */
+    private static void compare(OperationType o, DataBuffer buffer1, int offset1, int stride1,
+                                DataBuffer buffer2, int offset2, int stride2,
+                                boolean[] out, int outOffset, int length) {
+        switch (buffer1.dType()) {
+            case INT8:
+                ComparisonKernels.compare(o, (byte[]) buffer1.array(), offset1, stride1,
+                        (byte[]) buffer2.array(), offset2, stride2, out, outOffset, length);
+                break;
+            case INT16:
+                ComparisonKernels.compare(o, (short[]) buffer1.array(), offset1, stride1,
+                        (short[]) buffer2.array(), offset2, stride2, out, outOffset, length);
+                break;
+            case INT32:
+                ComparisonKernels.compare(o, (int[]) buffer1.array(), offset1, stride1,
+                        (int[]) buffer2.array(), offset2, stride2, out, outOffset, length);
+                break;
+            case INT64:
+                ComparisonKernels.compare(o, (long[]) buffer1.array(), offset1, stride1,
+                        (long[]) buffer2.array(), offset2, stride2, out, outOffset, length);
+                break;
+            case FLOAT32:
+                ComparisonKernels.compare(o, (float[]) buffer1.array(), offset1, stride1,
+                        (float[]) buffer2.array(), offset2, stride2, out, outOffset, length);
+                break;
+            case FLOAT64:
+                ComparisonKernels.compare(o, (double[]) buffer1.array(), offset1, stride1,
+                        (double[]) buffer2.array(), offset2, stride2, out, outOffset, length);
+                break;
+            default:
+                for (int i = 0; i < length; i++) {
+                    Object v1 = buffer1.get(offset1 + i * stride1);
+                    Object v2 = buffer2.get(offset2 + i * stride2);
+                    int sign = v1 instanceof Number && v2 instanceof Number
+                            ? Double.compare(((Number) v1).doubleValue(), ((Number) v2).doubleValue())
+                            : String.valueOf(v1).compareTo(String.valueOf(v2));
+                    out[outOffset + i] = compared(sign, o);
                 }
-            } else {
+        }
+    }
+
+    /**
+     * Turns the sign of a three-way comparison into the outcome of a comparison operation.
+     *
+     * @param sign The negative, zero or positive result of comparing two values.
+     * @param o    The comparison.
+     * @return The outcome of the comparison.
+     */
+    private static boolean compared(int sign, OperationType o) {
+        switch (o) {
+            case GREATER: return sign > 0;
+            case GREATER_EQUAL: return sign >= 0;
+            case LESS: return sign < 0;
+            case LESS_EQUAL: return sign <= 0;
+            case EQUAL: return sign == 0;
+            case NOT_EQUAL: return sign != 0;
+            default: throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Dispatches a unary operation to the kernel matching the buffers' data type.
+     * Both buffers are heap buffers, so their indices fit in an {@code int}.
+     *
+     * @param o         The operation type.
+     * @param buffer1   The operand's buffer.
+     * @param offset1   The index of the first element of the operand.
+     * @param stride1   The distance between consecutive elements of the operand.
+     * @param output    The output buffer.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for the data type.
+     */
+    void applyUnary(OperationType o, DataBuffer buffer1, int offset1, int stride1,
+                    DataBuffer output, int outOffset, int length) {
+        if (o != OperationType.INVERT) {
+            throw new UnsupportedOperationException(unsupportedOperation);
+        }
+        switch (output.dType()) {
+            case INT8:
+                ArithmaticKernels.invert((byte[]) buffer1.array(), offset1, stride1, (byte[]) output.array(), outOffset, length);
+                break;
+            case INT16:
+                ArithmaticKernels.invert((short[]) buffer1.array(), offset1, stride1, (short[]) output.array(), outOffset, length);
+                break;
+            case INT32:
+                ArithmaticKernels.invert((int[]) buffer1.array(), offset1, stride1, (int[]) output.array(), outOffset, length);
+                break;
+            case INT64:
+                ArithmaticKernels.invert((long[]) buffer1.array(), offset1, stride1, (long[]) output.array(), outOffset, length);
+                break;
+            case BOOL:
+                ComparisonKernels.not((boolean[]) buffer1.array(), offset1, stride1, (boolean[]) output.array(), outOffset, length);
+                break;
+            default:
                 throw new UnsupportedOperationException(unsupportedOperation);
-            }
-        });
+        }
+    }
 
-        // Construct and return the result NDArray with the broadcasted shape
-        return new NumJ().array((R) outputArray).reshape(broadcastedShape);
+    /**
+     * Chooses the component type of the nested arrays produced by a result: primitive when both
+     * operands were built from primitive arrays, boxed otherwise.
+     *
+     * @param resultType The data type of the result.
+     * @param arr1       The first operand.
+     * @param arr2       The second operand.
+     * @return The element class of the result.
+     */
+    static Class<?> getElementClass(DType resultType, NDArray<?> arr1, NDArray<?> arr2) {
+        if (resultType == DType.OBJECT) {
+            return arr1.elementClass() == arr2.elementClass() ? arr1.elementClass() : Object.class;
+        }
+        boolean isPrimitive = arr1.elementClass().isPrimitive() && arr2.elementClass().isPrimitive();
+        return isPrimitive ? resultType.primitive() : resultType.is();
     }
 
     /**
-     * Performs arithmetic operations on numeric types with the dominating data type.
+     * Performs arithmetic operations on numeric types and casts the result to the given data type.
      *
      * @param v1         The first operand.
      * @param v2         The second operand.
-     * @param dominating The dominating data type.
+     * @param resultType The data type of the result.
      * @param o          The operation type.
      * @return The result of the operation as a {@code Number}.
      */
-    private Number getTypedValue(Number v1, Number v2, Number dominating, OperationType o) {
+    private Number getTypedValue(Number v1, Number v2, DType resultType, OperationType o) {
         Number result;
         switch (o) {
             case ADDITION:
@@ -206,64 +587,31 @@ public class ArithmaticOperations {
                 throw new UnsupportedOperationException(unsupportedOperation);
         }
 
-        if(dominating instanceof Byte) return result.byteValue();
-        if(dominating instanceof Short) return result.shortValue();
-        if(dominating instanceof Integer) return result.intValue();
-        if(dominating instanceof Float) return result.floatValue();
-        if(dominating instanceof Double) return result.doubleValue();
-        return result.longValue();
-
-    }
-
-    /**
-     * Performs arithmetic operations on numeric types.
-     *
-     * @param v1                The first operand.
-     * @param o                 The operation type.
-     * @return                  The result of the operation as a {@code Number}.
-     */
-    private Number getTypedValue(Number v1, OperationType o) {
-        Number result;
-        switch (o) {
-            case INVERT:
-                result = ~v1.longValue(); break;
-            default:
-                throw new UnsupportedOperationException(unsupportedOperation);
+        switch (resultType) {
+            case INT8: return result.byteValue();
+            case INT16: return result.shortValue();
+            case INT32: return result.intValue();
+            case INT64: return result.longValue();
+            case FLOAT32: return result.floatValue();
+            default: return result.doubleValue();
         }
-        if(v1 instanceof Byte) return result.byteValue();
-        if(v1 instanceof Short) return result.shortValue();
-        if(v1 instanceof Integer) return result.intValue();
-        if(v1 instanceof Float) return result.floatValue();
-        if(v1 instanceof Double) return result.doubleValue();
-        return result.longValue();
     }
 
     /**
-     * Determines the appropriate numeric result based on the dominating data type.
+     * Computes the result of two boxed values held by an {@link DType#OBJECT} array. The values
+     * are promoted like arrays of their types; values of other {@code Number} classes compute in
+     * FLOAT64.
      *
      * @param v1 The first operand.
      * @param v2 The second operand.
      * @param o  The operation type.
      * @return The result of the operation as a {@code Number}.
      */
-    private Number getResult(Number v1, Number v2, OperationType o)
-    {
-        if (utils.getElementSize(v1.getClass()) > utils.getElementSize(v2.getClass())) {
-            return getTypedValue(v1, v2, v1, o);
-        } else {
-            return getTypedValue(v1, v2, v2, o);
-        }
-    }
-
-    /**
-     * Return the typed value after performing operation
-     *
-     * @param v1    The first operand.
-     * @param o     The operation type.
-     * @return      The result of the operation as a {@code Number}.
-     */
-    private Number getResult(Number v1, OperationType o){
-        return getTypedValue(v1, o);
+    private Number getResult(Number v1, Number v2, OperationType o) {
+        DType type1 = DType.fromClass(v1.getClass());
+        DType type2 = DType.fromClass(v2.getClass());
+        DType resultType = type1 == null || type2 == null ? DType.FLOAT64 : DType.resultType(type1, type2);
+        return getTypedValue(v1, v2, resultType, o);
     }
 
     /**
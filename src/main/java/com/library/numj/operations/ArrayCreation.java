@@ -2,47 +2,163 @@ package com.library.numj.operations;
 
 import com.library.numj.ExceptionMessages;
 import com.library.numj.NDArray;
-import com.library.numj.NumJ;
 import com.library.numj.enums.DType;
+import com.library.numj.enums.MemmapMode;
+import com.library.numj.enums.Order;
+import com.library.numj.enums.Storage;
 import com.library.numj.exceptions.InvalidShapeException;
 import com.library.numj.exceptions.ShapeException;
+import com.library.numj.exceptions.ShapeMismatchException;
+import com.library.numj.storage.DataBuffer;
+import com.library.numj.storage.MappedBuffer;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveAction;
-import java.util.stream.IntStream;
+
 
 /**
- * The ArrayCreation class provides methods to create NDArray objects filled with zeros or ones.
- * It supports recursive filling of multi-dimensional arrays.
+ * The ArrayCreation class provides methods to create NDArray objects filled with constants, ranges
+ * and identity matrices. Values are written directly into the flat buffer backing the NDArray:
+ * freshly allocated buffers are already zero and are not filled again, constants are written with
+ * bulk fills, and only large arrays are split across threads.
  */
 @SuppressWarnings("unchecked")
 public class ArrayCreation {
-    ForkJoinPool pool = new ForkJoinPool();
+    /** Executor splitting large fills across threads. */
+    final ParallelExecutor executor;
 
     /**
-     * Recursively fills an array with the specified value based on the given data type.
-     * This method works for multi-dimensional arrays as well.
+     * Constructs an instance of {@code ArrayCreation} running on the shared executor.
+     */
+    public ArrayCreation() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code ArrayCreation} running on the given executor.
      *
-     * @param array  The array to be filled.
-     * @param dType  The data type of the array elements.
-     * @param value  The value to fill in the array.
-     * @return The filled array.
+     * @param executor The executor used for large arrays.
      */
-    private <T> T fillRecursive(T array, DType dType, double value) {
-        if (!array.getClass().isArray()) return array;
+    public ArrayCreation(ParallelExecutor executor) {
+        this.executor = executor;
+    }
 
-        int length = Array.getLength(array);
-        IntStream.range(0, length).forEach(index -> {
-            T element = (T) Array.get(array, index);
-            if (element == null) {
-                dType.set(array, index, value);
-            } else {
-                fillRecursive((T) Array.get(array, index), dType, value);
-            }
-        });
-        return array;
+    /**
+     * Fills every element of a buffer with the specified value.
+     *
+     * @param buffer The buffer to be filled.
+     * @param value  The value to fill in the buffer.
+     * @return The filled buffer.
+     */
+    private DataBuffer fill(DataBuffer buffer, Number value) {
+        executor.forRange(buffer.length(), (start, end) -> buffer.fill(start, end, value));
+        return buffer;
+    }
+
+    /**
+     * Computes the number of elements of the given shape.
+     *
+     * @param shape The shape of the NDArray.
+     * @return The total number of elements.
+     * @throws IllegalArgumentException If a dimension is negative.
+     */
+    private long sizeOf(int[] shape) {
+        checkDimensions(shape);
+        return NDArray.sizeOf(shape);
+    }
+
+    /**
+     * Computes the number of elements of a shape that is about to be copied into a Java array.
+     *
+     * @param shape The shape of the NDArray.
+     * @return The total number of elements.
+     * @throws IllegalArgumentException If a dimension is negative or the array would not fit in a Java array.
+     */
+    private int checkedSize(int[] shape) {
+        checkDimensions(shape);
+        return NDArray.checkedSize(shape);
+    }
+
+    /**
+     * Checks that no dimension of a shape is negative.
+     *
+     * @param shape The shape of the NDArray.
+     * @throws IllegalArgumentException If a dimension is negative.
+     */
+    private static void checkDimensions(int[] shape) {
+        for (int dim : shape) {
+            if (dim < 0) throw new IllegalArgumentException(ExceptionMessages.negativeSizeException(dim));
+        }
+    }
+
+    /**
+     * Creates an NDArray over a flat primitive array interpreted in row-major order.
+     * When {@code copy} is false the array is wrapped as-is, so the caller must not modify it
+     * afterwards unless it intends the NDArray to observe the change.
+     *
+     * @param data  A one-dimensional primitive array.
+     * @param shape The shape of the NDArray; its size must equal the array length.
+     * @param copy  Whether to copy the array before wrapping it.
+     * @return An NDArray backed by {@code data} or by a copy of it.
+     * @throws ShapeMismatchException If the shape does not match the array length.
+     */
+    public <T> NDArray<T> fromFlat(Object data, int[] shape, boolean copy) {
+        DataBuffer buffer = DataBuffer.wrap(data);
+        if (buffer.length() != sizeOf(shape))
+            throw new ShapeMismatchException(ExceptionMessages.shapeMismatchException(buffer.length(), shape));
+        return new NDArray<>(copy ? buffer.copy() : buffer, shape, data.getClass().getComponentType());
+    }
+
+    /**
+     * Creates a two-dimensional NDArray from primitive rows.
+     * The row lengths are validated and each row is copied with a single {@code System.arraycopy},
+     * so the input is traversed exactly once.
+     *
+     * @param rows  The rows of the matrix, all primitive arrays of the same type.
+     * @param dType The data type matching the rows' component type.
+     * @return A new NDArray of shape {@code [rows.length, rowLength]}.
+     * @throws InvalidShapeException If the rows do not all have the same length.
+     */
+    public <T> NDArray<T> fromRows(Object[] rows, DType dType) {
+        int cols = rows.length == 0 ? 0 : Array.getLength(rows[0]);
+        DataBuffer buffer = DataBuffer.allocate(dType, checkedSize(new int[]{rows.length, cols}));
+        Object target = buffer.array();
+        for (int row = 0; row < rows.length; row++) {
+            if (Array.getLength(rows[row]) != cols)
+                throw new InvalidShapeException(ExceptionMessages.getShapeException(2,
+                        new ArrayList<>(Arrays.asList(rows.length, cols))));
+            System.arraycopy(rows[row], 0, target, row * cols, cols);
+        }
+        return new NDArray<>(buffer, new int[]{rows.length, cols}, dType.primitive());
+    }
+
+    /**
+     * Creates an NDArray over a memory-mapped region of a file.
+     *
+     * @param file   The file to map.
+     * @param dType  The numeric data type of the elements.
+     * @param mode   The access mode.
+     * @param offset The byte position of the first element, e.g. the size of a header.
+     * @param shape  The shape of the NDArray; empty to map the rest of the file as a one-dimensional array.
+     *               The mapping may hold more than 2^31 elements, but only a shape can spread them
+     *               over several dimensions.
+     * @return An NDArray whose elements are read from and written to the file.
+     * @throws IOException              If the file cannot be opened or mapped.
+     * @throws IllegalArgumentException If no shape is given and the rest of the file holds more
+     *                                  elements than one dimension can.
+     */
+    public <T> NDArray<T> memmap(Path file, DType dType, MemmapMode mode, long offset, int[] shape) throws IOException {
+        if (shape.length == 0 && mode == MemmapMode.CREATE)
+            throw new IllegalArgumentException(ExceptionMessages.memmapShapeRequiredException());
+        MappedBuffer buffer = MappedBuffer.map(file, dType, mode, offset, shape.length == 0 ? -1 : sizeOf(shape));
+        if (shape.length == 0 && buffer.length() > Integer.MAX_VALUE) {
+            buffer.close();
+            throw new IllegalArgumentException(ExceptionMessages.memmapDimensionException(file.toString(), buffer.length()));
+        }
+        return new NDArray<>(buffer, shape.length == 0 ? new int[]{(int) buffer.length()} : shape, dType.primitive());
     }
 
     /**
@@ -53,9 +169,36 @@ public class ArrayCreation {
      * @return An NDArray filled with zeros.
      */
     public <T> NDArray<T> zeros(int[] shape, DType dType) {
+        return zeros(shape, dType, Storage.HEAP);
+    }
+
+    /**
+     * Creates an NDArray filled with zeros of the specified shape and data type in the requested memory.
+     *
+     * @param shape   The shape of the NDArray.
+     * @param dType   The data type of the array elements.
+     * @param storage Whether the elements live on the Java heap or in native memory.
+     * @return An NDArray filled with zeros.
+     */
+    public <T> NDArray<T> zeros(int[] shape, DType dType, Storage storage) {
+        return zeros(shape, dType, Order.C, storage);
+    }
+
+    /**
+     * Creates an NDArray filled with zeros of the specified shape, data type, memory order and storage.
+     *
+     * @param shape   The shape of the NDArray.
+     * @param dType   The data type of the array elements.
+     * @param order   The memory layout order, either C (row-major) or F (column-major).
+     * @param storage Whether the elements live on the Java heap or in native memory.
+     * @return An NDArray filled with zeros.
+     */
+    public <T> NDArray<T> zeros(int[] shape, DType dType, Order order, Storage storage) {
         if(shape.length == 0) throw new InvalidShapeException(ExceptionMessages.emptyShapeException(shape));
-        T array = (T) Array.newInstance(dType.is(), shape);
-        return new NumJ().array(fillRecursive(array, dType, 0), shape, shape.length, dType);
+        DataBuffer buffer = DataBuffer.allocate(dType, sizeOf(shape), storage);
+        // Numeric buffers are zero when allocated; only object arrays need their zeros written
+        if (dType == DType.OBJECT) fill(buffer, 0.0);
+        return new NDArray<>(buffer, shape, NDArray.contiguousStrides(shape, order), 0, dType.is());
     }
 
     /**
@@ -66,15 +209,130 @@ public class ArrayCreation {
      * @return An NDArray filled with ones.
      */
     public <T> NDArray<T> ones(int[] shape, DType dType) {
+        return ones(shape, dType, Storage.HEAP);
+    }
+
+    /**
+     * Creates an NDArray filled with ones of the specified shape and data type in the requested memory.
+     *
+     * @param shape   The shape of the NDArray.
+     * @param dType   The data type of the array elements.
+     * @param storage Whether the elements live on the Java heap or in native memory.
+     * @return An NDArray filled with ones.
+     */
+    public <T> NDArray<T> ones(int[] shape, DType dType, Storage storage) {
+        return ones(shape, dType, Order.C, storage);
+    }
+
+    /**
+     * Creates an NDArray filled with ones of the specified shape, data type, memory order and storage.
+     *
+     * @param shape   The shape of the NDArray.
+     * @param dType   The data type of the array elements.
+     * @param order   The memory layout order, either C (row-major) or F (column-major).
+     * @param storage Whether the elements live on the Java heap or in native memory.
+     * @return An NDArray filled with ones.
+     */
+    public <T> NDArray<T> ones(int[] shape, DType dType, Order order, Storage storage) {
+        return full(shape, 1.0, dType, order, storage);
+    }
+
+    /**
+     * Creates an NDArray of the specified shape, data type, memory order and storage with every
+     * element set to the same value.
+     *
+     * @param shape   The shape of the NDArray.
+     * @param value   The fill value, converted to {@code dType}.
+     * @param dType   The data type of the array elements.
+     * @param order   The memory layout order, either C (row-major) or F (column-major).
+     * @param storage Whether the elements live on the Java heap or in native memory.
+     * @return An NDArray filled with {@code value}.
+     */
+    public <T> NDArray<T> full(int[] shape, Number value, DType dType, Order order, Storage storage) {
         if(shape.length == 0) throw new InvalidShapeException(ExceptionMessages.emptyShapeException(shape));
-        T array = (T) Array.newInstance(dType.is(), shape);
-        return new NumJ().array(fillRecursive(array, dType, 1), shape, shape.length, dType);
+        DataBuffer buffer = DataBuffer.allocate(dType, sizeOf(shape), storage);
+        return new NDArray<>(fill(buffer, value), shape, NDArray.contiguousStrides(shape, order), 0, dType.is());
+    }
+
+    /**
+     * Creates an NDArray with the shape, data type and memory order of another array, without
+     * setting its elements. Java always initialises memory, so the elements are zero (or empty for
+     * object arrays), but callers should not rely on their value.
+     *
+     * @param array The array whose shape, data type and memory order are used.
+     * @return A new NDArray.
+     */
+    public <T> NDArray<T> emptyLike(NDArray<?> array) {
+        int[] shape = array.shapeArray();
+        DataBuffer buffer = DataBuffer.allocate(array.type(), sizeOf(shape));
+        return new NDArray<>(buffer, shape, NDArray.contiguousStrides(shape, array.order()), 0, array.elementClass());
+    }
+
+    /**
+     * Creates an NDArray with the shape, data type and memory order of another array and every
+     * element set to the same value.
+     *
+     * @param array The array whose shape, data type and memory order are used.
+     * @param value The fill value, converted to the array's data type.
+     * @return A new NDArray filled with {@code value}.
+     */
+    public <T> NDArray<T> fullLike(NDArray<?> array, Number value) {
+        NDArray<T> result = emptyLike(array);
+        fill(result.buffer(), value);
+        return result;
+    }
+
+    /**
+     * Creates an NDArray of evenly spaced integers {@code start, start + step, ...}, written
+     * directly in the requested shape.
+     *
+     * @param start The first value.
+     * @param step  The distance between consecutive values.
+     * @param size  The number of values.
+     * @param dType The data type of the elements.
+     * @param shape The shape of the NDArray, whose size must be {@code size}.
+     * @return A new NDArray holding the range.
+     */
+    public <T> NDArray<T> arange(long start, long step, int size, DType dType, int[] shape) {
+        DataBuffer buffer = DataBuffer.allocate(dType, size);
+        executor.forRange(size, (from, to) -> {
+            for (long i = from; i < to; i++) {
+                buffer.setLong(i, start + step * i);
+            }
+        });
+        return new NDArray<>(buffer, shape, dType.is());
+    }
+
+    /**
+     * Creates a one-dimensional NDArray of {@code num} evenly spaced values from {@code start} to
+     * {@code stop}. Every value is computed from its position rather than by repeated addition, so
+     * rounding errors do not accumulate, and with {@code endpoint} the last value is exactly {@code stop}.
+     *
+     * @param start    The first value.
+     * @param stop     The last value, or the bound after the last value when {@code endpoint} is false.
+     * @param num      The number of values.
+     * @param endpoint Whether {@code stop} is included.
+     * @param dType    The data type of the elements.
+     * @return A new NDArray holding the values.
+     * @throws IllegalArgumentException If {@code num} is negative.
+     */
+    public <T> NDArray<T> linspace(double start, double stop, int num, boolean endpoint, DType dType) {
+        if (num < 0) throw new IllegalArgumentException(ExceptionMessages.negativeSizeException(num));
+        int divisions = endpoint ? num - 1 : num;
+        double step = divisions > 0 ? (stop - start) / divisions : 0;
+        DataBuffer buffer = DataBuffer.allocate(dType, num);
+        executor.forRange(num, (from, to) -> {
+            for (long i = from; i < to; i++) {
+                buffer.setDouble(i, start + i * step);
+            }
+        });
+        if (endpoint && num > 1) buffer.setDouble(num - 1, stop);
+        return new NDArray<>(buffer, new int[]{num}, dType.is());
     }
 
 
     /**
      * Creates an identity matrix with specified rows and columns, and a diagonal offset.
-     * The matrix is filled using parallel processing to enhance performance.
      *
      * @param rows             The number of rows in the identity matrix.
      * @param cols             The number of columns in the identity matrix.
@@ -84,14 +342,14 @@ public class ArrayCreation {
      * @throws ShapeException If there is an issue creating the identity matrix.
      */
     public <T> NDArray<T> eye(int rows, int cols, int identityDiagonal, DType dType) throws ShapeException {
-        T array = (T) Array.newInstance(dType.is(), new int[]{rows, cols});
-        IntStream.range(0, rows).parallel().forEach(index ->{
-            int j = index + identityDiagonal;
-            if(j >= 0 && j < cols)
-            {
-                Array.set(Array.get(array, index), j, 1);
-            }
-        });
-        return new NumJ().array(array);
+        DataBuffer buffer = DataBuffer.allocate(dType, sizeOf(new int[]{rows, cols}));
+        if (dType == DType.OBJECT) fill(buffer, 0.0);
+        // Only the rows whose diagonal element falls inside the matrix are written
+        int first = Math.max(0, -identityDiagonal);
+        int last = Math.min(rows, cols - identityDiagonal);
+        for (int row = first; row < last; row++) {
+            buffer.setDouble((long) row * cols + row + identityDiagonal, 1);
+        }
+        return new NDArray<>(buffer, new int[]{rows, cols}, dType.is());
     }
 }
@@ -1,67 +1,33 @@
 package com.library.numj.operations;
 
 import com.library.numj.NDArray;
-import com.library.numj.NumJ;
 import com.library.numj.Utils;
-import com.library.numj.enums.DType;
 import com.library.numj.exceptions.ShapeException;
 
-import java.lang.reflect.Array;
-import java.util.Arrays;
-
 
 @SuppressWarnings("unchecked")
 public class ArrayModification {
-    Utils utils = new Utils();
+    final Utils utils = new Utils();
     /**
      * Transposes the array by reversing its axes.
+     * The result is a view sharing the input's buffer; no elements are copied.
      *
      * @return A new NDArray that is the transposed version of the original array.
      * @throws ShapeException If an error occurs during transposition.
      */
     public <T, R> NDArray<R> transpose(NDArray<T> array) throws ShapeException {
-        int ndim = array.ndim();
-        int[] axes = new int[ndim];
-        for (int i = 0; i < ndim; i++) {
-            axes[i] = ndim - 1 - i;
-        }
-
-        R transposedArray =
-                transposeRecursive(array, axes, new int[0], array.type().is());
-        return new NumJ().array(transposedArray);
+        return array.transpose();
     }
 
     /**
-     * Recursively transposes the array based on the provided axes.
+     * Permutes the axes of the array; axis {@code i} of the result is axis {@code axes[i]} of the input.
+     * The result is a view sharing the input's buffer; no elements are copied.
      *
-     * @param array            The array to transpose.
-     * @param axes           The order of axes for transposition.
-     * @param currentIndices The current indices during recursion.
-     * @return The transposed array.
+     * @param array The array to permute.
+     * @param axes  A permutation of the array's dimensions.
+     * @return A new NDArray with permuted axes.
      */
-    private <T, R> R transposeRecursive(NDArray<T> array, int[] axes, int[] currentIndices,Class<?> type) {
-        int ndim = array.ndim();
-        if (currentIndices.length == ndim) {
-            int[] originalIndices = new int[ndim];
-            for (int i = 0; i < ndim; i++) {
-                originalIndices[i] = currentIndices[axes[i]];
-            }
-            R element = (R) array.getArray();
-            for (int idx : originalIndices) {
-                element = (R) Array.get(element, idx);
-            }
-            return element;
-        } else {
-            int axis = currentIndices.length;
-            int dimSize = array.shape().get(axes[axis]);
-            R newArr = (R) Array.newInstance(type, dimSize);
-            for (int i = 0; i < dimSize; i++) {
-                int[] newIndices = Arrays.copyOf(currentIndices, currentIndices.length + 1);
-                newIndices[currentIndices.length] = i;
-                R value = transposeRecursive(array, axes, newIndices, newArr.getClass());
-                Array.set(Array.get(newArr, axis), i, value);
-            }
-            return newArr;
-        }
+    public <T, R> NDArray<R> transpose(NDArray<T> array, int... axes) {
+        return array.transpose(axes);
     }
 }
@@ -0,0 +1,260 @@
+package com.library.numj.operations;
+
+import com.library.numj.NDArray;
+import com.library.numj.enums.Order;
+
+import java.util.Arrays;
+
+/**
+ * Walks several strided operands over a common broadcasted shape, the NumJ counterpart of
+ * {@code numpy.nditer}.
+ * Broadcast dimensions are given a stride of 0, adjacent dimensions that are contiguous for every
+ * operand are collapsed into one, and operand offsets are advanced incrementally with carry, so the
+ * loop body only ever sees runs of elements along the innermost remaining dimension.
+ * Offsets and strides are {@code long}s so that buffers beyond 2^31 elements can be walked; a run
+ * never exceeds {@link Integer#MAX_VALUE} elements, so dimensions are only collapsed up to that length.
+ */
+public final class BroadcastIterator {
+
+    /**
+     * Loop body invoked for each run of elements along the innermost dimension.
+     */
+    public interface InnerLoop {
+        /**
+         * Processes one run of elements.
+         *
+         * @param offsets The buffer index of the first element of the run, per operand. Must not be modified.
+         * @param strides The distance between consecutive elements of the run, per operand.
+         * @param length  The number of elements in the run.
+         */
+        void apply(long[] offsets, long[] strides, int length);
+    }
+
+    /** The iteration shape after collapsing dimensions. */
+    private final int[] shape;
+    /** The strides of each operand over {@link #shape}, indexed as [operand][dimension]. */
+    private final long[][] strides;
+    /** The buffer index of the first element of each operand. */
+    private final long[] baseOffsets;
+    /** The stride of each operand along the innermost dimension. */
+    private final long[] innerStrides;
+    /** The total number of iterated elements. */
+    private final long size;
+
+    /**
+     * Creates an iterator over the given shape.
+     *
+     * @param shape          The broadcasted shape to iterate over, in row-major order.
+     * @param offsets        The buffer index of the first element of each operand.
+     * @param operandStrides The element strides of each operand, aligned with {@code shape}
+     *                       (see {@link #broadcastStrides(int[], long[], int[])}).
+     */
+    public BroadcastIterator(int[] shape, long[] offsets, long[]... operandStrides) {
+        int operands = operandStrides.length;
+        int[] dims = new int[shape.length];
+        long[][] dimStrides = new long[operands][shape.length];
+        int ndim = 0;
+        long size = 1;
+        for (int d = 0; d < shape.length; d++) {
+            size *= shape[d];
+            if (shape[d] == 1) {
+                continue;
+            }
+            boolean isMergeable = ndim > 0 && (long) dims[ndim - 1] * shape[d] <= Integer.MAX_VALUE;
+            for (int k = 0; k < operands && isMergeable; k++) {
+                isMergeable = dimStrides[k][ndim - 1] == operandStrides[k][d] * shape[d];
+            }
+            if (isMergeable) {
+                dims[ndim - 1] *= shape[d];
+                for (int k = 0; k < operands; k++) {
+                    dimStrides[k][ndim - 1] = operandStrides[k][d];
+                }
+            } else {
+                dims[ndim] = shape[d];
+                for (int k = 0; k < operands; k++) {
+                    dimStrides[k][ndim] = operandStrides[k][d];
+                }
+                ndim++;
+            }
+        }
+        if (ndim == 0) {
+            dims = new int[]{1};
+            dimStrides = new long[operands][1];
+            ndim = 1;
+        }
+        this.shape = Arrays.copyOf(dims, ndim);
+        this.strides = new long[operands][];
+        this.innerStrides = new long[operands];
+        for (int k = 0; k < operands; k++) {
+            this.strides[k] = Arrays.copyOf(dimStrides[k], ndim);
+            this.innerStrides[k] = this.strides[k][ndim - 1];
+        }
+        this.baseOffsets = offsets.clone();
+        this.size = size;
+    }
+
+    /**
+     * Aligns an operand's strides with a broadcasted shape: leading dimensions the operand lacks and
+     * dimensions where it has size 1 get a stride of 0 so the same elements are revisited.
+     *
+     * @param shape            The shape of the operand.
+     * @param strides          The element strides of the operand.
+     * @param broadcastedShape The shape being iterated over.
+     * @return The operand strides aligned with {@code broadcastedShape}.
+     */
+    public static long[] broadcastStrides(int[] shape, long[] strides, int[] broadcastedShape) {
+        int offset = broadcastedShape.length - shape.length;
+        long[] broadcastStrides = new long[broadcastedShape.length];
+        for (int i = 0; i < shape.length; i++) {
+            broadcastStrides[offset + i] = shape[i] == 1 ? 0 : strides[i];
+        }
+        return broadcastStrides;
+    }
+
+    /**
+     * Chooses the memory order of the result of an element-wise operation, like NumPy's default
+     * {@code order='K'}: column-major if some operand spanning the whole shape is column-major and
+     * none is row-major, row-major otherwise. Iterating in the chosen order keeps the innermost runs
+     * of both the result and the operands contiguous.
+     *
+     * @param shape    The shape of the result.
+     * @param operands The operands of the operation.
+     * @return The order the result should be allocated and traversed in.
+     */
+    public static Order preferredOrder(int[] shape, NDArray<?>... operands) {
+        boolean columnMajor = false;
+        for (NDArray<?> operand : operands) {
+            if (operand.ndim() != shape.length || !Arrays.equals(operand.shapeArray(), shape)) continue;
+            boolean c = operand.isContiguous(Order.C);
+            boolean f = operand.isContiguous(Order.F);
+            if (c && !f) return Order.C;
+            columnMajor |= f && !c;
+        }
+        return columnMajor ? Order.F : Order.C;
+    }
+
+    /**
+     * Returns the axes in the order a traversal of the given layout visits them, outermost first:
+     * {@code 0 .. ndim-1} for C and {@code ndim-1 .. 0} for F.
+     *
+     * @param ndim  The number of dimensions.
+     * @param order The memory layout order.
+     * @return The axis permutation.
+     */
+    public static int[] traversalAxes(int ndim, Order order) {
+        int[] axes = new int[ndim];
+        for (int i = 0; i < ndim; i++) axes[i] = order == Order.F ? ndim - 1 - i : i;
+        return axes;
+    }
+
+    /**
+     * Reorders per-dimension values such as a shape or strides; entry {@code i} of the result is entry
+     * {@code axes[i]} of {@code values}.
+     *
+     * @param values The per-dimension values.
+     * @param axes   A permutation of the dimensions.
+     * @return The permuted values.
+     */
+    public static int[] permute(int[] values, int[] axes) {
+        int[] permuted = new int[axes.length];
+        for (int i = 0; i < axes.length; i++) permuted[i] = values[axes[i]];
+        return permuted;
+    }
+
+    /**
+     * Reorders per-dimension strides; entry {@code i} of the result is entry {@code axes[i]} of {@code values}.
+     *
+     * @param values The per-dimension strides.
+     * @param axes   A permutation of the dimensions.
+     * @return The permuted strides.
+     */
+    public static long[] permute(long[] values, int[] axes) {
+        long[] permuted = new long[axes.length];
+        for (int i = 0; i < axes.length; i++) permuted[i] = values[axes[i]];
+        return permuted;
+    }
+
+    /**
+     * Returns the total number of elements visited by the iterator.
+     *
+     * @return The iteration size.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the innermost dimension after collapsing.
+     *
+     * @return The maximum length of a single run.
+     */
+    public int innerSize() {
+        return shape[shape.length - 1];
+    }
+
+    /**
+     * Visits every element.
+     *
+     * @param loop The loop body to run for each run of elements.
+     */
+    public void forEach(InnerLoop loop) {
+        forEach(0, size, loop);
+    }
+
+    /**
+     * Visits the elements with row-major positions in {@code [start, end)}.
+     * Each call keeps its own position, so disjoint ranges can be processed concurrently.
+     *
+     * @param start The position of the first element to visit.
+     * @param end   The position after the last element to visit.
+     * @param loop  The loop body to run for each run of elements.
+     */
+    public void forEach(long start, long end, InnerLoop loop) {
+        if (start >= end) {
+            return;
+        }
+        int ndim = shape.length;
+        int operands = baseOffsets.length;
+        int last = ndim - 1;
+        int[] index = new int[ndim];
+        long[] offsets = baseOffsets.clone();
+
+        long position = start;
+        for (int d = last; d >= 0; d--) {
+            index[d] = (int) (position % shape[d]);
+            position /= shape[d];
+            for (int k = 0; k < operands; k++) {
+                offsets[k] += index[d] * strides[k][d];
+            }
+        }
+
+        long remaining = end - start;
+        int innerSize = shape[last];
+        while (true) {
+            int length = (int) Math.min(innerSize - index[last], remaining);
+            loop.apply(offsets, innerStrides, length);
+            remaining -= length;
+            if (remaining == 0) {
+                return;
+            }
+            // The run always ends on a row boundary here, so rewind the inner dimension and carry
+            for (int k = 0; k < operands; k++) {
+                offsets[k] -= index[last] * innerStrides[k];
+            }
+            index[last] = 0;
+            for (int d = last - 1; d >= 0; d--) {
+                index[d]++;
+                for (int k = 0; k < operands; k++) {
+                    offsets[k] += strides[k][d];
+                }
+                if (index[d] < shape[d]) {
+                    break;
+                }
+                for (int k = 0; k < operands; k++) {
+                    offsets[k] -= shape[d] * strides[k][d];
+                }
+                index[d] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,671 @@
+package com.library.numj.operations;
+
+import com.library.numj.enums.OperationType;
+
+import static com.library.numj.ExceptionMessages.unsupportedOperation;
+
+/**
+ * Type-specialized comparison and logical loops producing {@code boolean} masks, used by
+ * {@link ArithmaticOperations}. Like {@link ArithmaticKernels}, each method works on one primitive
+ * array type and selects the operation once per call, so unit-stride runs get plain counted loops
+ * the JIT can vectorize. Operands are addressed by an offset and a stride, where a stride of 0
+ * repeats a broadcast value.
+ */
+final class ComparisonKernels {
+
+    private ComparisonKernels() {
+    }
+
+    /**
+     * Compares {@code byte} operands element by element.
+     *
+     * @param operation The comparison to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compare.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    static void compare(OperationType operation, byte[] a, int aOffset, int aStride,
+                        byte[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > b[bOffset + i];
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= b[bOffset + i];
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < b[bOffset + i];
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= b[bOffset + i];
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == b[bOffset + i];
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            byte scalar = b[bOffset];
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > scalar;
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= scalar;
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < scalar;
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= scalar;
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == scalar;
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] > b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] >= b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] < b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] <= b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Compares {@code short} operands element by element.
+     *
+     * @param operation The comparison to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compare.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    static void compare(OperationType operation, short[] a, int aOffset, int aStride,
+                        short[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > b[bOffset + i];
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= b[bOffset + i];
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < b[bOffset + i];
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= b[bOffset + i];
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == b[bOffset + i];
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            short scalar = b[bOffset];
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > scalar;
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= scalar;
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < scalar;
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= scalar;
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == scalar;
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] > b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] >= b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] < b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] <= b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Compares {@code int} operands element by element.
+     *
+     * @param operation The comparison to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compare.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    static void compare(OperationType operation, int[] a, int aOffset, int aStride,
+                        int[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > b[bOffset + i];
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= b[bOffset + i];
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < b[bOffset + i];
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= b[bOffset + i];
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == b[bOffset + i];
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            int scalar = b[bOffset];
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > scalar;
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= scalar;
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < scalar;
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= scalar;
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == scalar;
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] > b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] >= b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] < b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] <= b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Compares {@code long} operands element by element.
+     *
+     * @param operation The comparison to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compare.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    static void compare(OperationType operation, long[] a, int aOffset, int aStride,
+                        long[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > b[bOffset + i];
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= b[bOffset + i];
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < b[bOffset + i];
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= b[bOffset + i];
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == b[bOffset + i];
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            long scalar = b[bOffset];
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > scalar;
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= scalar;
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < scalar;
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= scalar;
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == scalar;
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] > b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] >= b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] < b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] <= b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Compares {@code float} operands element by element.
+     *
+     * @param operation The comparison to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compare.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    static void compare(OperationType operation, float[] a, int aOffset, int aStride,
+                        float[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > b[bOffset + i];
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= b[bOffset + i];
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < b[bOffset + i];
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= b[bOffset + i];
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == b[bOffset + i];
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            float scalar = b[bOffset];
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > scalar;
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= scalar;
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < scalar;
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= scalar;
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == scalar;
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] > b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] >= b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] < b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] <= b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Compares {@code double} operands element by element.
+     *
+     * @param operation The comparison to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compare.
+     * @throws UnsupportedOperationException If the operation is not a comparison.
+     */
+    static void compare(OperationType operation, double[] a, int aOffset, int aStride,
+                        double[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        if (aStride == 1 && bStride == 1) {
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > b[bOffset + i];
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= b[bOffset + i];
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < b[bOffset + i];
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= b[bOffset + i];
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == b[bOffset + i];
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != b[bOffset + i];
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        if (aStride == 1 && bStride == 0) {
+            double scalar = b[bOffset];
+            switch (operation) {
+                case GREATER:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] > scalar;
+                    return;
+                case GREATER_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] >= scalar;
+                    return;
+                case LESS:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] < scalar;
+                    return;
+                case LESS_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] <= scalar;
+                    return;
+                case EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] == scalar;
+                    return;
+                case NOT_EQUAL:
+                    for (int i = 0; i < length; i++) out[outOffset + i] = a[aOffset + i] != scalar;
+                    return;
+                default:
+                    throw new UnsupportedOperationException(unsupportedOperation);
+            }
+        }
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] > b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] >= b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] < b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] <= b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Applies a comparison or logical operation to {@code boolean} operands, ordering {@code false}
+     * before {@code true}. As in NumPy, addition of booleans is a logical or and multiplication a
+     * logical and.
+     *
+     * @param operation The operation to apply.
+     * @param a         The first operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param b         The second operand's array.
+     * @param bOffset   The index of the first element of {@code b}.
+     * @param bStride   The distance between consecutive elements of {@code b}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     * @throws UnsupportedOperationException If the operation is not defined for {@code boolean} values.
+     */
+    static void binary(OperationType operation, boolean[] a, int aOffset, int aStride,
+                       boolean[] b, int bOffset, int bStride, boolean[] out, int outOffset, int length) {
+        switch (operation) {
+            case GREATER:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] & !b[ib];
+                return;
+            case GREATER_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] | !b[ib];
+                return;
+            case LESS:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = !a[ia] & b[ib];
+                return;
+            case LESS_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = !a[ia] | b[ib];
+                return;
+            case EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] == b[ib];
+                return;
+            case NOT_EQUAL:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] != b[ib];
+                return;
+            case BITWISE_AND:
+            case MULTIPLICATION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] & b[ib];
+                return;
+            case BITWISE_OR:
+            case ADDITION:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] | b[ib];
+                return;
+            case BITWISE_XOR:
+                for (int i = 0, ia = aOffset, ib = bOffset; i < length; i++, ia += aStride, ib += bStride)
+                    out[outOffset + i] = a[ia] ^ b[ib];
+                return;
+            default:
+                throw new UnsupportedOperationException(unsupportedOperation);
+        }
+    }
+
+    /**
+     * Negates {@code boolean} operands element by element.
+     *
+     * @param a         The operand's array.
+     * @param aOffset   The index of the first element of {@code a}.
+     * @param aStride   The distance between consecutive elements of {@code a}.
+     * @param out       The contiguous output mask.
+     * @param outOffset The index of the first output element.
+     * @param length    The number of elements to compute.
+     */
+    static void not(boolean[] a, int aOffset, int aStride, boolean[] out, int outOffset, int length) {
+        for (int i = 0, ia = aOffset; i < length; i++, ia += aStride) out[outOffset + i] = !a[ia];
+    }
+}
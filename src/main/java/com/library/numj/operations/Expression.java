@@ -0,0 +1,473 @@
+package com.library.numj.operations;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.OperationType;
+import com.library.numj.enums.Order;
+import com.library.numj.exceptions.ShapeException;
+import com.library.numj.storage.DataBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A deferred element-wise computation over NDArrays, built with {@link com.library.numj.NumJ#lazy(NDArray)}.
+ * <p>
+ * Combining expressions only records the operation and checks that the shapes broadcast; nothing is
+ * computed until {@link #evaluate()}. Evaluation then makes a single pass over the result: every
+ * operand array is walked once by one {@link BroadcastIterator}, and each run of elements is pushed
+ * through the whole tree in blocks of {@value #BLOCK_SIZE} elements. Intermediate results only ever
+ * occupy one block per operation, so a chain such as {@code (a * b + c) / d} needs no temporary
+ * arrays and reads each operand from memory once. Every operation keeps the data type it has when
+ * run eagerly, so a lazy expression gives the same result as the corresponding NumJ calls.
+ * <p>
+ * Expressions are immutable and may be evaluated any number of times, also concurrently.
+ */
+public final class Expression {
+    /** Number of elements pushed through the tree at a time; small enough for every block to stay in cache. */
+    static final int BLOCK_SIZE = 1024;
+
+    /** Arithmetic whose kernels evaluate the operations. */
+    private final ArithmaticOperations arithmetic;
+    /** The operation of this node, or {@code null} for an array. */
+    private final OperationType operation;
+    /** The operands of the operation; {@code right} is {@code null} for unary operations. */
+    private final Expression left, right;
+    /** The array of a leaf node. */
+    private final NDArray<?> array;
+    /** The broadcast shape of the result. */
+    private final int[] shape;
+    /** The data type of the result. */
+    private final DType type;
+
+    /**
+     * Creates a leaf expression standing for an array.
+     *
+     * @param arithmetic The arithmetic used for evaluation.
+     * @param array      The array.
+     */
+    Expression(ArithmaticOperations arithmetic, NDArray<?> array) {
+        this.arithmetic = arithmetic;
+        this.operation = null;
+        this.left = null;
+        this.right = null;
+        this.array = array;
+        this.shape = array.shapeArray();
+        this.type = array.type();
+    }
+
+    private Expression(OperationType operation, Expression left, Expression right, int[] shape, DType type) {
+        this.arithmetic = left.arithmetic;
+        this.operation = operation;
+        this.left = left;
+        this.right = right;
+        this.array = null;
+        this.shape = shape;
+        this.type = type;
+    }
+
+    /**
+     * Returns the shape the result will have.
+     *
+     * @return The broadcast shape of the expression.
+     */
+    public int[] shape() {
+        return shape.clone();
+    }
+
+    /**
+     * Returns the data type the result will have.
+     *
+     * @return The data type of the expression.
+     */
+    public DType type() {
+        return type;
+    }
+
+    /**
+     * Adds another expression element-wise.
+     *
+     * @param other The expression to add.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression add(Expression other) throws ShapeException {
+        return binary(OperationType.ADDITION, other);
+    }
+
+    /**
+     * Adds an array element-wise.
+     *
+     * @param other The array to add.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression add(NDArray<?> other) throws ShapeException {
+        return add(of(other));
+    }
+
+    /**
+     * Subtracts another expression element-wise.
+     *
+     * @param other The expression to subtract.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression subtract(Expression other) throws ShapeException {
+        return binary(OperationType.SUBTRACTION, other);
+    }
+
+    /**
+     * Subtracts an array element-wise.
+     *
+     * @param other The array to subtract.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression subtract(NDArray<?> other) throws ShapeException {
+        return subtract(of(other));
+    }
+
+    /**
+     * Multiplies by another expression element-wise.
+     *
+     * @param other The expression to multiply by.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression multiply(Expression other) throws ShapeException {
+        return binary(OperationType.MULTIPLICATION, other);
+    }
+
+    /**
+     * Multiplies by an array element-wise.
+     *
+     * @param other The array to multiply by.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression multiply(NDArray<?> other) throws ShapeException {
+        return multiply(of(other));
+    }
+
+    /**
+     * Divides by another expression element-wise.
+     *
+     * @param other The divisor expression.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression divide(Expression other) throws ShapeException {
+        return binary(OperationType.DIVISION, other);
+    }
+
+    /**
+     * Divides by an array element-wise.
+     *
+     * @param other The divisor array.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression divide(NDArray<?> other) throws ShapeException {
+        return divide(of(other));
+    }
+
+    /**
+     * Computes the bitwise AND with another expression element-wise.
+     *
+     * @param other The other operand.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression bitwiseAnd(Expression other) throws ShapeException {
+        return binary(OperationType.BITWISE_AND, other);
+    }
+
+    /**
+     * Computes the bitwise OR with another expression element-wise.
+     *
+     * @param other The other operand.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression bitwiseOr(Expression other) throws ShapeException {
+        return binary(OperationType.BITWISE_OR, other);
+    }
+
+    /**
+     * Computes the bitwise XOR with another expression element-wise.
+     *
+     * @param other The other operand.
+     * @return A new expression; nothing is computed yet.
+     * @throws ShapeException If the shapes cannot be broadcast together.
+     */
+    public Expression bitwiseXor(Expression other) throws ShapeException {
+        return binary(OperationType.BITWISE_XOR, other);
+    }
+
+    /**
+     * Inverts the bits of every element.
+     *
+     * @return A new expression; nothing is computed yet.
+     */
+    public Expression invert() {
+        return new Expression(OperationType.INVERT, this, null, shape, type);
+    }
+
+    /**
+     * Computes the expression in a single fused pass into a new array, laid out column-major when
+     * the operands are.
+     *
+     * @return A new NDArray holding the result.
+     */
+    public <R> NDArray<R> evaluate() {
+        List<NDArray<?>> leaves = new ArrayList<>();
+        collectLeaves(leaves, new IdentityHashMap<>());
+        Order order = BroadcastIterator.preferredOrder(shape, leaves.toArray(new NDArray<?>[0]));
+        long[] outputStrides = NDArray.contiguousStrides(shape, order);
+        DataBuffer output = DataBuffer.allocate(type, NDArray.sizeOf(shape));
+        run(leaves, output, 0, outputStrides, order);
+
+        boolean isPrimitive = type != DType.OBJECT;
+        for (NDArray<?> leaf : leaves) isPrimitive &= leaf.elementClass().isPrimitive();
+        return new NDArray<>(output, shape, outputStrides, 0, isPrimitive ? type.primitive() : type.is());
+    }
+
+    /**
+     * Computes the expression in a single fused pass into an existing array. The result is converted
+     * to the destination's data type. Operand arrays sharing memory with {@code out} are handled as
+     * in {@link ArithmaticOperations#operate(NDArray, NDArray, OperationType, NDArray)}.
+     *
+     * @param out The destination, whose shape must be the shape of the expression.
+     * @return {@code out}.
+     * @throws ShapeException If {@code out} has another shape.
+     */
+    public <R> NDArray<R> evaluate(NDArray<R> out) throws ShapeException {
+        if (!Arrays.equals(out.shapeArray(), shape)) {
+            throw new ShapeException(ExceptionMessages.outputShapeException(out.shapeArray(), shape));
+        }
+        List<NDArray<?>> leaves = new ArrayList<>();
+        collectLeaves(leaves, new IdentityHashMap<>());
+        List<NDArray<?>> operands = new ArrayList<>(leaves.size() + 1);
+        operands.add(out);
+        for (NDArray<?> leaf : leaves) operands.add(ArithmaticOperations.unaliased(leaf, out));
+        Order order = BroadcastIterator.preferredOrder(shape, operands.toArray(new NDArray<?>[0]));
+        run(operands.subList(1, operands.size()), out.buffer(), out.offset(), out.elementStrides(), order);
+        return out;
+    }
+
+    /**
+     * Wraps an array bound to the same arithmetic as this expression.
+     */
+    private Expression of(NDArray<?> array) {
+        return new Expression(arithmetic, array);
+    }
+
+    /**
+     * Records a binary operation with this expression as the first operand.
+     */
+    private Expression binary(OperationType operation, Expression other) throws ShapeException {
+        int[] broadcastShape = arithmetic.utils.broadcastShapes(toList(shape), toList(other.shape));
+        return new Expression(operation, this, other, broadcastShape,
+                DType.resultType(type, other.type));
+    }
+
+    /**
+     * Lists the distinct arrays of the tree, each array once even if it is used several times.
+     */
+    private void collectLeaves(List<NDArray<?>> leaves, Map<NDArray<?>, Boolean> seen) {
+        if (array != null) {
+            if (seen.put(array, Boolean.TRUE) == null) leaves.add(array);
+            return;
+        }
+        left.collectLeaves(leaves, seen);
+        if (right != null) right.collectLeaves(leaves, seen);
+    }
+
+    /**
+     * Evaluates the tree over the whole shape, splitting large results across threads.
+     *
+     * @param leaves        The distinct operand arrays, in the order of {@link #collectLeaves}; an
+     *                      array may have been replaced by a copy to protect it from the output.
+     * @param output        The buffer receiving the results.
+     * @param outputOffset  The buffer index of the first result.
+     * @param outputStrides The element strides of the results.
+     * @param order         The order to traverse the shape in.
+     */
+    private void run(List<NDArray<?>> leaves, DataBuffer output, long outputOffset, long[] outputStrides, Order order) {
+        // Number the nodes in post-order so that every operand is evaluated before its operation
+        List<Expression> nodes = new ArrayList<>();
+        Map<NDArray<?>, Integer> slots = new IdentityHashMap<>();
+        List<NDArray<?>> original = new ArrayList<>();
+        collectLeaves(original, new IdentityHashMap<>());
+        for (int i = 0; i < original.size(); i++) slots.put(original.get(i), i + 1);
+        postOrder(nodes);
+
+        int ndim = shape.length;
+        int[] axes = BroadcastIterator.traversalAxes(ndim, order);
+        long[] offsets = new long[leaves.size() + 1];
+        long[][] operandStrides = new long[leaves.size() + 1][];
+        offsets[0] = outputOffset;
+        operandStrides[0] = BroadcastIterator.permute(outputStrides, axes);
+        DataBuffer[] buffers = new DataBuffer[leaves.size() + 1];
+        for (int i = 0; i < leaves.size(); i++) {
+            NDArray<?> leaf = leaves.get(i);
+            offsets[i + 1] = leaf.offset();
+            operandStrides[i + 1] = BroadcastIterator.permute(
+                    BroadcastIterator.broadcastStrides(leaf.shapeArray(), leaf.elementStrides(), shape), axes);
+            buffers[i + 1] = leaf.buffer();
+        }
+        BroadcastIterator iterator = new BroadcastIterator(BroadcastIterator.permute(shape, axes), offsets, operandStrides);
+
+        Expression[] program = nodes.toArray(new Expression[0]);
+        int[] leafSlots = new int[program.length];
+        for (int i = 0; i < program.length; i++) {
+            leafSlots[i] = program[i].array != null ? slots.get(program[i].array) : 0;
+        }
+        arithmetic.executor.forRange(iterator.size(), (start, end) -> {
+            Evaluation evaluation = new Evaluation(program, leafSlots, buffers, output);
+            iterator.forEach(start, end, (runOffsets, runStrides, length) -> {
+                for (int done = 0; done < length; done += BLOCK_SIZE) {
+                    evaluation.block(runOffsets, runStrides, done, Math.min(BLOCK_SIZE, length - done));
+                }
+            });
+        });
+    }
+
+    /**
+     * Appends the nodes of the tree in post-order.
+     */
+    private void postOrder(List<Expression> nodes) {
+        if (left != null) left.postOrder(nodes);
+        if (right != null) right.postOrder(nodes);
+        nodes.add(this);
+    }
+
+    /**
+     * Converts a shape to the list form expected by the broadcasting utilities.
+     */
+    private static List<Integer> toList(int[] shape) {
+        return Arrays.stream(shape).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Per-thread state of a fused evaluation: one block-sized scratch buffer per operation and
+     * the location of every node's current block.
+     */
+    private final class Evaluation {
+        private final Expression[] program;
+        private final int[] leafSlots;
+        private final DataBuffer[] operands;
+        private final DataBuffer output;
+        /** Block results, plus conversions of operands whose type differs from their operation's. */
+        private final DataBuffer[] scratch, leftScratch, rightScratch;
+        /**
+         * Where the current block of each node lives, followed by the converted left and right
+         * operands of each operation.
+         */
+        private final DataBuffer[] blockBuffers;
+        private final long[] blockOffsets, blockStrides;
+        /** Node index of each node's operands. */
+        private final int[] leftIndex, rightIndex;
+
+        Evaluation(Expression[] program, int[] leafSlots, DataBuffer[] operands, DataBuffer output) {
+            this.program = program;
+            this.leafSlots = leafSlots;
+            this.operands = operands;
+            this.output = output;
+            int n = program.length;
+            scratch = new DataBuffer[n];
+            leftScratch = new DataBuffer[n];
+            rightScratch = new DataBuffer[n];
+            blockBuffers = new DataBuffer[3 * n];
+            blockOffsets = new long[3 * n];
+            blockStrides = new long[3 * n];
+            leftIndex = new int[n];
+            rightIndex = new int[n];
+            Map<Expression, Integer> index = new IdentityHashMap<>();
+            for (int i = 0; i < n; i++) {
+                Expression node = program[i];
+                index.put(node, i);
+                if (node.array == null) {
+                    leftIndex[i] = index.get(node.left);
+                    rightIndex[i] = node.right == null ? -1 : index.get(node.right);
+                }
+            }
+        }
+
+        /**
+         * Evaluates {@code count} elements of a run, starting {@code done} elements into it. Blocks
+         * handed to the kernels always live in heap buffers, so their indices fit in an {@code int}.
+         */
+        void block(long[] runOffsets, long[] runStrides, int done, int count) {
+            int root = program.length - 1;
+            long outIndex = runOffsets[0] + done * runStrides[0];
+            long outStride = runStrides[0];
+            for (int i = 0; i <= root; i++) {
+                Expression node = program[i];
+                if (node.array != null) {
+                    int slot = leafSlots[i];
+                    DataBuffer buffer = operands[slot];
+                    long index = runOffsets[slot] + done * runStrides[slot];
+                    if (buffer.hasArray()) {
+                        locate(i, buffer, index, runStrides[slot]);
+                    } else {
+                        scratch(i).copyFrom(0, buffer, index, runStrides[slot], count);
+                        locate(i, scratch[i], 0, 1);
+                    }
+                    continue;
+                }
+                int l = operand(i, leftIndex[i], leftScratch, i + program.length, count);
+                boolean direct = i == root && output.hasArray() && output.dType() == node.type && outStride == 1;
+                DataBuffer target = direct ? output : scratch(i);
+                int targetIndex = direct ? (int) outIndex : 0;
+                if (node.right == null) {
+                    arithmetic.applyUnary(node.operation, blockBuffers[l], (int) blockOffsets[l], (int) blockStrides[l],
+                            target, targetIndex, count);
+                } else {
+                    int r = operand(i, rightIndex[i], rightScratch, i + 2 * program.length, count);
+                    arithmetic.applyBinary(node.operation, blockBuffers[l], (int) blockOffsets[l], (int) blockStrides[l],
+                            blockBuffers[r], (int) blockOffsets[r], (int) blockStrides[r], target, targetIndex, count);
+                }
+                locate(i, target, targetIndex, 1);
+            }
+            if (blockBuffers[root] != output) {
+                for (int j = 0; j < count; j++) {
+                    output.copyElement(outIndex + j * outStride, blockBuffers[root], blockOffsets[root] + j * blockStrides[root]);
+                }
+            }
+        }
+
+        /**
+         * Makes the block of an operand available in the type of the operation using it and returns
+         * the location slot holding it; conversions go through a per-operation scratch buffer and are
+         * recorded in {@code slot}, leaving the child's own block untouched for other users.
+         */
+        private int operand(int node, int child, DataBuffer[] conversions, int slot, int count) {
+            DType type = program[node].type;
+            if (blockBuffers[child].dType() == type) {
+                return child;
+            }
+            if (conversions[node] == null) conversions[node] = DataBuffer.allocate(type, BLOCK_SIZE);
+            conversions[node].copyFrom(0, blockBuffers[child], blockOffsets[child], blockStrides[child], count);
+            locate(slot, conversions[node], 0, 1);
+            return slot;
+        }
+
+        private DataBuffer scratch(int node) {
+            if (scratch[node] == null) scratch[node] = DataBuffer.allocate(program[node].type, BLOCK_SIZE);
+            return scratch[node];
+        }
+
+        private void locate(int node, DataBuffer buffer, long offset, long stride) {
+            blockBuffers[node] = buffer;
+            blockOffsets[node] = offset;
+            blockStrides[node] = stride;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.library.numj.operations;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.Utils;
+import com.library.numj.enums.DType;
+import com.library.numj.exceptions.ShapeException;
+import com.library.numj.storage.DataBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * The IndexingOperations class selects and assigns elements through index arrays and boolean masks.
+ * <p>
+ * A boolean mask covers the leading dimensions of the indexed array, so every mask position stands
+ * for a run of {@code inner} elements spanning the remaining dimensions. Masked selection compacts
+ * the selected runs in two parallel passes over fixed blocks of the mask: the first counts the
+ * selected positions of each block, a prefix sum over the counts gives every block its place in the
+ * result, and the second pass copies each block's runs there. Blocks never share output positions,
+ * so both passes run without synchronization.
+ * <p>
+ * Gathering with {@link #take} views the array as {@code [outer, length, inner]} around the indexed
+ * axis and copies one run of {@code inner} elements per index, so gathering rows of a contiguous
+ * matrix is one {@code System.arraycopy} per row. The rows are spread over the executor by the number
+ * of elements they copy rather than their count, so a few thousand wide rows still run in parallel.
+ */
+public class IndexingOperations {
+    /** Number of mask positions counted and scattered as one block. */
+    private static final int BLOCK_SIZE = 1 << 12;
+
+    /** Executor splitting large selections across threads. */
+    final ParallelExecutor executor;
+    /** Utility instance used to broadcast index arrays. */
+    final Utils utils = new Utils();
+
+    /**
+     * Constructs an instance of {@code IndexingOperations} running on the shared executor.
+     */
+    public IndexingOperations() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code IndexingOperations} running on the given executor.
+     *
+     * @param executor The executor used for large arrays.
+     */
+    public IndexingOperations(ParallelExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Selects the elements of an array where a boolean mask is {@code true}, the equivalent of
+     * NumPy's {@code a[mask]}. The mask covers the leading dimensions of the array; the result has
+     * one row per selected position followed by the remaining dimensions, in row-major order.
+     *
+     * @param array The array to select from.
+     * @param mask  The mask; non-BOOL masks select their non-zero elements.
+     * @return A new C-contiguous NDArray of shape {@code (count, remaining dimensions...)}.
+     * @throws ShapeException If the mask's shape is not a prefix of the array's shape.
+     */
+    public <T, R> NDArray<R> booleanMask(NDArray<T> array, NDArray<?> mask) throws ShapeException {
+        int[] shape = array.shapeArray();
+        boolean[] flags = flags(mask, shape);
+        int positions = NDArray.checkedSize(mask.shapeArray());
+        long inner = NDArray.sizeOf(trailing(shape, mask.ndim()));
+        int[] starts = blockStarts(flags, positions);
+
+        int[] resultShape = new int[shape.length - mask.ndim() + 1];
+        resultShape[0] = starts[starts.length - 1];
+        System.arraycopy(shape, mask.ndim(), resultShape, 1, resultShape.length - 1);
+        DataBuffer output = DataBuffer.allocate(array.type(), NDArray.sizeOf(resultShape));
+
+        NDArray<?> source = array.isContiguous() ? array : array.copy();
+        DataBuffer input = source.buffer();
+        long base = source.offset();
+        blocks(positions, block -> {
+            long target = starts[block] * inner;
+            for (int i = block * BLOCK_SIZE, end = Math.min(positions, i + BLOCK_SIZE); i < end; i++) {
+                if (flags[i]) {
+                    output.copyFrom(target, input, base + i * inner, 1, inner);
+                    target += inner;
+                }
+            }
+        });
+        return new NDArray<>(output, resultShape, array.elementClass());
+    }
+
+    /**
+     * Sets the elements of an array where a boolean mask is {@code true} to a single value, the
+     * equivalent of NumPy's {@code a[mask] = value}.
+     *
+     * @param array The array to modify in place.
+     * @param mask  The mask covering the leading dimensions of the array.
+     * @param value The value to write, converted to the array's data type.
+     * @return {@code array}.
+     * @throws ShapeException If the mask's shape is not a prefix of the array's shape.
+     */
+    public <T> NDArray<T> putMask(NDArray<T> array, NDArray<?> mask, Number value) throws ShapeException {
+        DataBuffer values = DataBuffer.allocate(array.type(), 1);
+        values.fill(0, 1, value);
+        return putMask(array, mask, values, 0, 1);
+    }
+
+    /**
+     * Sets the elements of an array where a boolean mask is {@code true} to consecutive values, the
+     * equivalent of NumPy's {@code a[mask] = values}. The values are consumed in row-major order, as
+     * {@link #booleanMask} would return the selected elements.
+     *
+     * @param array  The array to modify in place.
+     * @param mask   The mask covering the leading dimensions of the array.
+     * @param values A single value, or exactly one value per selected element; values sharing memory
+     *               with the array are copied before any element is written.
+     * @return {@code array}.
+     * @throws ShapeException           If the mask's shape is not a prefix of the array's shape.
+     * @throws IllegalArgumentException If the number of values matches neither 1 nor the selection.
+     */
+    public <T> NDArray<T> putMask(NDArray<T> array, NDArray<?> mask, NDArray<?> values) throws ShapeException {
+        NDArray<?> source = values.astype(array.type());
+        DataBuffer buffer = source.buffer();
+        boolean shared = buffer == array.buffer()
+                || (buffer.hasArray() && array.buffer().hasArray() && buffer.array() == array.buffer().array());
+        if (shared || !source.isContiguous() || !buffer.hasArray()) {
+            source = source.copy();
+        }
+        return putMask(array, mask, source.buffer(), source.offset(), source.size());
+    }
+
+    /**
+     * Writes values into the masked elements of an array.
+     *
+     * @param array  The array to modify in place.
+     * @param mask   The mask covering the leading dimensions of the array.
+     * @param values The buffer holding the values, of the array's data type.
+     * @param offset The index of the first value.
+     * @param length The number of values; 1 repeats the value for every selected element.
+     * @return {@code array}.
+     * @throws ShapeException If the mask's shape is not a prefix of the array's shape.
+     */
+    private <T> NDArray<T> putMask(NDArray<T> array, NDArray<?> mask, DataBuffer values, long offset, long length)
+            throws ShapeException {
+        int[] shape = array.shapeArray();
+        boolean[] flags = flags(mask, shape);
+        int positions = NDArray.checkedSize(mask.shapeArray());
+        int[] innerShape = trailing(shape, mask.ndim());
+        long inner = NDArray.sizeOf(innerShape);
+        int[] starts = blockStarts(flags, positions);
+        long targets = starts[starts.length - 1] * inner;
+        boolean repeat = length == 1;
+        if (!repeat && length != targets) {
+            throw new IllegalArgumentException(ExceptionMessages.maskValuesException(length, targets));
+        }
+
+        DataBuffer output = array.buffer();
+        long[] strides = array.elementStrides();
+        boolean contiguous = array.isContiguous();
+        blocks(positions, block -> {
+            long next = offset + (repeat ? 0 : starts[block] * inner);
+            for (int i = block * BLOCK_SIZE, end = Math.min(positions, i + BLOCK_SIZE); i < end; i++) {
+                if (!flags[i]) continue;
+                if (contiguous) {
+                    output.copyFrom(array.offset() + i * inner, values, next, repeat ? 0 : 1, inner);
+                } else {
+                    long row = array.offset() + index(shape, strides, 0, mask.ndim(), i);
+                    for (long j = 0; j < inner; j++) {
+                        output.copyElement(row + index(shape, strides, mask.ndim(), shape.length, j),
+                                values, repeat ? next : next + j);
+                    }
+                }
+                if (!repeat) next += inner;
+            }
+        });
+        return array;
+    }
+
+    /**
+     * Gathers elements of the flattened array at the given indices, the equivalent of NumPy's
+     * {@code take(a, indices)} without an axis.
+     *
+     * @param array   The array to gather from, read in row-major order.
+     * @param indices The integer indices into the flattened array; negative values count from the end.
+     * @return A new NDArray of the indices' shape.
+     * @throws IndexOutOfBoundsException If an index is outside the array.
+     */
+    public <T, R> NDArray<R> take(NDArray<T> array, NDArray<?> indices) {
+        long[] positions = resolve(indices, array.size(), 0);
+        DataBuffer output = DataBuffer.allocate(array.type(), positions.length);
+        if (positions.length == 0) {
+            return new NDArray<>(output, indices.shapeArray(), array.elementClass());
+        }
+        NDArray<?> source = array.isContiguous() ? array : array.copy();
+        DataBuffer input = source.buffer();
+        long base = source.offset();
+        executor.forRuns(positions.length, 1, i -> output.copyElement(i, input, base + positions[(int) i]));
+        return new NDArray<>(output, indices.shapeArray(), array.elementClass());
+    }
+
+    /**
+     * Gathers slices of an array along an axis, the equivalent of NumPy's {@code take(a, indices, axis)}.
+     * The result replaces the axis by the dimensions of {@code indices}; every index selects a whole
+     * slice of the remaining dimensions, which is copied as one run when those dimensions are contiguous.
+     *
+     * @param array   The array to gather from.
+     * @param indices The integer indices along the axis; negative values count from the end.
+     * @param axis    The axis to index; negative values count from the end.
+     * @return A new C-contiguous NDArray of shape {@code shape[:axis] + indices.shape + shape[axis+1:]}.
+     * @throws IllegalArgumentException  If the axis is out of bounds.
+     * @throws IndexOutOfBoundsException If an index is outside the axis.
+     */
+    public <T, R> NDArray<R> take(NDArray<T> array, NDArray<?> indices, int axis) {
+        int[] shape = array.shapeArray();
+        int normalized = ReductionOperations.normalizeAxis(axis, shape.length);
+        long[] positions = resolve(indices, shape[normalized], normalized);
+        int[] indexShape = indices.shapeArray();
+
+        int[] resultShape = new int[shape.length - 1 + indexShape.length];
+        System.arraycopy(shape, 0, resultShape, 0, normalized);
+        System.arraycopy(indexShape, 0, resultShape, normalized, indexShape.length);
+        System.arraycopy(shape, normalized + 1, resultShape, normalized + indexShape.length, shape.length - normalized - 1);
+        DataBuffer output = DataBuffer.allocate(array.type(), NDArray.sizeOf(resultShape));
+
+        long inner = NDArray.sizeOf(trailing(shape, normalized + 1));
+        long rows = NDArray.sizeOf(Arrays.copyOf(shape, normalized)) * positions.length;
+        if (output.length() == 0) {
+            return new NDArray<>(output, resultShape, array.elementClass());
+        }
+
+        // Gather runs straight from the array unless the slices after the axis have gaps
+        NDArray<?> source = hasContiguousRuns(array, normalized + 1) ? array : array.copy();
+        DataBuffer input = source.buffer();
+        long[] strides = source.elementStrides();
+        long runStride = inner == 1 || normalized + 1 == shape.length ? 1 : strides[shape.length - 1];
+        int count = positions.length;
+        executor.forRuns(rows, inner, row -> {
+            long outer = row / count;
+            long index = source.offset() + index(shape, strides, 0, normalized, outer)
+                    + positions[(int) (row % count)] * strides[normalized];
+            output.copyFrom(row * inner, input, index, runStride, inner);
+        });
+        return new NDArray<>(output, resultShape, array.elementClass());
+    }
+
+    /**
+     * Gathers one element per index along an axis, the equivalent of NumPy's
+     * {@code take_along_axis(a, indices, axis)}, e.g. to pick values by the output of an argsort.
+     * The indices have as many dimensions as the array and broadcast against it on every other axis.
+     *
+     * @param array   The array to gather from.
+     * @param indices The integer indices along the axis; negative values count from the end.
+     * @param axis    The axis to index; negative values count from the end.
+     * @return A new C-contiguous NDArray of the broadcast shape of the array and the indices.
+     * @throws ShapeException            If the indices have another rank or do not broadcast against the array.
+     * @throws IllegalArgumentException  If the axis is out of bounds.
+     * @throws IndexOutOfBoundsException If an index is outside the axis.
+     */
+    public <T, R> NDArray<R> takeAlongAxis(NDArray<T> array, NDArray<?> indices, int axis) throws ShapeException {
+        int[] shape = array.shapeArray();
+        if (indices.ndim() != shape.length) {
+            throw new ShapeException(ExceptionMessages.indexDimensionException(indices.ndim(), shape.length));
+        }
+        int normalized = ReductionOperations.normalizeAxis(axis, shape.length);
+        long[] positions = resolve(indices, shape[normalized], normalized);
+
+        // The array contributes every axis but the indexed one, where the indices take over
+        int[] sliceShape = shape.clone();
+        sliceShape[normalized] = 1;
+        int[] resultShape = utils.broadcastShapes(toList(sliceShape), indices.shape());
+        DataBuffer output = DataBuffer.allocate(array.type(), NDArray.sizeOf(resultShape));
+
+        long[] arrayStrides = BroadcastIterator.broadcastStrides(shape, array.elementStrides(), resultShape);
+        arrayStrides[normalized] = 0;
+        long[] indexStrides = BroadcastIterator.broadcastStrides(indices.shapeArray(),
+                NDArray.contiguousStrides(indices.shapeArray()), resultShape);
+        DataBuffer input = array.buffer();
+        long axisStride = array.elementStrides()[normalized];
+        BroadcastIterator iterator = new BroadcastIterator(resultShape, new long[]{0, array.offset(), 0},
+                NDArray.contiguousStrides(resultShape), arrayStrides, indexStrides);
+        executor.forRange(iterator.size(), (start, end) -> iterator.forEach(start, end, (offsets, runStrides, length) -> {
+            for (int i = 0; i < length; i++) {
+                long position = positions[(int) (offsets[2] + i * runStrides[2])];
+                output.copyElement(offsets[0] + i * runStrides[0], input,
+                        offsets[1] + i * runStrides[1] + position * axisStride);
+            }
+        }));
+        return new NDArray<>(output, resultShape, array.elementClass());
+    }
+
+    /**
+     * Writes values into the flattened array at the given indices, the equivalent of NumPy's
+     * {@code put(a, indices, values)}. Values are used in order and repeated when there are fewer
+     * values than indices. Writes run on the calling thread in index order, so the last of several
+     * writes to the same position wins, as in NumPy.
+     *
+     * @param array   The array to modify in place, addressed in row-major order.
+     * @param indices The integer indices into the flattened array; negative values count from the end.
+     * @param values  The values to write, converted to the array's data type.
+     * @return {@code array}.
+     * @throws IndexOutOfBoundsException If an index is outside the array.
+     */
+    public <T> NDArray<T> put(NDArray<T> array, NDArray<?> indices, NDArray<?> values) {
+        long[] positions = resolve(indices, array.size(), 0);
+        NDArray<?> source = values.astype(array.type());
+        DataBuffer buffer = source.buffer();
+        boolean shared = buffer == array.buffer()
+                || (buffer.hasArray() && array.buffer().hasArray() && buffer.array() == array.buffer().array());
+        if (shared || !source.isContiguous()) {
+            source = source.copy();
+        }
+        long length = source.size();
+        if (length == 0) {
+            return array;
+        }
+        int[] shape = array.shapeArray();
+        long[] strides = array.elementStrides();
+        boolean contiguous = array.isContiguous();
+        DataBuffer output = array.buffer();
+        for (int i = 0; i < positions.length; i++) {
+            long index = array.offset() + (contiguous ? positions[i] : index(shape, strides, 0, shape.length, positions[i]));
+            output.copyElement(index, source.buffer(), source.offset() + i % length);
+        }
+        return array;
+    }
+
+    /**
+     * Checks a mask against the shape it indexes and returns its flags in row-major order.
+     *
+     * @param mask  The mask.
+     * @param shape The shape of the indexed array.
+     * @return An array whose first {@code mask.size()} elements are the mask's flags.
+     * @throws ShapeException If the mask's shape is not a prefix of {@code shape}.
+     */
+    private static boolean[] flags(NDArray<?> mask, int[] shape) throws ShapeException {
+        int[] maskShape = mask.shapeArray();
+        boolean matches = maskShape.length <= shape.length;
+        for (int d = 0; d < maskShape.length && matches; d++) {
+            matches = maskShape[d] == shape[d];
+        }
+        if (!matches) {
+            throw new ShapeException(ExceptionMessages.maskShapeException(maskShape, shape));
+        }
+        NDArray<?> converted = mask.astype(DType.BOOL);
+        if (!converted.isContiguous() || !converted.buffer().hasArray() || converted.offset() != 0) {
+            converted = converted.copy();
+        }
+        return (boolean[]) converted.buffer().array();
+    }
+
+    /**
+     * Counts the selected positions of every block in parallel and turns the counts into the
+     * index of each block's first selected position.
+     *
+     * @param flags     The mask's flags.
+     * @param positions The number of flags.
+     * @return The start of every block, followed by the total number of selected positions.
+     */
+    private int[] blockStarts(boolean[] flags, int positions) {
+        int[] starts = new int[(positions + BLOCK_SIZE - 1) / BLOCK_SIZE + 1];
+        blocks(positions, block -> {
+            int count = 0;
+            for (int i = block * BLOCK_SIZE, end = Math.min(positions, i + BLOCK_SIZE); i < end; i++) {
+                if (flags[i]) count++;
+            }
+            starts[block + 1] = count;
+        });
+        for (int b = 1; b < starts.length; b++) {
+            starts[b] += starts[b - 1];
+        }
+        return starts;
+    }
+
+    /**
+     * Runs a task once for every block of mask positions.
+     *
+     * @param positions The number of mask positions.
+     * @param task      The work to run on a block, given its index.
+     */
+    private void blocks(int positions, IntConsumer task) {
+        executor.forRuns((positions + BLOCK_SIZE - 1) / BLOCK_SIZE, BLOCK_SIZE, block -> task.accept((int) block));
+    }
+
+    /**
+     * Reads integer indices in row-major order, wrapping negative values and checking the bounds.
+     *
+     * @param indices The index array of any integer type.
+     * @param size    The length of the indexed axis.
+     * @param axis    The indexed axis, reported in exceptions.
+     * @return The non-negative indices.
+     * @throws IndexOutOfBoundsException If an index is outside {@code [-size, size)}.
+     */
+    private static long[] resolve(NDArray<?> indices, long size, int axis) {
+        NDArray<?> values = indices.astype(DType.INT64);
+        if (!values.isContiguous() || !values.buffer().hasArray()) {
+            values = values.copy();
+        }
+        long[] source = (long[]) values.buffer().array();
+        long[] positions = new long[NDArray.checkedSize(values.shapeArray())];
+        for (int i = 0; i < positions.length; i++) {
+            long index = source[(int) values.offset() + i];
+            long wrapped = index < 0 ? index + size : index;
+            if (wrapped < 0 || wrapped >= size) {
+                throw new IndexOutOfBoundsException(ExceptionMessages.indexOutOfBoundsException(index, axis, size));
+            }
+            positions[i] = wrapped;
+        }
+        return positions;
+    }
+
+    /**
+     * Checks whether the dimensions from {@code from} on form runs of a single stride, so each
+     * slice of them can be copied with one strided copy.
+     *
+     * @param array The array.
+     * @param from  The first dimension of the slices.
+     * @return {@code true} if every slice is a single strided run.
+     */
+    private static boolean hasContiguousRuns(NDArray<?> array, int from) {
+        int[] shape = array.shapeArray();
+        long[] strides = array.elementStrides();
+        long expected = shape.length > from ? strides[shape.length - 1] : 1;
+        for (int d = shape.length - 1; d >= from; d--) {
+            if (shape[d] != 1 && strides[d] != expected) return false;
+            expected *= shape[d];
+        }
+        return true;
+    }
+
+    /**
+     * Boxes a shape for {@link Utils#broadcastShapes}.
+     *
+     * @param shape The shape.
+     * @return The dimensions as a list.
+     */
+    private static List<Integer> toList(int[] shape) {
+        List<Integer> list = new ArrayList<>(shape.length);
+        for (int dimension : shape) list.add(dimension);
+        return list;
+    }
+
+    /**
+     * Returns the dimensions of a shape after the first {@code count}.
+     *
+     * @param shape The shape.
+     * @param count The number of leading dimensions to drop.
+     * @return The trailing dimensions.
+     */
+    private static int[] trailing(int[] shape, int count) {
+        int[] result = new int[shape.length - count];
+        System.arraycopy(shape, count, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Computes the buffer distance of a row-major position within the dimensions {@code [from, to)}.
+     *
+     * @param shape   The shape of the array.
+     * @param strides The element strides of the array.
+     * @param from    The first dimension.
+     * @param to      The dimension after the last one.
+     * @param flat    The row-major position within those dimensions.
+     * @return The distance from the start of those dimensions in the buffer.
+     */
+    private static long index(int[] shape, long[] strides, int from, int to, long flat) {
+        long index = 0;
+        for (int d = to - 1; d >= from; d--) {
+            index += (flat % shape[d]) * strides[d];
+            flat /= shape[d];
+        }
+        return index;
+    }
+}
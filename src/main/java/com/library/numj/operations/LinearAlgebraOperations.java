@@ -0,0 +1,244 @@
+package com.library.numj.operations;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.Utils;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.OperationType;
+import com.library.numj.exceptions.ShapeException;
+import com.library.numj.storage.DataBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The LinearAlgebraOperations class provides matrix products with NumPy's {@code matmul} and {@code dot}
+ * semantics.
+ * <p>
+ * Operands are converted once to contiguous row-major matrices of the computation type (INT32, INT64,
+ * FLOAT32 or FLOAT64) and multiplied by the tiled kernels in {@link MatmulKernels}. The rows of all
+ * batches form one range that is split across threads, so both single large products and many small
+ * batched products run in parallel.
+ */
+@SuppressWarnings("unchecked")
+public class LinearAlgebraOperations {
+    /** Utility instance used to broadcast batch dimensions. */
+    final Utils utils = new Utils();
+    /** Executor splitting large products across threads. */
+    final ParallelExecutor executor;
+    /** Arithmetic used by {@link #dot} when an operand is a scalar. */
+    final ArithmaticOperations arithmaticOperations;
+
+    /**
+     * Constructs an instance of {@code LinearAlgebraOperations} running on the shared executor.
+     */
+    public LinearAlgebraOperations() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code LinearAlgebraOperations} running on the given executor.
+     *
+     * @param executor The executor used for large products.
+     */
+    public LinearAlgebraOperations(ParallelExecutor executor) {
+        this.executor = executor;
+        this.arithmaticOperations = new ArithmaticOperations(executor);
+    }
+
+    /**
+     * Computes the matrix product of two arrays.
+     * Arrays with more than two dimensions are stacks of matrices held in the last two dimensions,
+     * and the stack dimensions are broadcast. A one-dimensional first operand is treated as a row
+     * vector and a one-dimensional second operand as a column vector; the added dimension is removed
+     * from the result.
+     *
+     * @param arr1 The first operand.
+     * @param arr2 The second operand.
+     * @return A new NDArray holding the product.
+     * @throws ShapeException           If the core dimensions do not match or the stack dimensions cannot be broadcast.
+     * @throws IllegalArgumentException If an operand is zero-dimensional, or if an operand or the result
+     *                                  holds more elements than a heap buffer can.
+     */
+    public <T, U, R> NDArray<R> matmul(NDArray<T> arr1, NDArray<U> arr2) throws ShapeException {
+        if (arr1.ndim() == 0 || arr2.ndim() == 0) {
+            throw new IllegalArgumentException(ExceptionMessages.scalarMatmulException());
+        }
+        NDArray<?> a = arr1.ndim() == 1 ? arr1.reshape(1, arr1.shapeArray()[0]) : arr1;
+        NDArray<?> b = arr2.ndim() == 1 ? arr2.reshape(arr2.shapeArray()[0], 1) : arr2;
+        int[] aShape = a.shapeArray();
+        int[] bShape = b.shapeArray();
+        int m = aShape[aShape.length - 2];
+        int k = aShape[aShape.length - 1];
+        int n = bShape[bShape.length - 1];
+        if (bShape[bShape.length - 2] != k) {
+            throw new ShapeException(ExceptionMessages.matmulShapeException(arr1.shapeArray(), arr2.shapeArray()));
+        }
+        int[] aBatch = Arrays.copyOf(aShape, aShape.length - 2);
+        int[] bBatch = Arrays.copyOf(bShape, bShape.length - 2);
+        int[] batchShape = utils.broadcastShapes(toList(aBatch), toList(bBatch));
+        int batches = NDArray.checkedSize(batchShape);
+
+        DType resultType = DType.resultType(arr1.type(), arr2.type());
+        DType computeType = computeType(resultType);
+        NDArray<?> left = contiguous(a, computeType);
+        NDArray<?> right = contiguous(b, computeType);
+        int[] leftMatrices = matrixIndices(aBatch, batchShape);
+        int[] rightMatrices = matrixIndices(bBatch, batchShape);
+        DataBuffer output = DataBuffer.allocate(computeType, NDArray.checkedSize(new int[]{batches, m, n}));
+
+        if (k > 0 && output.length() > 0) {
+            // Each chunk of output positions becomes the rows whose first element falls inside it
+            executor.forRange((long) batches * m * n, (start, end) -> {
+                long row = (start + n - 1) / n;
+                long lastRow = (end + n - 1) / n;
+                while (row < lastRow) {
+                    int batch = (int) (row / m);
+                    int rowStart = (int) (row % m);
+                    int rowEnd = (int) Math.min(m, rowStart + lastRow - row);
+                    gemm(computeType,
+                            left.buffer(), (int) left.offset() + leftMatrices[batch] * m * k,
+                            right.buffer(), (int) right.offset() + rightMatrices[batch] * k * n,
+                            output, batch * m * n, n, k, rowStart, rowEnd);
+                    row += rowEnd - rowStart;
+                }
+            });
+        }
+
+        int[] resultShape = Arrays.copyOf(batchShape, batchShape.length + 2);
+        int length = batchShape.length;
+        if (arr1.ndim() > 1) resultShape[length++] = m;
+        if (arr2.ndim() > 1) resultShape[length++] = n;
+        resultShape = Arrays.copyOf(resultShape, length);
+        Class<?> elementClass = length == 0 ? resultType.is()
+                : ArithmaticOperations.getElementClass(resultType, arr1, arr2);
+        return new NDArray<>(output.convertTo(resultType), resultShape, elementClass);
+    }
+
+    /**
+     * Computes the dot product of two arrays with NumPy's {@code dot} semantics: an element-wise
+     * product for scalars, the inner product for vectors, the matrix product when the second operand
+     * has at most two dimensions, and otherwise a sum product over the last axis of the first operand
+     * and the second-to-last axis of the second operand.
+     *
+     * @param arr1 The first operand.
+     * @param arr2 The second operand.
+     * @return A new NDArray holding the dot product.
+     * @throws ShapeException If the summed dimensions do not match.
+     */
+    public <T, U, R> NDArray<R> dot(NDArray<T> arr1, NDArray<U> arr2) throws ShapeException {
+        if (arr1.ndim() == 0 || arr2.ndim() == 0) {
+            return arithmaticOperations.operate(arr1, (NDArray<T>) arr2, OperationType.MULTIPLICATION);
+        }
+        if (arr1.ndim() == 1 || arr2.ndim() <= 2) {
+            return matmul(arr1, arr2);
+        }
+        int[] aShape = arr1.shapeArray();
+        int[] bShape = arr2.shapeArray();
+        int k = aShape[aShape.length - 1];
+        int bDims = bShape.length;
+        if (bShape[bDims - 2] != k) {
+            throw new ShapeException(ExceptionMessages.matmulShapeException(aShape, bShape));
+        }
+        // Move the summed axis of the second operand to the front and flatten both sides into matrices
+        int[] axes = new int[bDims];
+        axes[0] = bDims - 2;
+        for (int axis = 1; axis < bDims - 1; axis++) axes[axis] = axis - 1;
+        axes[bDims - 1] = bDims - 1;
+        int rows = (int) NDArray.sizeOf(Arrays.copyOf(aShape, aShape.length - 1));
+        int columns = (int) (NDArray.sizeOf(Arrays.copyOf(bShape, bDims - 2)) * bShape[bDims - 1]);
+        NDArray<T> left = arr1.reshape(rows, k);
+        NDArray<U> right = arr2.<U>transpose(axes).reshape(k, columns);
+
+        int[] resultShape = new int[aShape.length - 1 + bDims - 1];
+        System.arraycopy(aShape, 0, resultShape, 0, aShape.length - 1);
+        System.arraycopy(bShape, 0, resultShape, aShape.length - 1, bDims - 2);
+        resultShape[resultShape.length - 1] = bShape[bDims - 1];
+        return matmul(left, right).reshape(resultShape);
+    }
+
+    /**
+     * Chooses the type the kernels compute in; narrow integers and booleans wrap identically in INT32.
+     *
+     * @param resultType The data type of the result.
+     * @return The computation type.
+     */
+    private static DType computeType(DType resultType) {
+        switch (resultType) {
+            case BOOL:
+            case INT8:
+            case INT16:
+                return DType.INT32;
+            case OBJECT:
+                return DType.FLOAT64;
+            default:
+                return resultType;
+        }
+    }
+
+    /**
+     * Returns the array as a C-contiguous heap array of the given type, copying only when needed.
+     * The kernels index the backing Java array directly, so the operand must fit in one.
+     *
+     * @param array The array.
+     * @param dType The required data type.
+     * @return A contiguous array of type {@code dType}.
+     * @throws IllegalArgumentException If the array holds more elements than a heap buffer can.
+     */
+    private static NDArray<?> contiguous(NDArray<?> array, DType dType) {
+        NDArray.checkedSize(array.shapeArray());
+        NDArray<?> converted = array.astype(dType);
+        return converted.isContiguous() && converted.buffer().hasArray() ? converted : converted.copy();
+    }
+
+    /**
+     * Maps every position of the broadcast batch shape to the index of the operand's matrix.
+     *
+     * @param batch      The batch dimensions of the operand.
+     * @param batchShape The broadcast batch shape.
+     * @return The matrix index per batch position.
+     */
+    private static int[] matrixIndices(int[] batch, int[] batchShape) {
+        long[] strides = BroadcastIterator.broadcastStrides(batch, NDArray.contiguousStrides(batch), batchShape);
+        int[] indices = new int[NDArray.checkedSize(batchShape)];
+        int[] position = new int[batchShape.length];
+        for (int i = 0; i < indices.length; i++) {
+            long index = 0;
+            for (int d = 0; d < batchShape.length; d++) index += position[d] * strides[d];
+            indices[i] = (int) index;
+            for (int d = batchShape.length - 1; d >= 0 && ++position[d] == batchShape[d]; d--) position[d] = 0;
+        }
+        return indices;
+    }
+
+    /**
+     * Dispatches a row range of one product to the kernel of the computation type.
+     */
+    private static void gemm(DType dType, DataBuffer a, int aOffset, DataBuffer b, int bOffset,
+                             DataBuffer c, int cOffset, int n, int k, int rowStart, int rowEnd) {
+        switch (dType) {
+            case INT32:
+                MatmulKernels.gemm((int[]) a.array(), aOffset, (int[]) b.array(), bOffset, (int[]) c.array(), cOffset, n, k, rowStart, rowEnd);
+                break;
+            case INT64:
+                MatmulKernels.gemm((long[]) a.array(), aOffset, (long[]) b.array(), bOffset, (long[]) c.array(), cOffset, n, k, rowStart, rowEnd);
+                break;
+            case FLOAT32:
+                MatmulKernels.gemm((float[]) a.array(), aOffset, (float[]) b.array(), bOffset, (float[]) c.array(), cOffset, n, k, rowStart, rowEnd);
+                break;
+            case FLOAT64:
+                MatmulKernels.gemm((double[]) a.array(), aOffset, (double[]) b.array(), bOffset, (double[]) c.array(), cOffset, n, k, rowStart, rowEnd);
+                break;
+            default:
+                throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+        }
+    }
+
+    /**
+     * Converts a shape to the list form expected by {@link Utils#broadcastShapes(List, List)}.
+     */
+    private static List<Integer> toList(int[] shape) {
+        return Arrays.stream(shape).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,224 @@
+package com.library.numj.operations;
+
+/**
+ * Type-specialized matrix multiplication loops used by {@link LinearAlgebraOperations}.
+ * Matrices are dense and row-major: {@code A} is {@code m x k}, {@code B} is {@code k x n} and
+ * {@code C} is {@code m x n}. The loops are tiled so that a {@link #K_BLOCK} x {@link #N_BLOCK} panel
+ * of {@code B} stays in cache while it is reused by every row of {@code A}, and register-blocked over
+ * four rows of {@code C} so that each element loaded from {@code B} feeds four multiply-adds.
+ * The innermost loop runs along a row of {@code B} and {@code C} with unit stride, which the JIT vectorizes.
+ */
+final class MatmulKernels {
+
+    /** Depth of the {@code B} panel, in rows of {@code B}. */
+    static final int K_BLOCK = 128;
+    /** Width of the {@code B} panel, in columns of {@code B}. */
+    static final int N_BLOCK = 512;
+
+    private MatmulKernels() {
+    }
+
+    /**
+     * Accumulates rows {@code [rowStart, rowEnd)} of {@code C += A x B} for {@code int} matrices.
+     *
+     * @param a        The array holding {@code A}.
+     * @param aOffset  The index of the first element of {@code A}.
+     * @param b        The array holding {@code B}.
+     * @param bOffset  The index of the first element of {@code B}.
+     * @param c        The array holding {@code C}.
+     * @param cOffset  The index of the first element of {@code C}.
+     * @param n        The number of columns of {@code B} and {@code C}.
+     * @param k        The number of columns of {@code A} and rows of {@code B}.
+     * @param rowStart The first row of {@code C} to compute.
+     * @param rowEnd   The row after the last row to compute.
+     */
+    static void gemm(int[] a, int aOffset, int[] b, int bOffset, int[] c, int cOffset,
+                     int n, int k, int rowStart, int rowEnd) {
+        for (int k0 = 0; k0 < k; k0 += K_BLOCK) {
+            int k1 = Math.min(k0 + K_BLOCK, k);
+            for (int j0 = 0; j0 < n; j0 += N_BLOCK) {
+                int j1 = Math.min(j0 + N_BLOCK, n);
+                int i = rowStart;
+                for (; i + 3 < rowEnd; i += 4) {
+                    int c0 = cOffset + i * n, c1 = c0 + n, c2 = c1 + n, c3 = c2 + n;
+                    int a0 = aOffset + i * k, a1 = a0 + k, a2 = a1 + k, a3 = a2 + k;
+                    for (int p = k0; p < k1; p++) {
+                        int x0 = a[a0 + p], x1 = a[a1 + p], x2 = a[a2 + p], x3 = a[a3 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            int y = b[row + j];
+                            c[c0 + j] += x0 * y;
+                            c[c1 + j] += x1 * y;
+                            c[c2 + j] += x2 * y;
+                            c[c3 + j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rowEnd; i++) {
+                    int c0 = cOffset + i * n;
+                    int a0 = aOffset + i * k;
+                    for (int p = k0; p < k1; p++) {
+                        int x0 = a[a0 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            c[c0 + j] += x0 * b[row + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates rows {@code [rowStart, rowEnd)} of {@code C += A x B} for {@code long} matrices.
+     *
+     * @param a        The array holding {@code A}.
+     * @param aOffset  The index of the first element of {@code A}.
+     * @param b        The array holding {@code B}.
+     * @param bOffset  The index of the first element of {@code B}.
+     * @param c        The array holding {@code C}.
+     * @param cOffset  The index of the first element of {@code C}.
+     * @param n        The number of columns of {@code B} and {@code C}.
+     * @param k        The number of columns of {@code A} and rows of {@code B}.
+     * @param rowStart The first row of {@code C} to compute.
+     * @param rowEnd   The row after the last row to compute.
+     */
+    static void gemm(long[] a, int aOffset, long[] b, int bOffset, long[] c, int cOffset,
+                     int n, int k, int rowStart, int rowEnd) {
+        for (int k0 = 0; k0 < k; k0 += K_BLOCK) {
+            int k1 = Math.min(k0 + K_BLOCK, k);
+            for (int j0 = 0; j0 < n; j0 += N_BLOCK) {
+                int j1 = Math.min(j0 + N_BLOCK, n);
+                int i = rowStart;
+                for (; i + 3 < rowEnd; i += 4) {
+                    int c0 = cOffset + i * n, c1 = c0 + n, c2 = c1 + n, c3 = c2 + n;
+                    int a0 = aOffset + i * k, a1 = a0 + k, a2 = a1 + k, a3 = a2 + k;
+                    for (int p = k0; p < k1; p++) {
+                        long x0 = a[a0 + p], x1 = a[a1 + p], x2 = a[a2 + p], x3 = a[a3 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            long y = b[row + j];
+                            c[c0 + j] += x0 * y;
+                            c[c1 + j] += x1 * y;
+                            c[c2 + j] += x2 * y;
+                            c[c3 + j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rowEnd; i++) {
+                    int c0 = cOffset + i * n;
+                    int a0 = aOffset + i * k;
+                    for (int p = k0; p < k1; p++) {
+                        long x0 = a[a0 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            c[c0 + j] += x0 * b[row + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates rows {@code [rowStart, rowEnd)} of {@code C += A x B} for {@code float} matrices.
+     *
+     * @param a        The array holding {@code A}.
+     * @param aOffset  The index of the first element of {@code A}.
+     * @param b        The array holding {@code B}.
+     * @param bOffset  The index of the first element of {@code B}.
+     * @param c        The array holding {@code C}.
+     * @param cOffset  The index of the first element of {@code C}.
+     * @param n        The number of columns of {@code B} and {@code C}.
+     * @param k        The number of columns of {@code A} and rows of {@code B}.
+     * @param rowStart The first row of {@code C} to compute.
+     * @param rowEnd   The row after the last row to compute.
+     */
+    static void gemm(float[] a, int aOffset, float[] b, int bOffset, float[] c, int cOffset,
+                     int n, int k, int rowStart, int rowEnd) {
+        for (int k0 = 0; k0 < k; k0 += K_BLOCK) {
+            int k1 = Math.min(k0 + K_BLOCK, k);
+            for (int j0 = 0; j0 < n; j0 += N_BLOCK) {
+                int j1 = Math.min(j0 + N_BLOCK, n);
+                int i = rowStart;
+                for (; i + 3 < rowEnd; i += 4) {
+                    int c0 = cOffset + i * n, c1 = c0 + n, c2 = c1 + n, c3 = c2 + n;
+                    int a0 = aOffset + i * k, a1 = a0 + k, a2 = a1 + k, a3 = a2 + k;
+                    for (int p = k0; p < k1; p++) {
+                        float x0 = a[a0 + p], x1 = a[a1 + p], x2 = a[a2 + p], x3 = a[a3 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            float y = b[row + j];
+                            c[c0 + j] += x0 * y;
+                            c[c1 + j] += x1 * y;
+                            c[c2 + j] += x2 * y;
+                            c[c3 + j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rowEnd; i++) {
+                    int c0 = cOffset + i * n;
+                    int a0 = aOffset + i * k;
+                    for (int p = k0; p < k1; p++) {
+                        float x0 = a[a0 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            c[c0 + j] += x0 * b[row + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates rows {@code [rowStart, rowEnd)} of {@code C += A x B} for {@code double} matrices.
+     *
+     * @param a        The array holding {@code A}.
+     * @param aOffset  The index of the first element of {@code A}.
+     * @param b        The array holding {@code B}.
+     * @param bOffset  The index of the first element of {@code B}.
+     * @param c        The array holding {@code C}.
+     * @param cOffset  The index of the first element of {@code C}.
+     * @param n        The number of columns of {@code B} and {@code C}.
+     * @param k        The number of columns of {@code A} and rows of {@code B}.
+     * @param rowStart The first row of {@code C} to compute.
+     * @param rowEnd   The row after the last row to compute.
+     */
+    static void gemm(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset,
+                     int n, int k, int rowStart, int rowEnd) {
+        for (int k0 = 0; k0 < k; k0 += K_BLOCK) {
+            int k1 = Math.min(k0 + K_BLOCK, k);
+            for (int j0 = 0; j0 < n; j0 += N_BLOCK) {
+                int j1 = Math.min(j0 + N_BLOCK, n);
+                int i = rowStart;
+                for (; i + 3 < rowEnd; i += 4) {
+                    int c0 = cOffset + i * n, c1 = c0 + n, c2 = c1 + n, c3 = c2 + n;
+                    int a0 = aOffset + i * k, a1 = a0 + k, a2 = a1 + k, a3 = a2 + k;
+                    for (int p = k0; p < k1; p++) {
+                        double x0 = a[a0 + p], x1 = a[a1 + p], x2 = a[a2 + p], x3 = a[a3 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            double y = b[row + j];
+                            c[c0 + j] += x0 * y;
+                            c[c1 + j] += x1 * y;
+                            c[c2 + j] += x2 * y;
+                            c[c3 + j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rowEnd; i++) {
+                    int c0 = cOffset + i * n;
+                    int a0 = aOffset + i * k;
+                    for (int p = k0; p < k1; p++) {
+                        double x0 = a[a0 + p];
+                        int row = bOffset + p * n;
+                        for (int j = j0; j < j1; j++) {
+                            c[c0 + j] += x0 * b[row + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
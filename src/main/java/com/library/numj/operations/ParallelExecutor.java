@@ -0,0 +1,176 @@
+package com.library.numj.operations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs element-wise work over index ranges, splitting large ranges into cache-sized chunks that are
+ * executed on a shared {@link ForkJoinPool}. Ranges smaller than {@link #PARALLEL_THRESHOLD} stay on
+ * the calling thread, where the cost of forking would outweigh the work itself.
+ */
+public final class ParallelExecutor {
+
+    /** Number of elements below which work runs on the calling thread. */
+    public static final long PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Number of elements processed by one task; keeps a chunk of every operand within the L2 cache. */
+    public static final long CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Work performed on a contiguous range of element positions.
+     */
+    public interface RangeTask {
+        /**
+         * Processes the positions in {@code [start, end)}.
+         *
+         * @param start The first position.
+         * @param end   The position after the last one.
+         */
+        void run(long start, long end);
+    }
+
+    /**
+     * Work performed on one run of consecutive positions, such as a row or a block.
+     */
+    public interface RunTask {
+        /**
+         * Processes one run.
+         *
+         * @param run The index of the run.
+         */
+        void run(long run);
+    }
+
+    /** Executor backed by the JVM-wide common pool. */
+    private static final ParallelExecutor SHARED = new ParallelExecutor(ForkJoinPool.commonPool());
+
+    /**
+     * Pools shared by every executor requesting the same parallelism. A pool is created on first
+     * request and kept for the lifetime of the JVM, so there is at most one per parallelism value;
+     * its workers are daemon threads that the pool retires while idle.
+     */
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    /** The pool tasks are submitted to, or {@code null} to run everything on the calling thread. */
+    private final ForkJoinPool pool;
+
+    /** The number of threads work is spread across. */
+    private final int parallelism;
+
+    /**
+     * Creates an executor that submits work to the given pool.
+     *
+     * @param pool The pool to run tasks on.
+     */
+    public ParallelExecutor(ForkJoinPool pool) {
+        this.pool = pool;
+        this.parallelism = pool.getParallelism();
+    }
+
+    private ParallelExecutor() {
+        this.pool = null;
+        this.parallelism = 1;
+    }
+
+    /**
+     * Returns the executor backed by the JVM-wide common pool.
+     *
+     * @return The shared executor.
+     */
+    public static ParallelExecutor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns an executor using the given number of threads. Executors with the same parallelism
+     * share one pool, which is never shut down and lives as long as the JVM; a parallelism of 1
+     * runs all work on the calling thread. Callers that need to release threads should pass their
+     * own pool to {@link #ParallelExecutor(ForkJoinPool)} instead.
+     *
+     * @param parallelism The number of threads to use.
+     * @return An executor with the requested parallelism.
+     * @throws IllegalArgumentException If parallelism is smaller than 1.
+     */
+    public static ParallelExecutor withParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("IllegalArgumentException : Parallelism (" + parallelism + ") must be at least 1.");
+        if (parallelism == 1) {
+            return new ParallelExecutor();
+        }
+        return new ParallelExecutor(POOLS.computeIfAbsent(parallelism, ForkJoinPool::new));
+    }
+
+    /**
+     * Returns the number of threads work is spread across.
+     *
+     * @return The parallelism of this executor.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Processes the positions {@code [0, size)}, in parallel chunks when the range is large enough.
+     * Returns once every chunk has completed; an exception thrown by a chunk is rethrown here.
+     *
+     * @param size The number of positions.
+     * @param task The work to run on each chunk.
+     */
+    public void forRange(long size, RangeTask task) {
+        if (pool == null || parallelism <= 1 || size < PARALLEL_THRESHOLD) {
+            task.run(0, size);
+            return;
+        }
+        pool.invoke(new RangeAction(task, 0, size));
+    }
+
+    /**
+     * Processes {@code count} runs of {@code length} positions each, such as the rows of a matrix.
+     * The work is split by positions rather than runs, so a few long runs are spread across threads
+     * as well as many short ones. Chunks do not follow run boundaries; each run is processed once,
+     * by the chunk its first position falls in.
+     *
+     * @param count  The number of runs.
+     * @param length The number of positions per run; runs without positions are skipped.
+     * @param task   The work to run on each run.
+     */
+    public void forRuns(long count, long length, RunTask task) {
+        if (length == 0) {
+            return;
+        }
+        forRange(count * length, (start, end) -> {
+            for (long run = (start + length - 1) / length; run * length < end; run++) {
+                task.run(run);
+            }
+        });
+    }
+
+    /**
+     * Splits a range in halves until it fits in a single chunk.
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeTask task;
+        private final long start;
+        private final long end;
+
+        RangeAction(RangeTask task, long start, long end) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= CHUNK_SIZE) {
+                task.run(start, end);
+                return;
+            }
+            long middle = start + Math.max(CHUNK_SIZE, (end - start) / 2 / CHUNK_SIZE * CHUNK_SIZE);
+            invokeAll(new RangeAction(task, start, middle), new RangeAction(task, middle, end));
+        }
+    }
+}
@@ -0,0 +1,642 @@
+package com.library.numj.operations;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.ReductionType;
+import com.library.numj.storage.DataBuffer;
+
+import java.util.Arrays;
+
+/**
+ * The ReductionOperations class reduces NDArrays along one or more axes.
+ * <p>
+ * The strides of the reduced axes are separated from those of the kept axes without copying, so every
+ * output element reduces one strided sub-array. Large sub-arrays are split into {@link ParallelExecutor#CHUNK_SIZE}
+ * chunks that are reduced in parallel and merged in a fixed order; many small sub-arrays are
+ * distributed across threads instead. Either way the result does not depend on the parallelism.
+ * Floating point sums use pairwise summation inside blocks and Kahan summation across blocks.
+ */
+@SuppressWarnings("unchecked")
+public class ReductionOperations {
+    /** Number of elements read into a scratch block at a time. */
+    private static final int BLOCK_SIZE = 1024;
+
+    /** Executor splitting large reductions across threads. */
+    final ParallelExecutor executor;
+
+    /**
+     * Constructs an instance of {@code ReductionOperations} running on the shared executor.
+     */
+    public ReductionOperations() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code ReductionOperations} running on the given executor.
+     *
+     * @param executor The executor used for large arrays.
+     */
+    public ReductionOperations(ParallelExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Reduces an array along the given axes.
+     *
+     * @param array    The array to reduce.
+     * @param type     The reduction to apply.
+     * @param dType    The data type of the result and accumulator, or {@code null} for the default:
+     *                 INT64 for integer sums and products, FLOAT64 for integer means and variances,
+     *                 and the input type otherwise.
+     * @param keepdims Whether reduced axes are kept in the result with length one.
+     * @param axes     The axes to reduce; negative axes count from the end and no axes means all axes.
+     * @return A new NDArray holding the reduced values; zero-dimensional when every axis is reduced.
+     * @throws IllegalArgumentException If an axis is out of bounds or repeated, or if MIN or MAX is
+     *                                  applied to an empty array.
+     */
+    public <T, R> NDArray<R> reduce(NDArray<T> array, ReductionType type, DType dType, boolean keepdims, int... axes) {
+        int ndim = array.ndim();
+        boolean[] reduced = reducedAxes(ndim, axes);
+        int[] shape = array.shapeArray();
+        long[] strides = array.elementStrides();
+
+        int keptCount = 0;
+        for (boolean axis : reduced) {
+            if (!axis) keptCount++;
+        }
+        int[] keptShape = new int[keptCount];
+        long[] keptStrides = new long[keptCount];
+        int[] innerShape = new int[ndim - keptCount];
+        long[] innerStrides = new long[ndim - keptCount];
+        int[] resultShape = keepdims ? new int[ndim] : keptShape;
+        for (int axis = 0, k = 0, r = 0; axis < ndim; axis++) {
+            if (reduced[axis]) {
+                innerShape[r] = shape[axis];
+                innerStrides[r++] = strides[axis];
+            } else {
+                keptShape[k] = shape[axis];
+                keptStrides[k++] = strides[axis];
+            }
+            if (keepdims) resultShape[axis] = reduced[axis] ? 1 : shape[axis];
+        }
+
+        DType resultType = dType != null ? dType : defaultType(type, array.type());
+        boolean integral = isIntegral(array.type()) && isIntegral(resultType)
+                && (type == ReductionType.SUM || type == ReductionType.PROD
+                || type == ReductionType.MIN || type == ReductionType.MAX);
+        long outer = sizeOf(keptShape);
+        long inner = sizeOf(innerShape);
+        if (inner == 0 && outer > 0 && (type == ReductionType.MIN || type == ReductionType.MAX)) {
+            throw new IllegalArgumentException(ExceptionMessages.emptyReductionException(type.name().toLowerCase()));
+        }
+
+        DataBuffer output = DataBuffer.allocate(resultType, outer);
+        if (outer > 0) {
+            Reduction reduction = new Reduction(array.buffer(), type, integral,
+                    new BroadcastIterator(iterationShape(innerShape), new long[]{array.offset()}, iterationStrides(innerStrides)),
+                    inner);
+            BroadcastIterator outerIterator = new BroadcastIterator(iterationShape(keptShape), new long[2],
+                    iterationStrides(NDArray.contiguousStrides(keptShape)), iterationStrides(keptStrides));
+            if (inner >= ParallelExecutor.CHUNK_SIZE) {
+                // Few large sub-arrays: reduce each one with all threads
+                outerIterator.forEach((offsets, runStrides, length) -> {
+                    for (int i = 0; i < length; i++) {
+                        reduction.reduceParallel(executor, offsets[1] + i * runStrides[1])
+                                .store(output, offsets[0] + i * runStrides[0]);
+                    }
+                });
+            } else if (inner > 0) {
+                // Many small sub-arrays: give each thread a contiguous range of output elements
+                executor.forRange(outer * inner, (start, end) -> {
+                    Scratch scratch = new Scratch((int) Math.min(BLOCK_SIZE, inner));
+                    outerIterator.forEach((start + inner - 1) / inner, (end + inner - 1) / inner,
+                            (offsets, runStrides, length) -> {
+                                for (int i = 0; i < length; i++) {
+                                    reduction.reduceChunk(offsets[1] + i * runStrides[1], 0, inner, scratch)
+                                            .store(output, offsets[0] + i * runStrides[0]);
+                                }
+                            });
+                });
+            } else {
+                for (long index = 0; index < outer; index++) {
+                    reduction.newAccumulator().store(output, index);
+                }
+            }
+        }
+
+        Class<?> elementClass = resultShape.length == 0 || !array.elementClass().isPrimitive()
+                ? resultType.is() : resultType.primitive();
+        return new NDArray<>(output, resultShape, elementClass);
+    }
+
+    /**
+     * Validates the requested axes and marks the ones to reduce.
+     *
+     * @param ndim The number of dimensions of the array.
+     * @param axes The requested axes; an empty array selects every axis.
+     * @return A flag per dimension telling whether it is reduced.
+     * @throws IllegalArgumentException If an axis is out of bounds or repeated.
+     */
+    static boolean[] reducedAxes(int ndim, int... axes) {
+        boolean[] reduced = new boolean[ndim];
+        if (axes == null || axes.length == 0) {
+            Arrays.fill(reduced, true);
+            return reduced;
+        }
+        for (int axis : axes) {
+            int normalized = normalizeAxis(axis, ndim);
+            if (reduced[normalized])
+                throw new IllegalArgumentException(ExceptionMessages.duplicateAxisException(axis));
+            reduced[normalized] = true;
+        }
+        return reduced;
+    }
+
+    /**
+     * Resolves a possibly negative axis against the number of dimensions.
+     *
+     * @param axis The axis, negative values counting from the end.
+     * @param ndim The number of dimensions.
+     * @return The axis in {@code [0, ndim)}.
+     * @throws IllegalArgumentException If the axis is out of bounds.
+     */
+    static int normalizeAxis(int axis, int ndim) {
+        int normalized = axis < 0 ? axis + ndim : axis;
+        if (normalized < 0 || normalized >= ndim)
+            throw new IllegalArgumentException(ExceptionMessages.axisOutOfBoundsException(axis, ndim));
+        return normalized;
+    }
+
+    /**
+     * Returns the result type used when none is requested, following NumPy's defaults.
+     *
+     * @param type  The reduction.
+     * @param input The data type of the reduced array.
+     * @return The default result type.
+     */
+    static DType defaultType(ReductionType type, DType input) {
+        if (input == DType.OBJECT) return DType.FLOAT64;
+        switch (type) {
+            case SUM:
+            case PROD:
+                return isIntegral(input) ? DType.INT64 : input;
+            case MEAN:
+            case VAR:
+            case STD:
+                return isIntegral(input) ? DType.FLOAT64 : input;
+            default:
+                return input;
+        }
+    }
+
+    /**
+     * Checks whether a data type holds integers.
+     *
+     * @param dType The data type.
+     * @return {@code true} for the integer types.
+     */
+    private static boolean isIntegral(DType dType) {
+        return !dType.isFloatingPoint() && dType != DType.OBJECT;
+    }
+
+    /**
+     * Computes the number of elements of a shape.
+     *
+     * @param shape The shape.
+     * @return The product of its dimensions.
+     */
+    private static long sizeOf(int[] shape) {
+        long size = 1;
+        for (int dim : shape) size *= dim;
+        return size;
+    }
+
+    /**
+     * Returns a shape usable by {@link BroadcastIterator}, which needs at least one dimension.
+     *
+     * @param shape The shape, possibly empty.
+     * @return The shape, or {@code [1]} if it is empty.
+     */
+    private static int[] iterationShape(int[] shape) {
+        return shape.length == 0 ? new int[]{1} : shape;
+    }
+
+    /**
+     * Returns strides matching {@link #iterationShape(int[])}.
+     *
+     * @param strides The strides, possibly empty.
+     * @return The strides, or {@code [0]} if they are empty.
+     */
+    private static long[] iterationStrides(long[] strides) {
+        return strides.length == 0 ? new long[]{0} : strides;
+    }
+
+    /**
+     * Per-thread scratch blocks that strided runs are read into before accumulating.
+     */
+    private static final class Scratch {
+        final double[] doubles;
+        final long[] longs;
+
+        Scratch(int size) {
+            this.doubles = new double[size];
+            this.longs = new long[size];
+        }
+    }
+
+    /**
+     * A reduction of the sub-arrays of one source buffer.
+     */
+    private static final class Reduction {
+        private final DataBuffer buffer;
+        private final ReductionType type;
+        private final boolean integral;
+        private final BroadcastIterator innerIterator;
+        private final long inner;
+
+        Reduction(DataBuffer buffer, ReductionType type, boolean integral, BroadcastIterator innerIterator, long inner) {
+            this.buffer = buffer;
+            this.type = type;
+            this.integral = integral;
+            this.innerIterator = innerIterator;
+            this.inner = inner;
+        }
+
+        /**
+         * Creates an empty accumulator for this reduction.
+         *
+         * @return The accumulator holding the reduction's identity.
+         */
+        Accumulator newAccumulator() {
+            switch (type) {
+                case SUM: return new Sum(integral, false);
+                case MEAN: return new Sum(false, true);
+                case PROD: return new Product(integral);
+                case MIN: return new Extremum(integral, true);
+                case MAX: return new Extremum(integral, false);
+                case VAR: return new Moments(false);
+                case STD: return new Moments(true);
+                default: throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+            }
+        }
+
+        /**
+         * Reduces the elements {@code [start, end)} of the sub-array starting at {@code base}.
+         *
+         * @param base    The offset of the sub-array relative to the array offset.
+         * @param start   The row-major position of the first element.
+         * @param end     The position after the last element.
+         * @param scratch The scratch blocks of the calling thread.
+         * @return The accumulated partial result.
+         */
+        Accumulator reduceChunk(long base, long start, long end, Scratch scratch) {
+            Accumulator accumulator = newAccumulator();
+            innerIterator.forEach(start, end, (offsets, strides, length) -> {
+                long stride = strides[0];
+                for (int done = 0; done < length; done += scratch.doubles.length) {
+                    int count = Math.min(scratch.doubles.length, length - done);
+                    long index = base + offsets[0] + done * stride;
+                    if (integral) {
+                        buffer.getLongs(index, stride, scratch.longs, count);
+                        accumulator.addLongs(scratch.longs, count);
+                    } else {
+                        buffer.getDoubles(index, stride, scratch.doubles, count);
+                        accumulator.addDoubles(scratch.doubles, count);
+                    }
+                }
+            });
+            return accumulator;
+        }
+
+        /**
+         * Reduces the sub-array starting at {@code base} in parallel chunks merged in a fixed order.
+         *
+         * @param executor The executor running the chunks.
+         * @param base     The offset of the sub-array relative to the array offset.
+         * @return The accumulated result.
+         */
+        Accumulator reduceParallel(ParallelExecutor executor, long base) {
+            long chunkSize = ParallelExecutor.CHUNK_SIZE;
+            Accumulator[] partials = new Accumulator[(int) ((inner + chunkSize - 1) / chunkSize)];
+            executor.forRange(inner, (start, end) -> {
+                Scratch scratch = new Scratch(BLOCK_SIZE);
+                for (long chunk = start; chunk < end; chunk += chunkSize) {
+                    partials[(int) (chunk / chunkSize)] = reduceChunk(base, chunk, Math.min(chunk + chunkSize, end), scratch);
+                }
+            });
+            return merge(partials, 0, partials.length);
+        }
+
+        /**
+         * Merges a range of partial results pairwise.
+         *
+         * @param partials The partial results.
+         * @param from     The first partial to merge.
+         * @param to       The index after the last partial to merge.
+         * @return The merged result.
+         */
+        private static Accumulator merge(Accumulator[] partials, int from, int to) {
+            if (to - from == 1) {
+                return partials[from];
+            }
+            int middle = (from + to) >>> 1;
+            Accumulator left = merge(partials, from, middle);
+            left.merge(merge(partials, middle, to));
+            return left;
+        }
+    }
+
+    /**
+     * Running state of a reduction over a sequence of blocks.
+     */
+    private abstract static class Accumulator {
+        /** The number of accumulated elements. */
+        long count;
+
+        /**
+         * Accumulates a block of floating point values.
+         *
+         * @param values The values, starting at position 0.
+         * @param length The number of values.
+         */
+        abstract void addDoubles(double[] values, int length);
+
+        /**
+         * Accumulates a block of integer values.
+         *
+         * @param values The values, starting at position 0.
+         * @param length The number of values.
+         */
+        abstract void addLongs(long[] values, int length);
+
+        /**
+         * Folds another accumulator of the same kind into this one.
+         *
+         * @param other The accumulator covering the elements after this one's.
+         */
+        abstract void merge(Accumulator other);
+
+        /**
+         * Writes the result into the output buffer.
+         *
+         * @param output The output buffer.
+         * @param index  The output index.
+         */
+        abstract void store(DataBuffer output, long index);
+    }
+
+    /**
+     * Sum and mean accumulator: wrapping {@code long} sums for integers, pairwise block sums combined
+     * with Kahan compensation for floating point values.
+     */
+    private static final class Sum extends Accumulator {
+        private final boolean integral;
+        private final boolean mean;
+        private long longSum;
+        private double sum;
+        private double compensation;
+
+        Sum(boolean integral, boolean mean) {
+            this.integral = integral;
+            this.mean = mean;
+        }
+
+        @Override
+        void addDoubles(double[] values, int length) {
+            add(pairwiseSum(values, 0, length));
+            count += length;
+        }
+
+        @Override
+        void addLongs(long[] values, int length) {
+            long total = 0;
+            for (int i = 0; i < length; i++) {
+                total += values[i];
+            }
+            longSum += total;
+            count += length;
+        }
+
+        @Override
+        void merge(Accumulator other) {
+            Sum sumOther = (Sum) other;
+            longSum += sumOther.longSum;
+            add(sumOther.sum);
+            add(-sumOther.compensation);
+            count += other.count;
+        }
+
+        /**
+         * Adds a value with Kahan compensation, falling back to plain addition once the sum is not finite.
+         *
+         * @param value The value to add.
+         */
+        private void add(double value) {
+            double y = value - compensation;
+            double t = sum + y;
+            compensation = Double.isFinite(t) ? (t - sum) - y : 0;
+            sum = t;
+        }
+
+        @Override
+        void store(DataBuffer output, long index) {
+            if (mean) {
+                output.setDouble(index, count == 0 ? Double.NaN : (sum - compensation) / count);
+            } else if (integral) {
+                output.setLong(index, longSum);
+            } else {
+                output.setDouble(index, sum - compensation);
+            }
+        }
+
+        /**
+         * Sums a block pairwise, with eight independent partial sums at the leaves.
+         *
+         * @param values The values.
+         * @param from   The first position to sum.
+         * @param length The number of values.
+         * @return The sum.
+         */
+        private static double pairwiseSum(double[] values, int from, int length) {
+            if (length < 8) {
+                double total = 0;
+                for (int i = from; i < from + length; i++) {
+                    total += values[i];
+                }
+                return total;
+            }
+            if (length <= 128) {
+                double r0 = values[from], r1 = values[from + 1], r2 = values[from + 2], r3 = values[from + 3];
+                double r4 = values[from + 4], r5 = values[from + 5], r6 = values[from + 6], r7 = values[from + 7];
+                int i = from + 8;
+                for (int end = from + length - length % 8; i < end; i += 8) {
+                    r0 += values[i];
+                    r1 += values[i + 1];
+                    r2 += values[i + 2];
+                    r3 += values[i + 3];
+                    r4 += values[i + 4];
+                    r5 += values[i + 5];
+                    r6 += values[i + 6];
+                    r7 += values[i + 7];
+                }
+                double total = ((r0 + r1) + (r2 + r3)) + ((r4 + r5) + (r6 + r7));
+                for (; i < from + length; i++) {
+                    total += values[i];
+                }
+                return total;
+            }
+            int half = length / 2;
+            half -= half % 8;
+            return pairwiseSum(values, from, half) + pairwiseSum(values, from + half, length - half);
+        }
+    }
+
+    /**
+     * Product accumulator, wrapping for integers.
+     */
+    private static final class Product extends Accumulator {
+        private final boolean integral;
+        private long longProduct = 1;
+        private double product = 1;
+
+        Product(boolean integral) {
+            this.integral = integral;
+        }
+
+        @Override
+        void addDoubles(double[] values, int length) {
+            for (int i = 0; i < length; i++) {
+                product *= values[i];
+            }
+            count += length;
+        }
+
+        @Override
+        void addLongs(long[] values, int length) {
+            for (int i = 0; i < length; i++) {
+                longProduct *= values[i];
+            }
+            count += length;
+        }
+
+        @Override
+        void merge(Accumulator other) {
+            longProduct *= ((Product) other).longProduct;
+            product *= ((Product) other).product;
+            count += other.count;
+        }
+
+        @Override
+        void store(DataBuffer output, long index) {
+            if (integral) {
+                output.setLong(index, longProduct);
+            } else {
+                output.setDouble(index, product);
+            }
+        }
+    }
+
+    /**
+     * Minimum or maximum accumulator; NaN propagates as in NumPy.
+     */
+    private static final class Extremum extends Accumulator {
+        private final boolean integral;
+        private final boolean minimum;
+        private long longValue;
+        private double value;
+
+        Extremum(boolean integral, boolean minimum) {
+            this.integral = integral;
+            this.minimum = minimum;
+            this.longValue = minimum ? Long.MAX_VALUE : Long.MIN_VALUE;
+            this.value = minimum ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        void addDoubles(double[] values, int length) {
+            value = VectorKernels.extremum(values, length, value, minimum);
+            count += length;
+        }
+
+        @Override
+        void addLongs(long[] values, int length) {
+            longValue = VectorKernels.extremum(values, length, longValue, minimum);
+            count += length;
+        }
+
+        @Override
+        void merge(Accumulator other) {
+            Extremum extremumOther = (Extremum) other;
+            longValue = minimum ? Math.min(longValue, extremumOther.longValue) : Math.max(longValue, extremumOther.longValue);
+            value = minimum ? Math.min(value, extremumOther.value) : Math.max(value, extremumOther.value);
+            count += other.count;
+        }
+
+        @Override
+        void store(DataBuffer output, long index) {
+            if (integral) {
+                output.setLong(index, longValue);
+            } else {
+                output.setDouble(index, value);
+            }
+        }
+    }
+
+    /**
+     * Variance and standard deviation accumulator: two-pass moments per block, merged with
+     * Chan's parallel update.
+     */
+    private static final class Moments extends Accumulator {
+        private final boolean standardDeviation;
+        private double mean;
+        private double m2;
+
+        Moments(boolean standardDeviation) {
+            this.standardDeviation = standardDeviation;
+        }
+
+        @Override
+        void addDoubles(double[] values, int length) {
+            if (length == 0) return;
+            Moments block = new Moments(standardDeviation);
+            block.count = length;
+            block.mean = Sum.pairwiseSum(values, 0, length) / length;
+            double squares = 0;
+            for (int i = 0; i < length; i++) {
+                double delta = values[i] - block.mean;
+                squares += delta * delta;
+            }
+            block.m2 = squares;
+            merge(block);
+        }
+
+        @Override
+        void addLongs(long[] values, int length) {
+            throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+        }
+
+        @Override
+        void merge(Accumulator other) {
+            Moments momentsOther = (Moments) other;
+            if (other.count == 0) return;
+            if (count == 0) {
+                count = other.count;
+                mean = momentsOther.mean;
+                m2 = momentsOther.m2;
+                return;
+            }
+            long total = count + other.count;
+            double delta = momentsOther.mean - mean;
+            mean += delta * other.count / total;
+            m2 += momentsOther.m2 + delta * delta * ((double) count * other.count / total);
+            count = total;
+        }
+
+        @Override
+        void store(DataBuffer output, long index) {
+            double variance = count == 0 ? Double.NaN : m2 / count;
+            output.setDouble(index, standardDeviation ? Math.sqrt(variance) : variance);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.library.numj.operations;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.Order;
+import com.library.numj.enums.ReductionType;
+import com.library.numj.storage.DataBuffer;
+
+import java.util.Arrays;
+
+/**
+ * The ScanOperations class computes cumulative sums, products, maxima and minima along an axis.
+ * <p>
+ * The input is first copied into a contiguous result buffer of the result type, which is then scanned
+ * in place. With the array viewed as {@code [outer, length, inner]} around the scanned axis, each row
+ * of {@code inner} elements is combined with the previous row in a contiguous loop. A single long
+ * line ({@code outer == 1}, {@code inner == 1}) uses a blocked parallel prefix scan instead: chunks are
+ * scanned independently, their totals are scanned sequentially and the resulting carries are applied
+ * in parallel, touching each element twice.
+ */
+@SuppressWarnings("unchecked")
+public class ScanOperations {
+    /** Number of elements read into a scratch block at a time. */
+    private static final int BLOCK_SIZE = 1024;
+
+    /** Executor splitting large scans across threads. */
+    final ParallelExecutor executor;
+
+    /**
+     * Constructs an instance of {@code ScanOperations} running on the shared executor.
+     */
+    public ScanOperations() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code ScanOperations} running on the given executor.
+     *
+     * @param executor The executor used for large arrays.
+     */
+    public ScanOperations(ParallelExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Computes the cumulative reduction of an array along one axis.
+     *
+     * @param array The array to scan.
+     * @param type  The reduction accumulated along the axis: SUM, PROD, MAX or MIN.
+     * @param dType The data type of the result, or {@code null} for the accumulator type of the
+     *              matching reduction, so the last running value equals it: INT64 for sums and
+     *              products of integer and BOOL arrays, FLOAT64 for OBJECT arrays and the type of
+     *              the array otherwise.
+     * @param axis  The axis to scan; negative values count from the end.
+     * @return A new contiguous NDArray of the same shape holding the running values.
+     * @throws IllegalArgumentException      If the axis is out of bounds.
+     * @throws UnsupportedOperationException If the reduction has no cumulative form.
+     */
+    public <T, R> NDArray<R> scan(NDArray<T> array, ReductionType type, DType dType, int axis) {
+        if (type != ReductionType.SUM && type != ReductionType.PROD
+                && type != ReductionType.MAX && type != ReductionType.MIN) {
+            throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+        }
+        int[] shape = array.shapeArray();
+        int normalized = ReductionOperations.normalizeAxis(axis, shape.length);
+        if (array.order() == Order.F) {
+            // Scan the row-major transposed view so the result stays column-major
+            return this.<T, R>scan(array.transpose(), type, dType, shape.length - 1 - normalized).transpose();
+        }
+        DType resultType = dType != null ? dType : ReductionOperations.defaultType(type, array.type());
+        NDArray<R> result = array.type() == resultType ? (NDArray<R>) array.copy() : array.astype(resultType);
+
+        long outer = sizeOf(shape, 0, normalized);
+        long inner = sizeOf(shape, normalized + 1, shape.length);
+        int length = shape[normalized];
+        if (outer * length * inner == 0 || length == 1) {
+            return result;
+        }
+
+        Scan scan = new Scan(result.buffer(), type, !resultType.isFloatingPoint() && resultType != DType.OBJECT);
+        if (inner == 1 && outer < executor.parallelism() && length >= ParallelExecutor.PARALLEL_THRESHOLD) {
+            for (long line = 0; line < outer; line++) {
+                scan.prefixParallel(executor, line * length, length);
+            }
+        } else if (inner == 1) {
+            executor.forRange(outer * length, (start, end) -> {
+                Scratch scratch = new Scratch(Math.min(BLOCK_SIZE, length));
+                for (long line = (start + length - 1) / length; line < (end + length - 1) / length; line++) {
+                    scan.prefix(line * length, length, scratch);
+                }
+            });
+        } else if (outer < executor.parallelism()) {
+            // Few blocks: split each block by column, every column range walks all rows
+            long block = length * inner;
+            for (long o = 0; o < outer; o++) {
+                long base = o * block;
+                executor.forRange(block, (start, end) -> scan.rows(base, length, inner,
+                        (start + length - 1) / length, (end + length - 1) / length));
+            }
+        } else {
+            long block = length * inner;
+            executor.forRange(outer * block, (start, end) -> {
+                for (long o = (start + block - 1) / block; o < (end + block - 1) / block; o++) {
+                    scan.rows(o * block, length, inner, 0, inner);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Computes the number of elements spanned by a range of dimensions.
+     *
+     * @param shape The shape.
+     * @param from  The first dimension.
+     * @param to    The dimension after the last one.
+     * @return The product of the dimensions in {@code [from, to)}.
+     */
+    private static long sizeOf(int[] shape, int from, int to) {
+        long size = 1;
+        for (int d = from; d < to; d++) size *= shape[d];
+        return size;
+    }
+
+    /**
+     * Per-thread scratch blocks that elements are read into before combining.
+     */
+    private static final class Scratch {
+        final double[] doubles;
+        final double[] previousDoubles;
+        final long[] longs;
+        final long[] previousLongs;
+
+        Scratch(int size) {
+            this.doubles = new double[size];
+            this.previousDoubles = new double[size];
+            this.longs = new long[size];
+            this.previousLongs = new long[size];
+        }
+    }
+
+    /**
+     * An in-place scan of one contiguous result buffer.
+     */
+    private static final class Scan {
+        private final DataBuffer buffer;
+        private final ReductionType type;
+        private final boolean integral;
+
+        Scan(DataBuffer buffer, ReductionType type, boolean integral) {
+            this.buffer = buffer;
+            this.type = type;
+            this.integral = integral;
+        }
+
+        /**
+         * Combines each row of a block with the previous one over the columns {@code [from, to)}.
+         *
+         * @param base   The index of the first element of the block.
+         * @param length The number of rows, the length of the scanned axis.
+         * @param inner  The number of columns.
+         * @param from   The first column.
+         * @param to     The column after the last one.
+         */
+        void rows(long base, int length, long inner, long from, long to) {
+            Scratch scratch = new Scratch((int) Math.min(BLOCK_SIZE, Math.max(to - from, 1)));
+            int blockSize = scratch.doubles.length;
+            for (long column = from; column < to; column += blockSize) {
+                int count = (int) Math.min(blockSize, to - column);
+                long index = base + column;
+                if (integral) {
+                    buffer.getLongs(index, 1, scratch.previousLongs, count);
+                } else {
+                    buffer.getDoubles(index, 1, scratch.previousDoubles, count);
+                }
+                for (int row = 1; row < length; row++) {
+                    index += inner;
+                    if (integral) {
+                        buffer.getLongs(index, 1, scratch.longs, count);
+                        combine(scratch.previousLongs, scratch.longs, count);
+                        buffer.setLongs(index, 1, scratch.previousLongs, count);
+                    } else {
+                        buffer.getDoubles(index, 1, scratch.doubles, count);
+                        combine(scratch.previousDoubles, scratch.doubles, count);
+                        buffer.setDoubles(index, 1, scratch.previousDoubles, count);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Scans a contiguous line in place.
+         *
+         * @param start   The index of the first element.
+         * @param length  The number of elements.
+         * @param scratch The scratch blocks of the calling thread.
+         */
+        void prefix(long start, int length, Scratch scratch) {
+            if (integral) {
+                prefixLongs(start, length, identityLong(), scratch);
+            } else {
+                prefixDoubles(start, length, identityDouble(), scratch);
+            }
+        }
+
+        /**
+         * Scans a long contiguous line in place with a blocked parallel prefix scan.
+         *
+         * @param executor The executor running the chunks.
+         * @param start    The index of the first element.
+         * @param length   The number of elements.
+         */
+        void prefixParallel(ParallelExecutor executor, long start, int length) {
+            long chunkSize = ParallelExecutor.CHUNK_SIZE;
+            int chunks = (int) ((length + chunkSize - 1) / chunkSize);
+            double[] doubleCarries = new double[chunks];
+            long[] longCarries = new long[chunks];
+
+            // Scan every chunk on its own, leaving each chunk's total in its last element
+            executor.forRange(length, (from, to) -> {
+                Scratch scratch = new Scratch(BLOCK_SIZE);
+                for (long chunk = from; chunk < to; chunk += chunkSize) {
+                    prefix(start + chunk, (int) (Math.min(chunk + chunkSize, to) - chunk), scratch);
+                }
+            });
+
+            // Turn the chunk totals into the carry entering each chunk
+            longCarries[0] = identityLong();
+            doubleCarries[0] = identityDouble();
+            for (int chunk = 1; chunk < chunks; chunk++) {
+                long last = start + chunk * chunkSize - 1;
+                if (integral) {
+                    longCarries[chunk] = combine(longCarries[chunk - 1], buffer.getLong(last));
+                } else {
+                    doubleCarries[chunk] = combine(doubleCarries[chunk - 1], buffer.getDouble(last));
+                }
+            }
+
+            // Fold the carries into every chunk but the first
+            executor.forRange(length, (from, to) -> {
+                Scratch scratch = new Scratch(BLOCK_SIZE);
+                for (long chunk = Math.max(from, chunkSize); chunk < to; chunk += chunkSize) {
+                    int index = (int) (chunk / chunkSize);
+                    applyCarry(start + chunk, (int) (Math.min(chunk + chunkSize, to) - chunk),
+                            longCarries[index], doubleCarries[index], scratch);
+                }
+            });
+        }
+
+        /**
+         * Combines a carry into every element of a contiguous run.
+         */
+        private void applyCarry(long start, int length, long longCarry, double doubleCarry, Scratch scratch) {
+            int blockSize = scratch.doubles.length;
+            for (int done = 0; done < length; done += blockSize) {
+                int count = Math.min(blockSize, length - done);
+                if (integral) {
+                    Arrays.fill(scratch.previousLongs, 0, count, longCarry);
+                    buffer.getLongs(start + done, 1, scratch.longs, count);
+                    combine(scratch.previousLongs, scratch.longs, count);
+                    buffer.setLongs(start + done, 1, scratch.previousLongs, count);
+                } else {
+                    Arrays.fill(scratch.previousDoubles, 0, count, doubleCarry);
+                    buffer.getDoubles(start + done, 1, scratch.doubles, count);
+                    combine(scratch.previousDoubles, scratch.doubles, count);
+                    buffer.setDoubles(start + done, 1, scratch.previousDoubles, count);
+                }
+            }
+        }
+
+        /**
+         * Scans a contiguous run of integers in place, starting from the given carry.
+         */
+        private void prefixLongs(long start, int length, long carry, Scratch scratch) {
+            long[] values = scratch.longs;
+            for (int done = 0; done < length; done += values.length) {
+                int count = Math.min(values.length, length - done);
+                buffer.getLongs(start + done, 1, values, count);
+                switch (type) {
+                    case SUM: for (int i = 0; i < count; i++) values[i] = carry += values[i]; break;
+                    case PROD: for (int i = 0; i < count; i++) values[i] = carry *= values[i]; break;
+                    case MAX: for (int i = 0; i < count; i++) values[i] = carry = Math.max(carry, values[i]); break;
+                    default: for (int i = 0; i < count; i++) values[i] = carry = Math.min(carry, values[i]); break;
+                }
+                buffer.setLongs(start + done, 1, values, count);
+            }
+        }
+
+        /**
+         * Scans a contiguous run of floating point values in place, starting from the given carry.
+         */
+        private void prefixDoubles(long start, int length, double carry, Scratch scratch) {
+            double[] values = scratch.doubles;
+            for (int done = 0; done < length; done += values.length) {
+                int count = Math.min(values.length, length - done);
+                buffer.getDoubles(start + done, 1, values, count);
+                switch (type) {
+                    case SUM: for (int i = 0; i < count; i++) values[i] = carry += values[i]; break;
+                    case PROD: for (int i = 0; i < count; i++) values[i] = carry *= values[i]; break;
+                    case MAX: for (int i = 0; i < count; i++) values[i] = carry = Math.max(carry, values[i]); break;
+                    default: for (int i = 0; i < count; i++) values[i] = carry = Math.min(carry, values[i]); break;
+                }
+                buffer.setDoubles(start + done, 1, values, count);
+            }
+        }
+
+        /**
+         * Sets {@code previous[i] = op(previous[i], current[i])}.
+         */
+        private void combine(long[] previous, long[] current, int length) {
+            switch (type) {
+                case SUM: for (int i = 0; i < length; i++) previous[i] += current[i]; break;
+                case PROD: for (int i = 0; i < length; i++) previous[i] *= current[i]; break;
+                case MAX: for (int i = 0; i < length; i++) previous[i] = Math.max(previous[i], current[i]); break;
+                default: for (int i = 0; i < length; i++) previous[i] = Math.min(previous[i], current[i]); break;
+            }
+        }
+
+        /**
+         * Sets {@code previous[i] = op(previous[i], current[i])}.
+         */
+        private void combine(double[] previous, double[] current, int length) {
+            switch (type) {
+                case SUM: for (int i = 0; i < length; i++) previous[i] += current[i]; break;
+                case PROD: for (int i = 0; i < length; i++) previous[i] *= current[i]; break;
+                case MAX: for (int i = 0; i < length; i++) previous[i] = Math.max(previous[i], current[i]); break;
+                default: for (int i = 0; i < length; i++) previous[i] = Math.min(previous[i], current[i]); break;
+            }
+        }
+
+        /**
+         * Applies the scan operator to two integers.
+         */
+        private long combine(long previous, long current) {
+            switch (type) {
+                case SUM: return previous + current;
+                case PROD: return previous * current;
+                case MAX: return Math.max(previous, current);
+                default: return Math.min(previous, current);
+            }
+        }
+
+        /**
+         * Applies the scan operator to two floating point values.
+         */
+        private double combine(double previous, double current) {
+            switch (type) {
+                case SUM: return previous + current;
+                case PROD: return previous * current;
+                case MAX: return Math.max(previous, current);
+                default: return Math.min(previous, current);
+            }
+        }
+
+        /**
+         * Returns the identity of the scan operator for integers.
+         */
+        private long identityLong() {
+            switch (type) {
+                case SUM: return 0;
+                case PROD: return 1;
+                case MAX: return Long.MIN_VALUE;
+                default: return Long.MAX_VALUE;
+            }
+        }
+
+        /**
+         * Returns the identity of the scan operator for floating point values.
+         */
+        private double identityDouble() {
+            switch (type) {
+                case SUM: return 0;
+                case PROD: return 1;
+                case MAX: return Double.NEGATIVE_INFINITY;
+                default: return Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+}
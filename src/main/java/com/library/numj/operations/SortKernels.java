@@ -0,0 +1,299 @@
+package com.library.numj.operations;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorting loops used by {@link SortOperations}.
+ * Narrow integers are sorted without comparisons: {@code byte} and {@code boolean} runs with a
+ * counting sort, {@code short} and {@code int} runs with a least-significant-digit radix sort over
+ * 8-bit digits. Index sorts are stable merge sorts over pairs of an ordering key and an index, so
+ * that the keys are read sequentially while merging instead of through the indices. Selection uses
+ * introselect over the same keys, optionally carrying the indices along.
+ */
+final class SortKernels {
+    /** Run length below which comparison sorts beat the fixed cost of a radix pass. */
+    static final int RADIX_THRESHOLD = 1 << 10;
+
+    /** Run length sorted by insertion before merging. */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    /** Number of buckets of an 8-bit digit. */
+    private static final int RADIX = 256;
+
+    /**
+     * Orders the elements of {@code OBJECT} arrays: numbers by value before anything else, which is
+     * ordered by its string form, and {@code null} last.
+     */
+    static final Comparator<Object> OBJECT_ORDER = (a, b) -> {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : 1) : -1;
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Number || b instanceof Number) return a instanceof Number ? -1 : 1;
+        return String.valueOf(a).compareTo(String.valueOf(b));
+    };
+
+    private SortKernels() {
+    }
+
+    /**
+     * Sorts {@code a[from, to)} with a counting sort over the 256 {@code byte} values.
+     *
+     * @param a    The array.
+     * @param from The first index of the run.
+     * @param to   The index after the run.
+     */
+    static void countingSort(byte[] a, int from, int to) {
+        int[] counts = new int[RADIX];
+        for (int i = from; i < to; i++) counts[a[i] + 128]++;
+        for (int value = 0, i = from; value < RADIX; value++) {
+            for (int c = counts[value]; c > 0; c--) a[i++] = (byte) (value - 128);
+        }
+    }
+
+    /**
+     * Sorts {@code a[from, to)} by counting the {@code false} elements.
+     *
+     * @param a    The array.
+     * @param from The first index of the run.
+     * @param to   The index after the run.
+     */
+    static void countingSort(boolean[] a, int from, int to) {
+        int falses = 0;
+        for (int i = from; i < to; i++) if (!a[i]) falses++;
+        for (int i = from; i < to; i++) a[i] = i >= from + falses;
+    }
+
+    /**
+     * Sorts {@code a[from, to)} with a two-pass radix sort; the sign is handled by flipping the top
+     * bit of the high digit.
+     *
+     * @param a    The array.
+     * @param from The first index of the run.
+     * @param to   The index after the run.
+     */
+    static void radixSort(short[] a, int from, int to) {
+        short[] buffer = new short[to - from];
+        int[] counts = new int[RADIX];
+        for (int i = from; i < to; i++) counts[a[i] & 0xFF]++;
+        prefix(counts);
+        for (int i = from; i < to; i++) buffer[counts[a[i] & 0xFF]++] = a[i];
+        counts = new int[RADIX];
+        for (short value : buffer) counts[((value >>> 8) & 0xFF) ^ 0x80]++;
+        prefix(counts);
+        for (short value : buffer) a[from + counts[((value >>> 8) & 0xFF) ^ 0x80]++] = value;
+    }
+
+    /**
+     * Sorts {@code a[from, to)} with a four-pass radix sort; the sign is handled by flipping the top
+     * bit of the high digit. Passes in which every element shares the same digit are skipped.
+     *
+     * @param a    The array.
+     * @param from The first index of the run.
+     * @param to   The index after the run.
+     */
+    static void radixSort(int[] a, int from, int to) {
+        int length = to - from;
+        int[] source = a;
+        int sourceFrom = from;
+        int[] target = new int[length];
+        int targetFrom = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int flip = shift == 24 ? 0x80 : 0;
+            int[] counts = new int[RADIX];
+            for (int i = sourceFrom; i < sourceFrom + length; i++) counts[((source[i] >>> shift) & 0xFF) ^ flip]++;
+            if (counts[((source[sourceFrom] >>> shift) & 0xFF) ^ flip] == length) continue;
+            prefix(counts);
+            for (int i = sourceFrom; i < sourceFrom + length; i++) {
+                target[targetFrom + counts[((source[i] >>> shift) & 0xFF) ^ flip]++] = source[i];
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+            int swapFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = swapFrom;
+        }
+        if (source != a) System.arraycopy(source, sourceFrom, a, from, length);
+    }
+
+    /**
+     * Turns bucket counts into the index of each bucket's first element.
+     */
+    private static void prefix(int[] counts) {
+        for (int i = 0, sum = 0; i < counts.length; i++) {
+            int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+    }
+
+    /**
+     * Maps a {@code double} to a {@code long} whose signed order is the order of
+     * {@link Double#compare}: {@code -0.0} before {@code 0.0} and NaN after positive infinity.
+     *
+     * @param value The value.
+     * @return The ordering key of the value.
+     */
+    static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Inverts {@link #sortableKey}, returning the {@code double} a key was made from.
+     *
+     * @param key The ordering key.
+     * @return The value of the key.
+     */
+    static double keyValue(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Rearranges {@code [from, to)} so that position {@code k} holds the key a full sort would put
+     * there, with no greater key before it and no smaller key after it. This is introselect: a
+     * quickselect with a median-of-three pivot and a three-way partition, so runs of equal keys
+     * cannot degrade it, that sorts the remaining range once it has partitioned twice the logarithm
+     * of the length without converging. Expected time is linear, the worst case O(n log n).
+     *
+     * @param keys  The ordering keys.
+     * @param index The indices travelling with the keys, or {@code null}.
+     * @param from  The first position of the range.
+     * @param to    The position after the range.
+     * @param k     The position to select, within the range.
+     */
+    static void select(long[] keys, int[] index, int from, int to, int k) {
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > INSERTION_THRESHOLD) {
+            if (budget-- == 0) {
+                if (index == null) Arrays.sort(keys, from, to);
+                else mergeSort(keys, index, new long[to], new int[to], from, to);
+                return;
+            }
+            long pivot = median(keys[from], keys[(from + to) >>> 1], keys[to - 1]);
+            int less = from;
+            int greater = to - 1;
+            for (int i = from; i <= greater; ) {
+                if (keys[i] < pivot) swap(keys, index, less++, i++);
+                else if (keys[i] > pivot) swap(keys, index, i, greater--);
+                else i++;
+            }
+            if (k < less) to = less;
+            else if (k > greater) from = greater + 1;
+            else return;
+        }
+        insertionSort(keys, index, from, to);
+    }
+
+    /**
+     * Returns the median of three keys.
+     */
+    private static long median(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Exchanges two keys and, when present, their indices.
+     */
+    private static void swap(long[] keys, int[] index, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        if (index != null) {
+            int position = index[i];
+            index[i] = index[j];
+            index[j] = position;
+        }
+    }
+
+    /**
+     * Stably sorts the pairs {@code (keys[i], index[i])} of {@code [from, to)} by key, using the
+     * scratch arrays for merging.
+     *
+     * @param keys      The ordering keys.
+     * @param index     The indices travelling with the keys.
+     * @param keyTmp    Scratch space for keys, at least as long as {@code keys}.
+     * @param indexTmp  Scratch space for indices, at least as long as {@code index}.
+     * @param from      The first pair.
+     * @param to        The pair after the last one.
+     */
+    static void mergeSort(long[] keys, int[] index, long[] keyTmp, int[] indexTmp, int from, int to) {
+        for (int start = from; start < to; start += INSERTION_THRESHOLD) {
+            insertionSort(keys, index, start, Math.min(to, start + INSERTION_THRESHOLD));
+        }
+        mergeRuns(keys, index, keyTmp, indexTmp, from, to, INSERTION_THRESHOLD);
+    }
+
+    /**
+     * Merges sorted runs of {@code width} pairs bottom-up until {@code [from, to)} is one sorted run.
+     * The result always ends in {@code keys} and {@code index}.
+     *
+     * @param keys     The ordering keys, sorted within each run.
+     * @param index    The indices travelling with the keys.
+     * @param keyTmp   Scratch space for keys.
+     * @param indexTmp Scratch space for indices.
+     * @param from     The first pair.
+     * @param to       The pair after the last one.
+     * @param width    The length of the sorted runs.
+     */
+    static void mergeRuns(long[] keys, int[] index, long[] keyTmp, int[] indexTmp, int from, int to, int width) {
+        long[] keySource = keys;
+        int[] indexSource = index;
+        long[] keyTarget = keyTmp;
+        int[] indexTarget = indexTmp;
+        for (; width < to - from; width *= 2) {
+            for (int start = from; start < to; start += 2 * width) {
+                int middle = Math.min(to, start + width);
+                merge(keySource, indexSource, keyTarget, indexTarget, start, middle, Math.min(to, start + 2 * width));
+            }
+            long[] keySwap = keySource;
+            keySource = keyTarget;
+            keyTarget = keySwap;
+            int[] indexSwap = indexSource;
+            indexSource = indexTarget;
+            indexTarget = indexSwap;
+        }
+        if (keySource != keys) {
+            System.arraycopy(keySource, from, keys, from, to - from);
+            System.arraycopy(indexSource, from, index, from, to - from);
+        }
+    }
+
+    /**
+     * Merges the sorted runs {@code [from, middle)} and {@code [middle, to)} of the source into the
+     * same positions of the target, taking from the left run on ties to stay stable.
+     */
+    static void merge(long[] keys, int[] index, long[] keyTarget, int[] indexTarget, int from, int middle, int to) {
+        int left = from;
+        int right = middle;
+        for (int out = from; out < to; out++) {
+            if (right >= to || (left < middle && keys[left] <= keys[right])) {
+                keyTarget[out] = keys[left];
+                indexTarget[out] = index[left++];
+            } else {
+                keyTarget[out] = keys[right];
+                indexTarget[out] = index[right++];
+            }
+        }
+    }
+
+    /**
+     * Stably sorts a short run of keys by value, moving their indices along when present.
+     */
+    private static void insertionSort(long[] keys, int[] index, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            int position = index == null ? 0 : index[i];
+            int j = i - 1;
+            while (j >= from && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                if (index != null) index[j + 1] = index[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            if (index != null) index[j + 1] = position;
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package com.library.numj.operations;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.NDArray;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.ReductionType;
+import com.library.numj.exceptions.ShapeException;
+import com.library.numj.exceptions.UnsupportedDataTypeException;
+import com.library.numj.storage.DataBuffer;
+
+import java.util.Arrays;
+
+/**
+ * The SortOperations class sorts arrays and computes the orderings of {@code argsort} and {@code lexsort}.
+ * <p>
+ * The sorted axis is first moved last and the array copied, so every line to sort is a contiguous run
+ * of a primitive array. Independent lines are sorted in parallel; a single long line is sorted with
+ * {@link Arrays#parallelSort} instead. Lines of INT8, INT16, INT32 and BOOL values are sorted without
+ * comparisons by the counting and radix sorts in {@link SortKernels}. Orderings are computed by a
+ * stable merge sort over {@code long} keys that preserve the order of every numeric type, with a
+ * single long line sorted in parallel chunks that are then merged pairwise in parallel rounds.
+ * Results are returned in C order; NaN sorts last, as in NumPy.
+ * <p>
+ * Partitions, top-k selections and quantiles avoid the full sort: each line is read into the same
+ * {@code long} keys and reduced with introselect in expected linear time, lines again running in
+ * parallel. A single long top-k line is split into chunks whose own top k are selected in parallel,
+ * leaving a final selection over a small set of candidates.
+ * <p>
+ * All of these work inside the Java array backing the copied lines, so an array holding more
+ * elements than {@link NDArray#MAX_SIZE} is rejected with an {@link IllegalArgumentException}.
+ */
+@SuppressWarnings("unchecked")
+public class SortOperations {
+    /** Executor splitting large sorts across threads. */
+    final ParallelExecutor executor;
+
+    /**
+     * Constructs an instance of {@code SortOperations} running on the shared executor.
+     */
+    public SortOperations() {
+        this(ParallelExecutor.shared());
+    }
+
+    /**
+     * Constructs an instance of {@code SortOperations} running on the given executor.
+     *
+     * @param executor The executor used for large arrays.
+     */
+    public SortOperations(ParallelExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Returns a sorted copy of an array, sorting every line along an axis independently.
+     *
+     * @param array The array to sort.
+     * @param axis  The axis to sort along; negative values count from the end.
+     * @return A new C-contiguous NDArray of the same shape and type with every line in ascending order.
+     * @throws IllegalArgumentException If the axis is out of bounds.
+     */
+    public <T, R> NDArray<R> sort(NDArray<T> array, int axis) {
+        int[] shape = array.shapeArray();
+        int normalized = ReductionOperations.normalizeAxis(axis, shape.length);
+        int[] axes = moveToEnd(shape.length, normalized);
+        NDArray.checkedSize(shape);
+        NDArray<?> work = array.transpose(axes).copy();
+        DataBuffer buffer = work.buffer();
+        int length = shape[normalized];
+        long lines = length == 0 ? 0 : work.size() / length;
+        if (isParallelLine(lines, length)) {
+            parallelSort(buffer, 0, length);
+        } else {
+            executor.forRuns(lines, length, line -> sortRun(buffer, (int) (line * length), (int) (line * length) + length));
+        }
+        return (NDArray<R>) restore(work, axes);
+    }
+
+    /**
+     * Returns the indices that would sort an array along an axis. The sort is stable, so equal
+     * elements keep their original order.
+     *
+     * @param array The array to order.
+     * @param axis  The axis to sort along; negative values count from the end.
+     * @return A new C-contiguous INT64 NDArray of the same shape holding indices along the axis.
+     * @throws IllegalArgumentException If the axis is out of bounds.
+     */
+    public <T, R> NDArray<R> argsort(NDArray<T> array, int axis) {
+        return order(new NDArray<?>[]{array}, axis);
+    }
+
+    /**
+     * Returns the indices that sort several keys lexicographically along an axis, the equivalent of
+     * NumPy's {@code lexsort}: the last key is the primary sort key, the one before it breaks its
+     * ties, and so on. Each key is applied with one stable sort, from the first key to the last.
+     *
+     * @param keys The keys, all of the same shape.
+     * @param axis The axis to sort along; negative values count from the end.
+     * @return A new C-contiguous INT64 NDArray of the keys' shape holding indices along the axis.
+     * @throws ShapeException           If the keys have different shapes.
+     * @throws IllegalArgumentException If no key is given or the axis is out of bounds.
+     */
+    public <R> NDArray<R> lexsort(NDArray<?>[] keys, int axis) throws ShapeException {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException(ExceptionMessages.emptyKeysException());
+        }
+        int[] shape = keys[0].shapeArray();
+        for (NDArray<?> key : keys) {
+            if (!Arrays.equals(key.shapeArray(), shape)) {
+                throw new ShapeException(ExceptionMessages.keyShapeException(key.shapeArray(), shape));
+            }
+        }
+        return order(keys, axis);
+    }
+
+    /**
+     * Returns a copy of an array partitioned along an axis, the equivalent of NumPy's
+     * {@code partition(a, kth, axis)}: in every line the element at {@code kth} is the one a full
+     * sort would put there, no greater element comes before it and no smaller one after it.
+     *
+     * @param array The array to partition.
+     * @param kth   The position to select; negative values count from the end.
+     * @param axis  The axis to partition along; negative values count from the end.
+     * @return A new C-contiguous NDArray of the same shape and type.
+     * @throws IllegalArgumentException If the axis or {@code kth} is out of bounds.
+     */
+    public <T, R> NDArray<R> partition(NDArray<T> array, int kth, int axis) {
+        int[] shape = array.shapeArray();
+        int[] axes = moveToEnd(shape.length, ReductionOperations.normalizeAxis(axis, shape.length));
+        NDArray<?> work = lines(array, axes);
+        int length = shape[axes[axes.length - 1]];
+        int k = position(kth, length);
+        if (array.type() == DType.OBJECT) {
+            return sort(array, axis);
+        }
+        DataBuffer input = work.buffer();
+        DataBuffer output = DataBuffer.allocate(array.type(), NDArray.sizeOf(shape));
+        boolean floating = array.type().isFloatingPoint();
+        executor.forRuns(work.size() / length, length, line -> {
+            int from = (int) (line * length);
+            long[] keys = keys(input, (int) work.offset() + from, length);
+            SortKernels.select(keys, null, 0, length, k);
+            writeKeys(output, from, keys, length, floating);
+        });
+        return (NDArray<R>) restore(new NDArray<>(output, work.shapeArray(), array.elementClass()), axes);
+    }
+
+    /**
+     * Returns the indices that would partition an array along an axis, the equivalent of NumPy's
+     * {@code argpartition(a, kth, axis)}.
+     *
+     * @param array The array to order.
+     * @param kth   The position to select; negative values count from the end.
+     * @param axis  The axis to partition along; negative values count from the end.
+     * @return A new C-contiguous INT64 NDArray of the same shape holding indices along the axis.
+     * @throws IllegalArgumentException If the axis or {@code kth} is out of bounds.
+     */
+    public <T, R> NDArray<R> argpartition(NDArray<T> array, int kth, int axis) {
+        int[] shape = array.shapeArray();
+        int[] axes = moveToEnd(shape.length, ReductionOperations.normalizeAxis(axis, shape.length));
+        NDArray<?> work = lines(array, axes);
+        int length = shape[axes[axes.length - 1]];
+        int k = position(kth, length);
+        if (array.type() == DType.OBJECT) {
+            return argsort(array, axis);
+        }
+        DataBuffer input = work.buffer();
+        long[] result = new long[NDArray.checkedSize(shape)];
+        executor.forRuns(work.size() / length, length, line -> {
+            int from = (int) (line * length);
+            long[] keys = keys(input, (int) work.offset() + from, length);
+            int[] index = new int[length];
+            for (int i = 0; i < length; i++) index[i] = i;
+            SortKernels.select(keys, index, 0, length, k);
+            store(index, result, from);
+        });
+        Class<?> indexClass = array.elementClass().isPrimitive() ? long.class : Long.class;
+        return (NDArray<R>) restore(new NDArray<>(DataBuffer.wrap(result), work.shapeArray(), indexClass), axes);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of every line along an axis in descending order,
+     * without sorting the lines.
+     *
+     * @param array The array to select from.
+     * @param k     The number of elements to keep per line.
+     * @param axis  The axis to select along; negative values count from the end.
+     * @return A new C-contiguous NDArray of the array's type whose axis has length {@code k}.
+     * @throws IllegalArgumentException     If the axis is out of bounds or {@code k} exceeds its length.
+     * @throws UnsupportedDataTypeException If the array is an OBJECT array.
+     */
+    public <T, R> NDArray<R> topk(NDArray<T> array, int k, int axis) {
+        if (array.type() == DType.OBJECT) {
+            throw new UnsupportedDataTypeException(ExceptionMessages.illegalDataType(array.type()));
+        }
+        int[] shape = array.shapeArray();
+        int[] axes = moveToEnd(shape.length, ReductionOperations.normalizeAxis(axis, shape.length));
+        NDArray<?> work = lines(array, axes);
+        int length = shape[axes[axes.length - 1]];
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException(ExceptionMessages.kthOutOfBoundsException(k, length));
+        }
+        int[] resultShape = work.shapeArray();
+        resultShape[resultShape.length - 1] = k;
+        DataBuffer output = DataBuffer.allocate(array.type(), NDArray.sizeOf(resultShape));
+        DataBuffer input = work.buffer();
+        boolean floating = array.type().isFloatingPoint();
+        long lines = length == 0 ? 0 : work.size() / length;
+        int chunk = (int) ParallelExecutor.CHUNK_SIZE;
+        if (isParallelLine(lines, length) && k * 8L <= chunk) {
+            long[] keys = keys(input, (int) work.offset(), length);
+            int chunks = (length + chunk - 1) / chunk;
+            long[] candidates = new long[chunks * k];
+            Arrays.fill(candidates, Long.MIN_VALUE);
+            executor.forRuns(chunks, chunk, run -> {
+                int from = (int) run * chunk;
+                int to = Math.min(length, from + chunk);
+                int count = Math.min(k, to - from);
+                SortKernels.select(keys, null, from, to, to - count);
+                System.arraycopy(keys, to - count, candidates, (int) run * k, count);
+            });
+            writeKeys(output, 0, largest(candidates, k), k, floating);
+        } else {
+            executor.forRuns(lines, length, line -> {
+                long[] keys = keys(input, (int) work.offset() + (int) (line * length), length);
+                writeKeys(output, (int) line * k, largest(keys, k), k, floating);
+            });
+        }
+        return (NDArray<R>) restore(new NDArray<>(output, resultShape, array.elementClass()), axes);
+    }
+
+    /**
+     * Computes the {@code q}-th quantile of an array along the given axes, interpolating linearly
+     * between the two nearest elements as NumPy's default method does. A line holding NaN has a
+     * NaN quantile, and an empty line has a NaN quantile as well.
+     *
+     * @param array The array to reduce.
+     * @param q     The quantile, between 0 and 1; 0.5 is the median.
+     * @param axes  The axes to reduce; negative axes count from the end and no axes reduces the whole array.
+     * @return A new NDArray without the reduced axes, FLOAT64 for integer arrays and of the array's
+     *         type otherwise; zero-dimensional when every axis is reduced.
+     * @throws IllegalArgumentException If {@code q} is outside {@code [0, 1]} or an axis is out of bounds or repeated.
+     */
+    public <T, R> NDArray<R> quantile(NDArray<T> array, double q, int... axes) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException(ExceptionMessages.quantileException(q));
+        }
+        int[] shape = array.shapeArray();
+        boolean[] reduced = ReductionOperations.reducedAxes(shape.length, axes);
+        int[] permutation = moveToEnd(reduced);
+        NDArray<?> work = lines(array, permutation);
+        int[] resultShape = new int[shape.length];
+        int kept = 0;
+        int length = 1;
+        for (int d = 0; d < shape.length; d++) {
+            if (reduced[d]) length *= shape[d];
+            else resultShape[kept++] = shape[d];
+        }
+        resultShape = Arrays.copyOf(resultShape, kept);
+        double[] result = new double[NDArray.checkedSize(resultShape)];
+        DataBuffer input = work.buffer();
+        boolean floating = array.type().isFloatingPoint() || array.type() == DType.OBJECT;
+        int lineLength = length;
+        if (length == 0) {
+            Arrays.fill(result, Double.NaN);
+        }
+        executor.forRuns(result.length, length, line ->
+                result[(int) line] = quantile(keys(input, (int) work.offset() + (int) (line * lineLength), lineLength), floating, q));
+
+        DType resultType = ReductionOperations.defaultType(ReductionType.MEAN, array.type());
+        NDArray<?> quantiles = new NDArray<>(DataBuffer.wrap(result), resultShape,
+                array.elementClass().isPrimitive() ? double.class : Double.class);
+        return (NDArray<R>) (resultType == DType.FLOAT64 ? quantiles : quantiles.astype(resultType));
+    }
+
+    /**
+     * Computes one quantile of a line of keys, rearranging the keys.
+     *
+     * @param keys     The ordering keys of the line; not empty.
+     * @param floating Whether the keys encode floating-point values.
+     * @param q        The quantile, between 0 and 1.
+     * @return The linearly interpolated quantile, or NaN if the line holds NaN.
+     */
+    private static double quantile(long[] keys, boolean floating, double q) {
+        int length = keys.length;
+        if (floating) {
+            long max = Long.MIN_VALUE;
+            for (long key : keys) max = Math.max(max, key);
+            if (Double.isNaN(SortKernels.keyValue(max))) return Double.NaN;
+        }
+        double position = q * (length - 1);
+        int low = (int) position;
+        SortKernels.select(keys, null, 0, length, low);
+        double lowValue = value(keys[low], floating);
+        double fraction = position - low;
+        if (fraction == 0) {
+            return lowValue;
+        }
+        long next = Long.MAX_VALUE;
+        for (int i = low + 1; i < length; i++) next = Math.min(next, keys[i]);
+        return lowValue + (value(next, floating) - lowValue) * fraction;
+    }
+
+    /**
+     * Selects the {@code k} largest keys in descending order, rearranging the keys.
+     *
+     * @param keys The ordering keys.
+     * @param k    The number of keys to keep, at most {@code keys.length}.
+     * @return The largest keys, largest first.
+     */
+    private static long[] largest(long[] keys, int k) {
+        int length = keys.length;
+        if (k > 0 && k < length) {
+            SortKernels.select(keys, null, 0, length, length - k);
+        }
+        Arrays.sort(keys, length - k, length);
+        long[] top = new long[k];
+        for (int i = 0; i < k; i++) top[i] = keys[length - 1 - i];
+        return top;
+    }
+
+    /**
+     * Returns the value a key stands for.
+     */
+    private static double value(long key, boolean floating) {
+        return floating ? SortKernels.keyValue(key) : key;
+    }
+
+    /**
+     * Writes keys back into a buffer as the values they stand for.
+     *
+     * @param output   The buffer.
+     * @param start    The index of the first value.
+     * @param keys     The keys, from position 0.
+     * @param count    The number of keys.
+     * @param floating Whether the keys encode floating-point values.
+     */
+    private static void writeKeys(DataBuffer output, int start, long[] keys, int count, boolean floating) {
+        if (!floating) {
+            output.setLongs(start, 1, keys, count);
+            return;
+        }
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) values[i] = SortKernels.keyValue(keys[i]);
+        output.setDoubles(start, 1, values, count);
+    }
+
+    /**
+     * Normalizes the position selected by a partition.
+     *
+     * @param kth    The position; negative values count from the end.
+     * @param length The length of the partitioned axis.
+     * @return The non-negative position.
+     * @throws IllegalArgumentException If the position is outside the axis.
+     */
+    private static int position(int kth, int length) {
+        int k = kth < 0 ? kth + length : kth;
+        if (k < 0 || k >= length) {
+            throw new IllegalArgumentException(ExceptionMessages.kthOutOfBoundsException(kth, length));
+        }
+        return k;
+    }
+
+    /**
+     * Moves the chosen axes of an array last and returns it as a contiguous heap array, copying
+     * only when the permuted view is not one already. The sorts work on the backing Java array, so
+     * the array must fit in one.
+     *
+     * @param array The array.
+     * @param axes  The permutation moving the axes last.
+     * @return The permuted array with contiguous lines.
+     * @throws IllegalArgumentException If the array holds more elements than a heap buffer can.
+     */
+    private static NDArray<?> lines(NDArray<?> array, int[] axes) {
+        NDArray.checkedSize(array.shapeArray());
+        NDArray<?> moved = array.transpose(axes);
+        return moved.isContiguous() && moved.buffer().hasArray() ? moved : moved.copy();
+    }
+
+    /**
+     * Computes the stable ordering of keys of one shape along an axis, the last key being the primary one.
+     *
+     * @param keys The keys.
+     * @param axis The axis to sort along.
+     * @return An INT64 NDArray of indices along the axis.
+     */
+    private <R> NDArray<R> order(NDArray<?>[] keys, int axis) {
+        int[] shape = keys[0].shapeArray();
+        int normalized = ReductionOperations.normalizeAxis(axis, shape.length);
+        int[] axes = moveToEnd(shape.length, normalized);
+        DataBuffer[] buffers = new DataBuffer[keys.length];
+        int[] offsets = new int[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            NDArray<?> moved = lines(keys[k], axes);
+            buffers[k] = moved.buffer();
+            offsets[k] = (int) moved.offset();
+        }
+
+        int length = shape[normalized];
+        int size = NDArray.checkedSize(shape);
+        long lines = length == 0 ? 0 : size / length;
+        long[] result = new long[size];
+        if (isParallelLine(lines, length)) {
+            store(orderLine(buffers, offsets, 0, length, true), result, 0);
+        } else {
+            executor.forRuns(lines, length, line -> {
+                int from = (int) (line * length);
+                store(orderLine(buffers, offsets, from, length, false), result, from);
+            });
+        }
+        int[] movedShape = new int[shape.length];
+        for (int d = 0; d < shape.length; d++) movedShape[d] = shape[axes[d]];
+        Class<?> indexClass = keys[keys.length - 1].elementClass().isPrimitive() ? long.class : Long.class;
+        return (NDArray<R>) restore(new NDArray<>(DataBuffer.wrap(result), movedShape, indexClass), axes);
+    }
+
+    /**
+     * Orders one line of every key, applying the keys from the first to the last.
+     *
+     * @param buffers  The contiguous key buffers.
+     * @param offsets  The index of the first element of each key.
+     * @param from     The position of the line within each key.
+     * @param length   The length of the line.
+     * @param parallel Whether to sort the line on the executor.
+     * @return The positions of the line in sorted order.
+     */
+    private int[] orderLine(DataBuffer[] buffers, int[] offsets, int from, int length, boolean parallel) {
+        int[] index = new int[length];
+        for (int i = 0; i < length; i++) index[i] = i;
+        for (int k = 0; k < buffers.length; k++) {
+            DataBuffer buffer = buffers[k];
+            int start = offsets[k] + from;
+            if (buffer.dType() == DType.OBJECT) {
+                Integer[] boxed = new Integer[length];
+                for (int i = 0; i < length; i++) boxed[i] = index[i];
+                if (parallel) {
+                    Arrays.parallelSort(boxed, (a, b) -> SortKernels.OBJECT_ORDER.compare(buffer.get(start + a), buffer.get(start + b)));
+                } else {
+                    Arrays.sort(boxed, (a, b) -> SortKernels.OBJECT_ORDER.compare(buffer.get(start + a), buffer.get(start + b)));
+                }
+                for (int i = 0; i < length; i++) index[i] = boxed[i];
+                continue;
+            }
+            long[] keys = keys(buffer, start, length);
+            if (k > 0) {
+                long[] ordered = new long[length];
+                for (int i = 0; i < length; i++) ordered[i] = keys[index[i]];
+                keys = ordered;
+            }
+            if (parallel) {
+                parallelMergeSort(keys, index);
+            } else {
+                SortKernels.mergeSort(keys, index, new long[length], new int[length], 0, length);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Stably sorts pairs of keys and indices by sorting chunks in parallel, then merging pairs of
+     * sorted runs in parallel rounds of doubling width.
+     *
+     * @param keys  The ordering keys.
+     * @param index The indices travelling with the keys.
+     */
+    private void parallelMergeSort(long[] keys, int[] index) {
+        int length = keys.length;
+        int chunk = (int) ParallelExecutor.CHUNK_SIZE;
+        long[] keyTmp = new long[length];
+        int[] indexTmp = new int[length];
+        executor.forRuns((length + chunk - 1) / chunk, chunk, run -> {
+            int from = (int) run * chunk;
+            SortKernels.mergeSort(keys, index, keyTmp, indexTmp, from, Math.min(length, from + chunk));
+        });
+        long[] keySource = keys;
+        int[] indexSource = index;
+        long[] keyTarget = keyTmp;
+        int[] indexTarget = indexTmp;
+        for (long width = chunk; width < length; width *= 2) {
+            long pair = 2 * width;
+            long[] keysIn = keySource;
+            int[] indexIn = indexSource;
+            long[] keysOut = keyTarget;
+            int[] indexOut = indexTarget;
+            executor.forRuns((length + pair - 1) / pair, pair, run -> {
+                long from = run * pair;
+                SortKernels.merge(keysIn, indexIn, keysOut, indexOut, (int) from,
+                        (int) Math.min(length, from + pair / 2), (int) Math.min(length, from + pair));
+            });
+            keySource = keysOut;
+            indexSource = indexOut;
+            keyTarget = keysIn;
+            indexTarget = indexIn;
+        }
+        if (indexSource != index) {
+            System.arraycopy(indexSource, 0, index, 0, length);
+        }
+    }
+
+    /**
+     * Reads a line of a numeric buffer as keys whose signed order is the order of the values.
+     *
+     * @param buffer The heap buffer.
+     * @param start  The index of the first element.
+     * @param length The number of elements.
+     * @return The ordering keys.
+     */
+    private static long[] keys(DataBuffer buffer, int start, int length) {
+        long[] keys = new long[length];
+        switch (buffer.dType()) {
+            case FLOAT64:
+                double[] doubles = (double[]) buffer.array();
+                for (int i = 0; i < length; i++) keys[i] = SortKernels.sortableKey(doubles[start + i]);
+                break;
+            case FLOAT32:
+                float[] floats = (float[]) buffer.array();
+                for (int i = 0; i < length; i++) keys[i] = SortKernels.sortableKey(floats[start + i]);
+                break;
+            case OBJECT:
+                for (int i = 0; i < length; i++) keys[i] = SortKernels.sortableKey(buffer.getDouble(start + i));
+                break;
+            default:
+                buffer.getLongs(start, 1, keys, length);
+        }
+        return keys;
+    }
+
+    /**
+     * Sorts a contiguous run of a heap buffer on the calling thread.
+     *
+     * @param buffer The buffer.
+     * @param from   The first index of the run.
+     * @param to     The index after the run.
+     */
+    private static void sortRun(DataBuffer buffer, int from, int to) {
+        boolean radix = to - from >= SortKernels.RADIX_THRESHOLD;
+        switch (buffer.dType()) {
+            case INT8:
+                if (radix) SortKernels.countingSort((byte[]) buffer.array(), from, to);
+                else Arrays.sort((byte[]) buffer.array(), from, to);
+                break;
+            case INT16:
+                if (radix) SortKernels.radixSort((short[]) buffer.array(), from, to);
+                else Arrays.sort((short[]) buffer.array(), from, to);
+                break;
+            case INT32:
+                if (radix) SortKernels.radixSort((int[]) buffer.array(), from, to);
+                else Arrays.sort((int[]) buffer.array(), from, to);
+                break;
+            case INT64:
+                Arrays.sort((long[]) buffer.array(), from, to);
+                break;
+            case FLOAT32:
+                Arrays.sort((float[]) buffer.array(), from, to);
+                break;
+            case FLOAT64:
+                Arrays.sort((double[]) buffer.array(), from, to);
+                break;
+            case BOOL:
+                SortKernels.countingSort((boolean[]) buffer.array(), from, to);
+                break;
+            default:
+                Arrays.sort((Object[]) buffer.array(), from, to, SortKernels.OBJECT_ORDER);
+        }
+    }
+
+    /**
+     * Sorts one long contiguous run of a heap buffer with the JDK's parallel sorts; INT8 and BOOL
+     * runs keep their linear counting sorts.
+     *
+     * @param buffer The buffer.
+     * @param from   The first index of the run.
+     * @param to     The index after the run.
+     */
+    private static void parallelSort(DataBuffer buffer, int from, int to) {
+        switch (buffer.dType()) {
+            case INT16:
+                Arrays.parallelSort((short[]) buffer.array(), from, to);
+                break;
+            case INT32:
+                Arrays.parallelSort((int[]) buffer.array(), from, to);
+                break;
+            case INT64:
+                Arrays.parallelSort((long[]) buffer.array(), from, to);
+                break;
+            case FLOAT32:
+                Arrays.parallelSort((float[]) buffer.array(), from, to);
+                break;
+            case FLOAT64:
+                Arrays.parallelSort((double[]) buffer.array(), from, to);
+                break;
+            case OBJECT:
+                Arrays.parallelSort((Object[]) buffer.array(), from, to, SortKernels.OBJECT_ORDER);
+                break;
+            default:
+                sortRun(buffer, from, to);
+        }
+    }
+
+    /**
+     * Checks whether the work is a single line long enough to sort in parallel on its own.
+     *
+     * @param lines  The number of lines.
+     * @param length The length of each line.
+     * @return {@code true} if the line should be split across threads.
+     */
+    private boolean isParallelLine(long lines, int length) {
+        return lines == 1 && length >= ParallelExecutor.PARALLEL_THRESHOLD && executor.parallelism() > 1;
+    }
+
+    /**
+     * Writes the positions of a sorted line into the result.
+     */
+    private static void store(int[] index, long[] result, int from) {
+        for (int i = 0; i < index.length; i++) result[from + i] = index[i];
+    }
+
+    /**
+     * Returns the permutation that moves an axis behind all others, keeping their order.
+     *
+     * @param ndim The number of dimensions.
+     * @param axis The axis to move.
+     * @return The permutation, in the form taken by {@link NDArray#transpose(int...)}.
+     */
+    private static int[] moveToEnd(int ndim, int axis) {
+        boolean[] moved = new boolean[ndim];
+        moved[axis] = true;
+        return moveToEnd(moved);
+    }
+
+    /**
+     * Returns the permutation that moves the chosen axes behind all others, keeping the order
+     * within both groups.
+     *
+     * @param moved Which axes to move.
+     * @return The permutation, in the form taken by {@link NDArray#transpose(int...)}.
+     */
+    private static int[] moveToEnd(boolean[] moved) {
+        int[] axes = new int[moved.length];
+        int i = 0;
+        for (int d = 0; d < moved.length; d++) {
+            if (!moved[d]) axes[i++] = d;
+        }
+        for (int d = 0; d < moved.length; d++) {
+            if (moved[d]) axes[i++] = d;
+        }
+        return axes;
+    }
+
+    /**
+     * Moves the sorted axis back to its place, copying the result into C order when it was not last.
+     *
+     * @param sorted The contiguous array with the sorted axis last.
+     * @param axes   The permutation that moved the axis last.
+     * @return The array in the original axis order.
+     */
+    private static NDArray<?> restore(NDArray<?> sorted, int[] axes) {
+        int[] inverse = new int[axes.length];
+        boolean identity = true;
+        for (int d = 0; d < axes.length; d++) {
+            inverse[axes[d]] = d;
+            identity &= axes[d] == d;
+        }
+        return identity ? sorted : sorted.transpose(inverse).copy();
+    }
+}
@@ -0,0 +1,161 @@
+package com.library.numj.operations;
+
+import com.library.numj.enums.OperationType;
+
+/**
+ * Entry points for SIMD versions of the hottest loops in {@link ArithmaticKernels} and
+ * {@link ReductionOperations}.
+ * <p>
+ * This is the portable implementation used on Java 8 and whenever the vector module is missing: the
+ * element-wise methods report every call as not handled, so callers run their scalar loops, and the
+ * reductions are plain loops. The multi-release jar replaces this class on Java 17 and later with one
+ * based on the {@code jdk.incubator.vector} module, which takes over when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}. Both versions must offer the same methods to their callers.
+ */
+final class VectorKernels {
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Applies a binary operation to {@code byte} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, byte[] a, int aOffset, int aStride,
+                          byte[] b, int bOffset, int bStride, byte[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a binary operation to {@code short} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, short[] a, int aOffset, int aStride,
+                          short[] b, int bOffset, int bStride, short[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a binary operation to {@code int} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, int[] a, int aOffset, int aStride,
+                          int[] b, int bOffset, int bStride, int[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a binary operation to {@code long} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, long[] a, int aOffset, int aStride,
+                          long[] b, int bOffset, int bStride, long[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a binary operation to {@code float} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, float[] a, int aOffset, int aStride,
+                          float[] b, int bOffset, int bStride, float[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a binary operation to {@code double} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, double[] a, int aOffset, int aStride,
+                          double[] b, int bOffset, int bStride, double[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code byte} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(byte[] a, int aOffset, int aStride, byte[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code short} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(short[] a, int aOffset, int aStride, short[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code int} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(int[] a, int aOffset, int aStride, int[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code long} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(long[] a, int aOffset, int aStride, long[] out, int outOffset, int length) {
+        return false;
+    }
+
+    /**
+     * Folds values into a running minimum or maximum; NaN propagates as in {@link Math#min(double, double)}.
+     *
+     * @param values  The values.
+     * @param length  The number of values to fold.
+     * @param current The minimum or maximum so far.
+     * @param minimum {@code true} for the minimum, {@code false} for the maximum.
+     * @return The new minimum or maximum.
+     */
+    static double extremum(double[] values, int length, double current, boolean minimum) {
+        if (minimum) {
+            for (int i = 0; i < length; i++) current = Math.min(current, values[i]);
+        } else {
+            for (int i = 0; i < length; i++) current = Math.max(current, values[i]);
+        }
+        return current;
+    }
+
+    /**
+     * Folds values into a running minimum or maximum.
+     *
+     * @param values  The values.
+     * @param length  The number of values to fold.
+     * @param current The minimum or maximum so far.
+     * @param minimum {@code true} for the minimum, {@code false} for the maximum.
+     * @return The new minimum or maximum.
+     */
+    static long extremum(long[] values, int length, long current, boolean minimum) {
+        if (minimum) {
+            for (int i = 0; i < length; i++) current = Math.min(current, values[i]);
+        } else {
+            for (int i = 0; i < length; i++) current = Math.max(current, values[i]);
+        }
+        return current;
+    }
+}
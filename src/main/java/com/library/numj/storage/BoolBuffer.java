@@ -0,0 +1,111 @@
+package com.library.numj.storage;
+
+import com.library.numj.enums.DType;
+
+import java.util.Arrays;
+
+/**
+ * {@link DataBuffer} storing {@link DType#BOOL} elements in a {@code boolean[]}, one byte per element.
+ * Numeric reads return 1 for {@code true} and 0 for {@code false}; numeric writes store whether
+ * the value is non-zero.
+ */
+public final class BoolBuffer extends DataBuffer {
+    /** The backing primitive array. */
+    private final boolean[] data;
+
+    /**
+     * Wraps the given array without copying it.
+     *
+     * @param data The backing array.
+     */
+    public BoolBuffer(boolean[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public DType dType() {
+        return DType.BOOL;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public boolean[] array() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        return data[(int) index] ? 1 : 0;
+    }
+
+    @Override
+    public long getLong(long index) {
+        return data[(int) index] ? 1 : 0;
+    }
+
+    @Override
+    public Boolean get(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        data[(int) index] = value != 0;
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        data[(int) index] = value != 0;
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        data[(int) index] = value instanceof Boolean ? (Boolean) value : ((Number) value).doubleValue() != 0;
+    }
+
+    @Override
+    public void getDoubles(long index, long stride, double[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position] ? 1 : 0;
+        }
+    }
+
+    @Override
+    public void getLongs(long index, long stride, long[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position] ? 1 : 0;
+        }
+    }
+
+    @Override
+    public void setDoubles(long index, long stride, double[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = source[i] != 0;
+        }
+    }
+
+    @Override
+    public void setLongs(long index, long stride, long[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = source[i] != 0;
+        }
+    }
+
+    @Override
+    public void fill(long from, long to, Number value) {
+        Arrays.fill(data, (int) from, (int) to, value.doubleValue() != 0);
+    }
+
+    @Override
+    public BoolBuffer copy() {
+        return new BoolBuffer(data.clone());
+    }
+}
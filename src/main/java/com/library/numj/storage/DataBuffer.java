@@ -0,0 +1,314 @@
+package com.library.numj.storage;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.Storage;
+import com.library.numj.exceptions.UnsupportedDataTypeException;
+
+/**
+ * Flat, contiguous storage backing an {@link com.library.numj.NDArray}.
+ * Every numeric {@link DType} is kept in a single primitive Java array so that elements are
+ * never boxed; the owning NDArray supplies the shape and strides used to address them.
+ * <p>
+ * Elements are addressed with {@code long} indices. Heap buffers hold at most
+ * {@link #MAX_HEAP_LENGTH} elements, the limit of a Java array, so their indices always fit in an
+ * {@code int}; longer numeric buffers are allocated in native memory segments instead.
+ */
+public abstract class DataBuffer implements AutoCloseable {
+    /** The largest number of elements a buffer backed by a Java array can hold. */
+    public static final int MAX_HEAP_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Allocates a zero-initialised buffer able to hold {@code length} elements of the given type.
+     * Buffers of up to {@link #MAX_HEAP_LENGTH} elements are backed by a primitive array of the
+     * matching type; longer numeric buffers live in native memory, split into segments.
+     *
+     * @param dType  The data type of the elements.
+     * @param length The number of elements.
+     * @return A new buffer.
+     * @throws UnsupportedDataTypeException If the data type has no storage implementation.
+     * @throws IllegalArgumentException     If an OBJECT or BOOL buffer would exceed {@link #MAX_HEAP_LENGTH}.
+     */
+    public static DataBuffer allocate(DType dType, long length) {
+        if (length > MAX_HEAP_LENGTH) {
+            if (dType == DType.OBJECT || dType == DType.BOOL) {
+                throw new IllegalArgumentException(ExceptionMessages.bufferTooLargeException(dType, length, MAX_HEAP_LENGTH));
+            }
+            return DirectBuffer.allocate(dType, length);
+        }
+        int size = (int) length;
+        switch (dType) {
+            case INT8: return new Int8Buffer(new byte[size]);
+            case INT16: return new Int16Buffer(new short[size]);
+            case INT32: return new Int32Buffer(new int[size]);
+            case INT64: return new Int64Buffer(new long[size]);
+            case FLOAT32: return new Float32Buffer(new float[size]);
+            case FLOAT64: return new Float64Buffer(new double[size]);
+            case OBJECT: return new ObjectBuffer(new Object[size]);
+            case BOOL: return new BoolBuffer(new boolean[size]);
+            default: throw new UnsupportedDataTypeException("Unsupported data type: " + dType);
+        }
+    }
+
+    /**
+     * Allocates a zero-initialised buffer in the requested kind of memory.
+     *
+     * @param dType   The data type of the elements.
+     * @param length  The number of elements.
+     * @param storage Whether the elements live on the Java heap or in native memory.
+     * @return A new buffer.
+     * @throws UnsupportedDataTypeException If the data type cannot be stored in the requested memory.
+     * @throws IllegalArgumentException     If an OBJECT or BOOL buffer would exceed {@link #MAX_HEAP_LENGTH}.
+     */
+    public static DataBuffer allocate(DType dType, long length, Storage storage) {
+        return storage == Storage.OFF_HEAP ? DirectBuffer.allocate(dType, length) : allocate(dType, length);
+    }
+
+    /**
+     * Wraps a one-dimensional primitive array without copying it.
+     * Writes through the returned buffer are visible in the array and vice versa.
+     *
+     * @param array A {@code byte[]}, {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]}, {@code double[]} or {@code boolean[]}.
+     * @return A buffer backed by the given array.
+     * @throws UnsupportedDataTypeException If the argument is not a supported primitive array.
+     */
+    public static DataBuffer wrap(Object array) {
+        if (array instanceof byte[]) return new Int8Buffer((byte[]) array);
+        if (array instanceof short[]) return new Int16Buffer((short[]) array);
+        if (array instanceof int[]) return new Int32Buffer((int[]) array);
+        if (array instanceof long[]) return new Int64Buffer((long[]) array);
+        if (array instanceof float[]) return new Float32Buffer((float[]) array);
+        if (array instanceof double[]) return new Float64Buffer((double[]) array);
+        if (array instanceof boolean[]) return new BoolBuffer((boolean[]) array);
+        throw new UnsupportedDataTypeException("Unsupported data type: "
+                + (array == null ? null : array.getClass().getSimpleName()));
+    }
+
+    /**
+     * Returns the data type of the elements held by this buffer.
+     *
+     * @return The element data type.
+     */
+    public abstract DType dType();
+
+    /**
+     * Returns the number of elements held by this buffer.
+     *
+     * @return The buffer length.
+     */
+    public abstract long length();
+
+    /**
+     * Returns the backing Java array ({@code int[]}, {@code double[]}, ...).
+     *
+     * @return The backing array.
+     * @throws UnsupportedOperationException If the buffer is not backed by a heap array; see {@link #hasArray()}.
+     */
+    public abstract Object array();
+
+    /**
+     * Tells whether the elements live in a heap array returned by {@link #array()}.
+     * Buffers without one, such as memory-mapped files, are read and written element-wise or staged
+     * through heap buffers by the operations.
+     *
+     * @return {@code true} if {@link #array()} can be used.
+     */
+    public boolean hasArray() {
+        return true;
+    }
+
+    /**
+     * Tells where the elements of this buffer live.
+     *
+     * @return {@link Storage#HEAP} for heap arrays, {@link Storage#OFF_HEAP} otherwise.
+     */
+    public Storage storage() {
+        return hasArray() ? Storage.HEAP : Storage.OFF_HEAP;
+    }
+
+    /**
+     * Releases memory held outside the Java heap. Heap buffers are left to the garbage collector,
+     * so this does nothing for them.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Reads the element at the given index widened to a {@code double}.
+     *
+     * @param index The element index.
+     * @return The element value.
+     */
+    public abstract double getDouble(long index);
+
+    /**
+     * Reads the element at the given index widened to a {@code long}.
+     *
+     * @param index The element index.
+     * @return The element value.
+     */
+    public abstract long getLong(long index);
+
+    /**
+     * Reads the element at the given index as a boxed value.
+     *
+     * @param index The element index.
+     * @return The boxed element value.
+     */
+    public abstract Object get(long index);
+
+    /**
+     * Writes a {@code double} value, narrowing it to the buffer's data type.
+     *
+     * @param index The element index.
+     * @param value The value to store.
+     */
+    public abstract void setDouble(long index, double value);
+
+    /**
+     * Writes a {@code long} value, narrowing it to the buffer's data type.
+     *
+     * @param index The element index.
+     * @param value The value to store.
+     */
+    public abstract void setLong(long index, long value);
+
+    /**
+     * Writes a boxed value, unboxing and narrowing it to the buffer's data type.
+     *
+     * @param index The element index.
+     * @param value The value to store.
+     */
+    public abstract void set(long index, Object value);
+
+    /**
+     * Creates an independent copy of this buffer.
+     *
+     * @return A new buffer holding the same elements.
+     */
+    public abstract DataBuffer copy();
+
+    /**
+     * Converts this buffer to another data type.
+     *
+     * @param dType The requested data type.
+     * @return This buffer if it already has the requested type, otherwise a converted copy.
+     */
+    public DataBuffer convertTo(DType dType) {
+        if (dType == dType()) {
+            return this;
+        }
+        DataBuffer converted = allocate(dType, length());
+        for (long i = 0; i < length(); i++) {
+            converted.copyElement(i, this, i);
+        }
+        return converted;
+    }
+
+    /**
+     * Reads a strided run of elements widened to {@code double} into {@code target}.
+     *
+     * @param index  The index of the first element.
+     * @param stride The distance between consecutive elements.
+     * @param target The array receiving the values, starting at position 0.
+     * @param length The number of elements to read.
+     */
+    public void getDoubles(long index, long stride, double[] target, int length) {
+        for (int i = 0; i < length; i++) {
+            target[i] = getDouble(index + i * stride);
+        }
+    }
+
+    /**
+     * Reads a strided run of elements converted to {@code long} into {@code target}.
+     *
+     * @param index  The index of the first element.
+     * @param stride The distance between consecutive elements.
+     * @param target The array receiving the values, starting at position 0.
+     * @param length The number of elements to read.
+     */
+    public void getLongs(long index, long stride, long[] target, int length) {
+        for (int i = 0; i < length; i++) {
+            target[i] = getLong(index + i * stride);
+        }
+    }
+
+    /**
+     * Writes {@code double} values into a strided run of elements, converting them to this buffer's type.
+     *
+     * @param index  The index of the first element.
+     * @param stride The distance between consecutive elements.
+     * @param source The values to write, starting at position 0.
+     * @param length The number of elements to write.
+     */
+    public void setDoubles(long index, long stride, double[] source, int length) {
+        for (int i = 0; i < length; i++) {
+            setDouble(index + i * stride, source[i]);
+        }
+    }
+
+    /**
+     * Writes {@code long} values into a strided run of elements, converting them to this buffer's type.
+     *
+     * @param index  The index of the first element.
+     * @param stride The distance between consecutive elements.
+     * @param source The values to write, starting at position 0.
+     * @param length The number of elements to write.
+     */
+    public void setLongs(long index, long stride, long[] source, int length) {
+        for (int i = 0; i < length; i++) {
+            setLong(index + i * stride, source[i]);
+        }
+    }
+
+    /**
+     * Sets a range of elements to the same value, converted once to this buffer's type.
+     * Buffers backed by a primitive array fill it with {@link java.util.Arrays#fill}.
+     *
+     * @param from  The index of the first element to set.
+     * @param to    The index after the last element to set.
+     * @param value The value.
+     */
+    public void fill(long from, long to, Number value) {
+        for (long i = from; i < to; i++) {
+            set(i, value);
+        }
+    }
+
+    /**
+     * Copies a run of elements from another buffer into this one, converting them to this buffer's type.
+     *
+     * @param index        The destination index of the first element in this buffer.
+     * @param source       The buffer to read from.
+     * @param sourceIndex  The index of the first element in the source buffer.
+     * @param sourceStride The distance between consecutive source elements.
+     * @param length       The number of elements to copy.
+     */
+    public void copyFrom(long index, DataBuffer source, long sourceIndex, long sourceStride, long length) {
+        if (sourceStride == 1 && source.dType() == dType() && source.hasArray() && hasArray()) {
+            System.arraycopy(source.array(), (int) sourceIndex, array(), (int) index, (int) length);
+            return;
+        }
+        for (long i = 0; i < length; i++) {
+            copyElement(index + i, source, sourceIndex + i * sourceStride);
+        }
+    }
+
+    /**
+     * Copies a single element from another buffer into this one, converting it to this buffer's type.
+     *
+     * @param index       The destination index in this buffer.
+     * @param source      The buffer to read from.
+     * @param sourceIndex The index to read in the source buffer.
+     */
+    public void copyElement(long index, DataBuffer source, long sourceIndex) {
+        if (dType() == DType.OBJECT || source.dType() == DType.OBJECT) {
+            set(index, source.get(sourceIndex));
+        } else if (dType().isFloatingPoint() || source.dType().isFloatingPoint()) {
+            setDouble(index, source.getDouble(sourceIndex));
+        } else {
+            setLong(index, source.getLong(sourceIndex));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.library.numj.storage;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.enums.DType;
+import com.library.numj.exceptions.UnsupportedDataTypeException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link DataBuffer} whose elements live in native memory outside the Java heap.
+ * <p>
+ * The memory is allocated as direct {@link ByteBuffer}s in native byte order, so it is neither
+ * scanned nor moved by the garbage collector. It is released by {@link #close()}, or when the
+ * buffer becomes unreachable if it is never closed.
+ */
+public final class DirectBuffer extends SegmentedBuffer {
+
+    private DirectBuffer(DType dType, ByteBuffer[] segments, long length) {
+        super(dType, segments, length);
+    }
+
+    /**
+     * Allocates zero-initialised native memory for {@code length} elements.
+     *
+     * @param dType  The numeric data type of the elements.
+     * @param length The number of elements.
+     * @return A new off-heap buffer.
+     * @throws UnsupportedDataTypeException If the data type is {@link DType#OBJECT} or {@link DType#BOOL}.
+     */
+    public static DirectBuffer allocate(DType dType, long length) {
+        if (dType == DType.OBJECT || dType == DType.BOOL) {
+            throw new UnsupportedDataTypeException(ExceptionMessages.illegalDataType(dType));
+        }
+        long bytes = length * dType.itemSize();
+        long segmentBytes = 1L << SEGMENT_BYTES_SHIFT;
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < segments.length; i++) {
+            int size = (int) Math.min(segmentBytes, bytes - i * segmentBytes);
+            segments[i] = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        }
+        return new DirectBuffer(dType, segments, length);
+    }
+
+    /**
+     * Copies the elements into new native memory.
+     *
+     * @return An off-heap buffer of the same type and length.
+     */
+    @Override
+    public DataBuffer copy() {
+        DataBuffer copy = allocate(dType(), length());
+        copy.copyFrom(0, this, 0, 1, length());
+        return copy;
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.numj.storage;
+
+import com.library.numj.enums.DType;
+
+import java.util.Arrays;
+
+/**
+ * {@link DataBuffer} storing {@link DType#FLOAT32} elements in a {@code float[]}.
+ */
+public final class Float32Buffer extends DataBuffer {
+    /** The backing primitive array. */
+    private final float[] data;
+
+    /**
+     * Wraps the given array without copying it.
+     *
+     * @param data The backing array.
+     */
+    public Float32Buffer(float[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public DType dType() {
+        return DType.FLOAT32;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public float[] array() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public long getLong(long index) {
+        return (long) data[(int) index];
+    }
+
+    @Override
+    public Float get(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        data[(int) index] = (float) value;
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        data[(int) index] = value;
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        data[(int) index] = ((Number) value).floatValue();
+    }
+
+    @Override
+    public void getDoubles(long index, long stride, double[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position];
+        }
+    }
+
+    @Override
+    public void getLongs(long index, long stride, long[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = (long) data[position];
+        }
+    }
+
+    @Override
+    public void setDoubles(long index, long stride, double[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = (float) source[i];
+        }
+    }
+
+    @Override
+    public void setLongs(long index, long stride, long[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = source[i];
+        }
+    }
+
+    @Override
+    public void fill(long from, long to, Number value) {
+        Arrays.fill(data, (int) from, (int) to, value.floatValue());
+    }
+
+    @Override
+    public Float32Buffer copy() {
+        return new Float32Buffer(data.clone());
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.numj.storage;
+
+import com.library.numj.enums.DType;
+
+import java.util.Arrays;
+
+/**
+ * {@link DataBuffer} storing {@link DType#FLOAT64} elements in a {@code double[]}.
+ */
+public final class Float64Buffer extends DataBuffer {
+    /** The backing primitive array. */
+    private final double[] data;
+
+    /**
+     * Wraps the given array without copying it.
+     *
+     * @param data The backing array.
+     */
+    public Float64Buffer(double[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public DType dType() {
+        return DType.FLOAT64;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public double[] array() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public long getLong(long index) {
+        return (long) data[(int) index];
+    }
+
+    @Override
+    public Double get(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        data[(int) index] = value;
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        data[(int) index] = value;
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        data[(int) index] = ((Number) value).doubleValue();
+    }
+
+    @Override
+    public void getDoubles(long index, long stride, double[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position];
+        }
+    }
+
+    @Override
+    public void getLongs(long index, long stride, long[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = (long) data[position];
+        }
+    }
+
+    @Override
+    public void setDoubles(long index, long stride, double[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = source[i];
+        }
+    }
+
+    @Override
+    public void setLongs(long index, long stride, long[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = source[i];
+        }
+    }
+
+    @Override
+    public void fill(long from, long to, Number value) {
+        Arrays.fill(data, (int) from, (int) to, value.doubleValue());
+    }
+
+    @Override
+    public Float64Buffer copy() {
+        return new Float64Buffer(data.clone());
+    }
+}
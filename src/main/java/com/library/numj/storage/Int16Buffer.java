@@ -0,0 +1,109 @@
+package com.library.numj.storage;
+
+import com.library.numj.enums.DType;
+
+import java.util.Arrays;
+
+/**
+ * {@link DataBuffer} storing {@link DType#INT16} elements in a {@code short[]}.
+ */
+public final class Int16Buffer extends DataBuffer {
+    /** The backing primitive array. */
+    private final short[] data;
+
+    /**
+     * Wraps the given array without copying it.
+     *
+     * @param data The backing array.
+     */
+    public Int16Buffer(short[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public DType dType() {
+        return DType.INT16;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public short[] array() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public long getLong(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public Short get(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        data[(int) index] = (short) value;
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        data[(int) index] = (short) value;
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        data[(int) index] = ((Number) value).shortValue();
+    }
+
+    @Override
+    public void getDoubles(long index, long stride, double[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position];
+        }
+    }
+
+    @Override
+    public void getLongs(long index, long stride, long[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position];
+        }
+    }
+
+    @Override
+    public void setDoubles(long index, long stride, double[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = (short) source[i];
+        }
+    }
+
+    @Override
+    public void setLongs(long index, long stride, long[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = (short) source[i];
+        }
+    }
+
+    @Override
+    public void fill(long from, long to, Number value) {
+        Arrays.fill(data, (int) from, (int) to, value.shortValue());
+    }
+
+    @Override
+    public Int16Buffer copy() {
+        return new Int16Buffer(data.clone());
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.numj.storage;
+
+import com.library.numj.enums.DType;
+
+import java.util.Arrays;
+
+/**
+ * {@link DataBuffer} storing {@link DType#INT32} elements in a {@code int[]}.
+ */
+public final class Int32Buffer extends DataBuffer {
+    /** The backing primitive array. */
+    private final int[] data;
+
+    /**
+     * Wraps the given array without copying it.
+     *
+     * @param data The backing array.
+     */
+    public Int32Buffer(int[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public DType dType() {
+        return DType.INT32;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public int[] array() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public long getLong(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public Integer get(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        data[(int) index] = (int) value;
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        data[(int) index] = (int) value;
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        data[(int) index] = ((Number) value).intValue();
+    }
+
+    @Override
+    public void getDoubles(long index, long stride, double[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position];
+        }
+    }
+
+    @Override
+    public void getLongs(long index, long stride, long[] target, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            target[i] = data[position];
+        }
+    }
+
+    @Override
+    public void setDoubles(long index, long stride, double[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = (int) source[i];
+        }
+    }
+
+    @Override
+    public void setLongs(long index, long stride, long[] source, int length) {
+        int position = (int) index;
+        for (int i = 0; i < length; i++, position += (int) stride) {
+            data[position] = (int) source[i];
+        }
+    }
+
+    @Override
+    public void fill(long from, long to, Number value) {
+        Arrays.fill(data, (int) from, (int) to, value.intValue());
+    }
+
+    @Override
+    public Int32Buffer copy() {
+        return new Int32Buffer(data.clone());
+    }
+}
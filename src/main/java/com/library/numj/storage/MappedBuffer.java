@@ -0,0 +1,117 @@
+package com.library.numj.storage;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.enums.DType;
+import com.library.numj.enums.MemmapMode;
+import com.library.numj.exceptions.UnsupportedDataTypeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link DataBuffer} whose elements live in a memory-mapped file rather than on the heap.
+ * <p>
+ * The mapped region is split into segments of at most 1 GiB, each a separate {@link MappedByteBuffer},
+ * so files larger than the 2 GiB limit of a single mapping can be addressed, and elements are indexed
+ * with {@code long}s, so a mapping may hold more than 2^31 elements. Elements are stored
+ * little-endian, as in NumPy's {@code .npy} files. The operating system pages the file in on first
+ * access and evicts it under memory pressure, so only the pages that are actually touched occupy
+ * memory. The file is unmapped when the buffer is garbage collected or closed.
+ */
+public final class MappedBuffer extends SegmentedBuffer {
+    private final boolean readOnly;
+
+    private MappedBuffer(DType dType, ByteBuffer[] segments, long length, boolean readOnly) {
+        super(dType, segments, length);
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Maps {@code length} elements of a file starting at byte {@code offset}.
+     * With {@link MemmapMode#CREATE} the file is created or truncated and then grown to fit the elements.
+     *
+     * @param file   The file to map.
+     * @param dType  The numeric data type of the elements.
+     * @param mode   The access mode.
+     * @param offset The byte position of the first element in the file.
+     * @param length The number of elements to map, or -1 to map everything after {@code offset}.
+     * @return A buffer over the mapped region.
+     * @throws IOException                  If the file cannot be opened or mapped.
+     * @throws UnsupportedDataTypeException If the data type is {@link DType#OBJECT} or {@link DType#BOOL}.
+     * @throws IllegalArgumentException     If the region does not fit in the file.
+     */
+    public static MappedBuffer map(Path file, DType dType, MemmapMode mode, long offset, long length) throws IOException {
+        if (dType == DType.OBJECT || dType == DType.BOOL) {
+            throw new UnsupportedDataTypeException(ExceptionMessages.illegalDataType(dType));
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException(ExceptionMessages.mappedRegionException(file.toString(), offset, length));
+        }
+        OpenOption[] options = mode == MemmapMode.READ_ONLY || mode == MemmapMode.COPY_ON_WRITE
+                ? new OpenOption[]{StandardOpenOption.READ}
+                : mode == MemmapMode.READ_WRITE
+                ? new OpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new OpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING};
+        FileChannel.MapMode channelMode = mode == MemmapMode.READ_ONLY ? FileChannel.MapMode.READ_ONLY
+                : mode == MemmapMode.COPY_ON_WRITE ? FileChannel.MapMode.PRIVATE
+                : FileChannel.MapMode.READ_WRITE;
+
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            int itemSize = dType.itemSize();
+            long elements = length >= 0 ? length : (channel.size() - offset) / itemSize;
+            if (elements < 0 || (mode != MemmapMode.CREATE && offset + elements * itemSize > channel.size())) {
+                throw new IllegalArgumentException(ExceptionMessages.mappedRegionException(file.toString(), offset, elements * itemSize));
+            }
+            long bytes = elements * itemSize;
+            long segmentBytes = 1L << SEGMENT_BYTES_SHIFT;
+            ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * segmentBytes;
+                segments[i] = channel.map(channelMode, offset + start, Math.min(segmentBytes, bytes - start))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedBuffer(dType, segments, elements, mode == MemmapMode.READ_ONLY);
+        }
+    }
+
+    /**
+     * Writes changes made through a {@link MemmapMode#READ_WRITE} or {@link MemmapMode#CREATE} mapping
+     * to the storage device. Does nothing for other modes.
+     */
+    public void flush() {
+        for (ByteBuffer segment : segments()) {
+            if (segment instanceof MappedByteBuffer && !readOnly) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    /**
+     * Tells whether writes are rejected.
+     *
+     * @return {@code true} for {@link MemmapMode#READ_ONLY} mappings.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Copies the mapped elements into a new buffer, on the heap unless there are more elements than
+     * a Java array can hold.
+     *
+     * @return A buffer of the same type and length, as allocated by {@link DataBuffer#allocate(DType, long)}.
+     */
+    @Override
+    public DataBuffer copy() {
+        DataBuffer copy = allocate(dType(), length());
+        copy.copyFrom(0, this, 0, 1, length());
+        return copy;
+    }
+}
@@ -0,0 +1,80 @@
+package com.library.numj.storage;
+
+import com.library.numj.enums.DType;
+
+import static com.library.numj.ExceptionMessages.unsupportedOperation;
+
+/**
+ * {@link DataBuffer} storing {@link DType#OBJECT} elements (strings, mixed or missing values)
+ * in an {@code Object[]}.
+ */
+public final class ObjectBuffer extends DataBuffer {
+    /** The backing array. */
+    private final Object[] data;
+
+    /**
+     * Wraps the given array without copying it.
+     *
+     * @param data The backing array.
+     */
+    public ObjectBuffer(Object[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public DType dType() {
+        return DType.OBJECT;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public Object[] array() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        return toNumber(data[(int) index]).doubleValue();
+    }
+
+    @Override
+    public long getLong(long index) {
+        return toNumber(data[(int) index]).longValue();
+    }
+
+    @Override
+    public Object get(long index) {
+        return data[(int) index];
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        data[(int) index] = value;
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        data[(int) index] = value;
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        data[(int) index] = value;
+    }
+
+    @Override
+    public ObjectBuffer copy() {
+        return new ObjectBuffer(data.clone());
+    }
+
+    private static Number toNumber(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        throw new UnsupportedOperationException(unsupportedOperation);
+    }
+}
@@ -0,0 +1,252 @@
+package com.library.numj.storage;
+
+import com.library.numj.ExceptionMessages;
+import com.library.numj.enums.DType;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link DataBuffer} whose elements live outside the Java heap in one or more {@link ByteBuffer}s.
+ * <p>
+ * The memory is split into segments of at most 1 GiB so that more than the 2 GiB addressable by a
+ * single buffer can be held, and elements are addressed with {@code long} indices, so a buffer is
+ * not limited to 2^31 elements either. Elements never straddle a segment, so an element is found
+ * with a shift and a mask. The memory is released when the buffer is garbage collected, or earlier by
+ * {@link #close()}; any access after closing throws {@link IllegalStateException}. Closing while
+ * other threads still use the buffer is not supported.
+ */
+public abstract class SegmentedBuffer extends DataBuffer {
+    /** log2 of the largest segment size in bytes. */
+    static final int SEGMENT_BYTES_SHIFT = 30;
+
+    private final DType dType;
+    private ByteBuffer[] segments;
+    private final long length;
+    /** log2 of the number of elements per segment. */
+    private final int segmentShift;
+    /** Mask selecting the element position inside a segment. */
+    private final long segmentMask;
+    /** log2 of the element size in bytes. */
+    private final int itemShift;
+
+    /**
+     * Creates a buffer over the given segments, whose byte order must already be set.
+     *
+     * @param dType    The numeric data type of the elements.
+     * @param segments The segments, all but the last holding exactly {@code 1 << SEGMENT_BYTES_SHIFT} bytes.
+     * @param length   The number of elements.
+     */
+    SegmentedBuffer(DType dType, ByteBuffer[] segments, long length) {
+        this.dType = dType;
+        this.segments = segments;
+        this.length = length;
+        this.itemShift = Integer.numberOfTrailingZeros(dType.itemSize());
+        this.segmentShift = SEGMENT_BYTES_SHIFT - itemShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+    }
+
+    /**
+     * Returns the number of segments needed for the given number of bytes.
+     *
+     * @param bytes The size in bytes.
+     * @return The segment count.
+     */
+    static int segmentCount(long bytes) {
+        long segmentBytes = 1L << SEGMENT_BYTES_SHIFT;
+        return (int) ((bytes + segmentBytes - 1) / segmentBytes);
+    }
+
+    /**
+     * Returns the segments, failing if the buffer has been closed.
+     *
+     * @return The segments.
+     */
+    final ByteBuffer[] segments() {
+        ByteBuffer[] current = segments;
+        if (current == null) {
+            throw new IllegalStateException(ExceptionMessages.closedBufferException());
+        }
+        return current;
+    }
+
+    /**
+     * Tells whether {@link #close()} has been called.
+     *
+     * @return {@code true} once the memory has been released.
+     */
+    public boolean isClosed() {
+        return segments == null;
+    }
+
+    /**
+     * Releases the memory immediately instead of waiting for garbage collection.
+     * Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        ByteBuffer[] released = segments;
+        segments = null;
+        if (released != null) {
+            for (ByteBuffer segment : released) {
+                Cleaner.release(segment);
+            }
+        }
+    }
+
+    @Override
+    public DType dType() {
+        return dType;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public Object array() {
+        throw new UnsupportedOperationException(ExceptionMessages.unsupportedOperation);
+    }
+
+    @Override
+    public boolean hasArray() {
+        return false;
+    }
+
+    /**
+     * Returns the segment holding an element.
+     */
+    private ByteBuffer segment(long index) {
+        return segments()[(int) (index >>> segmentShift)];
+    }
+
+    /**
+     * Returns the byte position of an element inside its segment.
+     */
+    private int position(long index) {
+        return (int) (index & segmentMask) << itemShift;
+    }
+
+    @Override
+    public double getDouble(long index) {
+        ByteBuffer segment = segment(index);
+        int position = position(index);
+        switch (dType) {
+            case INT8: return segment.get(position);
+            case INT16: return segment.getShort(position);
+            case INT32: return segment.getInt(position);
+            case INT64: return segment.getLong(position);
+            case FLOAT32: return segment.getFloat(position);
+            default: return segment.getDouble(position);
+        }
+    }
+
+    @Override
+    public long getLong(long index) {
+        ByteBuffer segment = segment(index);
+        int position = position(index);
+        switch (dType) {
+            case INT8: return segment.get(position);
+            case INT16: return segment.getShort(position);
+            case INT32: return segment.getInt(position);
+            case INT64: return segment.getLong(position);
+            case FLOAT32: return (long) segment.getFloat(position);
+            default: return (long) segment.getDouble(position);
+        }
+    }
+
+    @Override
+    public Number get(long index) {
+        ByteBuffer segment = segment(index);
+        int position = position(index);
+        switch (dType) {
+            case INT8: return segment.get(position);
+            case INT16: return segment.getShort(position);
+            case INT32: return segment.getInt(position);
+            case INT64: return segment.getLong(position);
+            case FLOAT32: return segment.getFloat(position);
+            default: return segment.getDouble(position);
+        }
+    }
+
+    @Override
+    public void setDouble(long index, double value) {
+        ByteBuffer segment = segment(index);
+        int position = position(index);
+        switch (dType) {
+            case INT8: segment.put(position, (byte) value); break;
+            case INT16: segment.putShort(position, (short) value); break;
+            case INT32: segment.putInt(position, (int) value); break;
+            case INT64: segment.putLong(position, (long) value); break;
+            case FLOAT32: segment.putFloat(position, (float) value); break;
+            default: segment.putDouble(position, value); break;
+        }
+    }
+
+    @Override
+    public void setLong(long index, long value) {
+        ByteBuffer segment = segment(index);
+        int position = position(index);
+        switch (dType) {
+            case INT8: segment.put(position, (byte) value); break;
+            case INT16: segment.putShort(position, (short) value); break;
+            case INT32: segment.putInt(position, (int) value); break;
+            case INT64: segment.putLong(position, value); break;
+            case FLOAT32: segment.putFloat(position, value); break;
+            default: segment.putDouble(position, value); break;
+        }
+    }
+
+    @Override
+    public void set(long index, Object value) {
+        if (dType.isFloatingPoint()) {
+            setDouble(index, ((Number) value).doubleValue());
+        } else {
+            setLong(index, ((Number) value).longValue());
+        }
+    }
+
+    /**
+     * Frees direct and mapped byte buffers without waiting for garbage collection.
+     * Uses {@code sun.misc.Unsafe.invokeCleaner} on Java 9 and later and the buffer's cleaner on
+     * Java 8; when neither is accessible the memory is left to the garbage collector.
+     */
+    private static final class Cleaner {
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+
+        static void release(ByteBuffer buffer) {
+            if (!buffer.isDirect()) return;
+            try {
+                if (INVOKE_CLEANER != null) {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                } else {
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Left to the garbage collector
+            }
+        }
+    }
+}
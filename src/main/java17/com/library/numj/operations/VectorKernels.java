@@ -0,0 +1,195 @@
+package com.library.numj.operations;
+
+import com.library.numj.enums.OperationType;
+
+/**
+ * Entry points for SIMD versions of the hottest loops in {@link ArithmaticKernels} and
+ * {@link ReductionOperations}.
+ * <p>
+ * This is the Java 17 version packaged in the multi-release jar. When the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, runs of at least {@value #MIN_LENGTH} elements are
+ * computed by {@link VectorLoops}; otherwise every call falls back to the scalar loops exactly as
+ * the portable version does. {@link VectorLoops} is only loaded once the module is known to be
+ * present. Both versions must offer the same methods to their callers.
+ */
+final class VectorKernels {
+    /** Whether the vector module is available, decided once at class initialization. */
+    private static final boolean ENABLED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    /**
+     * Runs shorter than this stay on the scalar loops, which start faster. It is at least the
+     * widest vector of bytes, so the scalar tails {@link VectorLoops} hands back to
+     * {@link ArithmaticKernels} never return here.
+     */
+    static final int MIN_LENGTH = 64;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Applies a binary operation to {@code byte} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, byte[] a, int aOffset, int aStride,
+                          byte[] b, int bOffset, int bStride, byte[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH
+                && VectorLoops.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a binary operation to {@code short} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, short[] a, int aOffset, int aStride,
+                          short[] b, int bOffset, int bStride, short[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH
+                && VectorLoops.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a binary operation to {@code int} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, int[] a, int aOffset, int aStride,
+                          int[] b, int bOffset, int bStride, int[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH
+                && VectorLoops.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a binary operation to {@code long} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, long[] a, int aOffset, int aStride,
+                          long[] b, int bOffset, int bStride, long[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH
+                && VectorLoops.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a binary operation to {@code float} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, float[] a, int aOffset, int aStride,
+                          float[] b, int bOffset, int bStride, float[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH
+                && VectorLoops.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a binary operation to {@code double} operands with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.binary}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean binary(OperationType operation, double[] a, int aOffset, int aStride,
+                          double[] b, int bOffset, int bStride, double[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH
+                && VectorLoops.binary(operation, a, aOffset, aStride, b, bOffset, bStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code byte} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(byte[] a, int aOffset, int aStride, byte[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH && VectorLoops.invert(a, aOffset, aStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code short} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(short[] a, int aOffset, int aStride, short[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH && VectorLoops.invert(a, aOffset, aStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code int} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(int[] a, int aOffset, int aStride, int[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH && VectorLoops.invert(a, aOffset, aStride, out, outOffset, length);
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to {@code long} values with SIMD instructions when possible.
+     * Parameters are those of the matching {@code ArithmaticKernels.invert}.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the caller must compute them.
+     */
+    static boolean invert(long[] a, int aOffset, int aStride, long[] out, int outOffset, int length) {
+        return ENABLED && length >= MIN_LENGTH && VectorLoops.invert(a, aOffset, aStride, out, outOffset, length);
+    }
+
+    /**
+     * Folds values into a running minimum or maximum. NaN propagates as in {@link Math#min(double, double)}.
+     *
+     * @param values  The values.
+     * @param length  The number of values to fold.
+     * @param current The minimum or maximum so far.
+     * @param minimum {@code true} for the minimum, {@code false} for the maximum.
+     * @return The new minimum or maximum.
+     */
+    static double extremum(double[] values, int length, double current, boolean minimum) {
+        if (ENABLED && length >= MIN_LENGTH) {
+            return VectorLoops.extremum(values, length, current, minimum);
+        }
+        return scalarExtremum(values, 0, length, current, minimum);
+    }
+
+    /**
+     * Folds values into a running minimum or maximum.
+     *
+     * @param values  The values.
+     * @param length  The number of values to fold.
+     * @param current The minimum or maximum so far.
+     * @param minimum {@code true} for the minimum, {@code false} for the maximum.
+     * @return The new minimum or maximum.
+     */
+    static long extremum(long[] values, int length, long current, boolean minimum) {
+        if (ENABLED && length >= MIN_LENGTH) {
+            return VectorLoops.extremum(values, length, current, minimum);
+        }
+        return scalarExtremum(values, 0, length, current, minimum);
+    }
+
+    /**
+     * Folds values into a running minimum or maximum without SIMD instructions.
+     */
+    static double scalarExtremum(double[] values, int from, int to, double current, boolean minimum) {
+        if (minimum) {
+            for (int i = from; i < to; i++) current = Math.min(current, values[i]);
+        } else {
+            for (int i = from; i < to; i++) current = Math.max(current, values[i]);
+        }
+        return current;
+    }
+
+    /**
+     * Folds values into a running minimum or maximum without SIMD instructions.
+     */
+    static long scalarExtremum(long[] values, int from, int to, long current, boolean minimum) {
+        if (minimum) {
+            for (int i = from; i < to; i++) current = Math.min(current, values[i]);
+        } else {
+            for (int i = from; i < to; i++) current = Math.max(current, values[i]);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,379 @@
+package com.library.numj.operations;
+
+import com.library.numj.enums.OperationType;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD loops built on the {@code jdk.incubator.vector} module, called through {@link VectorKernels}
+ * only when the module is present.
+ * <p>
+ * Every loop uses the platform's preferred vector width, so the same code runs 128-bit lanes on
+ * SSE and NEON and 256- or 512-bit lanes on AVX2 and AVX-512. Only the part of a run that fills
+ * whole vectors is computed here; the remainder is handed back to the scalar loops. Integer
+ * division and modulo, which have no SIMD instruction, and strided operands are left to the
+ * scalar loops as well. Results are identical to the scalar loops: integer lanes wrap like the
+ * casts there, and floating point lanes round the same way.
+ */
+final class VectorLoops {
+
+    private VectorLoops() {
+    }
+
+    /**
+     * Applies a binary operation to unit-stride or broadcast {@code byte} operands.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the operation or the
+     * strides have no SIMD loop.
+     */
+    static boolean binary(OperationType operation, byte[] a, int aOffset, int aStride,
+                          byte[] b, int bOffset, int bStride, byte[] out, int outOffset, int length) {
+        VectorOperators.Binary operator = operator(operation, true);
+        if (operator == null || !isUnitOrScalar(aStride, bStride)) {
+            return false;
+        }
+        VectorSpecies<Byte> species = ByteVector.SPECIES_PREFERRED;
+        int step = species.length();
+        int bound = species.loopBound(length);
+        if (aStride == 1 && bStride == 1) {
+            for (int i = 0; i < bound; i += step) {
+                ByteVector.fromArray(species, a, aOffset + i)
+                        .lanewise(operator, ByteVector.fromArray(species, b, bOffset + i))
+                        .intoArray(out, outOffset + i);
+            }
+        } else if (aStride == 1) {
+            byte scalar = b[bOffset];
+            for (int i = 0; i < bound; i += step) {
+                ByteVector.fromArray(species, a, aOffset + i).lanewise(operator, scalar).intoArray(out, outOffset + i);
+            }
+        } else {
+            ByteVector scalar = ByteVector.broadcast(species, a[aOffset]);
+            for (int i = 0; i < bound; i += step) {
+                scalar.lanewise(operator, ByteVector.fromArray(species, b, bOffset + i)).intoArray(out, outOffset + i);
+            }
+        }
+        ArithmaticKernels.binary(operation, a, aOffset + bound * aStride, aStride,
+                b, bOffset + bound * bStride, bStride, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a binary operation to unit-stride or broadcast {@code short} operands.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the operation or the
+     * strides have no SIMD loop.
+     */
+    static boolean binary(OperationType operation, short[] a, int aOffset, int aStride,
+                          short[] b, int bOffset, int bStride, short[] out, int outOffset, int length) {
+        VectorOperators.Binary operator = operator(operation, true);
+        if (operator == null || !isUnitOrScalar(aStride, bStride)) {
+            return false;
+        }
+        VectorSpecies<Short> species = ShortVector.SPECIES_PREFERRED;
+        int step = species.length();
+        int bound = species.loopBound(length);
+        if (aStride == 1 && bStride == 1) {
+            for (int i = 0; i < bound; i += step) {
+                ShortVector.fromArray(species, a, aOffset + i)
+                        .lanewise(operator, ShortVector.fromArray(species, b, bOffset + i))
+                        .intoArray(out, outOffset + i);
+            }
+        } else if (aStride == 1) {
+            short scalar = b[bOffset];
+            for (int i = 0; i < bound; i += step) {
+                ShortVector.fromArray(species, a, aOffset + i).lanewise(operator, scalar).intoArray(out, outOffset + i);
+            }
+        } else {
+            ShortVector scalar = ShortVector.broadcast(species, a[aOffset]);
+            for (int i = 0; i < bound; i += step) {
+                scalar.lanewise(operator, ShortVector.fromArray(species, b, bOffset + i)).intoArray(out, outOffset + i);
+            }
+        }
+        ArithmaticKernels.binary(operation, a, aOffset + bound * aStride, aStride,
+                b, bOffset + bound * bStride, bStride, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a binary operation to unit-stride or broadcast {@code int} operands.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the operation or the
+     * strides have no SIMD loop.
+     */
+    static boolean binary(OperationType operation, int[] a, int aOffset, int aStride,
+                          int[] b, int bOffset, int bStride, int[] out, int outOffset, int length) {
+        VectorOperators.Binary operator = operator(operation, true);
+        if (operator == null || !isUnitOrScalar(aStride, bStride)) {
+            return false;
+        }
+        VectorSpecies<Integer> species = IntVector.SPECIES_PREFERRED;
+        int step = species.length();
+        int bound = species.loopBound(length);
+        if (aStride == 1 && bStride == 1) {
+            for (int i = 0; i < bound; i += step) {
+                IntVector.fromArray(species, a, aOffset + i)
+                        .lanewise(operator, IntVector.fromArray(species, b, bOffset + i))
+                        .intoArray(out, outOffset + i);
+            }
+        } else if (aStride == 1) {
+            int scalar = b[bOffset];
+            for (int i = 0; i < bound; i += step) {
+                IntVector.fromArray(species, a, aOffset + i).lanewise(operator, scalar).intoArray(out, outOffset + i);
+            }
+        } else {
+            IntVector scalar = IntVector.broadcast(species, a[aOffset]);
+            for (int i = 0; i < bound; i += step) {
+                scalar.lanewise(operator, IntVector.fromArray(species, b, bOffset + i)).intoArray(out, outOffset + i);
+            }
+        }
+        ArithmaticKernels.binary(operation, a, aOffset + bound * aStride, aStride,
+                b, bOffset + bound * bStride, bStride, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a binary operation to unit-stride or broadcast {@code long} operands.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the operation or the
+     * strides have no SIMD loop.
+     */
+    static boolean binary(OperationType operation, long[] a, int aOffset, int aStride,
+                          long[] b, int bOffset, int bStride, long[] out, int outOffset, int length) {
+        VectorOperators.Binary operator = operator(operation, true);
+        if (operator == null || !isUnitOrScalar(aStride, bStride)) {
+            return false;
+        }
+        VectorSpecies<Long> species = LongVector.SPECIES_PREFERRED;
+        int step = species.length();
+        int bound = species.loopBound(length);
+        if (aStride == 1 && bStride == 1) {
+            for (int i = 0; i < bound; i += step) {
+                LongVector.fromArray(species, a, aOffset + i)
+                        .lanewise(operator, LongVector.fromArray(species, b, bOffset + i))
+                        .intoArray(out, outOffset + i);
+            }
+        } else if (aStride == 1) {
+            long scalar = b[bOffset];
+            for (int i = 0; i < bound; i += step) {
+                LongVector.fromArray(species, a, aOffset + i).lanewise(operator, scalar).intoArray(out, outOffset + i);
+            }
+        } else {
+            LongVector scalar = LongVector.broadcast(species, a[aOffset]);
+            for (int i = 0; i < bound; i += step) {
+                scalar.lanewise(operator, LongVector.fromArray(species, b, bOffset + i)).intoArray(out, outOffset + i);
+            }
+        }
+        ArithmaticKernels.binary(operation, a, aOffset + bound * aStride, aStride,
+                b, bOffset + bound * bStride, bStride, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a binary operation to unit-stride or broadcast {@code float} operands.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the operation or the
+     * strides have no SIMD loop.
+     */
+    static boolean binary(OperationType operation, float[] a, int aOffset, int aStride,
+                          float[] b, int bOffset, int bStride, float[] out, int outOffset, int length) {
+        VectorOperators.Binary operator = operator(operation, false);
+        if (operator == null || !isUnitOrScalar(aStride, bStride)) {
+            return false;
+        }
+        VectorSpecies<Float> species = FloatVector.SPECIES_PREFERRED;
+        int step = species.length();
+        int bound = species.loopBound(length);
+        if (aStride == 1 && bStride == 1) {
+            for (int i = 0; i < bound; i += step) {
+                FloatVector.fromArray(species, a, aOffset + i)
+                        .lanewise(operator, FloatVector.fromArray(species, b, bOffset + i))
+                        .intoArray(out, outOffset + i);
+            }
+        } else if (aStride == 1) {
+            float scalar = b[bOffset];
+            for (int i = 0; i < bound; i += step) {
+                FloatVector.fromArray(species, a, aOffset + i).lanewise(operator, scalar).intoArray(out, outOffset + i);
+            }
+        } else {
+            FloatVector scalar = FloatVector.broadcast(species, a[aOffset]);
+            for (int i = 0; i < bound; i += step) {
+                scalar.lanewise(operator, FloatVector.fromArray(species, b, bOffset + i)).intoArray(out, outOffset + i);
+            }
+        }
+        ArithmaticKernels.binary(operation, a, aOffset + bound * aStride, aStride,
+                b, bOffset + bound * bStride, bStride, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a binary operation to unit-stride or broadcast {@code double} operands.
+     *
+     * @return {@code true} if the results were computed, {@code false} if the operation or the
+     * strides have no SIMD loop.
+     */
+    static boolean binary(OperationType operation, double[] a, int aOffset, int aStride,
+                          double[] b, int bOffset, int bStride, double[] out, int outOffset, int length) {
+        VectorOperators.Binary operator = operator(operation, false);
+        if (operator == null || !isUnitOrScalar(aStride, bStride)) {
+            return false;
+        }
+        VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED;
+        int step = species.length();
+        int bound = species.loopBound(length);
+        if (aStride == 1 && bStride == 1) {
+            for (int i = 0; i < bound; i += step) {
+                DoubleVector.fromArray(species, a, aOffset + i)
+                        .lanewise(operator, DoubleVector.fromArray(species, b, bOffset + i))
+                        .intoArray(out, outOffset + i);
+            }
+        } else if (aStride == 1) {
+            double scalar = b[bOffset];
+            for (int i = 0; i < bound; i += step) {
+                DoubleVector.fromArray(species, a, aOffset + i).lanewise(operator, scalar).intoArray(out, outOffset + i);
+            }
+        } else {
+            DoubleVector scalar = DoubleVector.broadcast(species, a[aOffset]);
+            for (int i = 0; i < bound; i += step) {
+                scalar.lanewise(operator, DoubleVector.fromArray(species, b, bOffset + i)).intoArray(out, outOffset + i);
+            }
+        }
+        ArithmaticKernels.binary(operation, a, aOffset + bound * aStride, aStride,
+                b, bOffset + bound * bStride, bStride, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to unit-stride {@code byte} values.
+     *
+     * @return {@code true} if the results were computed, {@code false} for strided values.
+     */
+    static boolean invert(byte[] a, int aOffset, int aStride, byte[] out, int outOffset, int length) {
+        if (aStride != 1) {
+            return false;
+        }
+        VectorSpecies<Byte> species = ByteVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(length);
+        for (int i = 0; i < bound; i += species.length()) {
+            ByteVector.fromArray(species, a, aOffset + i).lanewise(VectorOperators.NOT).intoArray(out, outOffset + i);
+        }
+        ArithmaticKernels.invert(a, aOffset + bound, 1, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to unit-stride {@code short} values.
+     *
+     * @return {@code true} if the results were computed, {@code false} for strided values.
+     */
+    static boolean invert(short[] a, int aOffset, int aStride, short[] out, int outOffset, int length) {
+        if (aStride != 1) {
+            return false;
+        }
+        VectorSpecies<Short> species = ShortVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(length);
+        for (int i = 0; i < bound; i += species.length()) {
+            ShortVector.fromArray(species, a, aOffset + i).lanewise(VectorOperators.NOT).intoArray(out, outOffset + i);
+        }
+        ArithmaticKernels.invert(a, aOffset + bound, 1, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to unit-stride {@code int} values.
+     *
+     * @return {@code true} if the results were computed, {@code false} for strided values.
+     */
+    static boolean invert(int[] a, int aOffset, int aStride, int[] out, int outOffset, int length) {
+        if (aStride != 1) {
+            return false;
+        }
+        VectorSpecies<Integer> species = IntVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(length);
+        for (int i = 0; i < bound; i += species.length()) {
+            IntVector.fromArray(species, a, aOffset + i).lanewise(VectorOperators.NOT).intoArray(out, outOffset + i);
+        }
+        ArithmaticKernels.invert(a, aOffset + bound, 1, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Applies a bitwise inversion (NOT) to unit-stride {@code long} values.
+     *
+     * @return {@code true} if the results were computed, {@code false} for strided values.
+     */
+    static boolean invert(long[] a, int aOffset, int aStride, long[] out, int outOffset, int length) {
+        if (aStride != 1) {
+            return false;
+        }
+        VectorSpecies<Long> species = LongVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(length);
+        for (int i = 0; i < bound; i += species.length()) {
+            LongVector.fromArray(species, a, aOffset + i).lanewise(VectorOperators.NOT).intoArray(out, outOffset + i);
+        }
+        ArithmaticKernels.invert(a, aOffset + bound, 1, out, outOffset + bound, length - bound);
+        return true;
+    }
+
+    /**
+     * Folds values into a running minimum or maximum, one lane-wise minimum or maximum per vector
+     * followed by a reduction across the lanes.
+     */
+    static double extremum(double[] values, int length, double current, boolean minimum) {
+        VectorOperators.Associative operator = minimum ? VectorOperators.MIN : VectorOperators.MAX;
+        VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(length);
+        DoubleVector accumulator = DoubleVector.broadcast(species, current);
+        for (int i = 0; i < bound; i += species.length()) {
+            accumulator = accumulator.lanewise(operator, DoubleVector.fromArray(species, values, i));
+        }
+        return VectorKernels.scalarExtremum(values, bound, length, accumulator.reduceLanes(operator), minimum);
+    }
+
+    /**
+     * Folds values into a running minimum or maximum, one lane-wise minimum or maximum per vector
+     * followed by a reduction across the lanes.
+     */
+    static long extremum(long[] values, int length, long current, boolean minimum) {
+        VectorOperators.Associative operator = minimum ? VectorOperators.MIN : VectorOperators.MAX;
+        VectorSpecies<Long> species = LongVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(length);
+        LongVector accumulator = LongVector.broadcast(species, current);
+        for (int i = 0; i < bound; i += species.length()) {
+            accumulator = accumulator.lanewise(operator, LongVector.fromArray(species, values, i));
+        }
+        return VectorKernels.scalarExtremum(values, bound, length, accumulator.reduceLanes(operator), minimum);
+    }
+
+    /**
+     * Maps an operation to its lane-wise operator.
+     *
+     * @param operation The operation.
+     * @param integral  Whether the lanes hold integers.
+     * @return The operator, or {@code null} if the operation has no SIMD instruction for the lane type.
+     */
+    private static VectorOperators.Binary operator(OperationType operation, boolean integral) {
+        switch (operation) {
+            case ADDITION: return VectorOperators.ADD;
+            case SUBTRACTION: return VectorOperators.SUB;
+            case MULTIPLICATION: return VectorOperators.MUL;
+            case DIVISION: return integral ? null : VectorOperators.DIV;
+            case BITWISE_AND: return integral ? VectorOperators.AND : null;
+            case BITWISE_OR: return integral ? VectorOperators.OR : null;
+            case BITWISE_XOR: return integral ? VectorOperators.XOR : null;
+            default: return null;
+        }
+    }
+
+    /**
+     * Tells whether both operands are contiguous, or one is contiguous and the other a broadcast scalar.
+     */
+    private static boolean isUnitOrScalar(int aStride, int bStride) {
+        return (aStride == 1 && (bStride == 1 || bStride == 0)) || (aStride == 0 && bStride == 1);
+    }
+}
@@ -3,11 +3,18 @@ package com.library.numj;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.library.numj.enums.DType;
+import com.library.numj.enums.Order;
 import com.library.numj.exceptions.ShapeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Step by step :
@@ -438,6 +445,100 @@ class NDArrayTest {
     }
 
 
+    /**
+     * Tests that boxed and primitive inputs are stored in a flat primitive buffer of the
+     * inferred data type.
+     */
+    @Test
+    public void testFlatPrimitiveStorage() {
+        assertEquals(DType.INT32, array.type());
+        assertArrayEquals(new int[]{400, 200, 300, 400, 500, 600, 700, 800}, (int[]) array.buffer().array());
+        assertEquals(DType.FLOAT64, primitiveDoubleArray.type());
+        assertEquals(8, ((double[]) primitiveDoubleArray.buffer().array()).length);
+        assertEquals(DType.INT8, primitiveByteArray.type());
+        assertEquals(DType.OBJECT, stringArray.type());
+    }
+
+    @Test
+    public void testViewsShareBuffer() throws ShapeException {
+        NDArray<int[][]> matrix = new NDArray<>(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        NDArray<int[]> flat = matrix.flatten();
+        NDArray<int[][]> transposed = matrix.transpose();
+        NDArray<int[][]> columns = matrix.slice(1, 2, 0, -1);
+
+        assertSame(matrix.buffer(), flat.buffer());
+        assertSame(matrix.buffer(), transposed.buffer());
+        assertSame(matrix.buffer(), columns.buffer());
+        assertArrayEquals(new int[][]{{1, 4}, {2, 5}, {3, 6}}, transposed.getArray());
+        assertArrayEquals(new int[][]{{3, 2}, {6, 5}}, columns.getArray());
+        assertFalse(transposed.isContiguous());
+    }
+
+    @Test
+    public void testReshapeOfNonContiguousViewCopies() throws ShapeException {
+        NDArray<int[][]> matrix = new NDArray<>(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        NDArray<int[]> flat = matrix.transpose().flatten();
+        NDArray<int[][]> detached = matrix.copy();
+
+        assertNotSame(matrix.buffer(), flat.buffer());
+        assertArrayEquals(new int[]{1, 4, 2, 5, 3, 6}, flat.getArray());
+        assertNotSame(matrix.buffer(), detached.buffer());
+        assertArrayEquals(matrix.getArray(), detached.getArray());
+    }
+
+    @Test
+    public void testColumnMajorLayout() throws ShapeException {
+        NDArray<int[][]> matrix = new NDArray<>(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        NDArray<int[][]> fortran = matrix.copy(Order.F);
+
+        assertArrayEquals(new long[]{1, 2}, fortran.elementStrides());
+        assertArrayEquals(new long[]{4, 8}, fortran.strides());
+        assertArrayEquals(new long[]{4, 8, 16}, fortran.strides(new int[]{2, 2, 3}, Order.F));
+        assertArrayEquals(new long[]{24, 12, 4}, fortran.strides(new int[]{2, 2, 3}));
+        assertEquals(Order.F, fortran.order());
+        assertArrayEquals(matrix.getArray(), fortran.getArray());
+
+        NDArray<int[]> columns = fortran.flatten(Order.F);
+        assertSame(fortran.buffer(), columns.buffer());
+        assertArrayEquals(new int[]{1, 4, 2, 5, 3, 6}, columns.getArray());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6}, fortran.<int[]>flatten().getArray());
+        assertArrayEquals(new int[][]{{1, 2, 3}, {4, 5, 6}},
+                matrix.<int[][]>reshape(new int[]{2, 3}, Order.F).getArray());
+        assertArrayEquals(new int[][]{{1, 5}, {4, 3}, {2, 6}},
+                matrix.<int[][]>reshape(new int[]{3, 2}, Order.F).getArray());
+        assertEquals(Order.F, fortran.astype(DType.FLOAT64).order());
+    }
+
+    @Test
+    public void testConcurrentReadsOfSharedArray() throws Exception {
+        NDArray<int[][]> shared = new NDArray<>(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        int[][] expectedTransposed = {{1, 4}, {2, 5}, {3, 6}};
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        NDArray<int[]> flat = shared.flatten();
+                        NDArray<int[][]> reshaped = shared.reshape(3, 2);
+                        NDArray<int[][]> transposed = shared.transpose().flatten().reshape(3, 2);
+                        if (!Arrays.equals(new int[]{1, 2, 3, 4, 5, 6}, flat.getArray())
+                                || !Arrays.deepEquals(new int[][]{{1, 2}, {3, 4}, {5, 6}}, reshaped.getArray())
+                                || !Arrays.deepEquals(expectedTransposed, transposed.getArray())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
    /* @Test
     void testStrideCalculation() {
         int[] strides = array.strides(new int[]{2, 2, 2});
@@ -1,8 +1,14 @@
 package com.library.numj;
 
 import com.library.numj.enums.DType;
+import com.library.numj.enums.MemmapMode;
+import com.library.numj.enums.Order;
+import com.library.numj.enums.Storage;
 import com.library.numj.exceptions.InvalidShapeException;
 import com.library.numj.exceptions.ShapeException;
+import com.library.numj.operations.Expression;
+import com.library.numj.storage.DataBuffer;
+import com.library.numj.storage.MappedBuffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -13,10 +19,19 @@ import org.junit.jupiter.params.provider.MethodSource;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.stream.Stream;
 
 /**
@@ -263,6 +278,681 @@ class NumJTest {
     }
 
 
+    /**
+     * Tests that broadcasting a row and a scalar against a matrix runs through the typed kernels
+     * and keeps the operands' data type and primitive layout.
+     */
+    @Test
+    void testBroadcastingWithTypedKernels() throws ShapeException {
+        NDArray<int[][]> matrix = numJ.array(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        NDArray<int[]> row = numJ.array(new int[]{10, 20, 30});
+        NDArray<Integer> scalar = numJ.array(2);
+
+        NDArray<int[][]> sum = numJ.add(matrix, (NDArray) row);
+        assertEquals(DType.INT32, sum.type());
+        assertArrayEquals(new int[][]{{11, 22, 33}, {14, 25, 36}}, sum.getArray());
+
+        NDArray<Integer[][]> product = numJ.multiply(matrix, (NDArray) scalar);
+        assertArrayEquals(new Integer[][]{{2, 4, 6}, {8, 10, 12}}, product.getArray());
+
+        NDArray<long[]> large = numJ.add(numJ.array(new long[]{Long.MAX_VALUE - 1}), numJ.array(new long[]{1}));
+        assertEquals(Long.MAX_VALUE, large.getArray()[0]);
+    }
+
+    /**
+     * Tests broadcasting where both operands are expanded (column against row) and where the
+     * broadcast dimension sits in the middle of a 3-D shape.
+     */
+    @Test
+    void testBroadcastingAcrossDimensions() throws ShapeException {
+        NDArray<int[][]> column = numJ.array(new int[][]{{1}, {2}, {3}});
+        NDArray<int[][]> row = numJ.array(new int[][]{{10, 20, 30, 40}});
+        NDArray<int[][]> outer = numJ.add(column, row);
+        assertArrayEquals(new int[][]{{11, 21, 31, 41}, {12, 22, 32, 42}, {13, 23, 33, 43}}, outer.getArray());
+
+        NDArray<double[][][]> cube = numJ.array(new double[][][]{{{1, 2}, {3, 4}}, {{5, 6}, {7, 8}}});
+        NDArray<double[][][]> middle = numJ.array(new double[][][]{{{10, 100}}, {{20, 200}}});
+        NDArray<double[][][]> result = numJ.subtract(cube, middle);
+        assertArrayEquals(new double[][][]{{{-9, -98}, {-7, -96}}, {{-15, -194}, {-13, -192}}}, result.getArray());
+    }
+
+    /**
+     * Tests that operations large enough to be split across threads give the same result as the
+     * single-threaded path, including broadcasting across chunk boundaries.
+     */
+    @Test
+    void testParallelExecution() throws ShapeException {
+        NumJ parallel = new NumJ(4);
+        NumJ sequential = new NumJ(1);
+        assertEquals(4, parallel.parallelism());
+        assertEquals(1, sequential.parallelism());
+
+        NDArray<Integer[][]> matrix = parallel.arange(0, 300_000, new int[]{1_000, 300});
+        NDArray<Integer[][]> row = parallel.arange(0, 300, new int[]{1, 300});
+        Integer[][] expected = sequential.add(matrix, row).getArray();
+        Integer[][] actual = parallel.add(matrix, row).getArray();
+        assertArrayEquals(expected, actual);
+        assertEquals(299_999 + 299, actual[999][299]);
+    }
+
+    /**
+     * Tests the primitive array overloads: rows are copied once, flat input can be wrapped
+     * without a copy and ragged rows are rejected.
+     */
+    @Test
+    void testPrimitiveArrayCreation() {
+        NDArray<double[][]> matrix = numJ.array(new double[][]{{1, 2}, {3, 4}, {5, 6}});
+        assertEquals(DType.FLOAT64, matrix.type());
+        assertArrayEquals(new int[]{3, 2}, matrix.shapeArray());
+        assertArrayEquals(new double[][]{{1, 2}, {3, 4}, {5, 6}}, matrix.getArray());
+
+        int[] flat = {1, 2, 3, 4, 5, 6};
+        NDArray<int[][]> wrapped = numJ.array(flat, new int[]{2, 3}, false);
+        NDArray<int[][]> copied = numJ.array(flat, new int[]{2, 3}, true);
+        assertSame(flat, wrapped.buffer().array());
+        assertNotSame(flat, copied.buffer().array());
+        assertArrayEquals(new int[][]{{1, 2, 3}, {4, 5, 6}}, copied.getArray());
+
+        NDArray<byte[][]> bytes = numJ.array(new byte[][]{{1, -2}, {3, 4}});
+        assertEquals(DType.INT8, bytes.type());
+        assertArrayEquals(new byte[][]{{1, -2}, {3, 4}}, bytes.getArray());
+        short[] shorts = {1, 2, 3, 4, 5, 6};
+        NDArray<short[][]> wrappedShorts = numJ.array(shorts, new int[]{3, 2}, false);
+        assertEquals(DType.INT16, wrappedShorts.type());
+        assertSame(shorts, wrappedShorts.buffer().array());
+        assertArrayEquals(new short[]{7, 8}, numJ.array(new short[]{7, 8}).getArray());
+
+        assertThrows(InvalidShapeException.class, () -> numJ.array(new long[][]{{1, 2}, {3}}));
+    }
+
+    /**
+     * Tests full and per-axis reductions, keepdims and accumulator types.
+     */
+    @Test
+    void testReductions() throws ShapeException {
+        NDArray<int[][]> matrix = numJ.array(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        assertEquals(21L, numJ.sum(matrix).getArray());
+        assertEquals(DType.INT64, numJ.sum(matrix).type());
+        assertArrayEquals(new long[]{5, 7, 9}, numJ.<int[][], long[]>sum(matrix, 0).getArray());
+        assertArrayEquals(new long[][]{{6}, {15}}, numJ.<int[][], long[][]>sum(matrix, true, -1).getArray());
+        assertArrayEquals(new long[]{6, 120}, numJ.<int[][], long[]>prod(matrix, 1).getArray());
+        assertArrayEquals(new int[]{1, 4}, numJ.<int[][], int[]>min(matrix, 1).getArray());
+        assertArrayEquals(new int[]{4, 5, 6}, numJ.<int[][], int[]>max(matrix.transpose(), 1).getArray());
+        assertArrayEquals(new double[]{2.5, 3.5, 4.5}, numJ.<int[][], double[]>mean(matrix, 0).getArray());
+        assertEquals(35.0 / 12, (Double) numJ.var(matrix).getArray(), 1e-12);
+        assertEquals(Math.sqrt(35.0 / 12), (Double) numJ.std(matrix).getArray(), 1e-12);
+
+        byte[] bytes = new byte[1000];
+        Arrays.fill(bytes, (byte) 100);
+        assertEquals(100_000L, numJ.sum(numJ.array(bytes)).getArray());
+        assertEquals(DType.FLOAT32, numJ.sum(matrix, DType.FLOAT32, false).type());
+
+        assertThrows(IllegalArgumentException.class, () -> numJ.sum(matrix, 2));
+        assertThrows(IllegalArgumentException.class, () -> numJ.sum(matrix, 0, -2));
+        assertThrows(IllegalArgumentException.class, () -> numJ.min(numJ.array(new int[0])));
+    }
+
+    /**
+     * Tests that large reductions are accurate and independent of the number of threads.
+     */
+    @Test
+    void testParallelReductions() {
+        double[] values = new double[1_000_000];
+        Arrays.fill(values, 0.1);
+        NDArray<double[][]> parallel = new NumJ(4).array(values, new int[]{4, 250_000}, false);
+        NDArray<double[][]> sequential = new NumJ(1).array(values, new int[]{4, 250_000}, false);
+
+        assertEquals(100_000.0, (Double) new NumJ(4).sum(parallel).getArray(), 1e-9);
+        assertEquals(new NumJ(1).sum(sequential).<Double>getArray(), new NumJ(4).sum(parallel).getArray());
+        assertArrayEquals(new NumJ(1).<double[][], double[]>sum(sequential.transpose(), 1).getArray(),
+                new NumJ(4).<double[][], double[]>sum(parallel.transpose(), 1).getArray());
+        assertEquals(0.0, (Double) new NumJ(4).var(parallel).getArray(), 1e-12);
+    }
+
+    /**
+     * Tests cumulative scans along each axis and the parallel prefix scan of a long line.
+     */
+    @Test
+    void testCumulativeScans() throws ShapeException {
+        NDArray<int[][]> matrix = numJ.array(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        assertArrayEquals(new long[]{1, 3, 6, 10, 15, 21}, numJ.<int[][], long[]>cumsum(matrix).getArray());
+        assertArrayEquals(new long[][]{{1, 2, 3}, {5, 7, 9}}, numJ.<int[][], long[][]>cumsum(matrix, 0).getArray());
+        assertArrayEquals(new long[][]{{1, 2, 6}, {4, 20, 120}}, numJ.<int[][], long[][]>cumprod(matrix, -1).getArray());
+        assertArrayEquals(new int[][]{{1, 4}, {2, 5}, {3, 6}}, numJ.<int[][], int[][]>cummax(matrix.transpose(), 0).getArray());
+        assertArrayEquals(new int[]{1, 3, 6}, numJ.<int[][], int[][]>cumsum(matrix, DType.INT32, 1).getArray()[0]);
+
+        NDArray<byte[]> bytes = numJ.array(new int[]{100, 100, 100}).astype(DType.INT8);
+        long[] running = numJ.<byte[], long[]>cumsum(bytes, 0).getArray();
+        assertArrayEquals(new long[]{100, 200, 300}, running);
+        assertEquals(numJ.sum(bytes).getArray(), running[running.length - 1]);
+
+        long[] ones = new long[1_000_000];
+        Arrays.fill(ones, 1);
+        long[] parallel = new NumJ(4).<long[], long[]>cumsum(new NumJ(4).array(ones, new int[]{ones.length}, false), 0).getArray();
+        for (int i = 0; i < parallel.length; i++) {
+            assertEquals(i + 1, parallel[i]);
+        }
+        assertEquals(1L, ones[ones.length - 1]);
+    }
+
+    /**
+     * Tests matmul and dot for matrices, vectors and broadcast stacks of matrices.
+     */
+    @Test
+    void testMatrixMultiplication() throws ShapeException {
+        NDArray<int[][]> a = numJ.array(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        NDArray<int[][]> b = numJ.array(new int[][]{{7, 8}, {9, 10}, {11, 12}});
+        assertArrayEquals(new int[][]{{58, 64}, {139, 154}}, numJ.<int[][], int[][], int[][]>matmul(a, b).getArray());
+        NDArray<int[][]> strided = b.transpose().copy().transpose();
+        assertArrayEquals(new int[][]{{58, 64}, {139, 154}}, numJ.<int[][], int[][], int[][]>matmul(a, strided).getArray());
+        assertArrayEquals(new int[]{14, 32}, numJ.<int[][], int[], int[]>matmul(a, numJ.array(new int[]{1, 2, 3})).getArray());
+        assertEquals(14, (Integer) numJ.dot(numJ.array(new int[]{1, 2, 3}), numJ.array(new int[]{1, 2, 3})).getArray());
+        assertThrows(ShapeException.class, () -> numJ.matmul(a, a));
+
+        double[] values = new double[2 * 3 * 4];
+        for (int i = 0; i < values.length; i++) values[i] = i;
+        NDArray<double[][][]> stack = numJ.array(values, new int[]{2, 3, 4}, false);
+        NDArray<double[][]> identity = numJ.array(new double[][]{{1, 0, 0, 0}, {0, 1, 0, 0}, {0, 0, 1, 0}, {0, 0, 0, 1}});
+        assertArrayEquals(stack.getArray(), numJ.<double[][][], double[][], double[][][]>matmul(stack, identity).getArray());
+        assertArrayEquals(new int[]{2, 3, 3}, numJ.matmul(stack, stack.transpose(0, 2, 1)).shapeArray());
+        assertArrayEquals(new int[]{2, 3, 2, 3}, numJ.dot(stack, stack.transpose(0, 2, 1)).shapeArray());
+    }
+
+    /**
+     * Tests that a product large enough to be tiled and split across threads matches a naive product.
+     */
+    @Test
+    void testParallelMatrixMultiplication() {
+        int m = 150, k = 300, n = 700;
+        float[] a = new float[m * k];
+        float[] b = new float[k * n];
+        for (int i = 0; i < a.length; i++) a[i] = (i % 7) - 3;
+        for (int i = 0; i < b.length; i++) b[i] = (i % 5) - 2;
+        NumJ parallel = new NumJ(4);
+        float[][] product = assertDoesNotThrow(() -> parallel.<float[][], float[][], float[][]>matmul(
+                parallel.array(a, new int[]{m, k}, false), parallel.array(b, new int[]{k, n}, false)).getArray());
+        for (int i = 0; i < m; i += 37) {
+            for (int j = 0; j < n; j += 53) {
+                float expected = 0;
+                for (int p = 0; p < k; p++) expected += a[i * k + p] * b[p * n + j];
+                assertEquals(expected, product[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Tests that memory-mapped arrays persist to the file and take part in ordinary operations.
+     *
+     * @throws Exception If the temporary file cannot be written.
+     */
+    @Test
+    void testMemoryMappedArray() throws Exception {
+        Path file = Files.createTempFile("numj", ".bin");
+        try {
+            NDArray<double[][]> created = numJ.memmap(file, DType.FLOAT64, MemmapMode.CREATE, 3, 4);
+            MappedBuffer buffer = (MappedBuffer) created.buffer();
+            for (int i = 0; i < buffer.length(); i++) buffer.setDouble(i, i);
+            buffer.flush();
+            assertEquals(12 * Double.BYTES, Files.size(file));
+
+            NDArray<double[]> mapped = numJ.memmap(file, DType.FLOAT64, MemmapMode.READ_ONLY);
+            assertArrayEquals(new int[]{12}, mapped.shapeArray());
+            NDArray<double[][]> rows = numJ.memmap(file, DType.FLOAT64, MemmapMode.READ_ONLY, 4L * Double.BYTES, new int[]{2, 4});
+            assertArrayEquals(new double[][]{{4, 5, 6, 7}, {8, 9, 10, 11}}, rows.getArray());
+            NDArray<double[][]> doubled = numJ.add(rows, rows);
+            assertArrayEquals(new double[][]{{8, 10, 12, 14}, {16, 18, 20, 22}}, doubled.getArray());
+            assertEquals(66.0, numJ.sum(mapped).getArray());
+            assertThrows(ReadOnlyBufferException.class, () -> ((MappedBuffer) mapped.buffer()).setDouble(0, 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Tests that a mapping of more than 2^31 elements is addressed past the {@code int} range. The
+     * file is sparse and only its last rows are touched, so no more than a few pages are written.
+     *
+     * @throws Exception If the temporary file cannot be written.
+     */
+    @Test
+    void testMemoryMappedArrayBeyondIntRange() throws Exception {
+        Path file = Files.createTempFile("numj", ".bin");
+        int rows = 1 << 16;
+        int cols = (1 << 15) + 2;
+        try {
+            NDArray<byte[][]> created = numJ.memmap(file, DType.INT8, MemmapMode.CREATE, rows, cols);
+            assertEquals((long) rows * cols, created.size());
+            NDArray<byte[][]> tail = created.slice(0, rows - 2, rows);
+            assertTrue(tail.offset() > Integer.MAX_VALUE);
+            MappedBuffer buffer = (MappedBuffer) created.buffer();
+            for (int j = 0; j < cols; j++) buffer.setLong(tail.offset() + cols + j, j % 3);
+            buffer.flush();
+
+            NDArray<long[]> sums = numJ.sum(tail, 1);
+            assertArrayEquals(new long[]{0, cols - 1}, sums.getArray());
+            NDArray<byte[][]> doubled = numJ.add(tail, tail);
+            assertEquals(4, ((byte[][]) doubled.getArray())[1][cols - 2]);
+            buffer.close();
+
+            assertThrows(IllegalArgumentException.class, () -> numJ.memmap(file, DType.INT8, MemmapMode.READ_ONLY));
+            NDArray<byte[][]> reopened = numJ.memmap(file, DType.INT8, MemmapMode.READ_ONLY,
+                    (long) (rows - 1) * cols, new int[]{1, cols});
+            assertEquals(2, ((byte[][]) reopened.getArray())[0][cols - 2]);
+            ((MappedBuffer) reopened.buffer()).close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Tests that arrays survive a round trip through .npy files and .npz archives, and that
+     * big-endian Fortran-ordered files as written by NumPy are read correctly.
+     *
+     * @throws Exception If the temporary files cannot be written.
+     */
+    @Test
+    void testNpyRoundTrip() throws Exception {
+        Path npy = Files.createTempFile("numj", ".npy");
+        Path npz = Files.createTempFile("numj", ".npz");
+        try {
+            NDArray<int[][]> matrix = numJ.array(new int[]{1, 2, 3, 4, 5, 6}, new int[]{2, 3}, false);
+            numJ.save(npy, matrix);
+            assertEquals(0, (Files.size(npy) - 24) % 64);
+            NDArray<int[][]> loaded = numJ.load(npy);
+            assertEquals(DType.INT32, loaded.type());
+            assertArrayEquals(matrix.getArray(), loaded.getArray());
+
+            numJ.save(npy, matrix.transpose());
+            assertArrayEquals(new int[][]{{1, 4}, {2, 5}, {3, 6}}, numJ.<int[][]>load(npy).getArray());
+            assertArrayEquals(new int[][]{{1, 4}, {2, 5}, {3, 6}}, numJ.<int[][]>load(npy, MemmapMode.READ_ONLY).getArray());
+
+            Map<String, NDArray<?>> arrays = new LinkedHashMap<>();
+            arrays.put("weights", numJ.array(new double[]{0.5, -1.5}));
+            arrays.put("bias", numJ.array(new float[]{2f}));
+            for (boolean compressed : new boolean[]{false, true}) {
+                if (compressed) numJ.savezCompressed(npz, arrays);
+                else numJ.savez(npz, arrays);
+                Map<String, NDArray<?>> restored = numJ.loadz(npz);
+                assertEquals(Arrays.asList("weights", "bias"), new ArrayList<>(restored.keySet()));
+                assertArrayEquals(new double[]{0.5, -1.5}, (double[]) restored.get("weights").getArray());
+                assertArrayEquals(new float[]{2f}, (float[]) restored.get("bias").getArray());
+            }
+
+            String dictionary = "{'descr': '>i2', 'fortran_order': True, 'shape': (2, 2), }";
+            ByteBuffer file = ByteBuffer.allocate(10 + dictionary.length() + 1 + 8).order(ByteOrder.LITTLE_ENDIAN);
+            file.put(new byte[]{(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0}).putShort((short) (dictionary.length() + 1));
+            file.put((dictionary + "\n").getBytes(StandardCharsets.US_ASCII));
+            file.order(ByteOrder.BIG_ENDIAN).putShort((short) 1).putShort((short) 3).putShort((short) 2).putShort((short) -4);
+            Files.write(npy, file.array());
+            assertArrayEquals(new short[][]{{1, 2}, {3, -4}}, numJ.<short[][]>load(npy).getArray());
+        } finally {
+            Files.deleteIfExists(npy);
+            Files.deleteIfExists(npz);
+        }
+    }
+
+    /**
+     * Tests that off-heap arrays take part in operations and reject access after being closed.
+     */
+    @Test
+    void testOffHeapArray() {
+        NDArray<Double[][]> offHeap = numJ.ones(new int[]{2, 3}, DType.FLOAT64, Order.C, Storage.OFF_HEAP);
+        assertEquals(Storage.OFF_HEAP, offHeap.storage());
+        offHeap.buffer().setDouble(4, 5.0);
+        NDArray<Double[][]> heap = numJ.ones(new int[]{2, 3}, DType.FLOAT64);
+        NDArray<Double[][]> sum = assertDoesNotThrow(() -> numJ.add(offHeap, heap));
+        assertArrayEquals(new Double[][]{{2.0, 2.0, 2.0}, {2.0, 6.0, 2.0}}, sum.getArray());
+        assertEquals(Storage.HEAP, sum.storage());
+
+        NDArray<Double[][]> transposed = offHeap.<Double[][]>transpose().copy(Storage.OFF_HEAP);
+        try (NDArray<Double[][]> view = offHeap) {
+            assertEquals(10.0, numJ.sum(view).getArray());
+        }
+        assertThrows(IllegalStateException.class, offHeap::getArray);
+        offHeap.close();
+        assertArrayEquals(new Double[][]{{1.0, 1.0}, {1.0, 5.0}, {1.0, 1.0}}, transposed.getArray());
+        transposed.close();
+    }
+
+    /**
+     * Tests that column-major arrays are created as requested and stay column-major through operations.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testColumnMajorOperations() throws ShapeException {
+        NDArray<Double[][]> ones = numJ.ones(new int[]{2, 3}, DType.FLOAT64, Order.F);
+        assertArrayEquals(new long[]{1, 2}, ones.elementStrides());
+        NDArray<double[][]> matrix = numJ.array(new double[]{1, 2, 3, 4, 5, 6}, new int[]{2, 3}, false);
+        NDArray<double[][]> fortran = matrix.copy(Order.F);
+
+        NDArray<double[][]> sum = numJ.add(fortran, fortran);
+        assertEquals(Order.F, sum.order());
+        assertArrayEquals(new double[][]{{2, 4, 6}, {8, 10, 12}}, sum.getArray());
+        NDArray<double[][]> broadcast = numJ.add(fortran, numJ.array(new double[]{10, 20, 30}, new int[]{3}, false));
+        assertEquals(Order.F, broadcast.order());
+        assertArrayEquals(new double[][]{{11, 22, 33}, {14, 25, 36}}, broadcast.getArray());
+        assertEquals(Order.C, numJ.add(fortran, matrix).order());
+
+        NDArray<double[][]> running = numJ.cumsum(fortran, 0);
+        assertEquals(Order.F, running.order());
+        assertArrayEquals(new double[][]{{1, 2, 3}, {5, 7, 9}}, running.getArray());
+        assertArrayEquals(new double[]{2.5, 3.5, 4.5}, numJ.<double[][], double[]>mean(fortran, 0).getArray());
+    }
+
+    /**
+     * Tests arithmetic into preallocated destinations, including destinations that alias an operand.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testArithmeticIntoOutput() throws ShapeException {
+        NDArray<double[]> x = numJ.array(new double[]{1, 2, 3, 4});
+        NDArray<double[]> y = numJ.array(new double[]{10, 20, 30, 40});
+        assertSame(x, numJ.add(x, y, x));
+        assertArrayEquals(new double[]{11, 22, 33, 44}, x.getArray());
+
+        // A reversed view of the destination is read before it is overwritten
+        NDArray<double[]> reversed = x.slice(0, -1, -5, -1);
+        numJ.subtract(x, reversed, x);
+        assertArrayEquals(new double[]{-33, -11, 11, 33}, x.getArray());
+
+        NDArray<double[][]> matrix = numJ.array(new double[]{1, 2, 3, 4, 5, 6}, new int[]{2, 3}, false);
+        NDArray<double[][]> transposedTarget = numJ.array(new double[6], new int[]{3, 2}, false).transpose();
+        numJ.multiply(matrix, matrix, transposedTarget);
+        assertArrayEquals(new double[][]{{1, 4, 9}, {16, 25, 36}}, transposedTarget.getArray());
+        assertArrayEquals(new double[][]{{1, 16}, {4, 25}, {9, 36}}, transposedTarget.<double[][]>transpose().getArray());
+
+        // The operation runs in the operands' result type, as without out, and is converted on store
+        NDArray<int[]> ints = numJ.array(new int[]{7, 8});
+        NDArray<double[]> halves = numJ.divide(ints, numJ.array(new int[]{2, 2}), numJ.array(new double[2]));
+        assertArrayEquals(new double[]{3, 4}, halves.getArray());
+        assertThrows(ShapeException.class, () -> numJ.add(x, y, numJ.array(new double[3])));
+        assertArrayEquals(new int[]{~7, ~8}, numJ.invert(ints, ints).getArray());
+    }
+
+    /**
+     * Tests that floating-point operands written into an integer destination are computed before
+     * they are converted, and that the eager and lazy forms agree.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testFloatOperandsIntoIntegerOutput() throws ShapeException {
+        NDArray<double[]> x = numJ.array(new double[]{1.5, 2.5});
+        NDArray<int[]> sum = numJ.add(x, x, numJ.array(new int[2]));
+        assertArrayEquals(new int[]{3, 5}, sum.getArray());
+        NDArray<long[]> product = numJ.multiply(numJ.array(new double[]{0.5}), numJ.array(new double[]{4.0}),
+                numJ.array(new long[1]));
+        assertArrayEquals(new long[]{2}, product.getArray());
+
+        NDArray<int[]> lazy = numJ.lazy(x).add(x).evaluate(numJ.array(new int[2]));
+        assertArrayEquals(sum.getArray(), lazy.getArray());
+        NDArray<int[]> ints = numJ.array(new int[]{7, 8});
+        NDArray<int[]> twos = numJ.array(new int[]{2, 2});
+        assertArrayEquals(numJ.divide(ints, twos, numJ.array(new double[2])).getArray(),
+                numJ.lazy(ints).divide(twos).evaluate(numJ.array(new double[2])).getArray());
+
+        // A strided integer destination takes the staged path with the same conversion
+        NDArray<int[]> strided = numJ.array(new int[4]).slice(0, 0, 4, 2);
+        numJ.add(x, x, strided);
+        assertArrayEquals(new int[]{3, 5}, strided.getArray());
+    }
+
+    /**
+     * Tests that a fused lazy expression gives the same result as the eager operations,
+     * across broadcasting, mixed data types, blocks, threads and an aliased destination.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testLazyExpression() throws ShapeException {
+        NDArray<double[][]> a = numJ.array(new double[]{1, 2, 3, 4, 5, 6}, new int[]{2, 3}, false);
+        NDArray<int[]> row = numJ.array(new int[]{1, 2, 3});
+        Expression expression = numJ.lazy(row).multiply(row).add(a).divide(a.transpose().transpose());
+        assertArrayEquals(new int[]{2, 3}, expression.shape());
+        assertEquals(DType.FLOAT64, expression.type());
+        assertArrayEquals(new double[][]{{2, 3, 4}, {1.25, 1.8, 2.5}}, expression.<double[][]>evaluate().getArray());
+
+        int size = 200_000;
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) values[i] = i;
+        NDArray<double[]> x = numJ.array(values);
+        NDArray<double[]> y = numJ.lazy(x).multiply(x).subtract(x).evaluate();
+        assertArrayEquals(numJ.subtract(numJ.multiply(x, x), x).<double[]>getArray(), y.getArray());
+
+        // The destination is also an operand, reversed, so it must be read before it is written
+        NDArray<double[]> z = numJ.array(new double[]{1, 2, 3, 4});
+        numJ.lazy(z).add(z.slice(0, -1, -5, -1)).multiply(z).evaluate(z);
+        assertArrayEquals(new double[]{5, 10, 15, 20}, z.getArray());
+        assertThrows(ShapeException.class, () -> numJ.lazy(z).add(a));
+    }
+
+    /**
+     * Tests that result types follow the promotion table regardless of operand order.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testTypePromotion() throws ShapeException {
+        NDArray<int[]> ints = numJ.array(new int[]{1, 2});
+        NDArray<float[]> floats = numJ.array(new float[]{0.5f, 0.25f});
+        NDArray<byte[]> bytes = numJ.array(new byte[]{1, 2});
+        assertEquals(DType.FLOAT64, DType.resultType(DType.INT32, DType.FLOAT32));
+        assertEquals(DType.FLOAT64, DType.resultType(DType.FLOAT32, DType.INT32));
+        assertEquals(DType.FLOAT32, numJ.resultType(bytes, floats));
+        assertEquals(DType.INT64, DType.resultType(DType.INT8, DType.INT16, DType.INT64));
+        assertEquals(DType.OBJECT, DType.resultType(DType.OBJECT, DType.INT8));
+        assertThrows(IllegalArgumentException.class, DType::resultType);
+
+        NDArray<double[]> sum = numJ.add((NDArray) floats, (NDArray) ints);
+        assertEquals(DType.FLOAT64, sum.type());
+        assertArrayEquals(new double[]{1.5, 2.25}, sum.getArray());
+        assertEquals(DType.FLOAT64, numJ.array(new Number[]{1, 0.5f}).type());
+    }
+
+    /**
+     * Tests the constant, range and identity creation routines.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testCreationRoutines() throws ShapeException {
+        NDArray<Integer[][]> sevens = numJ.full(new int[]{2, 2}, 7, DType.INT32);
+        assertArrayEquals(new Integer[][]{{7, 7}, {7, 7}}, sevens.getArray());
+        NDArray<Long[]> big = numJ.full(new int[]{1}, Long.MAX_VALUE, DType.INT64);
+        assertEquals(Long.MAX_VALUE, big.<Long[]>getArray()[0]);
+
+        NDArray<double[][]> columnMajor = numJ.zeros(new int[]{2, 3}, DType.FLOAT64, Order.F, Storage.HEAP);
+        NDArray<double[][]> halves = numJ.fullLike(columnMajor, 0.5);
+        assertEquals(Order.F, halves.order());
+        assertEquals(DType.FLOAT64, numJ.emptyLike(columnMajor).type());
+        assertArrayEquals(new int[]{2, 3}, numJ.emptyLike(columnMajor).shapeArray());
+
+        NDArray<Double[]> points = numJ.linspace(0, 1, 5);
+        assertArrayEquals(new Double[]{0.0, 0.25, 0.5, 0.75, 1.0}, points.getArray());
+        NDArray<Double[]> open = numJ.linspace(0, 1, 4, false, DType.FLOAT64);
+        assertArrayEquals(new Double[]{0.0, 0.25, 0.5, 0.75}, open.getArray());
+        assertThrows(IllegalArgumentException.class, () -> numJ.linspace(0, 1, -1));
+
+        NDArray<Integer[][]> identity = numJ.identity(3);
+        assertArrayEquals(new Integer[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}}, identity.getArray());
+        NDArray<Integer[][]> shifted = numJ.eye(2, 3, 1);
+        assertArrayEquals(new Integer[][]{{0, 1, 0}, {0, 0, 1}}, shifted.getArray());
+        NDArray<Integer[][]> range = numJ.arange(0, 6, new int[]{2, 3});
+        assertArrayEquals(new Integer[][]{{0, 1, 2}, {3, 4, 5}}, range.getArray());
+    }
+
+    /**
+     * Tests that arrays only Java arrays can hold are rejected beyond their limit, and that views of
+     * more than 2^31 elements are addressed with {@code long} offsets and strides.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testOversizedArraysRejected() throws ShapeException {
+        assertThrows(IllegalArgumentException.class, () -> numJ.zeros(new int[]{100_000, 100_000}, DType.BOOL));
+        assertThrows(IllegalArgumentException.class, () -> numJ.zeros(new int[]{100_000, 100_000}, DType.OBJECT));
+        assertThrows(IllegalArgumentException.class, () -> NDArray.checkedSize(new int[]{100_000, 100_000}));
+        assertEquals(10_000_000_000L, NDArray.sizeOf(new int[]{100_000, 100_000}));
+        assertEquals(0, NDArray.checkedSize(new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE, 0}));
+        assertEquals(NDArray.MAX_SIZE, NDArray.checkedSize(new int[]{NDArray.MAX_SIZE}));
+
+        // A broadcast view of one element: only the shape exceeds 2^31 elements, not the memory
+        DataBuffer buffer = DataBuffer.allocate(DType.INT64, 1);
+        buffer.setLong(0, 7);
+        int rows = 1 << 16;
+        NDArray<long[][]> view = new NDArray<>(buffer, new int[]{rows, rows}, new long[]{0, 0}, 0, long.class);
+        assertEquals(1L << 32, view.size());
+        assertThrows(ShapeException.class, view::flatten);
+        assertEquals(7L * rows, numJ.sum(view.slice(0, rows - 1, rows)).getArray());
+    }
+
+    /**
+     * Tests comparisons, logical operators and boolean-mask selection and assignment.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testBooleanMasks() throws ShapeException {
+        NDArray<double[][]> matrix = numJ.array(new double[][]{{1, 5}, {3, 0}, {7, 2}});
+        NDArray<int[]> threshold = numJ.array(new int[]{2});
+        NDArray<boolean[][]> large = numJ.greater(matrix, threshold);
+        assertEquals(DType.BOOL, large.type());
+        assertArrayEquals(new boolean[][]{{false, true}, {true, false}, {true, false}}, large.getArray());
+
+        NDArray<boolean[][]> rows = numJ.logicalAnd(numJ.greaterEqual(matrix.slice(1, 0, 1), threshold),
+                numJ.notEqual(matrix.slice(1, 1, 2), threshold));
+        assertArrayEquals(new double[][]{{3, 0}}, numJ.<double[][], double[][]>booleanMask(matrix, rows.reshape(3)).getArray());
+        assertArrayEquals(new double[]{5, 3, 7}, numJ.<double[][], double[]>booleanMask(matrix, large).getArray());
+        assertArrayEquals(new boolean[]{true, false, true}, numJ.<boolean[]>logicalNot(numJ.array(new int[]{0, 4, 0})).getArray());
+
+        numJ.putMask(matrix, large, 0);
+        assertArrayEquals(new double[][]{{1, 0}, {0, 0}, {0, 2}}, (double[][]) matrix.getArray());
+        numJ.putMask(matrix, numJ.less(matrix, threshold), numJ.array(new double[]{9, 8, 7, 6, 5}));
+        assertArrayEquals(new double[][]{{9, 8}, {7, 6}, {5, 2}}, (double[][]) matrix.getArray());
+        assertThrows(IllegalArgumentException.class, () -> numJ.putMask(matrix, large, numJ.array(new double[]{1, 2})));
+        assertThrows(ShapeException.class, () -> numJ.booleanMask(matrix, numJ.array(new boolean[]{true, false})));
+
+        NDArray<Integer[]> values = numJ.arange(200_000);
+        NDArray<Integer[]> even = numJ.booleanMask(values, numJ.equal(numJ.bitwiseAnd(values, numJ.array(new Integer[]{1})),
+                numJ.array(new int[]{0})));
+        assertEquals(100_000, even.size());
+        assertEquals(199_998, even.getArray()[99_999]);
+    }
+
+    /**
+     * Tests gathering and scattering through integer index arrays.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testTakeAndPut() throws ShapeException {
+        NDArray<double[][]> table = numJ.array(new double[][]{{0, 1, 2}, {10, 11, 12}, {20, 21, 22}});
+        NDArray<int[]> ids = numJ.array(new int[]{2, 0, -1});
+        assertArrayEquals(new double[][]{{20, 21, 22}, {0, 1, 2}, {20, 21, 22}},
+                numJ.<double[][], double[][]>take(table, ids, 0).getArray());
+        assertArrayEquals(new double[][]{{2, 0, 2}, {12, 10, 12}, {22, 20, 22}},
+                numJ.<double[][], double[][]>take(table, ids, 1).getArray());
+        assertArrayEquals(new double[][]{{2, 12, 22}, {0, 10, 20}},
+                numJ.<double[][], double[][]>take(table.transpose(), ids.slice(0, 0, 2), 0).getArray());
+        assertArrayEquals(new double[]{2, 10, 22},
+                numJ.<double[][], double[]>take(table, numJ.array(new int[]{2, 3, 8})).getArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> numJ.take(table, numJ.array(new int[]{3}), 0));
+
+        NDArray<int[][]> picks = numJ.array(new int[]{2, 0, 1}, new int[]{3, 1}, true);
+        assertArrayEquals(new double[][]{{2}, {10}, {21}}, numJ.<double[][], double[][]>takeAlongAxis(table, picks, 1).getArray());
+        assertThrows(ShapeException.class, () -> numJ.takeAlongAxis(table, ids, 1));
+
+        numJ.put(table, numJ.array(new int[]{0, 4, -1}), numJ.array(new double[]{-1, -2}));
+        assertArrayEquals(new double[][]{{-1, 1, 2}, {10, -2, 12}, {20, 21, -1}}, (double[][]) table.getArray());
+
+        int rows = 20_000;
+        NDArray<float[][]> embeddings = numJ.array(new float[rows * 16], new int[]{rows, 16}, false);
+        ((float[]) embeddings.buffer().array())[(rows - 1) * 16 + 5] = 7;
+        int[] batch = new int[50_000];
+        Arrays.fill(batch, rows - 1);
+        NDArray<float[][]> gathered = numJ.take(embeddings, numJ.array(batch), 0);
+        assertArrayEquals(new int[]{50_000, 16}, gathered.shapeArray());
+        assertEquals(7, gathered.getArray()[49_999][5]);
+    }
+
+    /**
+     * Tests sort, argsort and lexsort along different axes.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testSorting() throws ShapeException {
+        NDArray<double[][]> matrix = numJ.array(new double[][]{{3, Double.NaN, -1}, {-0.5, 2, 2}});
+        assertArrayEquals(new double[][]{{-1, 3, Double.NaN}, {-0.5, 2, 2}}, numJ.<double[][], double[][]>sort(matrix).getArray());
+        assertArrayEquals(new double[][]{{-0.5, 2, -1}, {3, Double.NaN, 2}}, numJ.<double[][], double[][]>sort(matrix, 0).getArray());
+        assertArrayEquals(new long[][]{{2, 0, 1}, {0, 1, 2}}, numJ.<double[][], long[][]>argsort(matrix).getArray());
+        assertArrayEquals(new long[][]{{1, 1, 0}, {0, 0, 1}}, numJ.<double[][], long[][]>argsort(matrix, 0).getArray());
+
+        NDArray<int[]> surnames = numJ.array(new int[]{2, 1, 2, 1});
+        NDArray<double[]> firstNames = numJ.array(new double[]{0.5, 0.7, 0.1, 0.7});
+        assertArrayEquals(new long[]{1, 3, 2, 0}, numJ.<long[]>lexsort(firstNames, surnames).getArray());
+        assertThrows(ShapeException.class, () -> numJ.lexsort(surnames, matrix));
+
+        Random random = new Random(42);
+        int[] scores = new int[200_000];
+        for (int i = 0; i < scores.length; i++) scores[i] = random.nextInt();
+        NDArray<int[]> values = numJ.array(scores);
+        int[] expected = scores.clone();
+        Arrays.sort(expected);
+        NumJ parallel = new NumJ(4);
+        assertArrayEquals(expected, parallel.<int[], int[]>sort(values).getArray());
+        assertArrayEquals(expected, new NumJ(1).<int[][], int[][]>sort(numJ.array(scores, new int[]{1, scores.length}, false)).getArray()[0]);
+        long[] order = parallel.<int[], long[]>argsort(values).getArray();
+        for (int i = 0; i < order.length; i++) assertEquals(expected[i], scores[(int) order[i]]);
+
+        short[] shorts = new short[5_000];
+        for (int i = 0; i < shorts.length; i++) shorts[i] = (short) random.nextInt();
+        NDArray<short[]> shortArray = numJ.array(shorts);
+        Arrays.sort(shorts);
+        assertArrayEquals(shorts, numJ.<short[], short[]>sort(shortArray).getArray());
+    }
+
+    /**
+     * Tests partitions, top-k selections, medians and quantiles, which select elements without a full sort.
+     *
+     * @throws ShapeException If the shapes are incompatible.
+     */
+    @Test
+    void testSelection() throws ShapeException {
+        NDArray<int[]> values = numJ.array(new int[]{7, 1, 5, 3, 9, 3, 0});
+        int[] partitioned = numJ.<int[], int[]>partition(values, 3).getArray();
+        assertEquals(3, partitioned[3]);
+        for (int i = 0; i < 3; i++) assertTrue(partitioned[i] <= 3);
+        for (int i = 4; i < partitioned.length; i++) assertTrue(partitioned[i] >= 3);
+        long[] order = numJ.<int[], long[]>argpartition(values, -1).getArray();
+        assertEquals(4, order[order.length - 1]);
+        assertArrayEquals(new int[]{9, 7, 5}, numJ.<int[], int[]>topk(values, 3).getArray());
+        assertThrows(IllegalArgumentException.class, () -> numJ.partition(values, 7));
+
+        NDArray<double[][]> matrix = numJ.array(new double[][]{{4, 1, 3, 2}, {10, 20, 30, 40}, {5, Double.NaN, 1, 0}});
+        assertArrayEquals(new double[]{2.5, 25, Double.NaN}, numJ.<double[][], double[]>median(matrix, 1).getArray());
+        NDArray<double[][]> columns = numJ.array(new double[][]{{4, 1, 3, 2}, {10, 20, 30, 40}, {5, 7, 1, 0}});
+        assertArrayEquals(new double[]{5, 7, 3, 2}, numJ.<double[][], double[]>median(columns, 0).getArray());
+        assertArrayEquals(new double[]{1.75, 17.5}, numJ.<double[][], double[]>percentile(numJ.array(new double[][]{{4, 1, 3, 2}, {10, 20, 30, 40}}), 25, 1).getArray(), 1e-12);
+        assertEquals(3.0, numJ.median(numJ.array(new int[]{5, 1, 3})).getArray());
+        assertThrows(IllegalArgumentException.class, () -> numJ.quantile(values, 1.5));
+        IllegalArgumentException percentile = assertThrows(IllegalArgumentException.class, () -> numJ.percentile(values, 150));
+        assertTrue(percentile.getMessage().contains("percentile (150.0)"));
+        assertThrows(IllegalArgumentException.class, () -> numJ.percentile(values, Double.NaN));
+
+        Random random = new Random(7);
+        double[] scores = new double[300_000];
+        for (int i = 0; i < scores.length; i++) scores[i] = random.nextDouble();
+        double[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        double[] top = new NumJ(4).<double[], double[]>topk(numJ.array(scores), 100).getArray();
+        for (int i = 0; i < top.length; i++) assertEquals(sorted[sorted.length - 1 - i], top[i]);
+        assertArrayEquals(new double[]{(sorted[149_999] + sorted[150_000]) / 2},
+                new double[]{(Double) new NumJ(4).median(numJ.array(scores)).getArray()});
+    }
+
     /**
      * Tests the transpose operation on an array.
      *